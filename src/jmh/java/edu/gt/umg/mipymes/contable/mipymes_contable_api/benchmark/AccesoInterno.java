@@ -0,0 +1,55 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+
+/**
+ * Acceso a los métodos privados que miden los benchmarks (convertirADTO, calcularTotales, ...)
+ *
+ * Los benchmarks miden el código tal como está en los services, sin copiarlo ni abrirlo.
+ * Un MethodHandle guardado en un campo final y llamado con invokeExact no agrega costo medible.
+ */
+final class AccesoInterno {
+
+    private AccesoInterno() {
+    }
+
+    /**
+     * Crear un service sin dependencias (todas en null), para métodos que no las usan
+     */
+    static <T> T servicioSinDependencias(Class<T> tipo) {
+        try {
+            Constructor<?> constructor = tipo.getDeclaredConstructors()[0];
+            constructor.setAccessible(true);
+            return tipo.cast(constructor.newInstance(new Object[constructor.getParameterCount()]));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se pudo crear " + tipo.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Método privado de instancia, con el receptor como primer argumento del handle
+     */
+    static MethodHandle metodo(Class<?> tipo, String nombre, Class<?> retorno, Class<?>... parametros) {
+        try {
+            return MethodHandles.privateLookupIn(tipo, MethodHandles.lookup())
+                .findVirtual(tipo, nombre, MethodType.methodType(retorno, parametros));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No existe " + tipo.getSimpleName() + "." + nombre, e);
+        }
+    }
+
+    /**
+     * Constructor no público
+     */
+    static MethodHandle constructor(Class<?> tipo, Class<?>... parametros) {
+        try {
+            return MethodHandles.privateLookupIn(tipo, MethodHandles.lookup())
+                .findConstructor(tipo, MethodType.methodType(void.class, parametros));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No existe el constructor de " + tipo.getSimpleName(), e);
+        }
+    }
+}
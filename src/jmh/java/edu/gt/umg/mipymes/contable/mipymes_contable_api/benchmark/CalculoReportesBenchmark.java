@@ -0,0 +1,133 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.benchmark;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.config.AgrupacionCuentasProperties;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LineaBalanceDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.TotalesBalanceDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.ArbolCuentas;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.BalanceComprobacionService;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.EstadosFinancierosService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo en memoria del Balance de Comprobación y del Estado de Resultados
+ *
+ * Mide la parte de los reportes que no depende de la BD: armar las líneas, totalizar y
+ * subtotalizar por el árbol de cuentas, con catálogos de 100, 10 mil y 1 millón de cuentas.
+ * La agrupación es la misma de application.properties.
+ * mvn -P jmh test-compile exec:exec -Djmh.args="CalculoReportes -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CalculoReportesBenchmark {
+
+    private static final MethodHandle CONSTRUIR_ARBOL = AccesoInterno.constructor(ArbolCuentas.class,
+        Collection.class, AgrupacionCuentasProperties.class);
+    private static final MethodHandle LINEA_BALANCE = AccesoInterno.metodo(BalanceComprobacionService.class,
+        "convertirCuentaALineaBalance", LineaBalanceDTO.class, Cuenta.class);
+    private static final MethodHandle TOTALES_BALANCE = AccesoInterno.metodo(BalanceComprobacionService.class,
+        "calcularTotales", TotalesBalanceDTO.class, List.class);
+    private static final MethodHandle TOTAL_ESTADO = AccesoInterno.metodo(EstadosFinancierosService.class,
+        "calcularTotal", BigDecimal.class, List.class);
+
+    @Param({"100", "10000", "1000000"})
+    private int cantidadCuentas;
+
+    private BalanceComprobacionService balanceService;
+    private EstadosFinancierosService estadosService;
+    private AgrupacionCuentasProperties agrupacion;
+    private List<Cuenta> cuentas;
+    private List<String> codigos;
+    private List<LineaBalanceDTO> lineas;
+    private ArbolCuentas arbol;
+
+    @Setup
+    public void preparar() throws Throwable {
+        balanceService = AccesoInterno.servicioSinDependencias(BalanceComprobacionService.class);
+        estadosService = AccesoInterno.servicioSinDependencias(EstadosFinancierosService.class);
+
+        agrupacion = new AgrupacionCuentasProperties();
+        agrupacion.setNombres(Map.of("1", "Activo", "2", "Pasivo", "3", "Patrimonio", "4", "Ingresos",
+            "5", "Gastos", "10", "Activo Corriente", "11", "Inventarios", "12", "Activo No Corriente", "51", "Costos"));
+        agrupacion.setGrupos(Map.of(AgrupacionCuentasProperties.COSTO_VENTAS, List.of("5101"),
+            AgrupacionCuentasProperties.ACTIVO_NO_CORRIENTE, List.of("12")));
+
+        cuentas = new GeneradorDatos(GeneradorDatos.SEMILLA)
+            .cuentas(cantidadCuentas, GeneradorDatos.digitosPara(cantidadCuentas));
+        codigos = cuentas.stream().map(Cuenta::getCodigo).toList();
+        lineas = GeneradorDatos.lineas(cuentas);
+        arbol = (ArbolCuentas) CONSTRUIR_ARBOL.invoke(codigos, agrupacion);
+    }
+
+    /**
+     * Construir el árbol de cuentas (se hace una vez por cambio en el catálogo)
+     */
+    @Benchmark
+    public ArbolCuentas construirArbol() throws Throwable {
+        return (ArbolCuentas) CONSTRUIR_ARBOL.invoke(codigos, agrupacion);
+    }
+
+    /**
+     * Balance de Comprobación: líneas, totales y subtotales
+     */
+    @Benchmark
+    public void balanceComprobacion(Blackhole agujero) throws Throwable {
+        List<LineaBalanceDTO> lineasBalance = new ArrayList<>(cuentas.size());
+        for (Cuenta cuenta : cuentas) {
+            lineasBalance.add((LineaBalanceDTO) LINEA_BALANCE.invoke(balanceService, cuenta));
+        }
+        agujero.consume(TOTALES_BALANCE.invoke(balanceService, lineasBalance));
+        agujero.consume(arbol.subtotalizar(lineasBalance));
+    }
+
+    /**
+     * Estado de Resultados: clasificar ingresos, costos y gastos, totalizar y subtotalizar
+     */
+    @Benchmark
+    public void estadoResultados(Blackhole agujero) throws Throwable {
+        List<LineaBalanceDTO> ingresos = new ArrayList<>();
+        List<LineaBalanceDTO> costos = new ArrayList<>();
+        List<LineaBalanceDTO> gastos = new ArrayList<>();
+        for (LineaBalanceDTO linea : lineas) {
+            char tipo = linea.getCodigo().charAt(0);
+            if (tipo == '4') {
+                ingresos.add(linea);
+            } else if (tipo == '5') {
+                if (arbol.perteneceA(linea.getCodigo(), AgrupacionCuentasProperties.COSTO_VENTAS)) {
+                    costos.add(linea);
+                } else {
+                    gastos.add(linea);
+                }
+            }
+        }
+        agujero.consume(TOTAL_ESTADO.invoke(estadosService, ingresos));
+        agujero.consume(TOTAL_ESTADO.invoke(estadosService, costos));
+        agujero.consume(TOTAL_ESTADO.invoke(estadosService, gastos));
+
+        List<LineaBalanceDTO> todas = new ArrayList<>(ingresos);
+        todas.addAll(costos);
+        todas.addAll(gastos);
+        agujero.consume(arbol.subtotalizar(todas));
+    }
+
+    /**
+     * Solo los subtotales por prefijo del árbol
+     */
+    @Benchmark
+    public Object subtotalizar() {
+        return arbol.subtotalizar(lineas);
+    }
+}
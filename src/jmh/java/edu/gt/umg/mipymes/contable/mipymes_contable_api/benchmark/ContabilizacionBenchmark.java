@@ -0,0 +1,71 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.benchmark;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ContabilizarLoteDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ResultadoContabilizacionLoteDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.AsientoContableService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asientos contabilizados por segundo: uno por uno (PUT /api/asientos/{id}/contabilizar)
+ * contra la contabilización por lote (PUT /api/asientos/contabilizar)
+ *
+ * Antes de cada invocación se cargan 100 borradores con fecha de hoy (fuera de la medición);
+ * el libro diario ya tiene 10 mil asientos contabilizados del año anterior.
+ * mvn -P jmh test-compile exec:exec -Djmh.args="Contabilizacion"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ContabilizacionBenchmark {
+
+    private static final int ASIENTOS_POR_INVOCACION = 100;
+    private static final int ASIENTOS_PREVIOS = 10_000;
+
+    private ContextoAplicacion contexto;
+    private AsientoContableService asientoService;
+    private List<Long> cuentaIds;
+    private List<Long> borradores;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        contexto = ContextoAplicacion.iniciar("contabilizacion");
+        cuentaIds = contexto.completarCatalogo(200);
+        contexto.cargarAsientos(ASIENTOS_PREVIOS, cuentaIds, null);
+        contexto.contabilizarAnio();
+        asientoService = contexto.bean(AsientoContableService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void cargarBorradores() {
+        borradores = contexto.cargarAsientos(ASIENTOS_POR_INVOCACION, cuentaIds, LocalDate.now());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ASIENTOS_POR_INVOCACION)
+    public void unoPorUno(Blackhole agujero) {
+        for (Long id : borradores) {
+            agujero.consume(asientoService.contabilizarAsiento(id));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ASIENTOS_POR_INVOCACION)
+    public ResultadoContabilizacionLoteDTO porLote() {
+        ContabilizarLoteDTO solicitud = new ContabilizarLoteDTO();
+        solicitud.setIds(borradores);
+        return asientoService.contabilizarLote(solicitud);
+    }
+}
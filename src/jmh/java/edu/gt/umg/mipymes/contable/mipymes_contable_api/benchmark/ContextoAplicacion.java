@@ -0,0 +1,132 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.benchmark;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.MipymesContableApiApplication;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ContabilizarLoteDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.CuentaDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ResultadoAsientoLoteDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.AsientoContableService;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CargaLoteAsientosService;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CuentaService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * La aplicación completa sobre una BD H2 propia, sin servidor web ni logs de SQL,
+ * con datos cargados por las mismas rutas que usa la API (carga por lote y contabilización)
+ */
+final class ContextoAplicacion implements AutoCloseable {
+
+    /**
+     * Asientos por llamada a la carga por lote (un arreglo JSON de este tamaño en memoria)
+     */
+    private static final int ASIENTOS_POR_CARGA = 20_000;
+
+    private final ConfigurableApplicationContext contexto;
+    private final GeneradorDatos generador;
+
+    private ContextoAplicacion(ConfigurableApplicationContext contexto, long semilla) {
+        this.contexto = contexto;
+        this.generador = new GeneradorDatos(semilla);
+    }
+
+    static ContextoAplicacion iniciar(String nombreBD) {
+        SpringApplication aplicacion = new SpringApplication(MipymesContableApiApplication.class);
+        aplicacion.setWebApplicationType(WebApplicationType.NONE);
+        ConfigurableApplicationContext contexto = aplicacion.run(
+            "--spring.datasource.url=jdbc:h2:mem:" + nombreBD + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.format_sql=false",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+            "--logging.level.edu.gt.umg.mipymes.contable=WARN");
+        return new ContextoAplicacion(contexto, GeneradorDatos.SEMILLA);
+    }
+
+    <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    GeneradorDatos generador() {
+        return generador;
+    }
+
+    /**
+     * Completar el catálogo hasta la cantidad de cuentas indicada (códigos de 4 dígitos, sin repetir)
+     */
+    List<Long> completarCatalogo(int cantidadCuentas) {
+        CuentaRepository cuentaRepository = bean(CuentaRepository.class);
+        CuentaService cuentaService = bean(CuentaService.class);
+        Set<String> existentes = cuentaRepository.findAll().stream()
+            .map(Cuenta::getCodigo)
+            .collect(Collectors.toSet());
+
+        for (Cuenta cuenta : generador.cuentas(cantidadCuentas * 2, 4)) {
+            if (existentes.size() >= cantidadCuentas) {
+                break;
+            }
+            if (cuenta.getCodigo().length() == 4 && existentes.add(cuenta.getCodigo())) {
+                CuentaDTO dto = new CuentaDTO();
+                dto.setCodigo(cuenta.getCodigo());
+                dto.setNombre(cuenta.getNombre());
+                dto.setTipo(cuenta.getTipo());
+                dto.setNaturaleza(cuenta.getNaturaleza());
+                cuentaService.crearCuenta(dto);
+            }
+        }
+        return cuentaRepository.findAll().stream().map(Cuenta::getId).toList();
+    }
+
+    /**
+     * Cargar asientos balanceados en borrador (fechaFija = null los reparte en el año)
+     */
+    List<Long> cargarAsientos(int cantidad, List<Long> cuentaIds, LocalDate fechaFija) {
+        CargaLoteAsientosService cargaLote = bean(CargaLoteAsientosService.class);
+        List<Long> ids = new ArrayList<>(cantidad);
+        try {
+            for (int cargados = 0; cargados < cantidad; cargados += ASIENTOS_POR_CARGA) {
+                ByteArrayOutputStream json = new ByteArrayOutputStream();
+                generador.escribirLoteJson(json, Math.min(ASIENTOS_POR_CARGA, cantidad - cargados), cuentaIds, fechaFija);
+                cargaLote.cargarLote(new ByteArrayInputStream(json.toByteArray())).getResultados().stream()
+                    .filter(ResultadoAsientoLoteDTO::isExito)
+                    .forEach(resultado -> ids.add(resultado.getId()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ids;
+    }
+
+    /**
+     * Contabilizar los borradores del año de los datos generados, mes por mes
+     */
+    void contabilizarAnio() {
+        AsientoContableService asientoService = bean(AsientoContableService.class);
+        for (int mes = 0; mes < 12; mes++) {
+            LocalDate inicio = GeneradorDatos.INICIO_ANIO.plusMonths(mes);
+            ContabilizarLoteDTO solicitud = new ContabilizarLoteDTO();
+            solicitud.setFechaInicio(inicio);
+            solicitud.setFechaFin(inicio.plusMonths(1).minusDays(1));
+            asientoService.contabilizarLote(solicitud);
+        }
+    }
+
+    @Override
+    public void close() {
+        contexto.close();
+    }
+}
@@ -0,0 +1,95 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.benchmark;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de entidades a DTOs (los convertir*ADTO privados de cada service)
+ *
+ * Es lo que se paga en cada listado de la API, una vez por fila.
+ * mvn -P jmh test-compile exec:exec -Djmh.args="ConversionDTO -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConversionDTOBenchmark {
+
+    private static final MethodHandle ASIENTOS = AccesoInterno.metodo(AsientoContableService.class,
+        "convertirADTO", List.class, List.class);
+    private static final MethodHandle CUENTAS = AccesoInterno.metodo(CuentaService.class,
+        "convertirADTO", List.class, List.class);
+    private static final MethodHandle PRODUCTOS = AccesoInterno.metodo(InventarioService.class,
+        "convertirProductosADTO", List.class, List.class);
+    private static final MethodHandle MOVIMIENTOS_BANCO = AccesoInterno.metodo(BancosService.class,
+        "convertirMovimientosADTO", List.class, List.class);
+    private static final MethodHandle CLIENTES = AccesoInterno.metodo(ClientesProveedoresService.class,
+        "convertirClientesADTO", List.class, List.class);
+
+    @Param({"100", "10000"})
+    private int cantidad;
+
+    private AsientoContableService asientoService;
+    private CuentaService cuentaService;
+    private InventarioService inventarioService;
+    private BancosService bancosService;
+    private ClientesProveedoresService clientesProveedoresService;
+
+    private List<AsientoContable> asientos;
+    private List<Cuenta> cuentas;
+    private List<Producto> productos;
+    private List<MovimientoBanco> movimientosBancarios;
+    private List<Cliente> clientes;
+
+    @Setup
+    public void preparar() {
+        asientoService = AccesoInterno.servicioSinDependencias(AsientoContableService.class);
+        cuentaService = AccesoInterno.servicioSinDependencias(CuentaService.class);
+        inventarioService = AccesoInterno.servicioSinDependencias(InventarioService.class);
+        bancosService = AccesoInterno.servicioSinDependencias(BancosService.class);
+        clientesProveedoresService = AccesoInterno.servicioSinDependencias(ClientesProveedoresService.class);
+
+        GeneradorDatos generador = new GeneradorDatos(GeneradorDatos.SEMILLA);
+        cuentas = generador.cuentas(cantidad, GeneradorDatos.digitosPara(cantidad));
+        asientos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            asientos.add(generador.asiento(i + 1, generador.cantidadMovimientos(), cuentas));
+        }
+        productos = generador.productos(cantidad);
+        movimientosBancarios = generador.movimientosBancarios(cantidad);
+        clientes = generador.clientes(cantidad);
+    }
+
+    @Benchmark
+    public Object asientos() throws Throwable {
+        return ASIENTOS.invoke(asientoService, asientos);
+    }
+
+    @Benchmark
+    public Object cuentas() throws Throwable {
+        return CUENTAS.invoke(cuentaService, cuentas);
+    }
+
+    @Benchmark
+    public Object productos() throws Throwable {
+        return PRODUCTOS.invoke(inventarioService, productos);
+    }
+
+    @Benchmark
+    public Object movimientosBancarios() throws Throwable {
+        return MOVIMIENTOS_BANCO.invoke(bancosService, movimientosBancarios);
+    }
+
+    @Benchmark
+    public Object clientes() throws Throwable {
+        return CLIENTES.invoke(clientesProveedoresService, clientes);
+    }
+}
@@ -0,0 +1,73 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.benchmark;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ProductoDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Campos calculados de entidades y DTOs que se ejecutan por cada registro
+ *
+ * - AsientoContable.calcularTotales: al crear, validar y contabilizar cada asiento
+ *   (2 movimientos es el caso común; 100 es un asiento de cierre o una planilla).
+ * - ProductoDTO.calcularCampos: por cada producto de cada listado de inventario (incluye una división).
+ * mvn -P jmh test-compile exec:exec -Djmh.args="Entidades -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EntidadesBenchmark {
+
+    private static final int CANTIDAD_PRODUCTOS = 1000;
+
+    private List<ProductoDTO> productos;
+
+    @Setup
+    public void preparar() {
+        productos = new GeneradorDatos(GeneradorDatos.SEMILLA).productosDTO(CANTIDAD_PRODUCTOS);
+    }
+
+    /**
+     * Asiento generado con la cantidad de movimientos del parámetro
+     */
+    @State(Scope.Benchmark)
+    public static class AsientoGenerado {
+
+        @Param({"2", "4", "100"})
+        private int movimientosPorAsiento;
+
+        private AsientoContable asiento;
+
+        @Setup
+        public void preparar() {
+            GeneradorDatos generador = new GeneradorDatos(GeneradorDatos.SEMILLA);
+            List<Cuenta> cuentas = generador.cuentas(50, 4);
+            asiento = generador.asiento(1, movimientosPorAsiento, cuentas);
+        }
+    }
+
+    @Benchmark
+    public AsientoContable calcularTotalesAsiento(AsientoGenerado generado) {
+        generado.asiento.calcularTotales();
+        return generado.asiento;
+    }
+
+    /**
+     * Tiempo por producto, medido sobre 1,000 productos
+     */
+    @Benchmark
+    @OperationsPerInvocation(CANTIDAD_PRODUCTOS)
+    public void calcularCamposProducto(Blackhole agujero) {
+        for (ProductoDTO producto : productos) {
+            producto.calcularCampos();
+            agujero.consume(producto);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.benchmark;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LineaBalanceDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ProductoDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Datos sintéticos para los benchmarks, siempre iguales para la misma semilla
+ *
+ * - Tipos de cuenta: 40% activos, 20% pasivos, 5% patrimonio, 15% ingresos, 20% gastos.
+ * - Montos con distribución log-normal (mediana cerca de Q1,100; pocos montos muy grandes).
+ * - Asientos de 2 movimientos (80%), 3 (15%) o 4 (5%), siempre balanceados.
+ */
+public final class GeneradorDatos {
+
+    public static final long SEMILLA = 20240101L;
+    public static final LocalDate INICIO_ANIO = LocalDate.of(2025, 1, 1);
+
+    private static final LocalDateTime MARCA_TIEMPO = LocalDateTime.of(2025, 1, 1, 8, 0);
+    private static final Cuenta.TipoCuenta[] TIPOS = Cuenta.TipoCuenta.values();   // ACTIVO, PASIVO, PATRIMONIO, INGRESO, GASTO
+    private static final int[] PORCENTAJE_TIPOS = {40, 20, 5, 15, 20};
+
+    private final Random aleatorio;
+
+    public GeneradorDatos(long semilla) {
+        this.aleatorio = new Random(semilla);
+    }
+
+    // ========== CATÁLOGO Y REPORTES ==========
+
+    /**
+     * Cuentas con códigos jerárquicos como los del catálogo: dígito del tipo + dígito del grupo + correlativo
+     * digitos = largo total del código (4 como el catálogo real; más para catálogos grandes)
+     */
+    public List<Cuenta> cuentas(int cantidad, int digitos) {
+        List<Cuenta> cuentas = new ArrayList<>(cantidad);
+        int[] correlativos = new int[TIPOS.length * 10];
+        for (int i = 0; i < cantidad; i++) {
+            Cuenta.TipoCuenta tipo = tipoAleatorio();
+            int grupo = aleatorio.nextInt(tipo == Cuenta.TipoCuenta.PATRIMONIO ? 2 : 10);
+            int correlativo = 1 + correlativos[tipo.ordinal() * 10 + grupo]++;
+            String codigo = String.valueOf(tipo.ordinal() + 1) + grupo +
+                String.format("%0" + (digitos - 2) + "d", correlativo);
+
+            Cuenta cuenta = new Cuenta();
+            cuenta.setId((long) i + 1);
+            cuenta.setCodigo(codigo);
+            cuenta.setNombre("Cuenta " + codigo);
+            cuenta.setTipo(tipo);
+            cuenta.setNaturaleza(tipo == Cuenta.TipoCuenta.ACTIVO || tipo == Cuenta.TipoCuenta.GASTO
+                ? Cuenta.NaturalezaCuenta.DEUDORA : Cuenta.NaturalezaCuenta.ACREEDORA);
+            cuenta.setSaldo(monto());
+            cuenta.setActiva(true);
+            cuenta.setVersion(0L);
+            cuenta.setFechaCreacion(MARCA_TIEMPO);
+            cuenta.setFechaModificacion(MARCA_TIEMPO);
+            cuentas.add(cuenta);
+        }
+        return cuentas;
+    }
+
+    /**
+     * Largo de código que alcanza para la cantidad de cuentas (4 hasta 1,000 cuentas)
+     */
+    public static int digitosPara(int cantidadCuentas) {
+        return 2 + Math.max(2, String.valueOf(cantidadCuentas).length() - 1);
+    }
+
+    /**
+     * Líneas de balance de un catálogo generado
+     */
+    public static List<LineaBalanceDTO> lineas(List<Cuenta> cuentas) {
+        List<LineaBalanceDTO> lineas = new ArrayList<>(cuentas.size());
+        for (Cuenta cuenta : cuentas) {
+            lineas.add(new LineaBalanceDTO(cuenta.getCodigo(), cuenta.getNombre(), cuenta.getTipo().getDescripcion(),
+                cuenta.getNaturaleza().name(), cuenta.getSaldo()));
+        }
+        return lineas;
+    }
+
+    // ========== LIBRO DIARIO ==========
+
+    /**
+     * Asiento balanceado con la cantidad de movimientos indicada, sobre cuentas del catálogo
+     */
+    public AsientoContable asiento(int numero, int movimientos, List<Cuenta> cuentas) {
+        AsientoContable asiento = new AsientoContable();
+        asiento.setId((long) numero);
+        asiento.setNumeroAsiento(numero);
+        asiento.setFecha(INICIO_ANIO.plusDays(aleatorio.nextInt(365)));
+        asiento.setDescripcion("Asiento generado " + numero);
+        asiento.setTipo(AsientoContable.TipoAsiento.OPERACION);
+        asiento.setEstado(AsientoContable.EstadoAsiento.BORRADOR);
+        asiento.setFechaCreacion(MARCA_TIEMPO);
+        asiento.setFechaModificacion(MARCA_TIEMPO);
+        asiento.setCreadoPor("benchmark");
+
+        long[] partes = repartir(centavos(), movimientos - 1);
+        agregarMovimiento(asiento, cuentas.get(aleatorio.nextInt(cuentas.size())),
+            MovimientoContable.TipoMovimiento.DEBITO, suma(partes), 1);
+        for (int i = 0; i < partes.length; i++) {
+            agregarMovimiento(asiento, cuentas.get(aleatorio.nextInt(cuentas.size())),
+                MovimientoContable.TipoMovimiento.CREDITO, partes[i], i + 2);
+        }
+        asiento.calcularTotales();
+        return asiento;
+    }
+
+    /**
+     * Escribir asientos balanceados como arreglo JSON, en el formato de POST /api/asientos/lote
+     * fechaFija = null reparte las fechas en el año de INICIO_ANIO
+     */
+    public void escribirLoteJson(OutputStream salida, int asientos, List<Long> cuentaIds, LocalDate fechaFija)
+            throws IOException {
+        try (JsonGenerator json = new JsonFactory().createGenerator(salida, JsonEncoding.UTF8)) {
+            json.writeStartArray();
+            for (int i = 0; i < asientos; i++) {
+                int movimientos = cantidadMovimientos();
+                long[] partes = repartir(centavos(), movimientos - 1);
+
+                json.writeStartObject();
+                json.writeStringField("fecha",
+                    (fechaFija != null ? fechaFija : INICIO_ANIO.plusDays(aleatorio.nextInt(365))).toString());
+                json.writeStringField("descripcion", "Asiento generado " + i);
+                json.writeStringField("tipo", AsientoContable.TipoAsiento.OPERACION.name());
+                json.writeArrayFieldStart("movimientos");
+                escribirMovimiento(json, cuentaIds.get(aleatorio.nextInt(cuentaIds.size())), "DEBITO", suma(partes));
+                for (long parte : partes) {
+                    escribirMovimiento(json, cuentaIds.get(aleatorio.nextInt(cuentaIds.size())), "CREDITO", parte);
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+    }
+
+    /**
+     * 2 movimientos (80%), 3 (15%) o 4 (5%)
+     */
+    public int cantidadMovimientos() {
+        int valor = aleatorio.nextInt(100);
+        return valor < 80 ? 2 : valor < 95 ? 3 : 4;
+    }
+
+    // ========== MÓDULOS AUXILIARES ==========
+
+    public List<Producto> productos(int cantidad) {
+        List<Producto> productos = new ArrayList<>(cantidad);
+        Producto.UnidadMedida[] unidades = Producto.UnidadMedida.values();
+        for (int i = 0; i < cantidad; i++) {
+            Producto producto = new Producto();
+            producto.setId((long) i + 1);
+            producto.setCodigo("P" + String.format("%07d", i));
+            producto.setNombre("Producto " + i);
+            BigDecimal precioCompra = BigDecimal.valueOf(100 + aleatorio.nextInt(50_000), 2);
+            producto.setPrecioCompra(precioCompra);
+            producto.setPrecioVenta(precioCompra.multiply(BigDecimal.valueOf(120 + aleatorio.nextInt(60), 2))
+                .setScale(2, java.math.RoundingMode.HALF_UP));
+            producto.setExistencia(aleatorio.nextInt(500));
+            producto.setStockMinimo(aleatorio.nextInt(20));
+            producto.setUnidadMedida(unidades[aleatorio.nextInt(unidades.length)]);
+            producto.setActivo(true);
+            producto.setCategoria("Categoría " + aleatorio.nextInt(20));
+            producto.setFechaCreacion(MARCA_TIEMPO);
+            producto.setFechaModificacion(MARCA_TIEMPO);
+            productos.add(producto);
+        }
+        return productos;
+    }
+
+    public List<ProductoDTO> productosDTO(int cantidad) {
+        List<ProductoDTO> productos = new ArrayList<>(cantidad);
+        for (Producto producto : productos(cantidad)) {
+            ProductoDTO dto = new ProductoDTO();
+            dto.setCodigo(producto.getCodigo());
+            dto.setNombre(producto.getNombre());
+            dto.setPrecioCompra(producto.getPrecioCompra());
+            dto.setPrecioVenta(producto.getPrecioVenta());
+            dto.setExistencia(producto.getExistencia());
+            dto.setStockMinimo(producto.getStockMinimo());
+            dto.setUnidadMedida(producto.getUnidadMedida());
+            productos.add(dto);
+        }
+        return productos;
+    }
+
+    public List<MovimientoBanco> movimientosBancarios(int cantidad) {
+        CuentaBancaria cuentaBancaria = new CuentaBancaria();
+        cuentaBancaria.setId(1L);
+        cuentaBancaria.setNombre("Cuenta Monetaria");
+        MovimientoBanco.TipoMovimientoBanco[] tipos = MovimientoBanco.TipoMovimientoBanco.values();
+
+        List<MovimientoBanco> movimientos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            MovimientoBanco movimiento = new MovimientoBanco();
+            movimiento.setId((long) i + 1);
+            movimiento.setCuentaBancaria(cuentaBancaria);
+            movimiento.setTipoMovimiento(tipos[aleatorio.nextInt(tipos.length)]);
+            movimiento.setFechaMovimiento(INICIO_ANIO.plusDays(aleatorio.nextInt(365)));
+            movimiento.setMonto(monto());
+            movimiento.setDescripcion("Movimiento " + i);
+            movimiento.setNumeroDocumento(String.valueOf(100_000 + i));
+            movimiento.setFechaCreacion(MARCA_TIEMPO);
+            movimiento.setFechaModificacion(MARCA_TIEMPO);
+            movimientos.add(movimiento);
+        }
+        return movimientos;
+    }
+
+    public List<Cliente> clientes(int cantidad) {
+        List<Cliente> clientes = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Cliente cliente = new Cliente();
+            cliente.setId((long) i + 1);
+            cliente.setCodigo("C" + String.format("%07d", i));
+            cliente.setNombre("Cliente " + i);
+            cliente.setNit(String.valueOf(1_000_000 + aleatorio.nextInt(9_000_000)));
+            cliente.setLimiteCredito(BigDecimal.valueOf(aleatorio.nextInt(50) * 1000L));
+            cliente.setSaldoActual(monto());
+            cliente.setDiasCredito(aleatorio.nextBoolean() ? 30 : 0);
+            cliente.setActivo(true);
+            cliente.setFechaCreacion(MARCA_TIEMPO);
+            cliente.setFechaModificacion(MARCA_TIEMPO);
+            clientes.add(cliente);
+        }
+        return clientes;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private Cuenta.TipoCuenta tipoAleatorio() {
+        int valor = aleatorio.nextInt(100);
+        for (int i = 0; i < PORCENTAJE_TIPOS.length; i++) {
+            valor -= PORCENTAJE_TIPOS[i];
+            if (valor < 0) {
+                return TIPOS[i];
+            }
+        }
+        return TIPOS[TIPOS.length - 1];
+    }
+
+    /**
+     * Monto log-normal en centavos, entre Q1.00 y Q10,000,000.00
+     */
+    private long centavos() {
+        double valor = Math.exp(11.6 + 1.5 * aleatorio.nextGaussian());
+        return Math.max(100, Math.min(1_000_000_000L, Math.round(valor)));
+    }
+
+    private BigDecimal monto() {
+        return BigDecimal.valueOf(centavos(), 2);
+    }
+
+    /**
+     * Repartir un monto en partes de al menos 1 centavo
+     */
+    private long[] repartir(long total, int partes) {
+        long[] resultado = new long[partes];
+        long restante = total;
+        for (int i = 0; i < partes - 1; i++) {
+            resultado[i] = 1 + (long) (aleatorio.nextDouble() * (restante - (partes - i)));
+            restante -= resultado[i];
+        }
+        resultado[partes - 1] = restante;
+        return resultado;
+    }
+
+    private static long suma(long[] partes) {
+        long total = 0;
+        for (long parte : partes) {
+            total += parte;
+        }
+        return total;
+    }
+
+    private static void agregarMovimiento(AsientoContable asiento, Cuenta cuenta,
+                                          MovimientoContable.TipoMovimiento tipo, long centavos, int orden) {
+        MovimientoContable movimiento = new MovimientoContable();
+        movimiento.setAsientoContable(asiento);
+        movimiento.setCuenta(cuenta);
+        movimiento.setTipoMovimiento(tipo);
+        movimiento.setMonto(BigDecimal.valueOf(centavos, 2));
+        movimiento.setOrden(orden);
+        asiento.getMovimientos().add(movimiento);
+    }
+
+    private static void escribirMovimiento(JsonGenerator json, Long cuentaId, String tipo, long centavos)
+            throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("cuentaId", cuentaId);
+        json.writeStringField("tipoMovimiento", tipo);
+        json.writeNumberField("monto", BigDecimal.valueOf(centavos, 2));
+        json.writeEndObject();
+    }
+}
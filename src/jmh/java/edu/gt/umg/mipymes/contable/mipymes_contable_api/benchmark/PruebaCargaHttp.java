@@ -0,0 +1,211 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prueba de carga HTTP contra una API en ejecución (no es un benchmark JMH)
+ *
+ * Ciclo cerrado: cada cliente es un hilo virtual que envía una solicitud, espera la respuesta
+ * y envía la siguiente, sin pausa. Las solicitudes se eligen al azar (semilla fija) con la mezcla
+ * 20% reportes, 60% consultas y 20% escrituras; los ids se eligen dentro de los rangos indicados.
+ * Las solicitudes del calentamiento no se miden. Al final imprime, por grupo, solicitudes por
+ * segundo y percentiles de latencia (de todas las respuestas, también las 503) y el conteo por estado HTTP.
+ * Solo usa el JDK, así que se ejecuta como archivo fuente (sin compilar el proyecto):
+ * java src/jmh/java/edu/gt/umg/mipymes/contable/mipymes_contable_api/benchmark/PruebaCargaHttp.java
+ *     url=http://localhost:8080 clientes=400 segundos=60 calentamiento=20
+ * Otros argumentos (clave=valor): cuentas, asientos, productos, clientes-bd (ids máximos), semilla.
+ */
+public class PruebaCargaHttp {
+
+    private static final LocalDate INICIO_ANIO = LocalDate.of(2025, 1, 1);
+
+    private enum Grupo {
+        REPORTES, CONSULTAS, ESCRITURAS
+    }
+
+    private record Resultado(Grupo grupo, int estado, long nanos) {
+    }
+
+    private final HttpClient http;
+    private final String url;
+    private final int maxCuenta;
+    private final int maxAsiento;
+    private final int maxProducto;
+    private final int maxCliente;
+    private final AtomicLong secuencia = new AtomicLong();
+
+    private final List<Resultado> medidos = new ArrayList<>();
+    private final Map<String, LongAdder> estados = new ConcurrentHashMap<>();
+    private volatile boolean midiendo;
+    private volatile boolean terminado;
+
+    private PruebaCargaHttp(Map<String, String> argumentos, ExecutorService hilos) {
+        this.url = argumentos.getOrDefault("url", "http://localhost:8080");
+        this.maxCuenta = Integer.parseInt(argumentos.getOrDefault("cuentas", "15"));
+        this.maxAsiento = Integer.parseInt(argumentos.getOrDefault("asientos", "1000"));
+        this.maxProducto = Integer.parseInt(argumentos.getOrDefault("productos", "5"));
+        this.maxCliente = Integer.parseInt(argumentos.getOrDefault("clientes-bd", "3"));
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(hilos)
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> argumentos = new HashMap<>();
+        for (String arg : args) {
+            String[] par = arg.split("=", 2);
+            argumentos.put(par[0], par.length > 1 ? par[1] : "");
+        }
+        int clientes = Integer.parseInt(argumentos.getOrDefault("clientes", "400"));
+        int segundos = Integer.parseInt(argumentos.getOrDefault("segundos", "60"));
+        int calentamiento = Integer.parseInt(argumentos.getOrDefault("calentamiento", "20"));
+        long semilla = Long.parseLong(argumentos.getOrDefault("semilla", "42"));
+
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            PruebaCargaHttp prueba = new PruebaCargaHttp(argumentos, hilos);
+            SplittableRandom raiz = new SplittableRandom(semilla);
+            for (int i = 0; i < clientes; i++) {
+                SplittableRandom azar = raiz.split();
+                hilos.submit(() -> prueba.cliente(azar));
+            }
+
+            System.out.printf("%d clientes contra %s: %d s de calentamiento y %d s de medición%n",
+                clientes, prueba.url, calentamiento, segundos);
+            Thread.sleep(calentamiento * 1000L);
+            prueba.midiendo = true;
+            Thread.sleep(segundos * 1000L);
+            prueba.midiendo = false;
+            prueba.terminado = true;
+            // Cada cliente termina al recibir la respuesta que estaba esperando
+            hilos.shutdown();
+            hilos.awaitTermination(90, TimeUnit.SECONDS);
+            prueba.imprimir(segundos);
+        }
+    }
+
+    private void cliente(SplittableRandom azar) {
+        List<Resultado> propios = new ArrayList<>();
+        while (!terminado) {
+            Resultado resultado = enviar(azar);
+            if (midiendo && resultado != null) {
+                propios.add(resultado);
+                estados.computeIfAbsent(resultado.grupo() + " " + resultado.estado(), k -> new LongAdder())
+                    .increment();
+            }
+        }
+        synchronized (medidos) {
+            medidos.addAll(propios);
+        }
+    }
+
+    private Resultado enviar(SplittableRandom azar) {
+        int dado = azar.nextInt(100);
+        Grupo grupo = dado < 20 ? Grupo.REPORTES : dado < 80 ? Grupo.CONSULTAS : Grupo.ESCRITURAS;
+        HttpRequest solicitud = switch (grupo) {
+            case REPORTES -> obtener(reporte(azar));
+            case CONSULTAS -> obtener(consulta(azar));
+            case ESCRITURAS -> HttpRequest.newBuilder(URI.create(url + "/api/asientos/lote"))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(loteDeUnAsiento(azar)))
+                .build();
+        };
+
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<Void> respuesta = http.send(solicitud, HttpResponse.BodyHandlers.discarding());
+            return new Resultado(grupo, respuesta.statusCode(), System.nanoTime() - inicio);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            // Conexión rechazada o tiempo agotado: se cuenta como estado 0
+            return new Resultado(grupo, 0, System.nanoTime() - inicio);
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private HttpRequest obtener(String ruta) {
+        return HttpRequest.newBuilder(URI.create(url + ruta)).timeout(Duration.ofSeconds(60)).GET().build();
+    }
+
+    private String reporte(SplittableRandom azar) {
+        LocalDate fecha = INICIO_ANIO.plusDays(azar.nextInt(365));
+        LocalDate inicioMes = fecha.withDayOfMonth(1);
+        return switch (azar.nextInt(5)) {
+            case 0 -> "/api/estados-financieros/balance-general/" + fecha;
+            case 1 -> "/api/estados-financieros/estado-resultados/periodo?fechaInicio=" + INICIO_ANIO + "&fechaFin=" + fecha;
+            case 2 -> "/api/balance-comprobacion/fecha/" + fecha;
+            case 3 -> "/api/libro-mayor/" + (1 + azar.nextInt(maxCuenta)) +
+                "?fechaInicio=" + inicioMes + "&fechaFin=" + inicioMes.plusMonths(1).minusDays(1);
+            default -> "/api/dashboard";
+        };
+    }
+
+    private String consulta(SplittableRandom azar) {
+        return switch (azar.nextInt(5)) {
+            case 0 -> "/api/asientos/" + (1 + azar.nextInt(maxAsiento));
+            case 1 -> "/api/cuentas/" + (1 + azar.nextInt(maxCuenta));
+            case 2 -> "/api/inventario/productos/" + (1 + azar.nextInt(maxProducto));
+            case 3 -> "/api/inventario/movimientos/producto/" + (1 + azar.nextInt(maxProducto));
+            default -> "/api/clientes-proveedores/cuentas-cobrar/cliente/" + (1 + azar.nextInt(maxCliente));
+        };
+    }
+
+    private String loteDeUnAsiento(SplittableRandom azar) {
+        int debe = 1 + azar.nextInt(maxCuenta);
+        int haber = 1 + (debe + azar.nextInt(maxCuenta - 1)) % maxCuenta;
+        String monto = (1 + azar.nextInt(5000)) + ".00";
+        return """
+            [{"fecha":"%s","descripcion":"Prueba de carga %d","tipo":"OPERACION","movimientos":[
+              {"cuentaId":%d,"tipoMovimiento":"DEBITO","monto":%s,"orden":1},
+              {"cuentaId":%d,"tipoMovimiento":"CREDITO","monto":%s,"orden":2}]}]
+            """.formatted(INICIO_ANIO.plusDays(azar.nextInt(365)), secuencia.incrementAndGet(), debe, monto, haber, monto);
+    }
+
+    private void imprimir(int segundos) {
+        System.out.printf("%-11s %10s %9s %9s %9s %9s %9s%n", "Grupo", "Solicitudes", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        synchronized (medidos) {
+            for (Grupo grupo : Grupo.values()) {
+                long[] nanos = medidos.stream()
+                    .filter(r -> r.grupo() == grupo)
+                    .mapToLong(Resultado::nanos)
+                    .sorted()
+                    .toArray();
+                if (nanos.length == 0) {
+                    continue;
+                }
+                System.out.printf("%-11s %10d %9.1f %9.1f %9.1f %9.1f %9.1f%n", grupo, nanos.length,
+                    (double) nanos.length / segundos, percentil(nanos, 50), percentil(nanos, 90),
+                    percentil(nanos, 99), nanos[nanos.length - 1] / 1e6);
+            }
+        }
+        System.out.println("Respuestas por estado (0 = sin respuesta):");
+        new TreeMap<>(estados).forEach((clave, cuenta) -> System.out.printf("  %-16s %d%n", clave, cuenta.sum()));
+    }
+
+    private static double percentil(long[] ordenados, int p) {
+        int indice = (int) Math.ceil(p / 100.0 * ordenados.length) - 1;
+        return ordenados[Math.max(0, Math.min(indice, ordenados.length - 1))] / 1e6;
+    }
+}
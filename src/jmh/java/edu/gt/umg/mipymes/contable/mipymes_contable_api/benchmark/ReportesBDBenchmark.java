@@ -0,0 +1,93 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.benchmark;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.BalanceComprobacionDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.BalanceGeneralDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.EstadoResultadosDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.BalanceComprobacionService;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CacheReportes;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.EstadosFinancierosService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reportes contra la BD, con un libro diario contabilizado de 100, 10 mil o 1 millón de movimientos
+ *
+ * Los datos se cargan una vez por fork con la carga por lote y la contabilización mensual.
+ * El cache de reportes se vacía antes de cada llamada: se mide el cálculo, no el cache.
+ * - Catálogo: el del DataLoader, completado hasta 1 cuenta por cada 50 asientos (máximo 1,000).
+ * - Asientos: 2 a 4 movimientos (en promedio 2.25), repartidos en el año 2025.
+ * La carga de 1 millón de movimientos tarda varios minutos:
+ * mvn -P jmh test-compile exec:exec -Djmh.args="ReportesBD -p cantidadMovimientos=100,10000"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReportesBDBenchmark {
+
+    private static final double MOVIMIENTOS_POR_ASIENTO = 2.25;
+    private static final LocalDate FIN_ANIO = GeneradorDatos.INICIO_ANIO.plusYears(1).minusDays(1);
+    private static final LocalDate MITAD_ANIO = GeneradorDatos.INICIO_ANIO.plusMonths(6).minusDays(1);
+
+    @Param({"100", "10000", "1000000"})
+    private int cantidadMovimientos;
+
+    private ContextoAplicacion contexto;
+    private BalanceComprobacionService balanceService;
+    private EstadosFinancierosService estadosService;
+    private CacheReportes cacheReportes;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        contexto = ContextoAplicacion.iniciar("reportes");
+        int asientos = (int) Math.ceil(cantidadMovimientos / MOVIMIENTOS_POR_ASIENTO);
+        List<Long> cuentaIds = contexto.completarCatalogo(Math.min(1000, Math.max(1, asientos / 50)));
+        contexto.cargarAsientos(asientos, cuentaIds, null);
+        contexto.contabilizarAnio();
+
+        balanceService = contexto.bean(BalanceComprobacionService.class);
+        estadosService = contexto.bean(EstadosFinancierosService.class);
+        cacheReportes = contexto.bean(CacheReportes.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void vaciarCache() {
+        cacheReportes.limpiar();
+    }
+
+    /**
+     * Balance de Comprobación a mitad de año (saldos de cierre + movimientos del período abierto)
+     */
+    @Benchmark
+    public BalanceComprobacionDTO balanceComprobacionAlCorte() {
+        return balanceService.generarBalanceComprobacion(MITAD_ANIO);
+    }
+
+    /**
+     * Balance de Comprobación actual (proyección en memoria)
+     */
+    @Benchmark
+    public BalanceComprobacionDTO balanceComprobacionActual() {
+        return balanceService.generarBalanceComprobacion();
+    }
+
+    @Benchmark
+    public BalanceGeneralDTO balanceGeneral() {
+        return estadosService.generarBalanceGeneral(FIN_ANIO);
+    }
+
+    @Benchmark
+    public EstadoResultadosDTO estadoResultados() {
+        return estadosService.generarEstadoResultados(GeneradorDatos.INICIO_ANIO, FIN_ANIO);
+    }
+}
@@ -0,0 +1,71 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.benchmark;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LineaBalanceDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.util.Centavos;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suma de los saldos de las líneas de un reporte: BigDecimal contra centavos en long
+ *
+ * bigDecimalStream es como se calculaban los totales de los estados financieros
+ * (un BigDecimal nuevo por cada suma, a través de un stream); centavos es como se calculan ahora.
+ * Con -prof gc se ve también la memoria asignada por operación:
+ * mvn -P jmh test-compile exec:exec -Djmh.args="SumaMontos -f 1 -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SumaMontosBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int cantidadLineas;
+
+    private List<LineaBalanceDTO> lineas;
+
+    @Setup
+    public void preparar() {
+        Random aleatorio = new Random(42);
+        lineas = new ArrayList<>(cantidadLineas);
+        for (int i = 0; i < cantidadLineas; i++) {
+            // Saldos de hasta 10 millones con 2 decimales, mitad deudores y mitad acreedores
+            BigDecimal saldo = BigDecimal.valueOf(aleatorio.nextLong(1_000_000_000L), 2);
+            String naturaleza = i % 2 == 0 ? "DEUDORA" : "ACREEDORA";
+            lineas.add(new LineaBalanceDTO(String.valueOf(1000 + i), "Cuenta " + i, "Activo", naturaleza, saldo));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalStream() {
+        return lineas.stream()
+            .map(linea -> linea.getSaldoDeudor().add(linea.getSaldoAcreedor()))
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalBucle() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (LineaBalanceDTO linea : lineas) {
+            total = total.add(linea.getSaldoDeudor());
+            total = total.add(linea.getSaldoAcreedor());
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal centavos() {
+        long total = 0;
+        for (LineaBalanceDTO linea : lineas) {
+            total = Centavos.sumar(total, linea.getSaldoDeudor());
+            total = Centavos.sumar(total, linea.getSaldoAcreedor());
+        }
+        return Centavos.aMonto(total);
+    }
+}
@@ -2,8 +2,10 @@ package edu.gt.umg.mipymes.contable.mipymes_contable_api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MipymesContableApiApplication {
 
 	public static void main(String[] args) {
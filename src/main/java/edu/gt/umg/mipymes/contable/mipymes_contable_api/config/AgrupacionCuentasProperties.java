@@ -0,0 +1,34 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reglas para agrupar el catálogo de cuentas por prefijos del código
+ *
+ * mipymes.agrupacion.niveles    - Largos de prefijo que llevan subtotal (1 = "1", 2 = "10"...)
+ * mipymes.agrupacion.nombres.*  - Nombre a mostrar para un prefijo
+ * mipymes.agrupacion.grupos.*   - Prefijos que forman cada grupo de los estados financieros
+ * Una cuenta pertenece al grupo del prefijo más largo que coincide con su código.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "mipymes.agrupacion")
+@Data
+public class AgrupacionCuentasProperties {
+
+    public static final String COSTO_VENTAS = "costo-ventas";
+    public static final String ACTIVO_NO_CORRIENTE = "activo-no-corriente";
+    public static final String PASIVO_NO_CORRIENTE = "pasivo-no-corriente";
+
+    private List<Integer> niveles = new ArrayList<>(List.of(1, 2, 3));
+
+    private Map<String, String> nombres = new HashMap<>();
+
+    private Map<String, List<String>> grupos = new HashMap<>();
+}
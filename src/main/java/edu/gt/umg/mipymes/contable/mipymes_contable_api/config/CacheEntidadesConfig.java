@@ -0,0 +1,76 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de segundo nivel de Hibernate para los catálogos que se leen mucho más de lo que se escriben
+ *
+ * Cuentas, productos, cuentas bancarias, clientes y proveedores se guardan por ID y por su
+ * identificador natural (código o número de cuenta), con estrategia READ_WRITE:
+ * - Las escrituras por Hibernate (save, dirty checking) bloquean la entrada hasta el commit;
+ *   mientras tanto las lecturas van a la BD y nadie ve un valor sin confirmar.
+ * - Los UPDATE masivos en HQL (CuentaRepository.aplicarDelta) vacían la región completa de la entidad.
+ * - Lo que se escribe por JDBC (CargaMasivaJdbcRepository) no pasa por Hibernate: quien lo usa
+ *   debe expulsar las entidades después (ver GeneradorCargaMasiva).
+ * - Los saldos (Cuenta.saldo, Producto.existencia, saldos de cuentas bancarias, clientes y proveedores)
+ *   nunca se calculan sobre la copia en cache: se cambian con UPDATE atómicos (aplicarDelta) o sobre la
+ *   fila bloqueada (buscarParaActualizar), y @Version rechaza con 409 la edición hecha sobre una copia vieja.
+ * - La cache es local a cada instancia y no se invalida entre instancias. Pensada para una sola instancia:
+ *   con varias, un GET puede mostrar un saldo viejo hasta que expire la entrada (mipymes.cache-entidades.expiracion);
+ *   en ese caso desactivarla (MIPYMES_CACHE_ENTIDADES=false en el perfil prod) o bajar la expiración.
+ * Cada contexto de Spring tiene su propio CacheManager (los contextos de prueba no comparten datos).
+ * Estadísticas por región: hibernate.second.level.cache.{requests,puts,evictions} con la etiqueta region.
+ */
+@Configuration
+public class CacheEntidadesConfig {
+
+    /**
+     * Regiones de @Cache y @NaturalIdCache en las entidades
+     * Con missing_cache_strategy=fail, una región que no esté aquí impide arrancar
+     */
+    static final List<String> REGIONES = List.of(
+        "cuentas", "cuentas.codigo",
+        "productos", "productos.codigo",
+        "cuentas-bancarias", "cuentas-bancarias.numero-cuenta",
+        "clientes", "clientes.codigo",
+        "proveedores", "proveedores.codigo");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheEntidades(@Value("${mipymes.cache-entidades.maximo-entradas:10000}") long maximoEntradas,
+                                       @Value("${mipymes.cache-entidades.expiracion:30m}") Duration expiracion) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("mipymes-cache-entidades-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : REGIONES) {
+            CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+            configuracion.setMaximumSize(OptionalLong.of(maximoEntradas));
+            configuracion.setExpireAfterWrite(OptionalLong.of(expiracion.toNanos()));
+            // Hibernate guarda el estado desensamblado (inmutable): copiarlo en cada get/put es trabajo de más
+            configuracion.setStoreByValue(false);
+            cacheManager.createCache(region, configuracion);
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Entregar a Hibernate el CacheManager ya configurado (el resto de la cache va en application.properties)
+     */
+    @Bean
+    public HibernatePropertiesCustomizer cacheEntidadesHibernate(CacheManager cacheEntidades) {
+        return propiedades -> propiedades.put(ConfigSettings.CACHE_MANAGER, cacheEntidades);
+    }
+}
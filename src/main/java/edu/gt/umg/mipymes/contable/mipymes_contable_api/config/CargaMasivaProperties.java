@@ -0,0 +1,53 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDate;
+
+/**
+ * Volumen de la carga masiva de datos sintéticos (perfil "carga")
+ *
+ * Con la misma semilla y las mismas cantidades se generan exactamente los mismos datos.
+ * Las cantidades son totales de filas; los asientos llevan de 2 a 4 movimientos cada uno.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "mipymes.carga")
+@Data
+public class CargaMasivaProperties {
+
+    private long semilla = 20240101L;
+
+    /**
+     * Rango de fechas de los datos (los períodos terminados dentro del rango quedan cerrados)
+     */
+    private LocalDate fechaInicio = LocalDate.of(2024, 1, 1);
+    private LocalDate fechaFin = LocalDate.of(2025, 12, 31);
+
+    /**
+     * Tamaño final del catálogo (se completa el catálogo inicial con cuentas auxiliares)
+     */
+    private int cuentas = 200;
+
+    private int asientos = 100_000;
+
+    /**
+     * Porcentaje de asientos que quedan en borrador (sin contabilizar)
+     */
+    private int porcentajeBorradores = 2;
+
+    private int productos = 2_000;
+    private int movimientosInventario = 200_000;
+    private int cuentasBancarias = 5;
+    private int movimientosBanco = 200_000;
+    private int clientes = 5_000;
+    private int proveedores = 500;
+    private int cuentasPorCobrar = 50_000;
+    private int cuentasPorPagar = 20_000;
+
+    /**
+     * Filas por lote JDBC; cada lote se confirma en su propia transacción
+     */
+    private int tamanoLote = 5_000;
+}
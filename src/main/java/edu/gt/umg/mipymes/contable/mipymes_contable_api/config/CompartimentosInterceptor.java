@@ -0,0 +1,161 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.config;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.CompartimentoSaturadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita las solicitudes simultáneas de cada grupo de endpoints con un semáforo (bulkhead)
+ *
+ * Con hilos virtuales cada solicitud tiene su propio hilo y nada limita cuántas llegan a pedir
+ * conexión al pool: una ráfaga de reportes podría ocupar todas las conexiones y dejar esperando
+ * a los asientos. Cada grupo tiene sus permisos; la solicitud que no obtiene uno dentro de la
+ * espera máxima recibe 503 sin haber tocado la BD.
+ * En las respuestas asíncronas (exportaciones en streaming) el permiso se libera al terminar
+ * de escribir, en el segundo despacho.
+ * Una solicitud que consulta en paralelo (el dashboard) ocupa una conexión por consulta: pide un
+ * permiso adicional por cada una con tomarAdicionales, así el grupo nunca pasa de sus conexiones.
+ */
+@Component
+@Slf4j
+public class CompartimentosInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ATRIBUTO_PERMISO = CompartimentosInterceptor.class.getName() + ".permiso";
+    private static final Set<String> METODOS_LECTURA = Set.of("GET", "HEAD", "OPTIONS");
+
+    public enum Compartimento {
+        REPORTES, ESCRITURAS
+    }
+
+    private final CompartimentosProperties propiedades;
+    private final List<PathPattern> rutasReportes;
+    private final Map<Compartimento, Semaphore> semaforos = new EnumMap<>(Compartimento.class);
+    private final Map<Compartimento, Timer> esperas = new EnumMap<>(Compartimento.class);
+    private final Map<Compartimento, Counter> rechazos = new EnumMap<>(Compartimento.class);
+
+    public CompartimentosInterceptor(CompartimentosProperties propiedades, MeterRegistry registry) {
+        this.propiedades = propiedades;
+        this.rutasReportes = propiedades.getRutasReportes().stream()
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+
+        for (Compartimento compartimento : Compartimento.values()) {
+            String etiqueta = compartimento.name().toLowerCase();
+            Semaphore semaforo = new Semaphore(grupo(compartimento).getPermisos(), true);
+            semaforos.put(compartimento, semaforo);
+            esperas.put(compartimento, Timer.builder("mipymes.compartimentos.espera")
+                .description("Espera por un permiso del compartimento")
+                .tag("compartimento", etiqueta)
+                .register(registry));
+            rechazos.put(compartimento, Counter.builder("mipymes.compartimentos.rechazos")
+                .description("Solicitudes rechazadas con 503 por compartimento lleno")
+                .tag("compartimento", etiqueta)
+                .register(registry));
+            Gauge.builder("mipymes.compartimentos.disponibles", semaforo, Semaphore::availablePermits)
+                .description("Permisos libres del compartimento")
+                .tag("compartimento", etiqueta)
+                .register(registry);
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(ATRIBUTO_PERMISO) != null) {
+            return true;    // Despacho asíncrono de una solicitud que ya tiene su permiso
+        }
+        Compartimento compartimento = clasificar(request);
+        if (compartimento == null) {
+            return true;
+        }
+
+        CompartimentosProperties.Grupo grupo = grupo(compartimento);
+        long inicio = System.nanoTime();
+        boolean obtenido;
+        try {
+            obtenido = semaforos.get(compartimento).tryAcquire(grupo.getEsperaMaxima().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            obtenido = false;
+        }
+        esperas.get(compartimento).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+
+        if (!obtenido) {
+            rechazos.get(compartimento).increment();
+            log.warn("Compartimento {} lleno: {} {} rechazada después de {} ms",
+                compartimento, request.getMethod(), request.getRequestURI(), grupo.getEsperaMaxima().toMillis());
+            throw new CompartimentoSaturadoException("El servidor está atendiendo el máximo de solicitudes de " +
+                compartimento.name().toLowerCase() + "; intente de nuevo en unos segundos");
+        }
+        request.setAttribute(ATRIBUTO_PERMISO, compartimento);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object compartimento = request.getAttribute(ATRIBUTO_PERMISO);
+        if (compartimento != null) {
+            request.removeAttribute(ATRIBUTO_PERMISO);
+            semaforos.get((Compartimento) compartimento).release();
+        }
+    }
+
+    /**
+     * Tomar, sin esperar, hasta cantidad permisos más del compartimento para consultas en paralelo
+     * de una solicitud que ya tiene el suyo. Devuelve cuántos tomó (todos si el compartimento está
+     * deshabilitado); quien los toma debe devolverlos con liberarAdicionales
+     */
+    public int tomarAdicionales(Compartimento compartimento, int cantidad) {
+        if (!propiedades.isHabilitado()) {
+            return cantidad;
+        }
+        Semaphore semaforo = semaforos.get(compartimento);
+        int tomados = 0;
+        while (tomados < cantidad && semaforo.tryAcquire()) {
+            tomados++;
+        }
+        return tomados;
+    }
+
+    public void liberarAdicionales(Compartimento compartimento, int cantidad) {
+        if (propiedades.isHabilitado() && cantidad > 0) {
+            semaforos.get(compartimento).release(cantidad);
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Reportes por ruta (con cualquier método); escrituras por método; el resto sin compartimento
+     */
+    private Compartimento clasificar(HttpServletRequest request) {
+        PathContainer ruta = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        if (rutasReportes.stream().anyMatch(patron -> patron.matches(ruta))) {
+            return Compartimento.REPORTES;
+        }
+        if (!METODOS_LECTURA.contains(request.getMethod())) {
+            return Compartimento.ESCRITURAS;
+        }
+        return null;
+    }
+
+    private CompartimentosProperties.Grupo grupo(Compartimento compartimento) {
+        return compartimento == Compartimento.REPORTES ? propiedades.getReportes() : propiedades.getEscrituras();
+    }
+}
@@ -0,0 +1,50 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compartimentos (bulkheads) que limitan las solicitudes simultáneas por grupo de endpoints
+ *
+ * mipymes.compartimentos.habilitado     - false para no limitar nada
+ * mipymes.compartimentos.reportes.*     - Permisos y espera máxima de los reportes
+ * mipymes.compartimentos.escrituras.*   - Permisos y espera máxima de POST/PUT/DELETE
+ * mipymes.compartimentos.rutas-reportes - Rutas que cuentan como reporte (con cualquier método)
+ * Las demás consultas (listados y búsquedas) no pasan por ningún compartimento.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "mipymes.compartimentos")
+@Data
+public class CompartimentosProperties {
+
+    private boolean habilitado = true;
+
+    private Grupo reportes = new Grupo(4, Duration.ofSeconds(3));
+
+    private Grupo escrituras = new Grupo(4, Duration.ofSeconds(5));
+
+    private List<String> rutasReportes = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Grupo {
+
+        /**
+         * Solicitudes del grupo que se atienden a la vez
+         */
+        private int permisos;
+
+        /**
+         * Tiempo que una solicitud espera un permiso antes de responder 503
+         */
+        private Duration esperaMaxima;
+    }
+}
@@ -7,6 +7,7 @@ import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaReposit
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -18,6 +19,7 @@ import java.math.BigDecimal;
  * Basado en el caso "El Almacén El Planeador" del PDF
  */
 @Component
+@Order(1)
 @RequiredArgsConstructor
 @Slf4j
 public class DataLoader implements CommandLineRunner {
@@ -0,0 +1,51 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.config;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Ejecuta las respuestas asíncronas de Spring MVC (exportaciones en streaming) en hilos virtuales
+ *
+ * Cuando el cliente se desconecta o se vence spring.mvc.async.request-timeout, Spring cancela la
+ * tarea con Future.cancel(true). Con un FutureTask eso interrumpe el hilo, y en un hilo virtual la
+ * interrupción cierra el socket de la conexión JDBC que está leyendo el cursor: Hikari la descarta
+ * y la transacción termina con error. Los CompletableFuture no interrumpen al cancelarse; la tarea
+ * ve fallar su siguiente escritura, cierra el cursor y devuelve la conexión sana al pool.
+ * No es un bean: un Executor en el contexto reemplazaría al applicationTaskExecutor de Spring Boot.
+ */
+public class EjecutorExportaciones implements AsyncTaskExecutor {
+
+    private final ExecutorService hilosVirtuales =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("exportacion-", 0).factory());
+
+    @Override
+    public void execute(Runnable tarea) {
+        hilosVirtuales.execute(tarea);
+    }
+
+    @Override
+    public Future<?> submit(Runnable tarea) {
+        return CompletableFuture.runAsync(tarea, hilosVirtuales);
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> tarea) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return tarea.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, hilosVirtuales);
+    }
+
+    public void cerrar() {
+        hilosVirtuales.shutdownNow();
+    }
+}
@@ -0,0 +1,764 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.config;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta.NaturalezaCuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta.TipoCuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.AsientoContableJdbcRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.AsientoContableRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CargaMasivaJdbcRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.util.Centavos;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Carga masiva de datos sintéticos para pruebas de carga (perfil "carga")
+ *
+ * Se ejecuta después del DataLoader, sobre una BD sin asientos, y genera con la semilla de
+ * CargaMasivaProperties: catálogo auxiliar, Libro Diario contabilizado con sus saldos de cierre,
+ * inventario, bancos, clientes, proveedores y cuentas por cobrar/pagar.
+ * - Todo se escribe en lotes JDBC, un lote por transacción.
+ * - Cada sección usa su propio generador aleatorio: cambiar una cantidad no cambia las demás secciones.
+ * - Los datos son coherentes: asientos balanceados, saldos de cuentas y cierres iguales a la suma de
+ *   los movimientos contabilizados, existencias que nunca quedan negativas.
+ * La numeración, la proyección del balance y el índice de búsqueda se inicializan después,
+ * con ApplicationReadyEvent, igual que en cualquier arranque.
+ *
+ * mvn spring-boot:run -Dspring-boot.run.profiles=carga -Dspring-boot.run.arguments=--mipymes.carga.asientos=1000000
+ */
+@Component
+@Profile("carga")
+@Order(2)
+@RequiredArgsConstructor
+@Slf4j
+public class GeneradorCargaMasiva implements CommandLineRunner {
+
+    private static final String CREADO_POR = "carga-masiva";
+
+    private static final String[] CATEGORIAS = {"Abarrotes", "Bebidas", "Limpieza", "Ferretería", "Papelería",
+        "Electrónica", "Ropa", "Farmacia", "Juguetería", "Cosméticos"};
+    private static final String[] NOMBRES = {"María", "José", "Juan", "Ana", "Carlos", "Lucía", "Luis", "Rosa",
+        "Pedro", "Carmen", "Jorge", "Sofía", "Miguel", "Elena", "Mario", "Gabriela"};
+    private static final String[] APELLIDOS = {"López", "García", "Pérez", "Hernández", "Morales", "Rodríguez",
+        "González", "Castillo", "Ramírez", "Méndez", "Cruz", "Flores", "Juárez", "Reyes"};
+    private static final String[] EMPRESAS = {"Distribuidora", "Comercial", "Importadora", "Industrias",
+        "Servicios", "Agropecuaria", "Ferretería", "Farmacias"};
+    private static final String[] BANCOS = {"Banco Industrial", "Banrural", "BAM", "G&T Continental", "Promerica"};
+
+    /**
+     * Tipos de asiento: cuenta de débito, cuenta de crédito, peso y monto típico en centavos
+     */
+    private static final Plantilla[] PLANTILLAS = {
+        new Plantilla("Venta de mercadería", TipoCuenta.ACTIVO, TipoCuenta.INGRESO, 35, 150_000),
+        new Plantilla("Pago de gastos", TipoCuenta.GASTO, TipoCuenta.ACTIVO, 30, 80_000),
+        new Plantilla("Cobro a clientes", TipoCuenta.ACTIVO, TipoCuenta.ACTIVO, 15, 200_000),
+        new Plantilla("Compra al crédito", TipoCuenta.ACTIVO, TipoCuenta.PASIVO, 10, 300_000),
+        new Plantilla("Pago a proveedores", TipoCuenta.PASIVO, TipoCuenta.ACTIVO, 9, 250_000),
+        new Plantilla("Aporte de capital", TipoCuenta.ACTIVO, TipoCuenta.PATRIMONIO, 1, 2_000_000)
+    };
+
+    private final CargaMasivaProperties propiedades;
+    private final CargaMasivaJdbcRepository cargaRepository;
+    private final AsientoContableJdbcRepository asientoJdbcRepository;
+    private final AsientoContableRepository asientoRepository;
+    private final CuentaRepository cuentaRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${mipymes.cierre.meses-por-periodo:1}")
+    private int mesesPorPeriodo;
+
+    @Override
+    public void run(String... args) {
+        if (asientoRepository.count() > 0) {
+            log.warn("La BD ya tiene asientos contables. Se omite la carga masiva.");
+            return;
+        }
+
+        log.info("Iniciando carga masiva (semilla {}, del {} al {})",
+            propiedades.getSemilla(), propiedades.getFechaInicio(), propiedades.getFechaFin());
+        long inicio = System.nanoTime();
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+
+        long filas = 0;
+        List<Cuenta> catalogo = completarCatalogo(new Random(propiedades.getSemilla()), transaccion);
+        filas += generarLibroDiario(catalogo, new Random(propiedades.getSemilla() + 1), transaccion);
+        filas += generarInventario(new Random(propiedades.getSemilla() + 2), transaccion);
+        filas += generarBancos(new Random(propiedades.getSemilla() + 3), transaccion);
+        filas += generarClientesProveedores(new Random(propiedades.getSemilla() + 4), transaccion);
+
+        // Los saldos y existencias se escribieron por JDBC, sin pasar por la cache de segundo nivel
+        entityManagerFactory.getCache().evictAll();
+
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        log.info("Carga masiva terminada: {} filas en {} s ({} filas/s)",
+            filas, Math.round(segundos), Math.round(filas / Math.max(segundos, 0.001)));
+    }
+
+    // ========== CATÁLOGO ==========
+
+    /**
+     * Completar el catálogo inicial hasta la cantidad configurada, con códigos de 4 dígitos
+     */
+    private List<Cuenta> completarCatalogo(Random aleatorio, TransactionTemplate transaccion) {
+        Set<String> codigos = new HashSet<>();
+        cuentaRepository.findAll().forEach(cuenta -> codigos.add(cuenta.getCodigo()));
+
+        int faltantes = Math.max(0, propiedades.getCuentas() - codigos.size());
+        List<Cuenta> nuevas = new ArrayList<>(faltantes);
+        LocalDateTime creacion = propiedades.getFechaInicio().atStartOfDay();
+        for (int i = 0; i < faltantes; i++) {
+            TipoCuenta tipo = elegirTipoCuenta(aleatorio);
+            String codigo = siguienteCodigoLibre(tipo, aleatorio, codigos);
+            if (codigo == null) {
+                log.warn("No hay más códigos de 4 dígitos libres: el catálogo queda con {} cuentas", codigos.size());
+                break;
+            }
+
+            Cuenta cuenta = new Cuenta();
+            cuenta.setCodigo(codigo);
+            cuenta.setNombre(tipo.getDescripcion() + " auxiliar " + codigo);
+            cuenta.setTipo(tipo);
+            cuenta.setNaturaleza(tipo == TipoCuenta.ACTIVO || tipo == TipoCuenta.GASTO
+                ? NaturalezaCuenta.DEUDORA : NaturalezaCuenta.ACREEDORA);
+            cuenta.setSaldo(BigDecimal.ZERO);
+            cuenta.setActiva(true);
+            cuenta.setDescripcion("Cuenta generada por la carga masiva");
+            cuenta.setFechaCreacion(creacion);
+            cuenta.setFechaModificacion(creacion);
+            nuevas.add(cuenta);
+        }
+        transaccion.executeWithoutResult(status -> cargaRepository.insertarCuentas(nuevas));
+
+        List<Cuenta> catalogo = new ArrayList<>(cuentaRepository.findAll());
+        catalogo.sort(Comparator.comparing(Cuenta::getCodigo));
+        log.info("Catálogo con {} cuentas ({} generadas)", catalogo.size(), nuevas.size());
+        return catalogo;
+    }
+
+    // ========== LIBRO DIARIO ==========
+
+    /**
+     * Asientos en orden cronológico; los saldos de cierre se guardan al pasar cada fin de período
+     */
+    private long generarLibroDiario(List<Cuenta> catalogo, Random aleatorio, TransactionTemplate transaccion) {
+        int total = propiedades.getAsientos();
+        LocalDate hoy = LocalDate.now();
+
+        // Saldos en centavos por posición en el catálogo, y posiciones por tipo de cuenta
+        long[] saldos = new long[catalogo.size()];
+        Map<TipoCuenta, int[]> porTipo = new EnumMap<>(TipoCuenta.class);
+        for (TipoCuenta tipo : TipoCuenta.values()) {
+            porTipo.put(tipo, indicesDeTipo(catalogo, tipo));
+        }
+        for (int i = 0; i < catalogo.size(); i++) {
+            saldos[i] = Centavos.de(catalogo.get(i).getSaldo());
+        }
+
+        int numeroAsiento = asientoRepository.obtenerSiguienteNumeroAsiento();
+        int siguienteCorrelativo = asientoRepository.obtenerUltimoNumeroCorrelativo() + 1;
+        LocalDate finPeriodo = finDePeriodo(propiedades.getFechaInicio());
+        List<AsientoContable> bloque = new ArrayList<>(propiedades.getTamanoLote());
+        List<SaldoCierre> cierres = new ArrayList<>();
+        long movimientos = 0;
+        long filasCierre = 0;
+
+        for (int k = 0; k < total; k++) {
+            LocalDate fecha = fechaCronologica(k, total);
+            while (fecha.isAfter(finPeriodo)) {
+                agregarCierre(catalogo, saldos, finPeriodo, hoy, cierres);
+                finPeriodo = finDePeriodo(finPeriodo.plusDays(1));
+            }
+
+            boolean borrador = aleatorio.nextInt(100) < propiedades.getPorcentajeBorradores();
+            AsientoContable asiento = generarAsiento(numeroAsiento++, fecha, catalogo, porTipo, aleatorio);
+            asiento.setEstado(borrador ? AsientoContable.EstadoAsiento.BORRADOR : AsientoContable.EstadoAsiento.CONTABILIZADO);
+            if (!borrador) {
+                for (MovimientoContable movimiento : asiento.getMovimientos()) {
+                    int indice = Collections.binarySearch(catalogo, movimiento.getCuenta(), Comparator.comparing(Cuenta::getCodigo));
+                    saldos[indice] = Centavos.sumar(saldos[indice], efecto(movimiento));
+                }
+            }
+            movimientos += asiento.getMovimientos().size();
+            bloque.add(asiento);
+
+            if (bloque.size() >= propiedades.getTamanoLote() || k == total - 1) {
+                filasCierre += cierres.size();
+                siguienteCorrelativo = confirmarBloqueAsientos(bloque, cierres, siguienteCorrelativo, transaccion);
+                bloque.clear();
+                cierres.clear();
+                if ((k + 1) % (propiedades.getTamanoLote() * 20) == 0) {
+                    log.info("Libro Diario: {} de {} asientos", k + 1, total);
+                }
+            }
+        }
+
+        // Períodos del rango que terminaron sin asientos posteriores
+        while (!finPeriodo.isAfter(propiedades.getFechaFin())) {
+            agregarCierre(catalogo, saldos, finPeriodo, hoy, cierres);
+            finPeriodo = finDePeriodo(finPeriodo.plusDays(1));
+        }
+        filasCierre += cierres.size();
+
+        LocalDateTime ahora = LocalDateTime.now();
+        for (int i = 0; i < catalogo.size(); i++) {
+            catalogo.get(i).setSaldo(Centavos.aMonto(saldos[i]));
+            catalogo.get(i).setFechaModificacion(ahora);
+        }
+        transaccion.executeWithoutResult(status -> {
+            cargaRepository.insertarSaldosCierre(cierres);
+            cargaRepository.actualizarSaldosCuentas(catalogo);
+        });
+
+        log.info("Libro Diario: {} asientos, {} movimientos, {} saldos de cierre", total, movimientos, filasCierre);
+        return total + movimientos + filasCierre;
+    }
+
+    private AsientoContable generarAsiento(int numero, LocalDate fecha, List<Cuenta> catalogo,
+                                           Map<TipoCuenta, int[]> porTipo, Random aleatorio) {
+        Plantilla plantilla = elegirPlantilla(aleatorio);
+        long monto = montoLogNormal(aleatorio, plantilla.montoTipico(), 1.2);
+
+        AsientoContable asiento = new AsientoContable();
+        asiento.setNumeroAsiento(numero);
+        asiento.setFecha(fecha);
+        asiento.setDescripcion(plantilla.descripcion() + " del " + fecha);
+        asiento.setReferencia("REF-" + String.format("%08d", numero));
+        asiento.setTipo(AsientoContable.TipoAsiento.OPERACION);
+        asiento.setCreadoPor(CREADO_POR);
+
+        // Débito en una cuenta; el crédito se reparte en 1 a 3 cuentas del mismo tipo
+        Cuenta debito = catalogo.get(elegirSesgado(porTipo.get(plantilla.debito()), aleatorio));
+        agregarMovimiento(asiento, debito, MovimientoContable.TipoMovimiento.DEBITO, monto);
+        int creditos = cantidadCreditos(aleatorio);
+        long restante = monto;
+        for (int i = 0; i < creditos; i++) {
+            long parte = i == creditos - 1 ? restante : Math.max(1, restante / (creditos - i) / 2 + aleatorio.nextLong(restante / (creditos - i) + 1) / 2);
+            parte = Math.min(parte, restante - (creditos - i - 1));
+            Cuenta credito;
+            do {
+                credito = catalogo.get(elegirSesgado(porTipo.get(plantilla.credito()), aleatorio));
+            } while (credito == debito && porTipo.get(plantilla.credito()).length > 1);
+            agregarMovimiento(asiento, credito, MovimientoContable.TipoMovimiento.CREDITO, parte);
+            restante -= parte;
+        }
+        asiento.calcularTotales();
+        return asiento;
+    }
+
+    /**
+     * Insertar un bloque de asientos, numerar los contabilizados y guardar los cierres pendientes
+     * Devuelve el siguiente número correlativo libre
+     */
+    private int confirmarBloqueAsientos(List<AsientoContable> bloque, List<SaldoCierre> cierres,
+                                        int siguienteCorrelativo, TransactionTemplate transaccion) {
+        return transaccion.execute(status -> {
+            asientoJdbcRepository.insertarAsientos(bloque);
+            List<Long> contabilizados = bloque.stream()
+                .filter(asiento -> asiento.getEstado() == AsientoContable.EstadoAsiento.CONTABILIZADO)
+                .map(AsientoContable::getId)
+                .toList();
+            asientoJdbcRepository.asignarCorrelativos(contabilizados, siguienteCorrelativo);
+            cargaRepository.insertarSaldosCierre(cierres);
+            return siguienteCorrelativo + contabilizados.size();
+        });
+    }
+
+    /**
+     * Saldos de todas las cuentas al cierre del período (solo períodos ya terminados)
+     */
+    private void agregarCierre(List<Cuenta> catalogo, long[] saldos, LocalDate fechaCierre, LocalDate hoy,
+                               List<SaldoCierre> cierres) {
+        if (!fechaCierre.isBefore(hoy)) {
+            return;
+        }
+        LocalDateTime creacion = fechaCierre.plusDays(1).atTime(0, 15);
+        for (int i = 0; i < catalogo.size(); i++) {
+            cierres.add(new SaldoCierre(null, catalogo.get(i), fechaCierre, Centavos.aMonto(saldos[i]), creacion));
+        }
+    }
+
+    // ========== INVENTARIO ==========
+
+    private long generarInventario(Random aleatorio, TransactionTemplate transaccion) {
+        int cantidadProductos = propiedades.getProductos();
+        if (cantidadProductos == 0) {
+            return 0;
+        }
+        Producto.UnidadMedida[] unidades = Producto.UnidadMedida.values();
+        LocalDateTime creacion = propiedades.getFechaInicio().atStartOfDay();
+
+        List<Producto> productos = new ArrayList<>(cantidadProductos);
+        for (int i = 1; i <= cantidadProductos; i++) {
+            String categoria = CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)];
+            long precioCompra = montoLogNormal(aleatorio, 5_000, 1.0);
+            Producto producto = new Producto();
+            producto.setCodigo("PRD-" + String.format("%06d", i));
+            producto.setNombre(categoria + " artículo " + i);
+            producto.setPrecioCompra(Centavos.aMonto(precioCompra));
+            producto.setPrecioVenta(Centavos.aMonto(precioCompra * (125 + aleatorio.nextInt(50)) / 100));
+            producto.setExistencia(0);
+            producto.setStockMinimo(5 + aleatorio.nextInt(16));
+            producto.setUnidadMedida(unidades[aleatorio.nextInt(unidades.length)]);
+            producto.setActivo(aleatorio.nextInt(100) >= 3);
+            producto.setCategoria(categoria);
+            producto.setFechaCreacion(creacion);
+            producto.setFechaModificacion(creacion);
+            productos.add(producto);
+        }
+        for (List<Producto> lote : lotes(productos)) {
+            transaccion.executeWithoutResult(status -> cargaRepository.insertarProductos(lote));
+        }
+
+        int total = propiedades.getMovimientosInventario();
+        List<MovimientoInventario> bloque = new ArrayList<>(propiedades.getTamanoLote());
+        for (int k = 0; k < total; k++) {
+            Producto producto = productos.get(elegirSesgado(cantidadProductos, aleatorio));
+            int cantidad = 1 + (int) Math.min(500, montoLogNormal(aleatorio, 5, 0.8) - 1);
+            MovimientoInventario.TipoMovimiento tipo = elegirTipoInventario(aleatorio);
+            if (tipo.esSalida() && producto.getExistencia() < cantidad) {
+                tipo = MovimientoInventario.TipoMovimiento.ENTRADA_COMPRA;
+                cantidad = Math.max(cantidad, producto.getStockMinimo() * 3);
+            }
+
+            MovimientoInventario movimiento = new MovimientoInventario();
+            movimiento.setProducto(producto);
+            movimiento.setTipoMovimiento(tipo);
+            movimiento.setCantidad(cantidad);
+            movimiento.setPrecioUnitario(tipo == MovimientoInventario.TipoMovimiento.SALIDA_VENTA
+                ? producto.getPrecioVenta() : producto.getPrecioCompra());
+            movimiento.setExistenciaAnterior(producto.getExistencia());
+            movimiento.setExistenciaNueva(producto.getExistencia() + (tipo.esEntrada() ? cantidad : -cantidad));
+            movimiento.setNumeroDocumento("INV-" + String.format("%08d", k + 1));
+            movimiento.setFechaMovimiento(marcaDeTiempo(fechaCronologica(k, total), aleatorio));
+            movimiento.setCreadoPor(CREADO_POR);
+            producto.setExistencia(movimiento.getExistenciaNueva());
+            bloque.add(movimiento);
+
+            if (bloque.size() >= propiedades.getTamanoLote() || k == total - 1) {
+                transaccion.executeWithoutResult(status -> cargaRepository.insertarMovimientosInventario(bloque));
+                bloque.clear();
+            }
+        }
+        for (List<Producto> lote : lotes(productos)) {
+            transaccion.executeWithoutResult(status -> cargaRepository.actualizarExistencias(lote));
+        }
+
+        log.info("Inventario: {} productos, {} movimientos", cantidadProductos, total);
+        return cantidadProductos + (long) total;
+    }
+
+    // ========== BANCOS ==========
+
+    private long generarBancos(Random aleatorio, TransactionTemplate transaccion) {
+        int cantidadCuentas = propiedades.getCuentasBancarias();
+        if (cantidadCuentas == 0) {
+            return 0;
+        }
+        LocalDateTime creacion = propiedades.getFechaInicio().atStartOfDay();
+
+        List<CuentaBancaria> cuentas = new ArrayList<>(cantidadCuentas);
+        for (int i = 1; i <= cantidadCuentas; i++) {
+            String banco = BANCOS[(i - 1) % BANCOS.length];
+            CuentaBancaria cuenta = new CuentaBancaria();
+            cuenta.setNombre("Cuenta " + banco + " " + i);
+            cuenta.setBanco(banco);
+            cuenta.setNumeroCuenta(String.format("%03d-%06d-%d", i, 100_000 + aleatorio.nextInt(900_000), i % 10));
+            cuenta.setTipo(i % 4 == 0 ? CuentaBancaria.TipoCuentaBancaria.CUENTA_AHORRO
+                : CuentaBancaria.TipoCuentaBancaria.CUENTA_CORRIENTE);
+            cuenta.setActiva(true);
+            cuenta.setFechaCreacion(creacion);
+            cuenta.setFechaModificacion(creacion);
+            cuentas.add(cuenta);
+        }
+        transaccion.executeWithoutResult(status -> cargaRepository.insertarCuentasBancarias(cuentas));
+
+        long[] saldoLibros = new long[cantidadCuentas];
+        long[] saldoBanco = new long[cantidadCuentas];
+        LocalDate limiteConciliacion = propiedades.getFechaFin().minusDays(30);
+        int total = propiedades.getMovimientosBanco();
+        List<MovimientoBanco> bloque = new ArrayList<>(propiedades.getTamanoLote());
+        for (int k = 0; k < total; k++) {
+            int indice = elegirSesgado(cantidadCuentas, aleatorio);
+            MovimientoBanco.TipoMovimientoBanco tipo = elegirTipoBanco(aleatorio);
+            long monto = switch (tipo) {
+                case COMISION_BANCARIA, INTERES_GANADO -> montoLogNormal(aleatorio, 2_500, 0.6);
+                default -> montoLogNormal(aleatorio, 250_000, 1.2);
+            };
+            LocalDate fecha = fechaCronologica(k, total);
+
+            MovimientoBanco movimiento = new MovimientoBanco();
+            movimiento.setCuentaBancaria(cuentas.get(indice));
+            movimiento.setTipoMovimiento(tipo);
+            movimiento.setFechaMovimiento(fecha);
+            movimiento.setMonto(Centavos.aMonto(monto));
+            movimiento.setDescripcion(tipo.getDescripcion() + " del " + fecha);
+            movimiento.setNumeroDocumento(String.format("%08d", k + 1));
+            if (tipo == MovimientoBanco.TipoMovimientoBanco.CHEQUE_EMITIDO) {
+                movimiento.setBeneficiario(nombrePersona(aleatorio));
+            }
+            if (aleatorio.nextInt(1000) < 5) {
+                movimiento.setEstado(MovimientoBanco.EstadoMovimiento.ANULADO);
+            } else if (fecha.isBefore(limiteConciliacion) && aleatorio.nextInt(100) < 97) {
+                movimiento.setEstado(MovimientoBanco.EstadoMovimiento.CONCILIADO);
+                movimiento.setFechaConciliacion(fecha.plusDays(1 + aleatorio.nextInt(10)));
+            } else {
+                movimiento.setEstado(MovimientoBanco.EstadoMovimiento.PENDIENTE);
+            }
+            LocalDateTime marca = marcaDeTiempo(fecha, aleatorio);
+            movimiento.setFechaCreacion(marca);
+            movimiento.setFechaModificacion(marca);
+            movimiento.setCreadoPor(CREADO_POR);
+
+            if (movimiento.getEstado() != MovimientoBanco.EstadoMovimiento.ANULADO) {
+                long conSigno = tipo.esDebito() ? -monto : monto;
+                saldoLibros[indice] = Centavos.sumar(saldoLibros[indice], conSigno);
+                if (movimiento.getEstado() == MovimientoBanco.EstadoMovimiento.CONCILIADO) {
+                    saldoBanco[indice] = Centavos.sumar(saldoBanco[indice], conSigno);
+                }
+            }
+            bloque.add(movimiento);
+
+            if (bloque.size() >= propiedades.getTamanoLote() || k == total - 1) {
+                transaccion.executeWithoutResult(status -> cargaRepository.insertarMovimientosBanco(bloque));
+                bloque.clear();
+            }
+        }
+
+        for (int i = 0; i < cantidadCuentas; i++) {
+            cuentas.get(i).setSaldoLibros(Centavos.aMonto(saldoLibros[i]));
+            cuentas.get(i).setSaldoBanco(Centavos.aMonto(saldoBanco[i]));
+        }
+        transaccion.executeWithoutResult(status -> cargaRepository.actualizarSaldosBancarios(cuentas));
+
+        log.info("Bancos: {} cuentas, {} movimientos", cantidadCuentas, total);
+        return cantidadCuentas + (long) total;
+    }
+
+    // ========== CLIENTES Y PROVEEDORES ==========
+
+    private long generarClientesProveedores(Random aleatorio, TransactionTemplate transaccion) {
+        LocalDateTime creacion = propiedades.getFechaInicio().atStartOfDay();
+        Cliente.TipoCliente[] tiposCliente = Cliente.TipoCliente.values();
+        Proveedor.TipoProveedor[] tiposProveedor = Proveedor.TipoProveedor.values();
+
+        List<Cliente> clientes = new ArrayList<>(propiedades.getClientes());
+        for (int i = 1; i <= propiedades.getClientes(); i++) {
+            boolean empresa = aleatorio.nextInt(100) < 30;
+            Cliente cliente = new Cliente();
+            cliente.setCodigo("CLI-" + String.format("%06d", i));
+            cliente.setNombre(empresa ? nombreEmpresa(aleatorio) : nombrePersona(aleatorio));
+            cliente.setNit(nit(aleatorio));
+            cliente.setTelefono(telefono(aleatorio));
+            cliente.setEmail("cliente" + i + "@correo.gt");
+            cliente.setTipoCliente(empresa ? tiposCliente[1 + aleatorio.nextInt(tiposCliente.length - 1)]
+                : Cliente.TipoCliente.CONSUMIDOR_FINAL);
+            cliente.setLimiteCredito(Centavos.aMonto(empresa ? montoLogNormal(aleatorio, 5_000_000, 0.8) : 0));
+            cliente.setDiasCredito(empresa ? 15 * (1 + aleatorio.nextInt(4)) : 0);
+            cliente.setActivo(aleatorio.nextInt(100) >= 5);
+            cliente.setFechaCreacion(creacion);
+            cliente.setFechaModificacion(creacion);
+            clientes.add(cliente);
+        }
+        for (List<Cliente> lote : lotes(clientes)) {
+            transaccion.executeWithoutResult(status -> cargaRepository.insertarClientes(lote));
+        }
+
+        List<Proveedor> proveedores = new ArrayList<>(propiedades.getProveedores());
+        for (int i = 1; i <= propiedades.getProveedores(); i++) {
+            Proveedor proveedor = new Proveedor();
+            proveedor.setCodigo("PRV-" + String.format("%06d", i));
+            proveedor.setNombre(nombreEmpresa(aleatorio));
+            proveedor.setNit(nit(aleatorio));
+            proveedor.setTelefono(telefono(aleatorio));
+            proveedor.setEmail("proveedor" + i + "@correo.gt");
+            proveedor.setContacto(nombrePersona(aleatorio));
+            proveedor.setTipoProveedor(tiposProveedor[elegirSesgado(tiposProveedor.length, aleatorio)]);
+            proveedor.setDiasPago(15 * (1 + aleatorio.nextInt(4)));
+            proveedor.setActivo(aleatorio.nextInt(100) >= 5);
+            proveedor.setFechaCreacion(creacion);
+            proveedor.setFechaModificacion(creacion);
+            proveedores.add(proveedor);
+        }
+        for (List<Proveedor> lote : lotes(proveedores)) {
+            transaccion.executeWithoutResult(status -> cargaRepository.insertarProveedores(lote));
+        }
+
+        long documentos = 0;
+        if (!clientes.isEmpty()) {
+            int total = propiedades.getCuentasPorCobrar();
+            List<CuentaPorCobrar> bloque = new ArrayList<>(propiedades.getTamanoLote());
+            for (int k = 0; k < total; k++) {
+                Cliente cliente = clientes.get(elegirSesgado(clientes.size(), aleatorio));
+                CuentaPorCobrar cuenta = new CuentaPorCobrar();
+                cuenta.setCliente(cliente);
+                cuenta.setNumeroDocumento("FAC-" + String.format("%08d", k + 1));
+                Documento documento = generarDocumento(k, total, Math.max(cliente.getDiasCredito(), 15), aleatorio);
+                cuenta.setFechaEmision(documento.emision());
+                cuenta.setFechaVencimiento(documento.vencimiento());
+                cuenta.setMontoOriginal(documento.monto());
+                cuenta.setMontoAbonado(documento.abonado());
+                cuenta.setSaldoPendiente(documento.monto().subtract(documento.abonado()));
+                cuenta.setEstado(documento.estado());
+                cuenta.setDescripcion("Venta al crédito");
+                cuenta.setFechaCreacion(documento.emision().atTime(LocalTime.NOON));
+                cuenta.setFechaModificacion(documento.emision().atTime(LocalTime.NOON));
+                bloque.add(cuenta);
+
+                if (bloque.size() >= propiedades.getTamanoLote() || k == total - 1) {
+                    transaccion.executeWithoutResult(status -> cargaRepository.insertarCuentasPorCobrar(bloque));
+                    bloque.clear();
+                }
+            }
+            documentos += total;
+        }
+
+        if (!proveedores.isEmpty()) {
+            int total = propiedades.getCuentasPorPagar();
+            List<CuentaPorPagar> bloque = new ArrayList<>(propiedades.getTamanoLote());
+            for (int k = 0; k < total; k++) {
+                Proveedor proveedor = proveedores.get(elegirSesgado(proveedores.size(), aleatorio));
+                CuentaPorPagar cuenta = new CuentaPorPagar();
+                cuenta.setProveedor(proveedor);
+                cuenta.setNumeroDocumento("FP-" + String.format("%08d", k + 1));
+                Documento documento = generarDocumento(k, total, proveedor.getDiasPago(), aleatorio);
+                cuenta.setFechaEmision(documento.emision());
+                cuenta.setFechaVencimiento(documento.vencimiento());
+                cuenta.setMontoOriginal(documento.monto());
+                cuenta.setMontoAbonado(documento.abonado());
+                cuenta.setSaldoPendiente(documento.monto().subtract(documento.abonado()));
+                cuenta.setEstado(CuentaPorPagar.EstadoCuenta.valueOf(documento.estado().name()));
+                cuenta.setDescripcion("Compra al crédito");
+                cuenta.setFechaCreacion(documento.emision().atTime(LocalTime.NOON));
+                cuenta.setFechaModificacion(documento.emision().atTime(LocalTime.NOON));
+                bloque.add(cuenta);
+
+                if (bloque.size() >= propiedades.getTamanoLote() || k == total - 1) {
+                    transaccion.executeWithoutResult(status -> cargaRepository.insertarCuentasPorPagar(bloque));
+                    bloque.clear();
+                }
+            }
+            documentos += total;
+        }
+        transaccion.executeWithoutResult(status -> cargaRepository.actualizarSaldosClientesProveedores());
+
+        log.info("Clientes y proveedores: {} clientes, {} proveedores, {} documentos",
+            clientes.size(), proveedores.size(), documentos);
+        return clientes.size() + proveedores.size() + documentos;
+    }
+
+    /**
+     * Documento por cobrar o pagar: los vencidos hace tiempo casi siempre están pagados
+     */
+    private Documento generarDocumento(int k, int total, int diasCredito, Random aleatorio) {
+        LocalDate emision = fechaCronologica(k, total);
+        LocalDate vencimiento = emision.plusDays(diasCredito);
+        long monto = montoLogNormal(aleatorio, 300_000, 1.0);
+        int dado = aleatorio.nextInt(100);
+
+        CuentaPorCobrar.EstadoCuenta estado;
+        long abonado;
+        if (vencimiento.isBefore(propiedades.getFechaFin().minusDays(60))) {
+            estado = dado < 85 ? CuentaPorCobrar.EstadoCuenta.PAGADO
+                : dado < 90 ? CuentaPorCobrar.EstadoCuenta.PARCIAL : CuentaPorCobrar.EstadoCuenta.VENCIDO;
+        } else {
+            estado = dado < 60 ? CuentaPorCobrar.EstadoCuenta.PENDIENTE
+                : dado < 80 ? CuentaPorCobrar.EstadoCuenta.PARCIAL : CuentaPorCobrar.EstadoCuenta.PAGADO;
+        }
+        abonado = switch (estado) {
+            case PAGADO -> monto;
+            case PARCIAL -> monto * (20 + aleatorio.nextInt(61)) / 100;
+            default -> 0;
+        };
+        return new Documento(emision, vencimiento, Centavos.aMonto(monto), Centavos.aMonto(abonado), estado);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Fecha del elemento k de total, repartidos en orden dentro del rango configurado
+     */
+    private LocalDate fechaCronologica(int k, int total) {
+        long dias = ChronoUnit.DAYS.between(propiedades.getFechaInicio(), propiedades.getFechaFin()) + 1;
+        return propiedades.getFechaInicio().plusDays(k * dias / Math.max(total, 1));
+    }
+
+    private static LocalDateTime marcaDeTiempo(LocalDate fecha, Random aleatorio) {
+        return fecha.atTime(8, 0).plusSeconds(aleatorio.nextInt(10 * 3600));
+    }
+
+    /**
+     * Monto log-normal en centavos alrededor de la mediana (nunca menor a Q1.00)
+     */
+    private static long montoLogNormal(Random aleatorio, long mediana, double dispersion) {
+        double valor = mediana * Math.exp(dispersion * aleatorio.nextGaussian());
+        return Math.max(100, Math.min(1_000_000_000_00L, Math.round(valor)));
+    }
+
+    /**
+     * Índice entre 0 y cantidad - 1, con los primeros mucho más frecuentes
+     * (las cuentas principales del catálogo, los productos y clientes más activos)
+     */
+    private static int elegirSesgado(int cantidad, Random aleatorio) {
+        double u = aleatorio.nextDouble();
+        return Math.min(cantidad - 1, (int) (cantidad * u * u * u));
+    }
+
+    private static int elegirSesgado(int[] indices, Random aleatorio) {
+        return indices[elegirSesgado(indices.length, aleatorio)];
+    }
+
+    private static Plantilla elegirPlantilla(Random aleatorio) {
+        int valor = aleatorio.nextInt(100);
+        for (Plantilla plantilla : PLANTILLAS) {
+            valor -= plantilla.peso();
+            if (valor < 0) {
+                return plantilla;
+            }
+        }
+        return PLANTILLAS[0];
+    }
+
+    /**
+     * 1 cuenta de crédito (80%), 2 (15%) o 3 (5%)
+     */
+    private static int cantidadCreditos(Random aleatorio) {
+        int valor = aleatorio.nextInt(100);
+        return valor < 80 ? 1 : valor < 95 ? 2 : 3;
+    }
+
+    /**
+     * Tipo de las cuentas nuevas: 40% activos, 20% pasivos, 5% patrimonio, 15% ingresos, 20% gastos
+     */
+    private static TipoCuenta elegirTipoCuenta(Random aleatorio) {
+        int valor = aleatorio.nextInt(100);
+        return valor < 40 ? TipoCuenta.ACTIVO : valor < 60 ? TipoCuenta.PASIVO : valor < 65 ? TipoCuenta.PATRIMONIO
+            : valor < 80 ? TipoCuenta.INGRESO : TipoCuenta.GASTO;
+    }
+
+    private static MovimientoInventario.TipoMovimiento elegirTipoInventario(Random aleatorio) {
+        int valor = aleatorio.nextInt(100);
+        return valor < 60 ? MovimientoInventario.TipoMovimiento.SALIDA_VENTA
+            : valor < 90 ? MovimientoInventario.TipoMovimiento.ENTRADA_COMPRA
+            : valor < 94 ? MovimientoInventario.TipoMovimiento.AJUSTE_POSITIVO
+            : valor < 97 ? MovimientoInventario.TipoMovimiento.AJUSTE_NEGATIVO
+            : valor < 99 ? MovimientoInventario.TipoMovimiento.DEVOLUCION_CLIENTE
+            : MovimientoInventario.TipoMovimiento.DEVOLUCION_PROVEEDOR;
+    }
+
+    private static MovimientoBanco.TipoMovimientoBanco elegirTipoBanco(Random aleatorio) {
+        int valor = aleatorio.nextInt(100);
+        return valor < 35 ? MovimientoBanco.TipoMovimientoBanco.DEPOSITO
+            : valor < 60 ? MovimientoBanco.TipoMovimientoBanco.CHEQUE_EMITIDO
+            : valor < 72 ? MovimientoBanco.TipoMovimientoBanco.TRANSFERENCIA_ENTRADA
+            : valor < 84 ? MovimientoBanco.TipoMovimientoBanco.TRANSFERENCIA_SALIDA
+            : valor < 87 ? MovimientoBanco.TipoMovimientoBanco.NOTA_DEBITO
+            : valor < 90 ? MovimientoBanco.TipoMovimientoBanco.NOTA_CREDITO
+            : valor < 97 ? MovimientoBanco.TipoMovimientoBanco.COMISION_BANCARIA
+            : MovimientoBanco.TipoMovimientoBanco.INTERES_GANADO;
+    }
+
+    /**
+     * Siguiente código libre con el dígito del tipo; el segundo dígito (grupo) se elige al azar
+     * y si el grupo está lleno se prueba con los demás
+     */
+    private static String siguienteCodigoLibre(TipoCuenta tipo, Random aleatorio, Set<String> codigos) {
+        int digitoTipo = tipo.ordinal() + 1;
+        int grupoInicial = aleatorio.nextInt(tipo == TipoCuenta.PATRIMONIO ? 2 : 4);
+        for (int g = 0; g < 10; g++) {
+            int grupo = (grupoInicial + g) % 10;
+            for (int correlativo = 1; correlativo < 100; correlativo++) {
+                String codigo = String.format("%d%d%02d", digitoTipo, grupo, correlativo);
+                if (codigos.add(codigo)) {
+                    return codigo;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int[] indicesDeTipo(List<Cuenta> catalogo, TipoCuenta tipo) {
+        return java.util.stream.IntStream.range(0, catalogo.size())
+            .filter(i -> catalogo.get(i).getTipo() == tipo && Boolean.TRUE.equals(catalogo.get(i).getActiva()))
+            .toArray();
+    }
+
+    private static void agregarMovimiento(AsientoContable asiento, Cuenta cuenta,
+                                          MovimientoContable.TipoMovimiento tipo, long centavos) {
+        MovimientoContable movimiento = new MovimientoContable();
+        movimiento.setAsientoContable(asiento);
+        movimiento.setCuenta(cuenta);
+        movimiento.setTipoMovimiento(tipo);
+        movimiento.setMonto(Centavos.aMonto(centavos));
+        movimiento.setOrden(asiento.getMovimientos().size() + 1);
+        asiento.getMovimientos().add(movimiento);
+    }
+
+    /**
+     * Efecto de un movimiento en el saldo de su cuenta (activos y gastos aumentan con débitos)
+     */
+    private static long efecto(MovimientoContable movimiento) {
+        long monto = Centavos.de(movimiento.getMonto());
+        TipoCuenta tipo = movimiento.getCuenta().getTipo();
+        boolean aumentaConDebito = tipo == TipoCuenta.ACTIVO || tipo == TipoCuenta.GASTO;
+        return movimiento.esDebito() == aumentaConDebito ? monto : -monto;
+    }
+
+    private LocalDate finDePeriodo(LocalDate fecha) {
+        int ultimoMes = ((fecha.getMonthValue() - 1) / mesesPorPeriodo + 1) * mesesPorPeriodo;
+        return fecha.withMonth(ultimoMes).with(TemporalAdjusters.lastDayOfMonth());
+    }
+
+    private <T> List<List<T>> lotes(List<T> filas) {
+        List<List<T>> lotes = new ArrayList<>();
+        for (int desde = 0; desde < filas.size(); desde += propiedades.getTamanoLote()) {
+            lotes.add(filas.subList(desde, Math.min(desde + propiedades.getTamanoLote(), filas.size())));
+        }
+        return lotes;
+    }
+
+    private static String nombrePersona(Random aleatorio) {
+        return NOMBRES[aleatorio.nextInt(NOMBRES.length)] + " " + APELLIDOS[aleatorio.nextInt(APELLIDOS.length)] +
+            " " + APELLIDOS[aleatorio.nextInt(APELLIDOS.length)];
+    }
+
+    private static String nombreEmpresa(Random aleatorio) {
+        return EMPRESAS[aleatorio.nextInt(EMPRESAS.length)] + " " + APELLIDOS[aleatorio.nextInt(APELLIDOS.length)] +
+            ", S.A.";
+    }
+
+    private static String nit(Random aleatorio) {
+        return (1_000_000 + aleatorio.nextInt(9_000_000)) + "-" + aleatorio.nextInt(10);
+    }
+
+    private static String telefono(Random aleatorio) {
+        return String.valueOf(2_000_0000 + aleatorio.nextInt(6_000_0000));
+    }
+
+    /**
+     * Tipo de asiento que se genera
+     */
+    private record Plantilla(String descripcion, TipoCuenta debito, TipoCuenta credito, int peso, long montoTipico) {
+    }
+
+    private record Documento(LocalDate emision, LocalDate vencimiento, BigDecimal monto, BigDecimal abonado,
+                             CuentaPorCobrar.EstadoCuenta estado) {
+    }
+}
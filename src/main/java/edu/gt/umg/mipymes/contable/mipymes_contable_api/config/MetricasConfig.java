@@ -0,0 +1,25 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de métricas (Micrometer)
+ *
+ * Los services llevan @Timed("mipymes.servicio") a nivel de clase: cada método público
+ * queda medido en un solo timer con las etiquetas class y method.
+ * Los histogramas de percentiles se activan en application.properties para todo "mipymes.*".
+ */
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Aspecto que convierte las anotaciones @Timed en timers
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -1,12 +1,21 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.config;
 
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final CompartimentosProperties compartimentos;
+    private final CompartimentosInterceptor compartimentosInterceptor;
+    private final EjecutorExportaciones ejecutorExportaciones = new EjecutorExportaciones();
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -15,4 +24,24 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
-}
\ No newline at end of file
+
+    /**
+     * Las exportaciones en streaming corren en EjecutorExportaciones (ver ahí por qué)
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(ejecutorExportaciones);
+    }
+
+    @PreDestroy
+    public void cerrarEjecutorExportaciones() {
+        ejecutorExportaciones.cerrar();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (compartimentos.isHabilitado()) {
+            registry.addInterceptor(compartimentosInterceptor).addPathPatterns("/api/**");
+        }
+    }
+}
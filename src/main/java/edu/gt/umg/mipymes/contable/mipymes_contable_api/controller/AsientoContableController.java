@@ -1,15 +1,31 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
 
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.AsientoContableDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ContabilizarLoteDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.EstadisticasNumeracionDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ResultadoContabilizacionLoteDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.PaginaDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ResultadoLoteAsientosDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ResultadoPaginaDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.AsientoContableService;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CargaLoteAsientosService;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.ExportacionLibroDiarioService;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.ExportacionLibroDiarioService.FormatoExportacion;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.NumeracionAsientoService;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
@@ -19,13 +35,17 @@ import java.util.Map;
  * Controller REST para el manejo de Asientos Contables (Libro Diario)
  * 
  * Endpoints disponibles:
- * GET    /api/asientos                    - Libro diario completo
+ * GET    /api/asientos                    - Libro diario (paginado por número de asiento)
  * GET    /api/asientos/{id}               - Obtener asiento por ID
  * GET    /api/asientos/numero/{numero}    - Obtener asiento por número
- * GET    /api/asientos/periodo            - Libro diario por período
- * GET    /api/asientos/buscar             - Buscar asientos por descripción
+ * GET    /api/asientos/periodo            - Libro diario por período (paginado)
+ * GET    /api/asientos/exportar           - Exportar libro diario (NDJSON, JSON o CSV)
+ * GET    /api/asientos/buscar             - Buscar asientos por texto (ordenados por relevancia)
  * POST   /api/asientos                    - Crear nuevo asiento
+ * POST   /api/asientos/lote               - Carga masiva de asientos
  * PUT    /api/asientos/{id}/contabilizar  - Contabilizar asiento
+ * PUT    /api/asientos/contabilizar       - Contabilizar varios asientos (IDs o período)
+ * GET    /api/asientos/numeracion/estadisticas - Estadísticas de numeración
  */
 @RestController
 @RequestMapping("/api/asientos")
@@ -35,48 +55,85 @@ import java.util.Map;
 public class AsientoContableController {
 
     private final AsientoContableService asientoService;
+    private final CargaLoteAsientosService cargaLoteService;
+    private final ExportacionLibroDiarioService exportacionService;
+    private final NumeracionAsientoService numeracionService;
 
     /**
-     * GET /api/asientos
-     * Obtener el libro diario completo
+     * GET /api/asientos?despuesDe=100&tamano=50
+     * Obtener el libro diario paginado por número de asiento
+     * Para la página siguiente se envía en despuesDe el valor de pagina.siguiente
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<AsientoContableDTO>>> obtenerLibroDiario() {
-        log.info("Solicitud para obtener libro diario completo");
+    public ResponseEntity<ApiResponse<List<AsientoContableDTO>>> obtenerLibroDiario(
+            @RequestParam(required = false) Integer despuesDe,
+            @RequestParam(defaultValue = "100") int tamano) {
+        log.info("Solicitud para obtener libro diario después del asiento {}", despuesDe);
         
-        List<AsientoContableDTO> asientos = asientoService.obtenerLibroDiario();
+        ResultadoPaginaDTO<AsientoContableDTO> pagina = asientoService.obtenerLibroDiario(despuesDe, tamano);
         
         ApiResponse<List<AsientoContableDTO>> response = new ApiResponse<>(
             true,
             "Libro diario obtenido exitosamente",
-            asientos
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
     }
 
     /**
-     * GET /api/asientos/periodo?fechaInicio=2024-01-01&fechaFin=2024-12-31
-     * Obtener libro diario por período
+     * GET /api/asientos/periodo?fechaInicio=2024-01-01&fechaFin=2024-12-31&despuesDe=100&tamano=50
+     * Obtener libro diario por período, paginado por número de asiento
      */
     @GetMapping("/periodo")
     public ResponseEntity<ApiResponse<List<AsientoContableDTO>>> obtenerLibroDiarioPorPeriodo(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin,
+            @RequestParam(required = false) Integer despuesDe,
+            @RequestParam(defaultValue = "100") int tamano) {
         
         log.info("Solicitud libro diario del {} al {}", fechaInicio, fechaFin);
         
-        List<AsientoContableDTO> asientos = asientoService.obtenerLibroDiarioPorPeriodo(fechaInicio, fechaFin);
+        ResultadoPaginaDTO<AsientoContableDTO> pagina =
+            asientoService.obtenerLibroDiarioPorPeriodo(fechaInicio, fechaFin, despuesDe, tamano);
         
         ApiResponse<List<AsientoContableDTO>> response = new ApiResponse<>(
             true,
             "Libro diario del período obtenido exitosamente",
-            asientos
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/asientos/exportar?formato=CSV&fechaInicio=2024-01-01&fechaFin=2024-12-31
+     * Exportar el libro diario completo (NDJSON, JSON o CSV) sin cargarlo en memoria
+     * El período es opcional
+     */
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarLibroDiario(
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacion formato,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin) {
+
+        log.info("Solicitud para exportar libro diario en formato {}", formato);
+
+        // Validar antes de empezar a escribir: después ya no se puede responder con un error
+        exportacionService.validarPeriodo(fechaInicio, fechaFin);
+
+        StreamingResponseBody cuerpo = salida ->
+            exportacionService.exportarLibroDiario(salida, formato, fechaInicio, fechaFin);
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(formato.getTipoContenido()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"libro-diario." + formato.getExtension() + "\"")
+            .body(cuerpo);
+    }
+
     /**
      * GET /api/asientos/{id}
      * Obtener asiento por ID
@@ -116,21 +173,25 @@ public class AsientoContableController {
     }
 
     /**
-     * GET /api/asientos/buscar?descripcion=deposito
-     * Buscar asientos por descripción
+     * GET /api/asientos/buscar?descripcion=deposito&desde=0&tamano=20
+     * Buscar asientos por descripción, referencia o descripción de sus movimientos
+     * Para la página siguiente se envía en desde el valor de pagina.siguiente
      */
     @GetMapping("/buscar")
     public ResponseEntity<ApiResponse<List<AsientoContableDTO>>> buscarAsientosPorDescripcion(
-            @RequestParam String descripcion) {
+            @RequestParam String descripcion,
+            @RequestParam(defaultValue = "0") int desde,
+            @RequestParam(defaultValue = "20") int tamano) {
         
         log.info("Solicitud para buscar asientos que contengan: {}", descripcion);
         
-        List<AsientoContableDTO> asientos = asientoService.buscarAsientosPorDescripcion(descripcion);
+        ResultadoPaginaDTO<AsientoContableDTO> pagina = asientoService.buscarAsientos(descripcion, desde, tamano);
         
         ApiResponse<List<AsientoContableDTO>> response = new ApiResponse<>(
             true,
             "Búsqueda completada",
-            asientos
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -157,6 +218,29 @@ public class AsientoContableController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * POST /api/asientos/lote
+     * Carga masiva de asientos desde un arreglo JSON
+     * Cada asiento se valida por separado; los rechazados no afectan al resto del lote
+     */
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<ResultadoLoteAsientosDTO>> cargarLoteAsientos(InputStream cuerpo)
+            throws IOException {
+
+        log.info("Solicitud para carga masiva de asientos");
+
+        ResultadoLoteAsientosDTO resultado = cargaLoteService.cargarLote(cuerpo);
+
+        ApiResponse<ResultadoLoteAsientosDTO> response = new ApiResponse<>(
+            true,
+            "Lote procesado: " + resultado.getTotalCreados() + " asientos creados, " +
+                resultado.getTotalRechazados() + " rechazados",
+            resultado
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * PUT /api/asientos/{id}/contabilizar
      * Contabilizar un asiento (afectar saldos de cuentas)
@@ -176,6 +260,48 @@ public class AsientoContableController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * PUT /api/asientos/contabilizar
+     * Contabilizar varios asientos en una sola operación
+     * Body: {"ids": [1, 2, 3]} o {"fechaInicio": "2024-01-01", "fechaFin": "2024-01-31"}
+     */
+    @PutMapping("/contabilizar")
+    public ResponseEntity<ApiResponse<ResultadoContabilizacionLoteDTO>> contabilizarLote(
+            @RequestBody ContabilizarLoteDTO solicitud) {
+
+        log.info("Solicitud para contabilizar asientos por lote");
+
+        ResultadoContabilizacionLoteDTO resultado = asientoService.contabilizarLote(solicitud);
+
+        ApiResponse<ResultadoContabilizacionLoteDTO> response = new ApiResponse<>(
+            true,
+            "Lote contabilizado: " + resultado.getTotalContabilizados() + " asientos contabilizados, " +
+                resultado.getTotalRechazados() + " rechazados",
+            resultado
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /api/asientos/numeracion/estadisticas
+     * Obtener estadísticas de la numeración de asientos (reservas y latencias)
+     */
+    @GetMapping("/numeracion/estadisticas")
+    public ResponseEntity<ApiResponse<EstadisticasNumeracionDTO>> obtenerEstadisticasNumeracion() {
+        log.info("Solicitud para obtener estadísticas de numeración");
+
+        EstadisticasNumeracionDTO estadisticas = numeracionService.obtenerEstadisticas();
+
+        ApiResponse<EstadisticasNumeracionDTO> response = new ApiResponse<>(
+            true,
+            "Estadísticas de numeración obtenidas exitosamente",
+            estadisticas
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Estructura estándar para respuestas de la API
      */
@@ -183,6 +309,8 @@ public class AsientoContableController {
         private boolean success;
         private String message;
         private T data;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private PaginaDTO pagina;
 
         public ApiResponse(boolean success, String message, T data) {
             this.success = success;
@@ -190,12 +318,19 @@ public class AsientoContableController {
             this.data = data;
         }
 
+        public ApiResponse(boolean success, String message, T data, PaginaDTO pagina) {
+            this(success, message, data);
+            this.pagina = pagina;
+        }
+
         public boolean isSuccess() { return success; }
         public String getMessage() { return message; }
         public T getData() { return data; }
+        public PaginaDTO getPagina() { return pagina; }
 
         public void setSuccess(boolean success) { this.success = success; }
         public void setMessage(String message) { this.message = message; }
         public void setData(T data) { this.data = data; }
+        public void setPagina(PaginaDTO pagina) { this.pagina = pagina; }
     }
 }
\ No newline at end of file
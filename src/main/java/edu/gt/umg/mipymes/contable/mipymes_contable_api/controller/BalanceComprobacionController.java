@@ -1,8 +1,10 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
 
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.BalanceComprobacionDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.VerificacionProyeccionDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta.TipoCuenta;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.BalanceComprobacionService;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.ProyeccionBalanceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -19,6 +21,8 @@ import java.time.LocalDate;
  * GET /api/balance-comprobacion/fecha/{fecha} - Balance a fecha específica
  * GET /api/balance-comprobacion/con-saldo    - Solo cuentas con saldo
  * GET /api/balance-comprobacion/tipo/{tipo}  - Balance por tipo de cuenta
+ * POST /api/balance-comprobacion/proyeccion/reconstruir - Reconstruir la proyección de saldos
+ * GET /api/balance-comprobacion/proyeccion/verificar    - Comparar la proyección con las cuentas
  */
 @RestController
 @RequestMapping("/api/balance-comprobacion")
@@ -27,6 +31,7 @@ import java.time.LocalDate;
 public class BalanceComprobacionController {
 
     private final BalanceComprobacionService balanceService;
+    private final ProyeccionBalanceService proyeccionBalance;
 
     /**
      * GET /api/balance-comprobacion
@@ -108,6 +113,46 @@ public class BalanceComprobacionController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * POST /api/balance-comprobacion/proyeccion/reconstruir
+     * Volver a cargar la proyección de saldos desde la tabla de cuentas
+     */
+    @PostMapping("/proyeccion/reconstruir")
+    public ResponseEntity<ApiResponse<Integer>> reconstruirProyeccion() {
+        log.info("Solicitud para reconstruir la proyección del balance");
+        
+        int cuentas = proyeccionBalance.reconstruir();
+        
+        ApiResponse<Integer> response = new ApiResponse<>(
+            true,
+            "Proyección reconstruida con " + cuentas + " cuentas",
+            cuentas
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /api/balance-comprobacion/proyeccion/verificar
+     * Comparar saldos y versiones de la proyección con la tabla de cuentas
+     */
+    @GetMapping("/proyeccion/verificar")
+    public ResponseEntity<ApiResponse<VerificacionProyeccionDTO>> verificarProyeccion() {
+        log.info("Solicitud para verificar la proyección del balance");
+        
+        VerificacionProyeccionDTO verificacion = proyeccionBalance.verificar();
+        
+        ApiResponse<VerificacionProyeccionDTO> response = new ApiResponse<>(
+            true,
+            verificacion.isConsistente()
+                ? "La proyección coincide con las cuentas"
+                : "La proyección tiene " + verificacion.getDiferencias().size() + " diferencias",
+            verificacion
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Estructura estándar para respuestas de la API
      */
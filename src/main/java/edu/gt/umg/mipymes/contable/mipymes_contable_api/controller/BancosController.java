@@ -1,14 +1,23 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.CuentaBancaria.TipoCuentaBancaria;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.BancosService;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.ExportacionLibroDiarioService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -20,7 +29,7 @@ import java.util.List;
  * Endpoints disponibles:
  * 
  * CUENTAS BANCARIAS:
- * GET    /api/bancos/cuentas                    - Listar cuentas bancarias
+ * GET    /api/bancos/cuentas                    - Listar cuentas bancarias (filtros tipo, nombre, noConciliadas)
  * GET    /api/bancos/cuentas/{id}               - Obtener cuenta por ID
  * GET    /api/bancos/cuentas/no-conciliadas     - Cuentas no conciliadas
  * POST   /api/bancos/cuentas                    - Crear cuenta bancaria
@@ -28,15 +37,22 @@ import java.util.List;
  * PUT    /api/bancos/cuentas/{id}/saldo-banco   - Actualizar saldo bancario
  * 
  * MOVIMIENTOS BANCARIOS:
- * GET    /api/bancos/movimientos                - Últimos movimientos
+ * GET    /api/bancos/movimientos                - Movimientos (por omisión los últimos)
  * GET    /api/bancos/movimientos/cuenta/{id}    - Movimientos por cuenta
  * GET    /api/bancos/movimientos/fecha          - Movimientos por fecha
  * GET    /api/bancos/movimientos/cheques        - Cheques en circulación
+ * GET    /api/bancos/movimientos/cuenta/{id}/exportar - Todos los movimientos de la cuenta, en streaming
+ * GET    /api/bancos/movimientos/fecha/exportar - Todos los movimientos del período, en streaming
  * POST   /api/bancos/movimientos                - Registrar movimiento
  * PUT    /api/bancos/movimientos/{id}/conciliar - Conciliar movimiento
  * 
  * REPORTES:
  * GET    /api/bancos/resumen                    - Resumen bancario
+ * 
+ * Los listados son paginados: ?pagina=0&tamano=50&orden=campo,asc|desc (tamano máximo 500).
+ * La respuesta trae en "pagina" el número de página y la página siguiente (los de cuentas, también los totales).
+ * Las rutas /exportar devuelven todo el resultado con la misma forma (sin "pagina"), escrito a medida que
+ * se lee de la BD.
  */
 @RestController
 @RequestMapping("/api/bancos")
@@ -45,23 +61,29 @@ import java.util.List;
 public class BancosController {
 
     private final BancosService bancosService;
+    private final ExportacionLibroDiarioService exportacionService;
 
     // ========== GESTIÓN DE CUENTAS BANCARIAS ==========
 
     /**
-     * GET /api/bancos/cuentas
+     * GET /api/bancos/cuentas?tipo=CUENTA_CORRIENTE&nombre=principal&noConciliadas=false&pagina=0&tamano=50&orden=nombre,asc
      * Obtener todas las cuentas bancarias activas
      */
     @GetMapping("/cuentas")
-    public ResponseEntity<ApiResponse<List<CuentaBancariaDTO>>> obtenerTodasLasCuentasBancarias() {
+    public ResponseEntity<ApiResponse<List<CuentaBancariaDTO>>> obtenerTodasLasCuentasBancarias(
+            @RequestParam(required = false) TipoCuentaBancaria tipo,
+            @RequestParam(required = false) String nombre,
+            @RequestParam(defaultValue = "false") boolean noConciliadas,
+            Pageable pageable) {
         log.info("Solicitud para obtener todas las cuentas bancarias");
         
-        List<CuentaBancariaDTO> cuentas = bancosService.obtenerTodasLasCuentasBancarias();
+        ResultadoPaginaDTO<CuentaBancariaDTO> pagina = bancosService.obtenerTodasLasCuentasBancarias(tipo, nombre, noConciliadas, pageable);
         
         ApiResponse<List<CuentaBancariaDTO>> response = new ApiResponse<>(
             true,
             "Cuentas bancarias obtenidas exitosamente",
-            cuentas
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -91,15 +113,16 @@ public class BancosController {
      * Obtener cuentas bancarias no conciliadas
      */
     @GetMapping("/cuentas/no-conciliadas")
-    public ResponseEntity<ApiResponse<List<CuentaBancariaDTO>>> obtenerCuentasNoConciliadas() {
+    public ResponseEntity<ApiResponse<List<CuentaBancariaDTO>>> obtenerCuentasNoConciliadas(Pageable pageable) {
         log.info("Solicitud para obtener cuentas bancarias no conciliadas");
         
-        List<CuentaBancariaDTO> cuentas = bancosService.obtenerCuentasNoConciliadas();
+        ResultadoPaginaDTO<CuentaBancariaDTO> pagina = bancosService.obtenerCuentasNoConciliadas(pageable);
         
         ApiResponse<List<CuentaBancariaDTO>> response = new ApiResponse<>(
             true,
             "Cuentas no conciliadas obtenidas exitosamente",
-            cuentas
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -170,19 +193,20 @@ public class BancosController {
     // ========== MOVIMIENTOS BANCARIOS ==========
 
     /**
-     * GET /api/bancos/movimientos
-     * Obtener últimos movimientos bancarios
+     * GET /api/bancos/movimientos?pagina=0&tamano=10&orden=fechaCreacion,desc
+     * Obtener los movimientos de todas las cuentas (por omisión los 10 últimos registrados)
      */
     @GetMapping("/movimientos")
-    public ResponseEntity<ApiResponse<List<MovimientoBancoDTO>>> obtenerUltimosMovimientos() {
+    public ResponseEntity<ApiResponse<List<MovimientoBancoDTO>>> obtenerMovimientos(@PageableDefault(size = 10, sort = "fechaCreacion", direction = Sort.Direction.DESC) Pageable pageable) {
         log.info("Solicitud para obtener últimos movimientos bancarios");
         
-        List<MovimientoBancoDTO> movimientos = bancosService.obtenerUltimosMovimientos();
+        ResultadoPaginaDTO<MovimientoBancoDTO> pagina = bancosService.obtenerMovimientos(pageable);
         
         ApiResponse<List<MovimientoBancoDTO>> response = new ApiResponse<>(
             true,
             "Movimientos bancarios obtenidos exitosamente",
-            movimientos
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -194,15 +218,17 @@ public class BancosController {
      */
     @GetMapping("/movimientos/cuenta/{id}")
     public ResponseEntity<ApiResponse<List<MovimientoBancoDTO>>> obtenerMovimientosPorCuenta(
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            Pageable pageable) {
         log.info("Solicitud para obtener movimientos de la cuenta bancaria ID: {}", id);
         
-        List<MovimientoBancoDTO> movimientos = bancosService.obtenerMovimientosPorCuenta(id);
+        ResultadoPaginaDTO<MovimientoBancoDTO> pagina = bancosService.obtenerMovimientosPorCuenta(id, pageable);
         
         ApiResponse<List<MovimientoBancoDTO>> response = new ApiResponse<>(
             true,
             "Movimientos de la cuenta obtenidos exitosamente",
-            movimientos
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -215,35 +241,80 @@ public class BancosController {
     @GetMapping("/movimientos/fecha")
     public ResponseEntity<ApiResponse<List<MovimientoBancoDTO>>> obtenerMovimientosPorFecha(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin,
+            Pageable pageable) {
         
         log.info("Solicitud para obtener movimientos bancarios del {} al {}", fechaInicio, fechaFin);
         
-        List<MovimientoBancoDTO> movimientos = bancosService.obtenerMovimientosPorFecha(fechaInicio, fechaFin);
+        ResultadoPaginaDTO<MovimientoBancoDTO> pagina = bancosService.obtenerMovimientosPorFecha(fechaInicio, fechaFin, pageable);
         
         ApiResponse<List<MovimientoBancoDTO>> response = new ApiResponse<>(
             true,
             "Movimientos del período obtenidos exitosamente",
-            movimientos
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/bancos/movimientos/cuenta/{id}/exportar
+     * Exportar todos los movimientos de una cuenta bancaria en orden cronológico sin cargarlos en memoria
+     */
+    @GetMapping("/movimientos/cuenta/{id}/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarMovimientosPorCuenta(@PathVariable Long id) {
+        log.info("Solicitud para exportar movimientos de la cuenta bancaria ID: {}", id);
+
+        // Validar antes de empezar a escribir: después ya no se puede responder con un error
+        bancosService.obtenerCuentaBancariaPorId(id);
+
+        StreamingResponseBody cuerpo = salida -> bancosService.exportarMovimientosPorCuenta(id, salida);
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"movimientos-cuenta-" + id + ".json\"")
+            .body(cuerpo);
+    }
+
+    /**
+     * GET /api/bancos/movimientos/fecha/exportar?fechaInicio=2024-01-01&fechaFin=2024-12-31
+     * Exportar los movimientos de todas las cuentas en un rango de fechas sin cargarlos en memoria
+     */
+    @GetMapping("/movimientos/fecha/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarMovimientosPorFecha(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin) {
+
+        log.info("Solicitud para exportar movimientos bancarios del {} al {}", fechaInicio, fechaFin);
+
+        // Validar antes de empezar a escribir: después ya no se puede responder con un error
+        exportacionService.validarPeriodo(fechaInicio, fechaFin);
+
+        StreamingResponseBody cuerpo = salida -> bancosService.exportarMovimientosPorFecha(fechaInicio, fechaFin, salida);
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"movimientos-bancos-" + fechaInicio + "-" + fechaFin + ".json\"")
+            .body(cuerpo);
+    }
+
     /**
      * GET /api/bancos/movimientos/cheques
      * Obtener cheques en circulación (pendientes)
      */
     @GetMapping("/movimientos/cheques")
-    public ResponseEntity<ApiResponse<List<MovimientoBancoDTO>>> obtenerChequesEnCirculacion() {
+    public ResponseEntity<ApiResponse<List<MovimientoBancoDTO>>> obtenerChequesEnCirculacion(Pageable pageable) {
         log.info("Solicitud para obtener cheques en circulación");
         
-        List<MovimientoBancoDTO> cheques = bancosService.obtenerChequesEnCirculacion();
+        ResultadoPaginaDTO<MovimientoBancoDTO> pagina = bancosService.obtenerChequesEnCirculacion(pageable);
         
         ApiResponse<List<MovimientoBancoDTO>> response = new ApiResponse<>(
             true,
             "Cheques en circulación obtenidos exitosamente",
-            cheques
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -322,6 +393,8 @@ public class BancosController {
         private boolean success;
         private String message;
         private T data;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private PaginaDTO pagina;
 
         public ApiResponse(boolean success, String message, T data) {
             this.success = success;
@@ -329,14 +402,21 @@ public class BancosController {
             this.data = data;
         }
 
+        public ApiResponse(boolean success, String message, T data, PaginaDTO pagina) {
+            this(success, message, data);
+            this.pagina = pagina;
+        }
+
         // Getters
         public boolean isSuccess() { return success; }
         public String getMessage() { return message; }
         public T getData() { return data; }
+        public PaginaDTO getPagina() { return pagina; }
 
         // Setters
         public void setSuccess(boolean success) { this.success = success; }
         public void setMessage(String message) { this.message = message; }
         public void setData(T data) { this.data = data; }
+        public void setPagina(PaginaDTO pagina) { this.pagina = pagina; }
     }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.EstadisticasCacheDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CacheReportes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST para el cache de reportes
+ *
+ * Endpoints disponibles:
+ * GET    /api/reportes/cache   - Entradas guardadas y aciertos/fallos por tipo de reporte
+ * DELETE /api/reportes/cache   - Vaciar el cache
+ */
+@RestController
+@RequestMapping("/api/reportes/cache")
+@RequiredArgsConstructor
+@Slf4j
+public class CacheReportesController {
+
+    private final CacheReportes cacheReportes;
+
+    /**
+     * GET /api/reportes/cache
+     * Obtener las estadísticas del cache de reportes
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<EstadisticasCacheDTO>> obtenerEstadisticas() {
+        log.info("Solicitud para obtener las estadísticas del cache de reportes");
+
+        EstadisticasCacheDTO estadisticas = cacheReportes.obtenerEstadisticas();
+
+        ApiResponse<EstadisticasCacheDTO> response = new ApiResponse<>(
+            true,
+            "Cache con " + (estadisticas.getEntradas() + estadisticas.getEntradasFijadas()) + " reportes guardados",
+            estadisticas
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * DELETE /api/reportes/cache
+     * Descartar todos los reportes guardados
+     */
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<Void>> limpiar() {
+        log.info("Solicitud para vaciar el cache de reportes");
+
+        cacheReportes.limpiar();
+
+        ApiResponse<Void> response = new ApiResponse<>(
+            true,
+            "Cache de reportes vaciado",
+            null
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Estructura estándar para respuestas de la API
+     */
+    public static class ApiResponse<T> {
+        private boolean success;
+        private String message;
+        private T data;
+
+        public ApiResponse(boolean success, String message, T data) {
+            this.success = success;
+            this.message = message;
+            this.data = data;
+        }
+
+        public boolean isSuccess() { return success; }
+        public String getMessage() { return message; }
+        public T getData() { return data; }
+
+        public void setSuccess(boolean success) { this.success = success; }
+        public void setMessage(String message) { this.message = message; }
+        public void setData(T data) { this.data = data; }
+    }
+}
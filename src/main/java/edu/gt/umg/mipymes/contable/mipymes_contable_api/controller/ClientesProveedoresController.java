@@ -1,10 +1,14 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cliente.TipoCliente;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Proveedor.TipoProveedor;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.ClientesProveedoresService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,7 +21,7 @@ import java.util.List;
  * Endpoints disponibles:
  * 
  * CLIENTES:
- * GET    /api/clientes-proveedores/clientes                - Listar clientes
+ * GET    /api/clientes-proveedores/clientes                - Listar clientes (filtros tipo, nombre, conSaldo)
  * GET    /api/clientes-proveedores/clientes/{id}           - Obtener cliente por ID
  * GET    /api/clientes-proveedores/clientes/buscar         - Buscar clientes por nombre
  * GET    /api/clientes-proveedores/clientes/con-saldo      - Clientes con saldo pendiente
@@ -25,7 +29,7 @@ import java.util.List;
  * PUT    /api/clientes-proveedores/clientes/{id}           - Actualizar cliente
  * 
  * PROVEEDORES:
- * GET    /api/clientes-proveedores/proveedores             - Listar proveedores
+ * GET    /api/clientes-proveedores/proveedores             - Listar proveedores (filtros tipo, nombre)
  * GET    /api/clientes-proveedores/proveedores/{id}        - Obtener proveedor por ID
  * POST   /api/clientes-proveedores/proveedores             - Crear proveedor
  * PUT    /api/clientes-proveedores/proveedores/{id}        - Actualizar proveedor
@@ -41,6 +45,10 @@ import java.util.List;
  * 
  * REPORTES:
  * GET    /api/clientes-proveedores/resumen                  - Resumen general
+ * 
+ * Los listados son paginados: ?pagina=0&tamano=50&orden=campo,asc|desc (tamano máximo 500).
+ * La respuesta trae en "pagina" el número de página y la página siguiente (los de clientes y
+ * proveedores, también los totales).
  */
 @RestController
 @RequestMapping("/api/clientes-proveedores")
@@ -53,19 +61,24 @@ public class ClientesProveedoresController {
     // ========== GESTIÓN DE CLIENTES ==========
 
     /**
-     * GET /api/clientes-proveedores/clientes
+     * GET /api/clientes-proveedores/clientes?tipo=EMPRESA&nombre=comercial&conSaldo=false&pagina=0&tamano=50&orden=nombre,asc
      * Obtener todos los clientes activos
      */
     @GetMapping("/clientes")
-    public ResponseEntity<ApiResponse<List<ClienteDTO>>> obtenerTodosLosClientes() {
+    public ResponseEntity<ApiResponse<List<ClienteDTO>>> obtenerTodosLosClientes(
+            @RequestParam(required = false) TipoCliente tipo,
+            @RequestParam(required = false) String nombre,
+            @RequestParam(defaultValue = "false") boolean conSaldo,
+            Pageable pageable) {
         log.info("Solicitud para obtener todos los clientes");
         
-        List<ClienteDTO> clientes = clientesProveedoresService.obtenerTodosLosClientes();
+        ResultadoPaginaDTO<ClienteDTO> pagina = clientesProveedoresService.obtenerTodosLosClientes(tipo, nombre, conSaldo, pageable);
         
         ApiResponse<List<ClienteDTO>> response = new ApiResponse<>(
             true,
             "Clientes obtenidos exitosamente",
-            clientes
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -96,15 +109,17 @@ public class ClientesProveedoresController {
      */
     @GetMapping("/clientes/buscar")
     public ResponseEntity<ApiResponse<List<ClienteDTO>>> buscarClientesPorNombre(
-            @RequestParam String nombre) {
+            @RequestParam String nombre,
+            Pageable pageable) {
         log.info("Solicitud para buscar clientes que contengan: {}", nombre);
         
-        List<ClienteDTO> clientes = clientesProveedoresService.buscarClientesPorNombre(nombre);
+        ResultadoPaginaDTO<ClienteDTO> pagina = clientesProveedoresService.buscarClientesPorNombre(nombre, pageable);
         
         ApiResponse<List<ClienteDTO>> response = new ApiResponse<>(
             true,
             "Búsqueda completada",
-            clientes
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -115,15 +130,16 @@ public class ClientesProveedoresController {
      * Obtener clientes con saldo pendiente
      */
     @GetMapping("/clientes/con-saldo")
-    public ResponseEntity<ApiResponse<List<ClienteDTO>>> obtenerClientesConSaldo() {
+    public ResponseEntity<ApiResponse<List<ClienteDTO>>> obtenerClientesConSaldo(Pageable pageable) {
         log.info("Solicitud para obtener clientes con saldo pendiente");
         
-        List<ClienteDTO> clientes = clientesProveedoresService.obtenerClientesConSaldo();
+        ResultadoPaginaDTO<ClienteDTO> pagina = clientesProveedoresService.obtenerClientesConSaldo(pageable);
         
         ApiResponse<List<ClienteDTO>> response = new ApiResponse<>(
             true,
             "Clientes con saldo obtenidos exitosamente",
-            clientes
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -172,19 +188,23 @@ public class ClientesProveedoresController {
     // ========== GESTIÓN DE PROVEEDORES ==========
 
     /**
-     * GET /api/clientes-proveedores/proveedores
+     * GET /api/clientes-proveedores/proveedores?tipo=SERVICIOS&nombre=distribuidora&pagina=0&tamano=50&orden=nombre,asc
      * Obtener todos los proveedores activos
      */
     @GetMapping("/proveedores")
-    public ResponseEntity<ApiResponse<List<ProveedorDTO>>> obtenerTodosLosProveedores() {
+    public ResponseEntity<ApiResponse<List<ProveedorDTO>>> obtenerTodosLosProveedores(
+            @RequestParam(required = false) TipoProveedor tipo,
+            @RequestParam(required = false) String nombre,
+            Pageable pageable) {
         log.info("Solicitud para obtener todos los proveedores");
         
-        List<ProveedorDTO> proveedores = clientesProveedoresService.obtenerTodosLosProveedores();
+        ResultadoPaginaDTO<ProveedorDTO> pagina = clientesProveedoresService.obtenerTodosLosProveedores(tipo, nombre, pageable);
         
         ApiResponse<List<ProveedorDTO>> response = new ApiResponse<>(
             true,
             "Proveedores obtenidos exitosamente",
-            proveedores
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -257,15 +277,17 @@ public class ClientesProveedoresController {
      */
     @GetMapping("/cuentas-cobrar/cliente/{id}")
     public ResponseEntity<ApiResponse<List<CuentaPorCobrarDTO>>> obtenerCuentasPorCobrarPorCliente(
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            Pageable pageable) {
         log.info("Solicitud para obtener cuentas por cobrar del cliente ID: {}", id);
         
-        List<CuentaPorCobrarDTO> cuentas = clientesProveedoresService.obtenerCuentasPorCobrarPorCliente(id);
+        ResultadoPaginaDTO<CuentaPorCobrarDTO> pagina = clientesProveedoresService.obtenerCuentasPorCobrarPorCliente(id, pageable);
         
         ApiResponse<List<CuentaPorCobrarDTO>> response = new ApiResponse<>(
             true,
             "Cuentas por cobrar del cliente obtenidas exitosamente",
-            cuentas
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -276,15 +298,16 @@ public class ClientesProveedoresController {
      * Obtener cuentas por cobrar vencidas
      */
     @GetMapping("/cuentas-cobrar/vencidas")
-    public ResponseEntity<ApiResponse<List<CuentaPorCobrarDTO>>> obtenerCuentasPorCobrarVencidas() {
+    public ResponseEntity<ApiResponse<List<CuentaPorCobrarDTO>>> obtenerCuentasPorCobrarVencidas(Pageable pageable) {
         log.info("Solicitud para obtener cuentas por cobrar vencidas");
         
-        List<CuentaPorCobrarDTO> cuentas = clientesProveedoresService.obtenerCuentasPorCobrarVencidas();
+        ResultadoPaginaDTO<CuentaPorCobrarDTO> pagina = clientesProveedoresService.obtenerCuentasPorCobrarVencidas(pageable);
         
         ApiResponse<List<CuentaPorCobrarDTO>> response = new ApiResponse<>(
             true,
             "Cuentas por cobrar vencidas obtenidas exitosamente",
-            cuentas
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -318,15 +341,16 @@ public class ClientesProveedoresController {
      * Obtener cuentas por pagar vencidas
      */
     @GetMapping("/cuentas-pagar/vencidas")
-    public ResponseEntity<ApiResponse<List<CuentaPorPagarDTO>>> obtenerCuentasPorPagarVencidas() {
+    public ResponseEntity<ApiResponse<List<CuentaPorPagarDTO>>> obtenerCuentasPorPagarVencidas(Pageable pageable) {
         log.info("Solicitud para obtener cuentas por pagar vencidas");
         
-        List<CuentaPorPagarDTO> cuentas = clientesProveedoresService.obtenerCuentasPorPagarVencidas();
+        ResultadoPaginaDTO<CuentaPorPagarDTO> pagina = clientesProveedoresService.obtenerCuentasPorPagarVencidas(pageable);
         
         ApiResponse<List<CuentaPorPagarDTO>> response = new ApiResponse<>(
             true,
             "Cuentas por pagar vencidas obtenidas exitosamente",
-            cuentas
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -383,6 +407,8 @@ public class ClientesProveedoresController {
         private boolean success;
         private String message;
         private T data;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private PaginaDTO pagina;
 
         public ApiResponse(boolean success, String message, T data) {
             this.success = success;
@@ -390,14 +416,21 @@ public class ClientesProveedoresController {
             this.data = data;
         }
 
+        public ApiResponse(boolean success, String message, T data, PaginaDTO pagina) {
+            this(success, message, data);
+            this.pagina = pagina;
+        }
+
         // Getters
         public boolean isSuccess() { return success; }
         public String getMessage() { return message; }
         public T getData() { return data; }
+        public PaginaDTO getPagina() { return pagina; }
 
         // Setters
         public void setSuccess(boolean success) { this.success = success; }
         public void setMessage(String message) { this.message = message; }
         public void setData(T data) { this.data = data; }
+        public void setPagina(PaginaDTO pagina) { this.pagina = pagina; }
     }
 }
\ No newline at end of file
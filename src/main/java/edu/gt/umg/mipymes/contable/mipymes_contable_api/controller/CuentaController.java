@@ -1,11 +1,15 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.CuentaDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.PaginaDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ResultadoPaginaDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta.TipoCuenta;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CuentaService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,7 +20,7 @@ import java.util.List;
  * Controller REST para el manejo de Cuentas Contables
  * 
  * Endpoints disponibles:
- * GET    /api/cuentas              - Listar todas las cuentas
+ * GET    /api/cuentas              - Listar cuentas (filtros tipo y nombre)
  * GET    /api/cuentas/{id}         - Obtener cuenta por ID
  * GET    /api/cuentas/codigo/{codigo} - Obtener cuenta por código
  * GET    /api/cuentas/tipo/{tipo}  - Obtener cuentas por tipo
@@ -24,6 +28,10 @@ import java.util.List;
  * POST   /api/cuentas              - Crear nueva cuenta
  * PUT    /api/cuentas/{id}         - Actualizar cuenta
  * DELETE /api/cuentas/{id}         - Desactivar cuenta
+ * GET    /api/cuentas/catalogo     - Catálogo de cuentas activas
+ *
+ * Los listados son paginados: ?pagina=0&tamano=50&orden=campo,asc|desc (tamano máximo 500).
+ * La respuesta trae en "pagina" el número de página, los totales y la página siguiente.
  */
 @RestController
 @RequestMapping("/api/cuentas")
@@ -34,19 +42,23 @@ public class CuentaController {
     private final CuentaService cuentaService;
 
     /**
-     * GET /api/cuentas
+     * GET /api/cuentas?tipo=ACTIVO&nombre=caja&pagina=0&tamano=50&orden=codigo,asc
      * Obtener todas las cuentas activas del catálogo
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CuentaDTO>>> obtenerTodasLasCuentas() {
+    public ResponseEntity<ApiResponse<List<CuentaDTO>>> obtenerTodasLasCuentas(
+            @RequestParam(required = false) TipoCuenta tipo,
+            @RequestParam(required = false) String nombre,
+            Pageable pageable) {
         log.info("Solicitud para obtener todas las cuentas");
         
-        List<CuentaDTO> cuentas = cuentaService.obtenerTodasLasCuentas();
+        ResultadoPaginaDTO<CuentaDTO> pagina = cuentaService.obtenerTodasLasCuentas(tipo, nombre, pageable);
         
         ApiResponse<List<CuentaDTO>> response = new ApiResponse<>(
             true,
             "Cuentas obtenidas exitosamente",
-            cuentas
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -95,15 +107,18 @@ public class CuentaController {
      * Obtener cuentas por tipo (ACTIVO, PASIVO, PATRIMONIO, INGRESO, GASTO)
      */
     @GetMapping("/tipo/{tipo}")
-    public ResponseEntity<ApiResponse<List<CuentaDTO>>> obtenerCuentasPorTipo(@PathVariable TipoCuenta tipo) {
+    public ResponseEntity<ApiResponse<List<CuentaDTO>>> obtenerCuentasPorTipo(
+            @PathVariable TipoCuenta tipo,
+            Pageable pageable) {
         log.info("Solicitud para obtener cuentas de tipo: {}", tipo);
         
-        List<CuentaDTO> cuentas = cuentaService.obtenerCuentasPorTipo(tipo);
+        ResultadoPaginaDTO<CuentaDTO> pagina = cuentaService.obtenerCuentasPorTipo(tipo, pageable);
         
         ApiResponse<List<CuentaDTO>> response = new ApiResponse<>(
             true,
             "Cuentas de tipo " + tipo.getDescripcion() + " obtenidas exitosamente",
-            cuentas
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -115,15 +130,17 @@ public class CuentaController {
      */
     @GetMapping("/buscar")
     public ResponseEntity<ApiResponse<List<CuentaDTO>>> buscarCuentasPorNombre(
-            @RequestParam String nombre) {
+            @RequestParam String nombre,
+            Pageable pageable) {
         log.info("Solicitud para buscar cuentas que contengan: {}", nombre);
         
-        List<CuentaDTO> cuentas = cuentaService.buscarCuentasPorNombre(nombre);
+        ResultadoPaginaDTO<CuentaDTO> pagina = cuentaService.buscarCuentasPorNombre(nombre, pageable);
         
         ApiResponse<List<CuentaDTO>> response = new ApiResponse<>(
             true,
             "Búsqueda completada",
-            cuentas
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -189,19 +206,20 @@ public class CuentaController {
     }
 
     /**
-     * GET /api/cuentas/catalogo
+     * GET /api/cuentas/catalogo?tamano=500
      * Obtener el catálogo completo de cuentas (endpoint específico del dominio contable)
      */
     @GetMapping("/catalogo")
-    public ResponseEntity<ApiResponse<List<CuentaDTO>>> obtenerCatalogoCuentas() {
+    public ResponseEntity<ApiResponse<List<CuentaDTO>>> obtenerCatalogoCuentas(Pageable pageable) {
         log.info("Solicitud para obtener catálogo completo de cuentas");
         
-        List<CuentaDTO> catalogo = cuentaService.obtenerCatalogoCuentas();
+        ResultadoPaginaDTO<CuentaDTO> pagina = cuentaService.obtenerCatalogoCuentas(pageable);
         
         ApiResponse<List<CuentaDTO>> response = new ApiResponse<>(
             true,
             "Catálogo de cuentas obtenido exitosamente",
-            catalogo
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -217,6 +235,8 @@ public class CuentaController {
         private boolean success;
         private String message;
         private T data;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private PaginaDTO pagina;
 
         public ApiResponse(boolean success, String message, T data) {
             this.success = success;
@@ -224,14 +244,21 @@ public class CuentaController {
             this.data = data;
         }
 
+        public ApiResponse(boolean success, String message, T data, PaginaDTO pagina) {
+            this(success, message, data);
+            this.pagina = pagina;
+        }
+
         // Getters
         public boolean isSuccess() { return success; }
         public String getMessage() { return message; }
         public T getData() { return data; }
+        public PaginaDTO getPagina() { return pagina; }
 
         // Setters
         public void setSuccess(boolean success) { this.success = success; }
         public void setMessage(String message) { this.message = message; }
         public void setData(T data) { this.data = data; }
+        public void setPagina(PaginaDTO pagina) { this.pagina = pagina; }
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.DashboardDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST para el dashboard
+ *
+ * Endpoints disponibles:
+ * GET /api/dashboard   - Balance, resumen bancario, clientes/proveedores, inventario y últimos movimientos
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    /**
+     * GET /api/dashboard
+     * Obtener todas las secciones del dashboard en una sola respuesta
+     * Si alguna sección falla o no termina a tiempo, se devuelven las demás (success = true, completo = false)
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<DashboardDTO>> obtenerDashboard() {
+        log.info("Solicitud para obtener el dashboard");
+
+        DashboardDTO dashboard = dashboardService.generarDashboard();
+
+        ApiResponse<DashboardDTO> response = new ApiResponse<>(
+            true,
+            dashboard.isCompleto() ? "Dashboard generado exitosamente" :
+                "Dashboard generado con secciones no disponibles",
+            dashboard
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Estructura estándar para respuestas de la API
+     */
+    public static class ApiResponse<T> {
+        private boolean success;
+        private String message;
+        private T data;
+
+        public ApiResponse(boolean success, String message, T data) {
+            this.success = success;
+            this.message = message;
+            this.data = data;
+        }
+
+        public boolean isSuccess() { return success; }
+        public String getMessage() { return message; }
+        public T getData() { return data; }
+
+        public void setSuccess(boolean success) { this.success = success; }
+        public void setMessage(String message) { this.message = message; }
+        public void setData(T data) { this.data = data; }
+    }
+}
@@ -1,7 +1,10 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
 
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.BalanceGeneralDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.EstadoComparativoDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.EstadoResultadosDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.SolicitudComparativoDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.EstadosComparativosService;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.EstadosFinancierosService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +22,8 @@ import java.time.LocalDate;
  * GET /api/estados-financieros/balance-general/{fecha}      - Balance General a fecha
  * GET /api/estados-financieros/estado-resultados           - Estado de Resultados anual
  * GET /api/estados-financieros/estado-resultados/periodo   - Estado de Resultados por período
+ * POST /api/estados-financieros/comparativo/estado-resultados - Estado de Resultados de varios períodos
+ * POST /api/estados-financieros/comparativo/balance-general   - Balance General a varias fechas
  */
 @RestController
 @RequestMapping("/api/estados-financieros")
@@ -27,6 +32,7 @@ import java.time.LocalDate;
 public class EstadosFinancierosController {
 
     private final EstadosFinancierosService estadosFinancierosService;
+    private final EstadosComparativosService estadosComparativosService;
 
     /**
      * GET /api/estados-financieros/balance-general
@@ -109,6 +115,52 @@ public class EstadosFinancierosController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * POST /api/estados-financieros/comparativo/estado-resultados
+     * Estado de Resultados con una columna por período y análisis horizontal y vertical
+     * Body: {"periodos": [{"fechaInicio": "2024-01-01", "fechaFin": "2024-12-31"}, ...]}
+     */
+    @PostMapping("/comparativo/estado-resultados")
+    public ResponseEntity<ApiResponse<EstadoComparativoDTO>> generarEstadoResultadosComparativo(
+            @RequestBody SolicitudComparativoDTO solicitud) {
+
+        log.info("Solicitud para generar Estado de Resultados comparativo");
+
+        EstadoComparativoDTO estado =
+            estadosComparativosService.generarEstadoResultadosComparativo(solicitud.getPeriodos());
+
+        ApiResponse<EstadoComparativoDTO> response = new ApiResponse<>(
+            true,
+            "Estado de Resultados comparativo de " + estado.getPeriodos().size() + " períodos generado exitosamente",
+            estado
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * POST /api/estados-financieros/comparativo/balance-general
+     * Balance General con una columna por fecha de corte y análisis horizontal y vertical
+     * Body: {"fechasCorte": ["2023-12-31", "2024-12-31", "2025-12-31"]}
+     */
+    @PostMapping("/comparativo/balance-general")
+    public ResponseEntity<ApiResponse<EstadoComparativoDTO>> generarBalanceGeneralComparativo(
+            @RequestBody SolicitudComparativoDTO solicitud) {
+
+        log.info("Solicitud para generar Balance General comparativo");
+
+        EstadoComparativoDTO balance =
+            estadosComparativosService.generarBalanceGeneralComparativo(solicitud.getFechasCorte());
+
+        ApiResponse<EstadoComparativoDTO> response = new ApiResponse<>(
+            true,
+            "Balance General comparativo a " + balance.getPeriodos().size() + " fechas generado exitosamente",
+            balance
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Estructura estándar para respuestas de la API
      */
@@ -1,13 +1,20 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.*;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.InventarioService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,7 +24,7 @@ import java.util.List;
  * Endpoints disponibles:
  * 
  * PRODUCTOS:
- * GET    /api/inventario/productos                - Listar productos
+ * GET    /api/inventario/productos                - Listar productos (filtros nombre, categoria, stockMinimo)
  * GET    /api/inventario/productos/{id}           - Obtener producto por ID
  * GET    /api/inventario/productos/codigo/{codigo} - Obtener producto por código
  * GET    /api/inventario/productos/buscar         - Buscar productos por nombre
@@ -26,12 +33,19 @@ import java.util.List;
  * PUT    /api/inventario/productos/{id}           - Actualizar producto
  * 
  * MOVIMIENTOS:
- * GET    /api/inventario/movimientos              - Últimos movimientos
+ * GET    /api/inventario/movimientos              - Movimientos (por omisión los últimos)
  * GET    /api/inventario/movimientos/producto/{id} - Movimientos por producto
+ * GET    /api/inventario/movimientos/exportar     - Todos los movimientos, en streaming
+ * GET    /api/inventario/movimientos/producto/{id}/exportar - Kardex completo, en streaming
  * POST   /api/inventario/movimientos              - Registrar movimiento
  * 
  * REPORTES:
  * GET    /api/inventario/reporte                  - Reporte de inventario
+ * 
+ * Los listados son paginados: ?pagina=0&tamano=50&orden=campo,asc|desc (tamano máximo 500).
+ * La respuesta trae en "pagina" el número de página y la página siguiente (los de productos, también los totales).
+ * Las rutas /exportar devuelven todo el resultado con la misma forma (sin "pagina"), escrito a medida que
+ * se lee de la BD.
  */
 @RestController
 @RequestMapping("/api/inventario")
@@ -44,19 +58,24 @@ public class InventarioController {
     // ========== GESTIÓN DE PRODUCTOS ==========
 
     /**
-     * GET /api/inventario/productos
+     * GET /api/inventario/productos?nombre=tornillo&categoria=FERRETERIA&stockMinimo=false&pagina=0&tamano=50&orden=nombre,asc
      * Obtener todos los productos activos
      */
     @GetMapping("/productos")
-    public ResponseEntity<ApiResponse<List<ProductoDTO>>> obtenerTodosLosProductos() {
+    public ResponseEntity<ApiResponse<List<ProductoDTO>>> obtenerTodosLosProductos(
+            @RequestParam(required = false) String nombre,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(defaultValue = "false") boolean stockMinimo,
+            Pageable pageable) {
         log.info("Solicitud para obtener todos los productos");
         
-        List<ProductoDTO> productos = inventarioService.obtenerTodosLosProductos();
+        ResultadoPaginaDTO<ProductoDTO> pagina = inventarioService.obtenerTodosLosProductos(nombre, categoria, stockMinimo, pageable);
         
         ApiResponse<List<ProductoDTO>> response = new ApiResponse<>(
             true,
             "Productos obtenidos exitosamente",
-            productos
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -106,15 +125,17 @@ public class InventarioController {
      */
     @GetMapping("/productos/buscar")
     public ResponseEntity<ApiResponse<List<ProductoDTO>>> buscarProductosPorNombre(
-            @RequestParam String nombre) {
+            @RequestParam String nombre,
+            Pageable pageable) {
         log.info("Solicitud para buscar productos que contengan: {}", nombre);
         
-        List<ProductoDTO> productos = inventarioService.buscarProductosPorNombre(nombre);
+        ResultadoPaginaDTO<ProductoDTO> pagina = inventarioService.buscarProductosPorNombre(nombre, pageable);
         
         ApiResponse<List<ProductoDTO>> response = new ApiResponse<>(
             true,
             "Búsqueda completada",
-            productos
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -125,15 +146,16 @@ public class InventarioController {
      * Obtener productos en stock mínimo
      */
     @GetMapping("/productos/stock-minimo")
-    public ResponseEntity<ApiResponse<List<ProductoDTO>>> obtenerProductosEnStockMinimo() {
+    public ResponseEntity<ApiResponse<List<ProductoDTO>>> obtenerProductosEnStockMinimo(Pageable pageable) {
         log.info("Solicitud para obtener productos en stock mínimo");
         
-        List<ProductoDTO> productos = inventarioService.obtenerProductosEnStockMinimo();
+        ResultadoPaginaDTO<ProductoDTO> pagina = inventarioService.obtenerProductosEnStockMinimo(pageable);
         
         ApiResponse<List<ProductoDTO>> response = new ApiResponse<>(
             true,
             "Productos en stock mínimo obtenidos exitosamente",
-            productos
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -182,19 +204,20 @@ public class InventarioController {
     // ========== MOVIMIENTOS DE INVENTARIO ==========
 
     /**
-     * GET /api/inventario/movimientos
-     * Obtener últimos movimientos de inventario
+     * GET /api/inventario/movimientos?pagina=0&tamano=10&orden=fechaMovimiento,desc
+     * Obtener los movimientos de todos los productos (por omisión los 10 más recientes)
      */
     @GetMapping("/movimientos")
-    public ResponseEntity<ApiResponse<List<MovimientoInventarioDTO>>> obtenerUltimosMovimientos() {
+    public ResponseEntity<ApiResponse<List<MovimientoInventarioDTO>>> obtenerMovimientos(@PageableDefault(size = 10, sort = "fechaMovimiento", direction = Sort.Direction.DESC) Pageable pageable) {
         log.info("Solicitud para obtener últimos movimientos de inventario");
         
-        List<MovimientoInventarioDTO> movimientos = inventarioService.obtenerUltimosMovimientos();
+        ResultadoPaginaDTO<MovimientoInventarioDTO> pagina = inventarioService.obtenerMovimientos(pageable);
         
         ApiResponse<List<MovimientoInventarioDTO>> response = new ApiResponse<>(
             true,
             "Movimientos obtenidos exitosamente",
-            movimientos
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
@@ -206,20 +229,57 @@ public class InventarioController {
      */
     @GetMapping("/movimientos/producto/{id}")
     public ResponseEntity<ApiResponse<List<MovimientoInventarioDTO>>> obtenerMovimientosPorProducto(
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            Pageable pageable) {
         log.info("Solicitud para obtener movimientos del producto ID: {}", id);
         
-        List<MovimientoInventarioDTO> movimientos = inventarioService.obtenerMovimientosPorProducto(id);
+        ResultadoPaginaDTO<MovimientoInventarioDTO> pagina = inventarioService.obtenerMovimientosPorProducto(id, pageable);
         
         ApiResponse<List<MovimientoInventarioDTO>> response = new ApiResponse<>(
             true,
             "Movimientos del producto obtenidos exitosamente",
-            movimientos
+            pagina.getElementos(),
+            pagina.getPagina()
         );
         
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/inventario/movimientos/exportar
+     * Exportar todos los movimientos en orden cronológico sin cargarlos en memoria
+     */
+    @GetMapping("/movimientos/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarMovimientos() {
+        log.info("Solicitud para exportar movimientos de inventario");
+
+        StreamingResponseBody cuerpo = inventarioService::exportarMovimientos;
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"movimientos-inventario.json\"")
+            .body(cuerpo);
+    }
+
+    /**
+     * GET /api/inventario/movimientos/producto/{id}/exportar
+     * Exportar el kardex completo de un producto en orden cronológico sin cargarlo en memoria
+     */
+    @GetMapping("/movimientos/producto/{id}/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarKardex(@PathVariable Long id) {
+        log.info("Solicitud para exportar kardex del producto ID: {}", id);
+
+        // Validar antes de empezar a escribir: después ya no se puede responder con un error
+        inventarioService.obtenerProductoPorId(id);
+
+        StreamingResponseBody cuerpo = salida -> inventarioService.exportarKardex(id, salida);
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"kardex-producto-" + id + ".json\"")
+            .body(cuerpo);
+    }
+
     /**
      * POST /api/inventario/movimientos
      * Registrar un nuevo movimiento de inventario
@@ -271,6 +331,8 @@ public class InventarioController {
         private boolean success;
         private String message;
         private T data;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private PaginaDTO pagina;
 
         public ApiResponse(boolean success, String message, T data) {
             this.success = success;
@@ -278,14 +340,21 @@ public class InventarioController {
             this.data = data;
         }
 
+        public ApiResponse(boolean success, String message, T data, PaginaDTO pagina) {
+            this(success, message, data);
+            this.pagina = pagina;
+        }
+
         // Getters
         public boolean isSuccess() { return success; }
         public String getMessage() { return message; }
         public T getData() { return data; }
+        public PaginaDTO getPagina() { return pagina; }
 
         // Setters
         public void setSuccess(boolean success) { this.success = success; }
         public void setMessage(String message) { this.message = message; }
         public void setData(T data) { this.data = data; }
+        public void setPagina(PaginaDTO pagina) { this.pagina = pagina; }
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LibroMayorDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.PaginaDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.LibroMayorService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Controller REST para el Libro Mayor
+ *
+ * Endpoints disponibles:
+ * GET /api/libro-mayor/{cuentaId}?fechaInicio=&fechaFin=  - Mayor de una cuenta con saldo acumulado
+ */
+@RestController
+@RequestMapping("/api/libro-mayor")
+@RequiredArgsConstructor
+@Slf4j
+public class LibroMayorController {
+
+    private final LibroMayorService libroMayorService;
+
+    /**
+     * GET /api/libro-mayor/1?fechaInicio=2024-01-01&fechaFin=2024-12-31&tamano=100&cursor=...
+     * Obtener el libro mayor de una cuenta para un período
+     * Para la página siguiente se envía en cursor el valor de pagina.siguiente
+     */
+    @GetMapping("/{cuentaId}")
+    public ResponseEntity<ApiResponse<LibroMayorDTO>> obtenerLibroMayor(
+            @PathVariable Long cuentaId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int tamano) {
+
+        log.info("Solicitud de libro mayor de la cuenta {} del {} al {}", cuentaId, fechaInicio, fechaFin);
+
+        LibroMayorService.PaginaLibroMayor resultado =
+            libroMayorService.obtenerLibroMayor(cuentaId, fechaInicio, fechaFin, cursor, tamano);
+
+        ApiResponse<LibroMayorDTO> response = new ApiResponse<>(
+            true,
+            "Libro mayor de la cuenta " + resultado.libroMayor().getCuentaCodigo() + " generado exitosamente",
+            resultado.libroMayor(),
+            resultado.pagina()
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Estructura estándar para respuestas de la API
+     */
+    public static class ApiResponse<T> {
+        private boolean success;
+        private String message;
+        private T data;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private PaginaDTO pagina;
+
+        public ApiResponse(boolean success, String message, T data, PaginaDTO pagina) {
+            this.success = success;
+            this.message = message;
+            this.data = data;
+            this.pagina = pagina;
+        }
+
+        public boolean isSuccess() { return success; }
+        public String getMessage() { return message; }
+        public T getData() { return data; }
+        public PaginaDTO getPagina() { return pagina; }
+
+        public void setSuccess(boolean success) { this.success = success; }
+        public void setMessage(String message) { this.message = message; }
+        public void setData(T data) { this.data = data; }
+        public void setPagina(PaginaDTO pagina) { this.pagina = pagina; }
+    }
+}
@@ -0,0 +1,91 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.SaldosCierreService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller REST para los saldos de cierre de período
+ *
+ * Endpoints disponibles:
+ * GET  /api/cierres                    - Fechas de cierre registradas
+ * POST /api/cierres?fecha=2024-01-31   - Generar (o recalcular) el cierre de un período terminado
+ */
+@RestController
+@RequestMapping("/api/cierres")
+@RequiredArgsConstructor
+@Slf4j
+public class SaldosCierreController {
+
+    private final SaldosCierreService saldosCierreService;
+
+    /**
+     * GET /api/cierres
+     * Obtener las fechas de cierre, de la más reciente a la más antigua
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<LocalDate>>> obtenerFechasCierre() {
+        log.info("Solicitud para obtener las fechas de cierre");
+
+        List<LocalDate> fechas = saldosCierreService.obtenerFechasCierre();
+
+        ApiResponse<List<LocalDate>> response = new ApiResponse<>(
+            true,
+            "Se encontraron " + fechas.size() + " cierres",
+            fechas
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * POST /api/cierres?fecha=2024-01-31
+     * Guardar los saldos de todas las cuentas al último día de un período
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<Integer>> generarCierre(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+
+        log.info("Solicitud para generar el cierre al {}", fecha);
+
+        int cuentas = saldosCierreService.generarCierre(fecha);
+
+        ApiResponse<Integer> response = new ApiResponse<>(
+            true,
+            "Cierre al " + fecha + " generado con " + cuentas + " cuentas",
+            cuentas
+        );
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Estructura estándar para respuestas de la API
+     */
+    public static class ApiResponse<T> {
+        private boolean success;
+        private String message;
+        private T data;
+
+        public ApiResponse(boolean success, String message, T data) {
+            this.success = success;
+            this.message = message;
+            this.data = data;
+        }
+
+        public boolean isSuccess() { return success; }
+        public String getMessage() { return message; }
+        public T getData() { return data; }
+
+        public void setSuccess(boolean success) { this.success = success; }
+        public void setMessage(String message) { this.message = message; }
+        public void setData(T data) { this.data = data; }
+    }
+}
@@ -3,6 +3,7 @@ package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable.TipoAsiento;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable.EstadoAsiento;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.Valid;
 import lombok.Data;
@@ -23,6 +24,8 @@ public class AsientoContableDTO {
 
     private Integer numeroAsiento;
 
+    private Integer numeroCorrelativo;
+
     @NotNull(message = "La fecha del asiento es obligatoria")
     private LocalDate fecha;
 
@@ -67,44 +70,6 @@ public class AsientoContableDTO {
     }
 }
 
-/**
- * DTO para MovimientoContable
- */
-@Data
-class MovimientoContableDTO {
-
-    private Long id;
-
-    @NotNull(message = "La cuenta es obligatoria")
-    private Long cuentaId;
-
-    private String cuentaCodigo;
-    private String cuentaNombre;
-
-    @NotNull(message = "El tipo de movimiento es obligatorio")
-    private edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoContable.TipoMovimiento tipoMovimiento;
-
-    @NotNull(message = "El monto es obligatorio")
-    private BigDecimal monto;
-
-    private String descripcion;
-
-    private Integer orden;
-
-    private LocalDateTime fechaCreacion;
-
-    private LocalDateTime fechaModificacion;
-
-    // Campos calculados
-    private String tipoMovimientoDescripcion;
-
-    public MovimientoContableDTO() {}
-
-    public void calcularDescripciones() {
-        this.tipoMovimientoDescripcion = tipoMovimiento != null ? tipoMovimiento.getDescripcion() : null;
-    }
-}
-
 /**
  * DTO simplificado para crear asientos
  */
@@ -142,6 +107,7 @@ class CrearMovimientoDTO {
     private edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoContable.TipoMovimiento tipoMovimiento;
 
     @NotNull(message = "El monto es obligatorio")
+    @Digits(integer = 13, fraction = 2, message = "El monto admite como máximo 13 enteros y 2 decimales")
     private BigDecimal monto;
 
     private String descripcion;
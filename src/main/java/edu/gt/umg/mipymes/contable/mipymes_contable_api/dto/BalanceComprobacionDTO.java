@@ -17,4 +17,7 @@ public class BalanceComprobacionDTO {
     private boolean balanceado;
     private String empresa;
     private String periodo;
+    
+    // SUBTOTALES POR PREFIJO DE CÓDIGO (niveles de mipymes.agrupacion.niveles)
+    private List<SubtotalCuentaDTO> subtotales;
 }
\ No newline at end of file
@@ -33,4 +33,7 @@ public class BalanceGeneralDTO {
     // VALIDACIÓN
     private boolean balanceado; // Total Activos = Total Pasivos + Patrimonio
     private BigDecimal diferencia;
+    
+    // SUBTOTALES POR PREFIJO DE CÓDIGO (niveles de mipymes.agrupacion.niveles)
+    private List<SubtotalCuentaDTO> subtotales;
 }
\ No newline at end of file
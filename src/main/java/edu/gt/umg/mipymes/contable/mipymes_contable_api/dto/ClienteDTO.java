@@ -45,6 +45,34 @@ public class ClienteDTO {
     private Boolean tieneCreditoDisponible;
     private String tipoClienteDescripcion;
 
+    /**
+     * Constructor de las proyecciones de los listados (SELECT new ... en el repository)
+     * Recibe las columnas de la tabla y calcula los campos derivados
+     */
+    public ClienteDTO(Long id, String codigo, String nombre, String razonSocial, String nit, String dpi, String telefono,
+                      String email, String direccion, TipoCliente tipoCliente, BigDecimal limiteCredito,
+                      BigDecimal saldoActual, Integer diasCredito, Boolean activo, String observaciones,
+                      LocalDateTime fechaCreacion, LocalDateTime fechaModificacion) {
+        this.id = id;
+        this.codigo = codigo;
+        this.nombre = nombre;
+        this.razonSocial = razonSocial;
+        this.nit = nit;
+        this.dpi = dpi;
+        this.telefono = telefono;
+        this.email = email;
+        this.direccion = direccion;
+        this.tipoCliente = tipoCliente;
+        this.limiteCredito = limiteCredito;
+        this.saldoActual = saldoActual;
+        this.diasCredito = diasCredito;
+        this.activo = activo;
+        this.observaciones = observaciones;
+        this.fechaCreacion = fechaCreacion;
+        this.fechaModificacion = fechaModificacion;
+        calcularCampos();
+    }
+
     public void calcularCampos() {
         this.saldoDisponible = limiteCredito != null && saldoActual != null
             ? limiteCredito.subtract(saldoActual)
@@ -0,0 +1,20 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO para solicitar la contabilización masiva de asientos
+ * Se indica una lista de IDs, o un período para contabilizar todos sus borradores
+ */
+@Data
+public class ContabilizarLoteDTO {
+
+    private List<Long> ids;
+
+    private LocalDate fechaInicio;
+
+    private LocalDate fechaFin;
+}
@@ -40,6 +40,27 @@ public class CuentaBancariaDTO {
     private Boolean estaConciliada;
     private String tipoDescripcion;
 
+    /**
+     * Constructor de las proyecciones de los listados (SELECT new ... en el repository)
+     * Recibe las columnas de la tabla y calcula los campos derivados
+     */
+    public CuentaBancariaDTO(Long id, String nombre, String banco, String numeroCuenta, TipoCuentaBancaria tipo,
+                             BigDecimal saldoLibros, BigDecimal saldoBanco, Boolean activa, String descripcion,
+                             LocalDateTime fechaCreacion, LocalDateTime fechaModificacion) {
+        this.id = id;
+        this.nombre = nombre;
+        this.banco = banco;
+        this.numeroCuenta = numeroCuenta;
+        this.tipo = tipo;
+        this.saldoLibros = saldoLibros;
+        this.saldoBanco = saldoBanco;
+        this.activa = activa;
+        this.descripcion = descripcion;
+        this.fechaCreacion = fechaCreacion;
+        this.fechaModificacion = fechaModificacion;
+        calcularCampos();
+    }
+
     public void calcularCampos() {
         this.diferenciaConciliacion = saldoLibros != null && saldoBanco != null
             ? saldoLibros.subtract(saldoBanco)
@@ -53,6 +53,24 @@ public class CuentaDTO {
     private String tipoDescripcion;
     private String naturalezaDescripcion;
 
+    /**
+     * Constructor de las proyecciones de los listados (SELECT new ... en el repository)
+     */
+    public CuentaDTO(Long id, String codigo, String nombre, TipoCuenta tipo, NaturalezaCuenta naturaleza,
+                     BigDecimal saldo, Boolean activa, String descripcion, LocalDateTime fechaCreacion,
+                     LocalDateTime fechaModificacion) {
+        this.id = id;
+        this.codigo = codigo;
+        this.nombre = nombre;
+        this.tipo = tipo;
+        this.naturaleza = naturaleza;
+        this.saldo = saldo;
+        this.activa = activa;
+        this.descripcion = descripcion;
+        this.fechaCreacion = fechaCreacion;
+        this.fechaModificacion = fechaModificacion;
+    }
+
     /**
      * Método para calcular las descripciones después de setear los valores
      */
@@ -47,6 +47,31 @@ public class CuentaPorPagarDTO {
     private Long diasAtraso;
     private String estadoDescripcion;
 
+    /**
+     * Constructor de las proyecciones de los listados (SELECT new ... en el repository)
+     * Recibe las columnas de la tabla y calcula los campos derivados
+     */
+    public CuentaPorPagarDTO(Long id, Long proveedorId, String proveedorNombre, String numeroDocumento, LocalDate fechaEmision,
+                             LocalDate fechaVencimiento, BigDecimal montoOriginal, BigDecimal montoAbonado,
+                             BigDecimal saldoPendiente, EstadoCuenta estado, String descripcion, String observaciones,
+                             LocalDateTime fechaCreacion, LocalDateTime fechaModificacion) {
+        this.id = id;
+        this.proveedorId = proveedorId;
+        this.proveedorNombre = proveedorNombre;
+        this.numeroDocumento = numeroDocumento;
+        this.fechaEmision = fechaEmision;
+        this.fechaVencimiento = fechaVencimiento;
+        this.montoOriginal = montoOriginal;
+        this.montoAbonado = montoAbonado;
+        this.saldoPendiente = saldoPendiente;
+        this.estado = estado;
+        this.descripcion = descripcion;
+        this.observaciones = observaciones;
+        this.fechaCreacion = fechaCreacion;
+        this.fechaModificacion = fechaModificacion;
+        calcularCampos();
+    }
+
     public void calcularCampos() {
         LocalDate hoy = LocalDate.now();
         this.estaVencida = fechaVencimiento != null && hoy.isAfter(fechaVencimiento) && 
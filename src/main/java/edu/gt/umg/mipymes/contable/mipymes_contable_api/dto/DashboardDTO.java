@@ -0,0 +1,48 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos del dashboard en una sola respuesta
+ * Una sección que falló o no terminó a tiempo queda en null; su detalle está en secciones
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDTO {
+    private LocalDate fecha;
+    private BalanceComprobacionDTO balanceComprobacion;
+    private ResumenBancarioDTO resumenBancario;
+    private ResumenClientesProveedoresDTO resumenClientesProveedores;
+    private ReporteInventarioDTO reporteInventario;
+    private List<MovimientoBancoDTO> ultimosMovimientosBancarios;
+    private List<MovimientoInventarioDTO> ultimosMovimientosInventario;
+    private boolean completo;                    // Todas las secciones se obtuvieron
+    private Long duracionMs;
+    private List<SeccionDashboardDTO> secciones = new ArrayList<>();
+
+    /**
+     * Resultado de una sección del dashboard
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SeccionDashboardDTO {
+        private String nombre;
+        private EstadoSeccion estado;
+        private Long duracionMs;
+        private String mensaje;                  // Motivo cuando la sección no está disponible
+    }
+
+    public enum EstadoSeccion {
+        OK,
+        ERROR,
+        TIEMPO_AGOTADO
+    }
+}
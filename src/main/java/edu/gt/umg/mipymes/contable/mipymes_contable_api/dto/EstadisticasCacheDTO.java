@@ -0,0 +1,37 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estadísticas del cache de reportes
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadisticasCacheDTO {
+    private Integer maximoEntradas;
+    private Integer maximoEntradasFijadas;
+    private Integer entradas;                   // Entradas normales (se expulsan por antigüedad de uso)
+    private Integer entradasFijadas;            // Reportes de períodos cerrados (aparte, con su propio máximo)
+    private List<EstadisticaReporteDTO> reportes = new ArrayList<>();
+
+    /**
+     * Contadores de un tipo de reporte desde el inicio de la aplicación
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EstadisticaReporteDTO {
+        private String tipo;
+        private Long aciertos;
+        private Long fallos;
+        private Long expulsiones;
+        private Long invalidaciones;
+        private Double tasaAciertos;            // aciertos / (aciertos + fallos), null sin consultas
+    }
+}
@@ -0,0 +1,35 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import lombok.Data;
+
+/**
+ * DTO con las estadísticas de la numeración de asientos
+ * Las latencias se expresan en milisegundos
+ */
+@Data
+public class EstadisticasNumeracionDTO {
+
+    private Integer tamanoBloque;
+
+    private Long numerosDisponiblesEnBloque;
+
+    /**
+     * Números de asiento entregados desde el bloque en memoria (sin ir a la BD)
+     */
+    private Long numerosDesdeMemoria;
+
+    /**
+     * Reservas de bloques contra la BD (incluye las reservas de cargas por lote)
+     */
+    private Long reservasBloque;
+
+    private Double latenciaPromedioReservaMs;
+
+    private Double latenciaMaximaReservaMs;
+
+    private Long correlativosAsignados;
+
+    private Double latenciaPromedioCorrelativoMs;
+
+    private Double latenciaMaximaCorrelativoMs;
+}
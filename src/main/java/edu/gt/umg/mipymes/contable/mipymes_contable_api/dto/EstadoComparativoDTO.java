@@ -0,0 +1,35 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estado financiero con una columna por período
+ * Cada línea lleva los montos por período y los análisis horizontal y vertical
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadoComparativoDTO {
+    private String empresa;
+    private String estado;                  // "Balance General" o "Estado de Resultados"
+    private List<String> periodos;          // Encabezado de cada columna
+    private List<SeccionComparativaDTO> secciones = new ArrayList<>();
+    private List<LineaBalanceDTO> resultados = new ArrayList<>();   // Utilidades o cuadre del balance
+
+    /**
+     * Grupo de cuentas (Activos, Ingresos, Gastos...) con su total
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SeccionComparativaDTO {
+        private String nombre;
+        private List<LineaBalanceDTO> lineas;
+        private LineaBalanceDTO total;
+    }
+}
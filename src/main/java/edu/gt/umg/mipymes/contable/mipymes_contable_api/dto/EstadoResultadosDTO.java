@@ -35,4 +35,7 @@ public class EstadoResultadosDTO {
     // RESULTADO NETO
     private BigDecimal utilidadNeta; // Utilidad Bruta - Gastos
     private String tipoResultado; // "UTILIDAD" o "PERDIDA"
+    
+    // SUBTOTALES POR PREFIJO DE CÓDIGO (niveles de mipymes.agrupacion.niveles)
+    private List<SubtotalCuentaDTO> subtotales;
 }
\ No newline at end of file
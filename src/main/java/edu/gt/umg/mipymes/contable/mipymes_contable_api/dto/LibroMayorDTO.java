@@ -0,0 +1,31 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta.TipoCuenta;
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Libro Mayor de una cuenta para un período
+ * Los totales y saldos corresponden al período completo; los movimientos a la página solicitada
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LibroMayorDTO {
+    private Long cuentaId;
+    private String cuentaCodigo;
+    private String cuentaNombre;
+    private TipoCuenta tipoCuenta;
+    private LocalDate fechaInicio;
+    private LocalDate fechaFin;
+    private BigDecimal saldoInicial;
+    private BigDecimal totalDebitos;
+    private BigDecimal totalCreditos;
+    private BigDecimal saldoFinal;
+    private List<LineaLibroMayorDTO> movimientos;
+}
@@ -1,10 +1,12 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -17,6 +19,14 @@ public class LineaBalanceDTO {
     private BigDecimal saldoDeudor = BigDecimal.ZERO;
     private BigDecimal saldoAcreedor = BigDecimal.ZERO;
 
+    // Estados comparativos: un valor por período (saldoDeudor/saldoAcreedor son los del último)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<BigDecimal> montos;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<BigDecimal> analisisHorizontal;    // % de variación contra el período anterior
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<BigDecimal> analisisVertical;      // % sobre el total base del mismo período
+
     public LineaBalanceDTO(String codigo, String nombreCuenta, String tipoCuenta, 
                           String naturaleza, BigDecimal saldo) {
         this.codigo = codigo;
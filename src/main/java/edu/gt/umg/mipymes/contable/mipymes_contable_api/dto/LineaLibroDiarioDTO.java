@@ -0,0 +1,37 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable.EstadoAsiento;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable.TipoAsiento;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoContable.TipoMovimiento;
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Fila plana del libro diario (encabezado del asiento + un movimiento)
+ * Se usa en la exportación para leer con una proyección en lugar de entidades completas.
+ * Los datos del movimiento vienen en null si el asiento no tiene movimientos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LineaLibroDiarioDTO {
+    private Long asientoId;
+    private Integer numeroAsiento;
+    private Integer numeroCorrelativo;
+    private LocalDate fecha;
+    private String descripcion;
+    private String referencia;
+    private TipoAsiento tipo;
+    private EstadoAsiento estado;
+    private BigDecimal totalDebitos;
+    private BigDecimal totalCreditos;
+    private Integer orden;
+    private String cuentaCodigo;
+    private String cuentaNombre;
+    private TipoMovimiento tipoMovimiento;
+    private BigDecimal monto;
+}
@@ -0,0 +1,26 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Línea del Libro Mayor: un movimiento de la cuenta con el saldo acumulado
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LineaLibroMayorDTO {
+    private Long movimientoId;
+    private Long asientoId;
+    private Integer numeroAsiento;
+    private Integer numeroCorrelativo;
+    private LocalDate fecha;
+    private String descripcion;
+    private BigDecimal debito;
+    private BigDecimal credito;
+    private BigDecimal saldo;
+}
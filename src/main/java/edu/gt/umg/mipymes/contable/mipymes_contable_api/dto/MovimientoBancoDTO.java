@@ -50,6 +50,32 @@ public class MovimientoBancoDTO {
     private String estadoDescripcion;
     private Boolean esDebito;
 
+    /**
+     * Constructor de las proyecciones de los listados (SELECT new ... en el repository)
+     * Recibe las columnas de la tabla y calcula los campos derivados
+     */
+    public MovimientoBancoDTO(Long id, Long cuentaBancariaId, String cuentaBancariaNombre, TipoMovimientoBanco tipoMovimiento,
+                              LocalDate fechaMovimiento, BigDecimal monto, String descripcion, String numeroDocumento,
+                              String beneficiario, EstadoMovimiento estado, LocalDate fechaConciliacion, String observaciones,
+                              LocalDateTime fechaCreacion, LocalDateTime fechaModificacion, String creadoPor) {
+        this.id = id;
+        this.cuentaBancariaId = cuentaBancariaId;
+        this.cuentaBancariaNombre = cuentaBancariaNombre;
+        this.tipoMovimiento = tipoMovimiento;
+        this.fechaMovimiento = fechaMovimiento;
+        this.monto = monto;
+        this.descripcion = descripcion;
+        this.numeroDocumento = numeroDocumento;
+        this.beneficiario = beneficiario;
+        this.estado = estado;
+        this.fechaConciliacion = fechaConciliacion;
+        this.observaciones = observaciones;
+        this.fechaCreacion = fechaCreacion;
+        this.fechaModificacion = fechaModificacion;
+        this.creadoPor = creadoPor;
+        calcularCampos();
+    }
+
     public void calcularCampos() {
         this.montoConSigno = tipoMovimiento != null && monto != null
             ? (tipoMovimiento.esDebito() ? monto.negate() : monto)
@@ -0,0 +1,48 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoContable.TipoMovimiento;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO para MovimientoContable
+ */
+@Data
+public class MovimientoContableDTO {
+
+    private Long id;
+
+    @NotNull(message = "La cuenta es obligatoria")
+    private Long cuentaId;
+
+    private String cuentaCodigo;
+    private String cuentaNombre;
+
+    @NotNull(message = "El tipo de movimiento es obligatorio")
+    private TipoMovimiento tipoMovimiento;
+
+    @NotNull(message = "El monto es obligatorio")
+    @Digits(integer = 13, fraction = 2, message = "El monto admite como máximo 13 enteros y 2 decimales")
+    private BigDecimal monto;
+
+    private String descripcion;
+
+    private Integer orden;
+
+    private LocalDateTime fechaCreacion;
+
+    private LocalDateTime fechaModificacion;
+
+    // Campos calculados
+    private String tipoMovimientoDescripcion;
+
+    public MovimientoContableDTO() {}
+
+    public void calcularDescripciones() {
+        this.tipoMovimientoDescripcion = tipoMovimiento != null ? tipoMovimiento.getDescripcion() : null;
+    }
+}
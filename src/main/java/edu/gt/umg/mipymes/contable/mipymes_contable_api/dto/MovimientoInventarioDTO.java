@@ -45,6 +45,30 @@ public class MovimientoInventarioDTO {
     private String tipoMovimientoDescripcion;
     private Boolean esEntrada;
 
+    /**
+     * Constructor de las proyecciones de los listados (SELECT new ... en el repository)
+     * Recibe las columnas de la tabla y calcula los campos derivados
+     */
+    public MovimientoInventarioDTO(Long id, Long productoId, String productoNombre, String productoCodigo,
+                                   TipoMovimiento tipoMovimiento, Integer cantidad, BigDecimal precioUnitario,
+                                   Integer existenciaAnterior, Integer existenciaNueva, String observaciones, String numeroDocumento,
+                                   LocalDateTime fechaMovimiento, String creadoPor) {
+        this.id = id;
+        this.productoId = productoId;
+        this.productoNombre = productoNombre;
+        this.productoCodigo = productoCodigo;
+        this.tipoMovimiento = tipoMovimiento;
+        this.cantidad = cantidad;
+        this.precioUnitario = precioUnitario;
+        this.existenciaAnterior = existenciaAnterior;
+        this.existenciaNueva = existenciaNueva;
+        this.observaciones = observaciones;
+        this.numeroDocumento = numeroDocumento;
+        this.fechaMovimiento = fechaMovimiento;
+        this.creadoPor = creadoPor;
+        calcularCampos();
+    }
+
     public void calcularCampos() {
         this.valorTotal = precioUnitario != null && cantidad != null
             ? precioUnitario.multiply(new BigDecimal(cantidad))
@@ -0,0 +1,39 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Metadatos de una página de resultados
+ *
+ * Para pedir la página siguiente se envía el valor de "siguiente": el cursor en los listados
+ * por keyset (libro diario, libro mayor) o el número de página en los listados por número
+ * de página, que además informan el total. A diferencia de OFFSET, el costo de cada página
+ * por keyset no crece con el historial.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO {
+    private Integer tamano;        // Tamaño solicitado
+    private Integer elementos;     // Elementos devueltos en esta página
+    private Boolean hayMas;
+    private String siguiente;      // Cursor o número de la página siguiente (null si no hay más)
+
+    // Solo en los listados por número de página
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer numero;        // Página devuelta, desde 0
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElementos;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPaginas;
+
+    /**
+     * Página por keyset: sin número de página ni totales
+     */
+    public PaginaDTO(Integer tamano, Integer elementos, Boolean hayMas, String siguiente) {
+        this(tamano, elementos, hayMas, siguiente, null, null, null);
+    }
+}
@@ -56,6 +56,31 @@ public class ProductoDTO {
     private Boolean enStockMinimo;
     private String unidadMedidaDescripcion;
 
+    /**
+     * Constructor de las proyecciones de los listados (SELECT new ... en el repository)
+     * Recibe las columnas de la tabla y calcula los campos derivados
+     */
+    public ProductoDTO(Long id, String codigo, String nombre, String descripcion, BigDecimal precioCompra,
+                       BigDecimal precioVenta, Integer existencia, Integer stockMinimo, UnidadMedida unidadMedida,
+                       Boolean activo, String categoria, String proveedor, LocalDateTime fechaCreacion,
+                       LocalDateTime fechaModificacion) {
+        this.id = id;
+        this.codigo = codigo;
+        this.nombre = nombre;
+        this.descripcion = descripcion;
+        this.precioCompra = precioCompra;
+        this.precioVenta = precioVenta;
+        this.existencia = existencia;
+        this.stockMinimo = stockMinimo;
+        this.unidadMedida = unidadMedida;
+        this.activo = activo;
+        this.categoria = categoria;
+        this.proveedor = proveedor;
+        this.fechaCreacion = fechaCreacion;
+        this.fechaModificacion = fechaModificacion;
+        calcularCampos();
+    }
+
     public void calcularCampos() {
         this.valorInventario = precioCompra != null && existencia != null 
             ? precioCompra.multiply(new BigDecimal(existencia))
@@ -43,6 +43,33 @@ public class ProveedorDTO {
     private Boolean tieneSaldoPendiente;
     private String tipoProveedorDescripcion;
 
+    /**
+     * Constructor de las proyecciones de los listados (SELECT new ... en el repository)
+     * Recibe las columnas de la tabla y calcula los campos derivados
+     */
+    public ProveedorDTO(Long id, String codigo, String nombre, String razonSocial, String nit, String telefono,
+                        String email, String direccion, String contacto, TipoProveedor tipoProveedor,
+                        BigDecimal saldoActual, Integer diasPago, Boolean activo, String observaciones,
+                        LocalDateTime fechaCreacion, LocalDateTime fechaModificacion) {
+        this.id = id;
+        this.codigo = codigo;
+        this.nombre = nombre;
+        this.razonSocial = razonSocial;
+        this.nit = nit;
+        this.telefono = telefono;
+        this.email = email;
+        this.direccion = direccion;
+        this.contacto = contacto;
+        this.tipoProveedor = tipoProveedor;
+        this.saldoActual = saldoActual;
+        this.diasPago = diasPago;
+        this.activo = activo;
+        this.observaciones = observaciones;
+        this.fechaCreacion = fechaCreacion;
+        this.fechaModificacion = fechaModificacion;
+        calcularCampos();
+    }
+
     public void calcularCampos() {
         this.tieneSaldoPendiente = saldoActual != null && saldoActual.compareTo(BigDecimal.ZERO) > 0;
         
@@ -0,0 +1,28 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado individual de un asiento dentro de una carga por lote
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoAsientoLoteDTO {
+    private Integer indice;        // Posición del asiento en el arreglo recibido (base 0)
+    private boolean exito;
+    private Long id;
+    private Integer numeroAsiento;
+    private String referencia;
+    private String mensaje;
+
+    public static ResultadoAsientoLoteDTO creado(int indice, Long id, Integer numeroAsiento, String referencia) {
+        return new ResultadoAsientoLoteDTO(indice, true, id, numeroAsiento, referencia, "Asiento creado");
+    }
+
+    public static ResultadoAsientoLoteDTO rechazado(int indice, String referencia, String mensaje) {
+        return new ResultadoAsientoLoteDTO(indice, false, null, null, referencia, mensaje);
+    }
+}
@@ -0,0 +1,39 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de la contabilización masiva de asientos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoContabilizacionLoteDTO {
+    private Integer totalSolicitados = 0;
+    private Integer totalContabilizados = 0;
+    private Integer totalRechazados = 0;
+    private Integer movimientosProcesados = 0;
+    private Integer cuentasActualizadas = 0;      // Un UPDATE por cuenta, sin importar cuántos asientos la afecten
+    private Integer correlativoInicial;
+    private Integer correlativoFinal;
+    private Long duracionMs = 0L;
+    private Double asientosPorSegundo = 0.0;
+    private List<AsientoRechazadoDTO> rechazados = new ArrayList<>();
+
+    /**
+     * Asiento que no pasó la validación y quedó sin contabilizar
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AsientoRechazadoDTO {
+        private Long id;
+        private Integer numeroAsiento;
+        private String motivo;
+    }
+}
@@ -0,0 +1,25 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de la carga por lote de asientos contables
+ * Incluye el detalle de cada asiento recibido para que un asiento
+ * rechazado no invalide el resto del archivo
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteAsientosDTO {
+    private Integer totalRecibidos = 0;
+    private Integer totalCreados = 0;
+    private Integer totalRechazados = 0;
+    private Integer bloquesConfirmados = 0;
+    private Long duracionMs = 0L;
+    private List<ResultadoAsientoLoteDTO> resultados = new ArrayList<>();
+}
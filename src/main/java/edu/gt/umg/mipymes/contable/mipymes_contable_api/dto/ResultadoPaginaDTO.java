@@ -0,0 +1,47 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados con sus metadatos de paginación
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoPaginaDTO<T> {
+    private List<T> elementos;
+    private PaginaDTO pagina;
+
+    /**
+     * Armar una página a partir de una consulta que pidió tamano + 1 filas
+     * La fila extra solo indica que hay más resultados y se descarta
+     */
+    public static <T> ResultadoPaginaDTO<T> desdeConsulta(List<T> filas, int tamano, Function<T, String> cursor) {
+        boolean hayMas = filas.size() > tamano;
+        List<T> elementos = hayMas ? filas.subList(0, tamano) : filas;
+        String siguiente = hayMas ? cursor.apply(elementos.get(elementos.size() - 1)) : null;
+        return new ResultadoPaginaDTO<>(elementos, new PaginaDTO(tamano, elementos.size(), hayMas, siguiente));
+    }
+
+    /**
+     * Armar una página a partir de un Slice o Page de Spring Data (listados por número de página)
+     * Un Page trae además el total de elementos; un Slice solo sabe si hay más (no hace COUNT)
+     */
+    public static <T> ResultadoPaginaDTO<T> desdePagina(Slice<T> pagina) {
+        String siguiente = pagina.hasNext() ? String.valueOf(pagina.getNumber() + 1) : null;
+        PaginaDTO metadatos = new PaginaDTO(pagina.getSize(), pagina.getNumberOfElements(), pagina.hasNext(), siguiente);
+        metadatos.setNumero(pagina.getNumber());
+        if (pagina instanceof Page<T> conTotal) {
+            metadatos.setTotalElementos(conTotal.getTotalElements());
+            metadatos.setTotalPaginas(conTotal.getTotalPages());
+        }
+        return new ResultadoPaginaDTO<>(pagina.getContent(), metadatos);
+    }
+}
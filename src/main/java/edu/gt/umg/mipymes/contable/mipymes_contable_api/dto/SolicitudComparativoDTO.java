@@ -0,0 +1,28 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO para solicitar estados financieros comparativos
+ * El Estado de Resultados usa los períodos; el Balance General usa las fechas de corte
+ */
+@Data
+public class SolicitudComparativoDTO {
+
+    private List<PeriodoDTO> periodos;
+
+    private List<LocalDate> fechasCorte;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PeriodoDTO {
+        private LocalDate fechaInicio;
+        private LocalDate fechaFin;
+    }
+}
@@ -0,0 +1,21 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Subtotal de las líneas de un reporte cuyas cuentas comparten un prefijo de código
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubtotalCuentaDTO {
+    private String prefijo;
+    private Integer nivel;              // Largo del prefijo
+    private String nombre;              // Según mipymes.agrupacion.nombres; null si no está configurado
+    private BigDecimal saldoDeudor;
+    private BigDecimal saldoAcreedor;
+}
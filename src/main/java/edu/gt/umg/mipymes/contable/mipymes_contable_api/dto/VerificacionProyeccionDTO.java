@@ -0,0 +1,38 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de comparar la proyección del balance con la tabla de cuentas
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificacionProyeccionDTO {
+    private boolean consistente;
+    private Integer cuentasRevisadas = 0;
+    private Long cambiosAplicados = 0L;          // Deltas de contabilización aplicados en memoria
+    private Long cuentasRecargadas = 0L;         // Cuentas leídas de la BD por cambios de catálogo, versiones saltadas o sincronización
+    private List<DiferenciaCuentaDTO> diferencias = new ArrayList<>();
+
+    /**
+     * Cuenta cuyo saldo o versión en la proyección no coincide con la BD
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DiferenciaCuentaDTO {
+        private Long cuentaId;
+        private String codigo;
+        private BigDecimal saldoProyeccion;
+        private BigDecimal saldoCuenta;
+        private Long versionProyeccion;
+        private Long versionCuenta;
+    }
+}
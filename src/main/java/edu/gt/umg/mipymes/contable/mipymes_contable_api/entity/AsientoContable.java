@@ -43,6 +43,13 @@ public class AsientoContable {
     @NotNull(message = "El número de asiento es obligatorio")
     private Integer numeroAsiento;
 
+    /**
+     * Número correlativo asignado al contabilizar el asiento
+     * Es consecutivo y sin saltos entre los asientos CONTABILIZADOS
+     */
+    @Column(unique = true)
+    private Integer numeroCorrelativo;
+
     /**
      * Fecha de la transacción
      */
@@ -139,6 +146,7 @@ public class AsientoContable {
 
     /**
      * Método para calcular totales basado en los movimientos
+     * Suma en BigDecimal: un monto con escala de más se rechaza al validar el DTO (@Digits), no aquí
      */
     public void calcularTotales() {
         totalDebitos = movimientos.stream()
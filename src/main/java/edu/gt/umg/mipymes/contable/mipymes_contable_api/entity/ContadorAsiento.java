@@ -0,0 +1,52 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa un contador de numeración del Libro Diario
+ *
+ * Guarda el último número entregado para cada serie de numeración.
+ * Se incrementa con un UPDATE atómico, por lo que varias instancias
+ * de la aplicación pueden compartirlo sin chocar entre sí.
+ *
+ * Series:
+ * - BORRADOR: número de asiento (se reserva por bloques, puede tener saltos)
+ * - CONTABILIZADO: número correlativo (se asigna al contabilizar, sin saltos)
+ */
+@Entity
+@Table(name = "contadores_asiento")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContadorAsiento {
+
+    public static final String SERIE_BORRADOR = "BORRADOR";
+    public static final String SERIE_CONTABILIZADO = "CONTABILIZADO";
+
+    /**
+     * Nombre de la serie de numeración
+     */
+    @Id
+    @Column(length = 30)
+    private String clave;
+
+    /**
+     * Último número entregado en la serie
+     */
+    @Column(nullable = false)
+    private Long valor = 0L;
+
+    @Column(nullable = false)
+    private LocalDateTime fechaModificacion;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        fechaModificacion = LocalDateTime.now();
+    }
+}
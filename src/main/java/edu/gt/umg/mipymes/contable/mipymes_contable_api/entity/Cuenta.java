@@ -6,6 +6,10 @@ import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -16,6 +20,9 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "cuentas")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cuentas")
+@NaturalIdCache(region = "cuentas.codigo")
 @Data  // Lombok: genera getters, setters, toString, equals, hashCode
 @NoArgsConstructor  // Constructor sin argumentos (requerido por JPA)
 @AllArgsConstructor // Constructor con todos los argumentos
@@ -29,6 +36,7 @@ public class Cuenta {
      * Código único de la cuenta (ej: "1001", "2001", "5001")
      * En contabilidad se usan códigos numéricos para organizar las cuentas
      */
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false, length = 10)
     @NotBlank(message = "El código de la cuenta es obligatorio")
     private String codigo;
@@ -73,6 +81,15 @@ public class Cuenta {
     @Column(nullable = false)
     private Boolean activa = true;
 
+    /**
+     * Versión para control de concurrencia optimista
+     * Los saldos se actualizan con UPDATE atómicos que también incrementan la versión,
+     * así una edición del catálogo no sobrescribe un saldo contabilizado en paralelo
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Descripción adicional de la cuenta (opcional)
      */
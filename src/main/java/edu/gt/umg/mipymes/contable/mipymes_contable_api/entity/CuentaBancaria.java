@@ -6,6 +6,10 @@ import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,6 +19,9 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "cuentas_bancarias")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cuentas-bancarias")
+@NaturalIdCache(region = "cuentas-bancarias.numero-cuenta")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,6 +39,7 @@ public class CuentaBancaria {
     @NotBlank(message = "El banco es obligatorio")
     private String banco;
 
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true, length = 50)
     @NotBlank(message = "El número de cuenta es obligatorio")
     private String numeroCuenta;
@@ -47,6 +55,15 @@ public class CuentaBancaria {
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal saldoBanco = BigDecimal.ZERO;
 
+    /**
+     * Versión para control de concurrencia optimista
+     * El saldo se actualiza sobre la fila bloqueada (buscarParaActualizar), nunca sobre la copia
+     * del cache de segundo nivel; la versión rechaza la edición hecha sobre una copia vieja
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false)
     private Boolean activa = true;
 
@@ -43,7 +43,7 @@ public class MovimientoContable {
     /**
      * Cuenta afectada por este movimiento
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cuenta_id", nullable = false)
     @NotNull(message = "La cuenta es obligatoria")
     private Cuenta cuenta;
@@ -7,6 +7,10 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -18,6 +22,9 @@ import java.util.List;
  */
 @Entity
 @Table(name = "productos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "productos")
+@NaturalIdCache(region = "productos.codigo")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,6 +34,7 @@ public class Producto {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false, length = 20)
     @NotBlank(message = "El código del producto es obligatorio")
     private String codigo;
@@ -53,6 +61,15 @@ public class Producto {
     @PositiveOrZero(message = "La existencia debe ser mayor o igual a cero")
     private Integer existencia = 0;
 
+    /**
+     * Versión para control de concurrencia optimista
+     * La existencia se actualiza sobre la fila bloqueada (buscarParaActualizar), nunca sobre la copia
+     * del cache de segundo nivel; la versión rechaza la edición hecha sobre una copia vieja
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false)
     @PositiveOrZero(message = "El stock mínimo debe ser mayor o igual a cero")
     private Integer stockMinimo = 0;
@@ -6,6 +6,10 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,6 +19,9 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "proveedores")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "proveedores")
+@NaturalIdCache(region = "proveedores.codigo")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,6 +31,7 @@ public class Proveedor {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false, length = 20)
     @NotBlank(message = "El código del proveedor es obligatorio")
     private String codigo;
@@ -58,6 +66,15 @@ public class Proveedor {
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal saldoActual = BigDecimal.ZERO;
 
+    /**
+     * Versión para control de concurrencia optimista
+     * El saldo se actualiza sobre la fila bloqueada (buscarParaActualizar), nunca sobre la copia
+     * del cache de segundo nivel; la versión rechaza la edición hecha sobre una copia vieja
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false)
     private Integer diasPago = 30;
 
@@ -0,0 +1,55 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que guarda el saldo de una cuenta al cierre de un período
+ *
+ * Los saldos a una fecha pasada se calculan partiendo del cierre más cercano y sumando
+ * (o restando) solo los movimientos entre ese cierre y la fecha pedida, en lugar de
+ * recorrer todo el libro diario.
+ *
+ * El saldo sigue la naturaleza de la cuenta, igual que Cuenta.saldo.
+ * Si se contabiliza un asiento con fecha anterior a un cierre, el cierre se ajusta
+ * en la misma transacción.
+ */
+@Entity
+@Table(name = "saldos_cierre",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"cuenta_id", "fecha_cierre"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoCierre {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cuenta_id", nullable = false)
+    private Cuenta cuenta;
+
+    /**
+     * Último día del período cerrado (el saldo incluye los asientos de ese día)
+     */
+    @Column(name = "fecha_cierre", nullable = false)
+    private LocalDate fechaCierre;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal saldo;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime fechaCreacion;
+
+    @PrePersist
+    protected void onCreate() {
+        fechaCreacion = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,18 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.event;
+
+import java.util.List;
+
+/**
+ * Evento publicado cuando se crean o contabilizan asientos
+ * Se publica dentro de la transacción; los oyentes lo procesan después del commit
+ */
+public record AsientosModificadosEvent(List<Long> asientoIds) {
+
+    public AsientosModificadosEvent {
+        asientoIds = List.copyOf(asientoIds);
+    }
+
+    public static AsientosModificadosEvent de(Long asientoId) {
+        return new AsientosModificadosEvent(List.of(asientoId));
+    }
+}
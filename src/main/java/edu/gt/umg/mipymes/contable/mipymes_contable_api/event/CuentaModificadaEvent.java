@@ -0,0 +1,6 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.event;
+
+/**
+ * Evento publicado cuando se crea, actualiza o desactiva una cuenta del catálogo
+ */
+public record CuentaModificadaEvent(Long cuentaId) {}
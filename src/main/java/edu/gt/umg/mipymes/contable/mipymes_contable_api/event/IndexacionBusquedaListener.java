@@ -0,0 +1,73 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.event;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.AsientoContableJdbcRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.IndiceBusquedaAsientos;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.IndiceBusquedaAsientos.TextoAsiento;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Mantiene actualizado el índice de búsqueda de asientos
+ *
+ * Al iniciar, el índice se construye con todos los asientos de la BD.
+ * Después se actualiza solo con los asientos de cada transacción confirmada;
+ * si la transacción se revierte, el índice no se toca.
+ *
+ * Los eventos son locales: los asientos que crea o edita otra instancia contra la misma BD se
+ * incorporan en la sincronización periódica (mipymes.busqueda.sincronizar-cron), que vuelve a
+ * leer los modificados desde la anterior. Se relee con un margen (relojes de otras instancias,
+ * transacciones que confirman tarde); indexar de nuevo un texto que no cambió no hace nada.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IndexacionBusquedaListener {
+
+    private static final Duration MARGEN_SINCRONIZACION = Duration.ofMinutes(5);
+
+    private final AsientoContableJdbcRepository asientoJdbcRepository;
+    private final IndiceBusquedaAsientos indiceBusqueda;
+
+    // Inicio de la última lectura de la BD (null mientras el índice no está construido)
+    private volatile LocalDateTime ultimaLectura;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirIndice() {
+        long inicio = System.nanoTime();
+        LocalDateTime lectura = LocalDateTime.now();
+        asientoJdbcRepository.recorrerTextosBusqueda(indiceBusqueda::indexar);
+        ultimaLectura = lectura;
+        log.info("Índice de búsqueda construido: {} asientos en {} ms",
+            indiceBusqueda.cantidadIndexados(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void actualizarIndice(AsientosModificadosEvent evento) {
+        asientoJdbcRepository.obtenerTextosBusqueda(evento.asientoIds()).forEach(indiceBusqueda::indexar);
+        log.debug("Índice de búsqueda actualizado con {} asientos", evento.asientoIds().size());
+    }
+
+    @Scheduled(cron = "${mipymes.busqueda.sincronizar-cron:-}")
+    public void sincronizarIndice() {
+        LocalDateTime anterior = ultimaLectura;
+        if (anterior == null) {
+            return;
+        }
+        LocalDateTime lectura = LocalDateTime.now();
+        List<TextoAsiento> textos =
+            asientoJdbcRepository.obtenerTextosModificadosDesde(anterior.minus(MARGEN_SINCRONIZACION));
+        textos.forEach(indiceBusqueda::indexar);
+        ultimaLectura = lectura;
+        log.debug("Índice de búsqueda sincronizado: {} asientos modificados desde {}", textos.size(), anterior);
+    }
+}
@@ -0,0 +1,13 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.event;
+
+/**
+ * Evento publicado cuando cambian los datos de un módulo auxiliar (inventario, bancos, clientes y proveedores)
+ */
+public record ModuloModificadoEvent(Modulo modulo) {
+
+    public enum Modulo {
+        INVENTARIO,
+        BANCOS,
+        CLIENTES_PROVEEDORES
+    }
+}
@@ -0,0 +1,22 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Evento publicado cuando una contabilización cambia saldos de cuentas
+ * Cada cambio lleva la versión que quedó en la cuenta, para detectar cambios perdidos o repetidos;
+ * fechaDesde es la fecha del asiento más antiguo contabilizado (los reportes anteriores no cambian)
+ */
+public record SaldosContabilizadosEvent(List<CambioSaldo> cambios, LocalDate fechaDesde) {
+
+    public SaldosContabilizadosEvent {
+        cambios = List.copyOf(cambios);
+    }
+
+    /**
+     * Delta aplicado a una cuenta y versión resultante de la cuenta
+     */
+    public record CambioSaldo(Long cuentaId, BigDecimal delta, Long version) {}
+}
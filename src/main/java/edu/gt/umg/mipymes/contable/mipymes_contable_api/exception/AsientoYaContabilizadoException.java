@@ -0,0 +1,7 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.exception;
+
+public class AsientoYaContabilizadoException extends RuntimeException {
+    public AsientoYaContabilizadoException(String message) {
+        super(message);
+    }
+}
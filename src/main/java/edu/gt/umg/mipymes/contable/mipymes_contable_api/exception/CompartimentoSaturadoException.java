@@ -0,0 +1,10 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.exception;
+
+/**
+ * Excepción cuando un grupo de endpoints no tiene permisos libres dentro de la espera máxima
+ */
+public class CompartimentoSaturadoException extends RuntimeException {
+    public CompartimentoSaturadoException(String message) {
+        super(message);
+    }
+}
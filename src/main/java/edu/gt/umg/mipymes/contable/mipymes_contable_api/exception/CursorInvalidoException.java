@@ -0,0 +1,7 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.exception;
+
+public class CursorInvalidoException extends RuntimeException {
+    public CursorInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.exception;
+
+/**
+ * Excepción cuando el contenido de una carga por lote no puede procesarse
+ */
+public class LoteInvalidoException extends RuntimeException {
+    public LoteInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.exception;
+
+public class OrdenInvalidoException extends RuntimeException {
+    public OrdenInvalidoException(String message) {
+        super(message);
+    }
+}
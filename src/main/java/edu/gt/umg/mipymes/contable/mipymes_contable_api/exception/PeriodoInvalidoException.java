@@ -0,0 +1,7 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.exception;
+
+public class PeriodoInvalidoException extends RuntimeException {
+    public PeriodoInvalidoException(String message) {
+        super(message);
+    }
+}
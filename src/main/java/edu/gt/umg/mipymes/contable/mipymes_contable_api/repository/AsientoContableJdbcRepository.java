@@ -0,0 +1,215 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.IndiceBusquedaAsientos.TextoAsiento;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Repository JDBC para inserciones masivas del Libro Diario
+ *
+ * Se usa en las cargas por lote, donde guardar asiento por asiento con JPA
+ * implica un INSERT (y un ida y vuelta a la BD) por cada fila.
+ * Aquí cada bloque se envía como un único lote JDBC.
+ *
+ * También lee los textos que alimentan el índice de búsqueda, sin cargar entidades.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AsientoContableJdbcRepository {
+
+    private static final String INSERT_ASIENTO =
+        "INSERT INTO asientos_contables (numero_asiento, fecha, descripcion, referencia, tipo, " +
+        "total_debitos, total_creditos, estado, fecha_creacion, fecha_modificacion, creado_por) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_MOVIMIENTO =
+        "INSERT INTO movimientos_contables (asiento_contable_id, cuenta_id, tipo_movimiento, monto, " +
+        "descripcion, orden, fecha_creacion, fecha_modificacion) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_CORRELATIVO =
+        "UPDATE asientos_contables SET numero_correlativo = ? WHERE id = ?";
+
+    private static final String SELECT_TEXTOS =
+        "SELECT a.id, a.descripcion, a.referencia, m.descripcion AS descripcion_movimiento " +
+        "FROM asientos_contables a " +
+        "LEFT JOIN movimientos_contables m ON m.asiento_contable_id = a.id AND m.descripcion IS NOT NULL ";
+
+    private static final int FILAS_POR_LECTURA = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insertar asientos y sus movimientos en lotes JDBC
+     * Los asientos deben traer número asignado; al terminar quedan con su ID generado
+     */
+    public void insertarAsientos(List<AsientoContable> asientos) {
+        if (asientos.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        Timestamp marcaTiempo = Timestamp.valueOf(ahora);
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            con -> con.prepareStatement(INSERT_ASIENTO, new String[] {"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    AsientoContable asiento = asientos.get(i);
+                    ps.setInt(1, asiento.getNumeroAsiento());
+                    ps.setDate(2, Date.valueOf(asiento.getFecha()));
+                    ps.setString(3, asiento.getDescripcion());
+                    ps.setString(4, asiento.getReferencia());
+                    ps.setString(5, asiento.getTipo().name());
+                    ps.setBigDecimal(6, asiento.getTotalDebitos());
+                    ps.setBigDecimal(7, asiento.getTotalCreditos());
+                    ps.setString(8, asiento.getEstado().name());
+                    ps.setTimestamp(9, marcaTiempo);
+                    ps.setTimestamp(10, marcaTiempo);
+                    ps.setString(11, asiento.getCreadoPor());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return asientos.size();
+                }
+            },
+            keyHolder);
+
+        // Asignar los IDs generados (vienen en el mismo orden del lote)
+        List<Map<String, Object>> claves = keyHolder.getKeyList();
+        List<MovimientoContable> movimientos = new ArrayList<>();
+        for (int i = 0; i < asientos.size(); i++) {
+            AsientoContable asiento = asientos.get(i);
+            asiento.setId(((Number) claves.get(i).values().iterator().next()).longValue());
+            asiento.setFechaCreacion(ahora);
+            asiento.setFechaModificacion(ahora);
+            movimientos.addAll(asiento.getMovimientos());
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_MOVIMIENTO, movimientos, movimientos.size(), (ps, movimiento) -> {
+            ps.setLong(1, movimiento.getAsientoContable().getId());
+            ps.setLong(2, movimiento.getCuenta().getId());
+            ps.setString(3, movimiento.getTipoMovimiento().name());
+            ps.setBigDecimal(4, movimiento.getMonto());
+            ps.setString(5, movimiento.getDescripcion());
+            ps.setInt(6, movimiento.getOrden());
+            ps.setTimestamp(7, marcaTiempo);
+            ps.setTimestamp(8, marcaTiempo);
+        });
+    }
+
+    /**
+     * Asignar números correlativos consecutivos en un lote JDBC
+     * El asiento en la posición i recibe el número primerCorrelativo + i
+     */
+    public void asignarCorrelativos(List<Long> ids, int primerCorrelativo) {
+        jdbcTemplate.batchUpdate(UPDATE_CORRELATIVO, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setInt(1, primerCorrelativo + i);
+                ps.setLong(2, ids.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+    }
+
+    /**
+     * Textos de búsqueda de los asientos indicados
+     * Los IDs se consultan en grupos para no armar sentencias IN demasiado grandes
+     */
+    public List<TextoAsiento> obtenerTextosBusqueda(List<Long> ids) {
+        List<TextoAsiento> textos = new ArrayList<>(ids.size());
+        AgrupadorTextos agrupador = new AgrupadorTextos(textos::add);
+        for (int desde = 0; desde < ids.size(); desde += FILAS_POR_LECTURA) {
+            List<Long> grupo = ids.subList(desde, Math.min(desde + FILAS_POR_LECTURA, ids.size()));
+            String marcadores = String.join(",", Collections.nCopies(grupo.size(), "?"));
+            jdbcTemplate.query(SELECT_TEXTOS + "WHERE a.id IN (" + marcadores + ") ORDER BY a.id",
+                agrupador, grupo.toArray());
+            agrupador.terminar();
+        }
+        return textos;
+    }
+
+    /**
+     * Textos de búsqueda de los asientos creados o editados desde un momento (inclusive)
+     */
+    public List<TextoAsiento> obtenerTextosModificadosDesde(LocalDateTime desde) {
+        List<TextoAsiento> textos = new ArrayList<>();
+        AgrupadorTextos agrupador = new AgrupadorTextos(textos::add);
+        jdbcTemplate.query(SELECT_TEXTOS + "WHERE a.fecha_modificacion >= ? ORDER BY a.id",
+            agrupador, Timestamp.valueOf(desde));
+        agrupador.terminar();
+        return textos;
+    }
+
+    /**
+     * Recorrer los textos de búsqueda de todos los asientos (reconstrucción del índice)
+     * Las filas se leen por partes, sin cargar la tabla completa en memoria
+     */
+    public void recorrerTextosBusqueda(Consumer<TextoAsiento> consumidor) {
+        JdbcTemplate lector = new JdbcTemplate(jdbcTemplate.getDataSource());
+        lector.setFetchSize(FILAS_POR_LECTURA);
+        AgrupadorTextos agrupador = new AgrupadorTextos(consumidor);
+        lector.query(SELECT_TEXTOS + "ORDER BY a.id", agrupador);
+        agrupador.terminar();
+    }
+
+    /**
+     * Junta las filas de un mismo asiento (una por movimiento con descripción) en un solo texto
+     * Las filas deben venir ordenadas por ID de asiento
+     */
+    private static class AgrupadorTextos implements RowCallbackHandler {
+        private final Consumer<TextoAsiento> consumidor;
+        private TextoAsiento actual;
+
+        AgrupadorTextos(Consumer<TextoAsiento> consumidor) {
+            this.consumidor = consumidor;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (actual == null || actual.asientoId() != id) {
+                terminar();
+                actual = new TextoAsiento(id, rs.getString("descripcion"), rs.getString("referencia"), new ArrayList<>());
+            }
+            String descripcionMovimiento = rs.getString("descripcion_movimiento");
+            if (descripcionMovimiento != null) {
+                actual.descripcionesMovimientos().add(descripcionMovimiento);
+            }
+        }
+
+        void terminar() {
+            if (actual != null) {
+                consumidor.accept(actual);
+                actual = null;
+            }
+        }
+    }
+}
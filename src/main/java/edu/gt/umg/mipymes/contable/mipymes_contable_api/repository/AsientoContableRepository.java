@@ -1,16 +1,24 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
 
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LineaLibroDiarioDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable.TipoAsiento;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable.EstadoAsiento;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository para operaciones de base de datos de AsientoContable
@@ -34,6 +42,12 @@ public interface AsientoContableRepository extends JpaRepository<AsientoContable
     @Query("SELECT COALESCE(MAX(a.numeroAsiento), 0) + 1 FROM AsientoContable a")
     Integer obtenerSiguienteNumeroAsiento();
 
+    /**
+     * Obtener el mayor número correlativo asignado (0 si no hay asientos contabilizados)
+     */
+    @Query("SELECT COALESCE(MAX(a.numeroCorrelativo), 0) FROM AsientoContable a")
+    Integer obtenerUltimoNumeroCorrelativo();
+
     /**
      * Buscar asientos por fecha
      */
@@ -50,32 +64,94 @@ public interface AsientoContableRepository extends JpaRepository<AsientoContable
     List<AsientoContable> findByEstadoOrderByNumeroAsiento(EstadoAsiento estado);
 
     /**
-     * Buscar asientos por descripción (búsqueda parcial)
+     * Página del libro diario a partir de un número de asiento (keyset)
      */
-    List<AsientoContable> findByDescripcionContainingIgnoreCaseOrderByNumeroAsiento(String descripcion);
+    @Query("SELECT a FROM AsientoContable a WHERE a.estado != 'ANULADO' AND a.numeroAsiento > :despuesDe ORDER BY a.numeroAsiento")
+    List<AsientoContable> obtenerPaginaLibroDiario(@Param("despuesDe") Integer despuesDe, Limit limite);
 
     /**
-     * Obtener libro diario completo ordenado por número de asiento
+     * Página del libro diario de un período a partir de un número de asiento (keyset)
      */
-    @Query("SELECT a FROM AsientoContable a WHERE a.estado != 'ANULADO' ORDER BY a.numeroAsiento")
-    List<AsientoContable> obtenerLibroDiario();
+    @Query("SELECT a FROM AsientoContable a WHERE a.estado != 'ANULADO' AND a.fecha BETWEEN :fechaInicio AND :fechaFin " +
+           "AND a.numeroAsiento > :despuesDe ORDER BY a.numeroAsiento")
+    List<AsientoContable> obtenerPaginaLibroDiarioPorPeriodo(@Param("fechaInicio") LocalDate fechaInicio,
+                                                             @Param("fechaFin") LocalDate fechaFin,
+                                                             @Param("despuesDe") Integer despuesDe,
+                                                             Limit limite);
 
     /**
-     * Obtener libro diario por período
+     * Recorrer el libro diario completo como filas planas para exportación
+     * Debe consumirse dentro de una transacción y cerrarse al terminar
      */
-    @Query("SELECT a FROM AsientoContable a WHERE a.estado != 'ANULADO' AND a.fecha BETWEEN :fechaInicio AND :fechaFin ORDER BY a.numeroAsiento")
-    List<AsientoContable> obtenerLibroDiarioPorPeriodo(@Param("fechaInicio") LocalDate fechaInicio, 
-                                                       @Param("fechaFin") LocalDate fechaFin);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LineaLibroDiarioDTO(" +
+           "a.id, a.numeroAsiento, a.numeroCorrelativo, a.fecha, a.descripcion, a.referencia, a.tipo, a.estado, " +
+           "a.totalDebitos, a.totalCreditos, m.orden, c.codigo, c.nombre, m.tipoMovimiento, m.monto) " +
+           "FROM AsientoContable a LEFT JOIN a.movimientos m LEFT JOIN m.cuenta c " +
+           "WHERE a.estado != 'ANULADO' ORDER BY a.numeroAsiento, m.orden")
+    Stream<LineaLibroDiarioDTO> recorrerLibroDiario();
 
     /**
-     * Obtener asientos que afectan una cuenta específica
+     * Recorrer el libro diario de un período como filas planas para exportación
      */
-    @Query("SELECT DISTINCT a FROM AsientoContable a JOIN a.movimientos m WHERE m.cuenta.id = :cuentaId AND a.estado = 'CONTABILIZADO' ORDER BY a.numeroAsiento")
-    List<AsientoContable> obtenerAsientosPorCuenta(@Param("cuentaId") Long cuentaId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LineaLibroDiarioDTO(" +
+           "a.id, a.numeroAsiento, a.numeroCorrelativo, a.fecha, a.descripcion, a.referencia, a.tipo, a.estado, " +
+           "a.totalDebitos, a.totalCreditos, m.orden, c.codigo, c.nombre, m.tipoMovimiento, m.monto) " +
+           "FROM AsientoContable a LEFT JOIN a.movimientos m LEFT JOIN m.cuenta c " +
+           "WHERE a.estado != 'ANULADO' AND a.fecha BETWEEN :fechaInicio AND :fechaFin ORDER BY a.numeroAsiento, m.orden")
+    Stream<LineaLibroDiarioDTO> recorrerLibroDiarioPorPeriodo(@Param("fechaInicio") LocalDate fechaInicio,
+                                                              @Param("fechaFin") LocalDate fechaFin);
 
     /**
      * Obtener asientos no balanceados (para validación)
      */
     @Query("SELECT a FROM AsientoContable a WHERE a.totalDebitos != a.totalCreditos ORDER BY a.numeroAsiento")
     List<AsientoContable> obtenerAsientosNoBalanceados();
-}
\ No newline at end of file
+
+    /**
+     * Obtener un asiento con sus movimientos y cuentas en una sola consulta
+     */
+    @Query("SELECT DISTINCT a FROM AsientoContable a LEFT JOIN FETCH a.movimientos m LEFT JOIN FETCH m.cuenta WHERE a.id = :id")
+    Optional<AsientoContable> buscarConMovimientos(@Param("id") Long id);
+
+    /**
+     * Obtener un asiento por número con sus movimientos y cuentas en una sola consulta
+     */
+    @Query("SELECT DISTINCT a FROM AsientoContable a LEFT JOIN FETCH a.movimientos m LEFT JOIN FETCH m.cuenta " +
+           "WHERE a.numeroAsiento = :numero")
+    Optional<AsientoContable> buscarConMovimientosPorNumero(@Param("numero") Integer numero);
+
+    /**
+     * Marcar un asiento como contabilizado solo si sigue en BORRADOR
+     * Devuelve 0 si otra transacción ya lo contabilizó
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AsientoContable a SET a.estado = 'CONTABILIZADO', a.numeroCorrelativo = :correlativo, " +
+           "a.fechaModificacion = CURRENT_TIMESTAMP WHERE a.id = :id AND a.estado = 'BORRADOR'")
+    int marcarContabilizado(@Param("id") Long id, @Param("correlativo") Integer correlativo);
+
+    /**
+     * Obtener varios asientos con sus movimientos y cuentas en una sola consulta
+     */
+    @Query("SELECT DISTINCT a FROM AsientoContable a LEFT JOIN FETCH a.movimientos m LEFT JOIN FETCH m.cuenta " +
+           "WHERE a.id IN :ids ORDER BY a.fecha, a.numeroAsiento")
+    List<AsientoContable> buscarConMovimientosPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtener los borradores de un período con sus movimientos y cuentas
+     */
+    @Query("SELECT DISTINCT a FROM AsientoContable a LEFT JOIN FETCH a.movimientos m LEFT JOIN FETCH m.cuenta " +
+           "WHERE a.estado = 'BORRADOR' AND a.fecha BETWEEN :fechaInicio AND :fechaFin ORDER BY a.fecha, a.numeroAsiento")
+    List<AsientoContable> buscarBorradoresConMovimientos(@Param("fechaInicio") LocalDate fechaInicio,
+                                                         @Param("fechaFin") LocalDate fechaFin);
+
+    /**
+     * Marcar varios asientos como contabilizados en una sola sentencia
+     * Solo cambia los que siguen en BORRADOR; devuelve cuántos cambió
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AsientoContable a SET a.estado = 'CONTABILIZADO', a.fechaModificacion = CURRENT_TIMESTAMP " +
+           "WHERE a.id IN :ids AND a.estado = 'BORRADOR'")
+    int marcarContabilizados(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,333 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Repository JDBC para la carga masiva de datos sintéticos (perfil "carga")
+ *
+ * Cada método envía sus filas como un único lote JDBC. Los asientos se insertan con
+ * AsientoContableJdbcRepository, igual que en la carga por lote de la API.
+ * Las filas que otras tablas referencian (productos, cuentas bancarias, clientes, proveedores)
+ * quedan con su ID generado al terminar.
+ * Las escrituras no pasan por la cache de segundo nivel: GeneradorCargaMasiva la vacía al terminar.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CargaMasivaJdbcRepository {
+
+    private static final String INSERT_CUENTA =
+        "INSERT INTO cuentas (codigo, nombre, tipo, naturaleza, saldo, activa, version, descripcion, " +
+        "fecha_creacion, fecha_modificacion) VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?, ?)";
+
+    private static final String UPDATE_SALDO_CUENTA =
+        "UPDATE cuentas SET saldo = ?, version = version + 1, fecha_modificacion = ? WHERE id = ?";
+
+    private static final String INSERT_SALDO_CIERRE =
+        "INSERT INTO saldos_cierre (cuenta_id, fecha_cierre, saldo, fecha_creacion) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_PRODUCTO =
+        "INSERT INTO productos (codigo, nombre, descripcion, precio_compra, precio_venta, existencia, " +
+        "stock_minimo, unidad_medida, activo, categoria, proveedor, version, fecha_creacion, fecha_modificacion) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private static final String UPDATE_EXISTENCIA =
+        "UPDATE productos SET existencia = ?, version = version + 1 WHERE id = ?";
+
+    private static final String INSERT_MOVIMIENTO_INVENTARIO =
+        "INSERT INTO movimientos_inventario (producto_id, tipo_movimiento, cantidad, precio_unitario, " +
+        "existencia_anterior, existencia_nueva, observaciones, numero_documento, fecha_movimiento, creado_por) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_CUENTA_BANCARIA =
+        "INSERT INTO cuentas_bancarias (nombre, banco, numero_cuenta, tipo, saldo_libros, saldo_banco, activa, " +
+        "descripcion, version, fecha_creacion, fecha_modificacion) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private static final String UPDATE_SALDOS_BANCARIOS =
+        "UPDATE cuentas_bancarias SET saldo_libros = ?, saldo_banco = ?, version = version + 1 WHERE id = ?";
+
+    private static final String INSERT_MOVIMIENTO_BANCO =
+        "INSERT INTO movimientos_banco (cuenta_bancaria_id, tipo_movimiento, fecha_movimiento, monto, descripcion, " +
+        "numero_documento, beneficiario, estado, fecha_conciliacion, observaciones, fecha_creacion, " +
+        "fecha_modificacion, creado_por) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_CLIENTE =
+        "INSERT INTO clientes (codigo, nombre, razon_social, nit, dpi, telefono, email, direccion, tipo_cliente, " +
+        "limite_credito, saldo_actual, dias_credito, activo, observaciones, version, fecha_creacion, fecha_modificacion) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, 0, ?, ?)";
+
+    private static final String INSERT_PROVEEDOR =
+        "INSERT INTO proveedores (codigo, nombre, razon_social, nit, telefono, email, direccion, contacto, " +
+        "tipo_proveedor, saldo_actual, dias_pago, activo, observaciones, version, fecha_creacion, fecha_modificacion) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, 0, ?, ?)";
+
+    private static final String INSERT_CUENTA_POR_COBRAR =
+        "INSERT INTO cuentas_por_cobrar (cliente_id, numero_documento, fecha_emision, fecha_vencimiento, " +
+        "monto_original, monto_abonado, saldo_pendiente, estado, descripcion, observaciones, fecha_creacion, " +
+        "fecha_modificacion) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_CUENTA_POR_PAGAR =
+        "INSERT INTO cuentas_por_pagar (proveedor_id, numero_documento, fecha_emision, fecha_vencimiento, " +
+        "monto_original, monto_abonado, saldo_pendiente, estado, descripcion, observaciones, fecha_creacion, " +
+        "fecha_modificacion) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SALDOS_CLIENTES =
+        "UPDATE clientes c SET version = version + 1, saldo_actual = (SELECT COALESCE(SUM(x.saldo_pendiente), 0) " +
+        "FROM cuentas_por_cobrar x WHERE x.cliente_id = c.id)";
+
+    private static final String UPDATE_SALDOS_PROVEEDORES =
+        "UPDATE proveedores p SET version = version + 1, saldo_actual = (SELECT COALESCE(SUM(x.saldo_pendiente), 0) " +
+        "FROM cuentas_por_pagar x WHERE x.proveedor_id = p.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // ========== CATÁLOGO Y SALDOS ==========
+
+    public void insertarCuentas(List<Cuenta> cuentas) {
+        jdbcTemplate.batchUpdate(INSERT_CUENTA, cuentas, cuentas.size(), (ps, cuenta) -> {
+            ps.setString(1, cuenta.getCodigo());
+            ps.setString(2, cuenta.getNombre());
+            ps.setString(3, cuenta.getTipo().name());
+            ps.setString(4, cuenta.getNaturaleza().name());
+            ps.setBigDecimal(5, cuenta.getSaldo());
+            ps.setBoolean(6, cuenta.getActiva());
+            ps.setString(7, cuenta.getDescripcion());
+            ps.setTimestamp(8, Timestamp.valueOf(cuenta.getFechaCreacion()));
+            ps.setTimestamp(9, Timestamp.valueOf(cuenta.getFechaModificacion()));
+        });
+    }
+
+    /**
+     * Guardar el saldo final de las cuentas (incrementa la versión como cualquier otra escritura)
+     */
+    public void actualizarSaldosCuentas(List<Cuenta> cuentas) {
+        jdbcTemplate.batchUpdate(UPDATE_SALDO_CUENTA, cuentas, cuentas.size(), (ps, cuenta) -> {
+            ps.setBigDecimal(1, cuenta.getSaldo());
+            ps.setTimestamp(2, Timestamp.valueOf(cuenta.getFechaModificacion()));
+            ps.setLong(3, cuenta.getId());
+        });
+    }
+
+    public void insertarSaldosCierre(List<SaldoCierre> saldos) {
+        jdbcTemplate.batchUpdate(INSERT_SALDO_CIERRE, saldos, saldos.size(), (ps, saldo) -> {
+            ps.setLong(1, saldo.getCuenta().getId());
+            ps.setDate(2, Date.valueOf(saldo.getFechaCierre()));
+            ps.setBigDecimal(3, saldo.getSaldo());
+            ps.setTimestamp(4, Timestamp.valueOf(saldo.getFechaCreacion()));
+        });
+    }
+
+    // ========== INVENTARIO ==========
+
+    public void insertarProductos(List<Producto> productos) {
+        insertarConClaves(INSERT_PRODUCTO, productos, (ps, producto) -> {
+            ps.setString(1, producto.getCodigo());
+            ps.setString(2, producto.getNombre());
+            ps.setString(3, producto.getDescripcion());
+            ps.setBigDecimal(4, producto.getPrecioCompra());
+            ps.setBigDecimal(5, producto.getPrecioVenta());
+            ps.setInt(6, producto.getExistencia());
+            ps.setInt(7, producto.getStockMinimo());
+            ps.setString(8, producto.getUnidadMedida().name());
+            ps.setBoolean(9, producto.getActivo());
+            ps.setString(10, producto.getCategoria());
+            ps.setString(11, producto.getProveedor());
+            ps.setTimestamp(12, Timestamp.valueOf(producto.getFechaCreacion()));
+            ps.setTimestamp(13, Timestamp.valueOf(producto.getFechaModificacion()));
+        }, Producto::setId);
+    }
+
+    public void actualizarExistencias(List<Producto> productos) {
+        jdbcTemplate.batchUpdate(UPDATE_EXISTENCIA, productos, productos.size(), (ps, producto) -> {
+            ps.setInt(1, producto.getExistencia());
+            ps.setLong(2, producto.getId());
+        });
+    }
+
+    public void insertarMovimientosInventario(List<MovimientoInventario> movimientos) {
+        jdbcTemplate.batchUpdate(INSERT_MOVIMIENTO_INVENTARIO, movimientos, movimientos.size(), (ps, movimiento) -> {
+            ps.setLong(1, movimiento.getProducto().getId());
+            ps.setString(2, movimiento.getTipoMovimiento().name());
+            ps.setInt(3, movimiento.getCantidad());
+            ps.setBigDecimal(4, movimiento.getPrecioUnitario());
+            ps.setInt(5, movimiento.getExistenciaAnterior());
+            ps.setInt(6, movimiento.getExistenciaNueva());
+            ps.setString(7, movimiento.getObservaciones());
+            ps.setString(8, movimiento.getNumeroDocumento());
+            ps.setTimestamp(9, Timestamp.valueOf(movimiento.getFechaMovimiento()));
+            ps.setString(10, movimiento.getCreadoPor());
+        });
+    }
+
+    // ========== BANCOS ==========
+
+    public void insertarCuentasBancarias(List<CuentaBancaria> cuentas) {
+        insertarConClaves(INSERT_CUENTA_BANCARIA, cuentas, (ps, cuenta) -> {
+            ps.setString(1, cuenta.getNombre());
+            ps.setString(2, cuenta.getBanco());
+            ps.setString(3, cuenta.getNumeroCuenta());
+            ps.setString(4, cuenta.getTipo().name());
+            ps.setBigDecimal(5, cuenta.getSaldoLibros());
+            ps.setBigDecimal(6, cuenta.getSaldoBanco());
+            ps.setBoolean(7, cuenta.getActiva());
+            ps.setString(8, cuenta.getDescripcion());
+            ps.setTimestamp(9, Timestamp.valueOf(cuenta.getFechaCreacion()));
+            ps.setTimestamp(10, Timestamp.valueOf(cuenta.getFechaModificacion()));
+        }, CuentaBancaria::setId);
+    }
+
+    public void actualizarSaldosBancarios(List<CuentaBancaria> cuentas) {
+        jdbcTemplate.batchUpdate(UPDATE_SALDOS_BANCARIOS, cuentas, cuentas.size(), (ps, cuenta) -> {
+            ps.setBigDecimal(1, cuenta.getSaldoLibros());
+            ps.setBigDecimal(2, cuenta.getSaldoBanco());
+            ps.setLong(3, cuenta.getId());
+        });
+    }
+
+    public void insertarMovimientosBanco(List<MovimientoBanco> movimientos) {
+        jdbcTemplate.batchUpdate(INSERT_MOVIMIENTO_BANCO, movimientos, movimientos.size(), (ps, movimiento) -> {
+            ps.setLong(1, movimiento.getCuentaBancaria().getId());
+            ps.setString(2, movimiento.getTipoMovimiento().name());
+            ps.setDate(3, Date.valueOf(movimiento.getFechaMovimiento()));
+            ps.setBigDecimal(4, movimiento.getMonto());
+            ps.setString(5, movimiento.getDescripcion());
+            ps.setString(6, movimiento.getNumeroDocumento());
+            ps.setString(7, movimiento.getBeneficiario());
+            ps.setString(8, movimiento.getEstado().name());
+            ps.setDate(9, movimiento.getFechaConciliacion() != null ? Date.valueOf(movimiento.getFechaConciliacion()) : null);
+            ps.setString(10, movimiento.getObservaciones());
+            ps.setTimestamp(11, Timestamp.valueOf(movimiento.getFechaCreacion()));
+            ps.setTimestamp(12, Timestamp.valueOf(movimiento.getFechaModificacion()));
+            ps.setString(13, movimiento.getCreadoPor());
+        });
+    }
+
+    // ========== CLIENTES Y PROVEEDORES ==========
+
+    public void insertarClientes(List<Cliente> clientes) {
+        insertarConClaves(INSERT_CLIENTE, clientes, (ps, cliente) -> {
+            ps.setString(1, cliente.getCodigo());
+            ps.setString(2, cliente.getNombre());
+            ps.setString(3, cliente.getRazonSocial());
+            ps.setString(4, cliente.getNit());
+            ps.setString(5, cliente.getDpi());
+            ps.setString(6, cliente.getTelefono());
+            ps.setString(7, cliente.getEmail());
+            ps.setString(8, cliente.getDireccion());
+            ps.setString(9, cliente.getTipoCliente().name());
+            ps.setBigDecimal(10, cliente.getLimiteCredito());
+            ps.setInt(11, cliente.getDiasCredito());
+            ps.setBoolean(12, cliente.getActivo());
+            ps.setString(13, cliente.getObservaciones());
+            ps.setTimestamp(14, Timestamp.valueOf(cliente.getFechaCreacion()));
+            ps.setTimestamp(15, Timestamp.valueOf(cliente.getFechaModificacion()));
+        }, Cliente::setId);
+    }
+
+    public void insertarProveedores(List<Proveedor> proveedores) {
+        insertarConClaves(INSERT_PROVEEDOR, proveedores, (ps, proveedor) -> {
+            ps.setString(1, proveedor.getCodigo());
+            ps.setString(2, proveedor.getNombre());
+            ps.setString(3, proveedor.getRazonSocial());
+            ps.setString(4, proveedor.getNit());
+            ps.setString(5, proveedor.getTelefono());
+            ps.setString(6, proveedor.getEmail());
+            ps.setString(7, proveedor.getDireccion());
+            ps.setString(8, proveedor.getContacto());
+            ps.setString(9, proveedor.getTipoProveedor().name());
+            ps.setInt(10, proveedor.getDiasPago());
+            ps.setBoolean(11, proveedor.getActivo());
+            ps.setString(12, proveedor.getObservaciones());
+            ps.setTimestamp(13, Timestamp.valueOf(proveedor.getFechaCreacion()));
+            ps.setTimestamp(14, Timestamp.valueOf(proveedor.getFechaModificacion()));
+        }, Proveedor::setId);
+    }
+
+    public void insertarCuentasPorCobrar(List<CuentaPorCobrar> cuentas) {
+        jdbcTemplate.batchUpdate(INSERT_CUENTA_POR_COBRAR, cuentas, cuentas.size(), (ps, cuenta) -> {
+            ps.setLong(1, cuenta.getCliente().getId());
+            ps.setString(2, cuenta.getNumeroDocumento());
+            ps.setDate(3, Date.valueOf(cuenta.getFechaEmision()));
+            ps.setDate(4, Date.valueOf(cuenta.getFechaVencimiento()));
+            ps.setBigDecimal(5, cuenta.getMontoOriginal());
+            ps.setBigDecimal(6, cuenta.getMontoAbonado());
+            ps.setBigDecimal(7, cuenta.getSaldoPendiente());
+            ps.setString(8, cuenta.getEstado().name());
+            ps.setString(9, cuenta.getDescripcion());
+            ps.setString(10, cuenta.getObservaciones());
+            ps.setTimestamp(11, Timestamp.valueOf(cuenta.getFechaCreacion()));
+            ps.setTimestamp(12, Timestamp.valueOf(cuenta.getFechaModificacion()));
+        });
+    }
+
+    public void insertarCuentasPorPagar(List<CuentaPorPagar> cuentas) {
+        jdbcTemplate.batchUpdate(INSERT_CUENTA_POR_PAGAR, cuentas, cuentas.size(), (ps, cuenta) -> {
+            ps.setLong(1, cuenta.getProveedor().getId());
+            ps.setString(2, cuenta.getNumeroDocumento());
+            ps.setDate(3, Date.valueOf(cuenta.getFechaEmision()));
+            ps.setDate(4, Date.valueOf(cuenta.getFechaVencimiento()));
+            ps.setBigDecimal(5, cuenta.getMontoOriginal());
+            ps.setBigDecimal(6, cuenta.getMontoAbonado());
+            ps.setBigDecimal(7, cuenta.getSaldoPendiente());
+            ps.setString(8, cuenta.getEstado().name());
+            ps.setString(9, cuenta.getDescripcion());
+            ps.setString(10, cuenta.getObservaciones());
+            ps.setTimestamp(11, Timestamp.valueOf(cuenta.getFechaCreacion()));
+            ps.setTimestamp(12, Timestamp.valueOf(cuenta.getFechaModificacion()));
+        });
+    }
+
+    /**
+     * Recalcular el saldo de clientes y proveedores con sus documentos pendientes
+     */
+    public void actualizarSaldosClientesProveedores() {
+        jdbcTemplate.update(UPDATE_SALDOS_CLIENTES);
+        jdbcTemplate.update(UPDATE_SALDOS_PROVEEDORES);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Insertar en un lote y asignar a cada fila su ID generado (vienen en el mismo orden del lote)
+     */
+    private <T> void insertarConClaves(String sql, List<T> filas, ParameterizedPreparedStatementSetter<T> asignarValores,
+                                       BiConsumer<T, Long> asignarId) {
+        if (filas.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            con -> con.prepareStatement(sql, new String[] {"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    asignarValores.setValues(ps, filas.get(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return filas.size();
+                }
+            },
+            keyHolder);
+
+        List<Map<String, Object>> claves = keyHolder.getKeyList();
+        for (int i = 0; i < filas.size(); i++) {
+            asignarId.accept(filas.get(i), ((Number) claves.get(i).values().iterator().next()).longValue());
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
 
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ClienteDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cliente;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cliente.TipoCliente;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
@@ -23,6 +29,15 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
      */
     boolean existsByCodigo(String codigo);
 
+    /**
+     * Cliente con la fila bloqueada (SELECT ... FOR UPDATE) para cambiar su saldo
+     * Es una consulta: lee la fila de la BD, no la copia del cache de segundo nivel, y la
+     * transacción de otra instancia que quiera cambiarla espera a que esta confirme
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cliente c WHERE c.id = :id")
+    Optional<Cliente> buscarParaActualizar(@Param("id") Long id);
+
     /**
      * Obtener clientes activos
      */
@@ -55,4 +70,28 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
      */
     @Query("SELECT SUM(c.saldoActual) FROM Cliente c WHERE c.activo = true")
     BigDecimal obtenerTotalCuentasPorCobrar();
-}
\ No newline at end of file
+
+    /**
+     * Contar clientes activos
+     */
+    long countByActivoTrue();
+
+    // ========== LISTADOS COMO DTO ==========
+    // Construyen el DTO desde las columnas: sin entidades administradas ni copias para dirty checking
+
+    String PROYECCION_DTO = "SELECT new edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ClienteDTO(" +
+        "c.id, c.codigo, c.nombre, c.razonSocial, c.nit, c.dpi, c.telefono, c.email, c.direccion, c.tipoCliente, " +
+        "c.limiteCredito, c.saldoActual, c.diasCredito, c.activo, c.observaciones, c.fechaCreacion, " +
+        "c.fechaModificacion) FROM Cliente c ";
+
+    /**
+     * Página de clientes activos
+     * Filtros opcionales: tipo null incluye todos los tipos; nombre vacío, todos los nombres;
+     * soloConSaldo deja los que tienen saldo pendiente
+     */
+    @Query(PROYECCION_DTO + "WHERE c.activo = true AND (:tipo IS NULL OR c.tipoCliente = :tipo) " +
+           "AND UPPER(c.nombre) LIKE UPPER(CONCAT('%', :#{escape([1])}, '%')) ESCAPE :#{escapeCharacter()} " +
+           "AND (:soloConSaldo = false OR c.saldoActual > 0)")
+    Page<ClienteDTO> listarActivos(@Param("tipo") TipoCliente tipo, @Param("nombre") String nombre,
+                                   @Param("soloConSaldo") boolean soloConSaldo, Pageable pageable);
+}
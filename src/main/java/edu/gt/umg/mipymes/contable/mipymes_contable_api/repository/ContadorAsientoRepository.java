@@ -0,0 +1,36 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.ContadorAsiento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository para los contadores de numeración del Libro Diario
+ */
+@Repository
+public interface ContadorAsientoRepository extends JpaRepository<ContadorAsiento, String> {
+
+    /**
+     * Incrementar un contador de forma atómica
+     * El UPDATE bloquea la fila hasta que termina la transacción
+     */
+    @Modifying
+    @Query("UPDATE ContadorAsiento c SET c.valor = c.valor + :cantidad, c.fechaModificacion = CURRENT_TIMESTAMP WHERE c.clave = :clave")
+    int incrementar(@Param("clave") String clave, @Param("cantidad") long cantidad);
+
+    /**
+     * Obtener el valor actual de un contador
+     */
+    @Query("SELECT c.valor FROM ContadorAsiento c WHERE c.clave = :clave")
+    Long obtenerValor(@Param("clave") String clave);
+
+    /**
+     * Adelantar un contador si quedó por debajo del valor indicado
+     */
+    @Modifying
+    @Query("UPDATE ContadorAsiento c SET c.valor = :valor, c.fechaModificacion = CURRENT_TIMESTAMP WHERE c.clave = :clave AND c.valor < :valor")
+    int adelantar(@Param("clave") String clave, @Param("valor") long valor);
+}
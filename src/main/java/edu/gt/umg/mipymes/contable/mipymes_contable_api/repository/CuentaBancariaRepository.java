@@ -1,9 +1,15 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
 
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.CuentaBancariaDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.CuentaBancaria;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.CuentaBancaria.TipoCuentaBancaria;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -22,6 +28,15 @@ public interface CuentaBancariaRepository extends JpaRepository<CuentaBancaria,
      */
     boolean existsByNumeroCuenta(String numeroCuenta);
 
+    /**
+     * Cuenta bancaria con la fila bloqueada (SELECT ... FOR UPDATE) para cambiar sus saldos
+     * Es una consulta: lee la fila de la BD, no la copia del cache de segundo nivel, y la
+     * transacción de otra instancia que quiera cambiarla espera a que esta confirme
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CuentaBancaria c WHERE c.id = :id")
+    Optional<CuentaBancaria> buscarParaActualizar(@Param("id") Long id);
+
     /**
      * Obtener cuentas bancarias activas
      */
@@ -37,11 +52,29 @@ public interface CuentaBancariaRepository extends JpaRepository<CuentaBancaria,
      */
     List<CuentaBancaria> findByTipoAndActivaTrueOrderByNombre(TipoCuentaBancaria tipo);
 
+    // ========== LISTADOS COMO DTO ==========
+    // Construyen el DTO desde las columnas: sin entidades administradas ni copias para dirty checking
+
+    String PROYECCION_DTO = "SELECT new edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.CuentaBancariaDTO(" +
+        "cb.id, cb.nombre, cb.banco, cb.numeroCuenta, cb.tipo, cb.saldoLibros, cb.saldoBanco, cb.activa, " +
+        "cb.descripcion, cb.fechaCreacion, cb.fechaModificacion) FROM CuentaBancaria cb ";
+
+    /**
+     * Cuentas bancarias activas ordenadas por nombre (resumen bancario)
+     */
+    @Query(PROYECCION_DTO + "WHERE cb.activa = true ORDER BY cb.nombre")
+    List<CuentaBancariaDTO> listarActivas();
+
     /**
-     * Obtener cuentas no conciliadas
+     * Página de cuentas bancarias activas
+     * Filtros opcionales: tipo null incluye todos los tipos; nombre vacío, todos los nombres;
+     * soloNoConciliadas deja las que tienen diferencia entre libros y banco
      */
-    @Query("SELECT cb FROM CuentaBancaria cb WHERE ABS(cb.saldoLibros - cb.saldoBanco) > 0.01 AND cb.activa = true ORDER BY cb.nombre")
-    List<CuentaBancaria> obtenerCuentasNoConciliadas();
+    @Query(PROYECCION_DTO + "WHERE cb.activa = true AND (:tipo IS NULL OR cb.tipo = :tipo) " +
+           "AND UPPER(cb.nombre) LIKE UPPER(CONCAT('%', :#{escape([1])}, '%')) ESCAPE :#{escapeCharacter()} " +
+           "AND (:soloNoConciliadas = false OR ABS(cb.saldoLibros - cb.saldoBanco) > 0.01)")
+    Page<CuentaBancariaDTO> listarActivas(@Param("tipo") TipoCuentaBancaria tipo, @Param("nombre") String nombre,
+                                          @Param("soloNoConciliadas") boolean soloNoConciliadas, Pageable pageable);
 
     /**
      * Obtener suma de saldos según libros
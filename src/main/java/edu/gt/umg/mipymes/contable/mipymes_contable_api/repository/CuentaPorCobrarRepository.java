@@ -1,7 +1,11 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
 
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.CuentaPorCobrarDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.CuentaPorCobrar;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.CuentaPorCobrar.EstadoCuenta;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,23 +20,25 @@ public interface CuentaPorCobrarRepository extends JpaRepository<CuentaPorCobrar
     /**
      * Obtener cuentas por cobrar por cliente
      */
+    @EntityGraph(attributePaths = "cliente")
     List<CuentaPorCobrar> findByClienteIdOrderByFechaVencimiento(Long clienteId);
 
     /**
      * Obtener cuentas por cobrar por estado
      */
+    @EntityGraph(attributePaths = "cliente")
     List<CuentaPorCobrar> findByEstadoOrderByFechaVencimiento(EstadoCuenta estado);
 
     /**
      * Obtener cuentas por cobrar vencidas
      */
-    @Query("SELECT cxc FROM CuentaPorCobrar cxc WHERE cxc.fechaVencimiento < :fecha AND cxc.estado = 'PENDIENTE' ORDER BY cxc.fechaVencimiento")
+    @Query("SELECT cxc FROM CuentaPorCobrar cxc JOIN FETCH cxc.cliente WHERE cxc.fechaVencimiento < :fecha AND cxc.estado = 'PENDIENTE' ORDER BY cxc.fechaVencimiento")
     List<CuentaPorCobrar> obtenerCuentasVencidas(@Param("fecha") LocalDate fecha);
 
     /**
      * Obtener cuentas por cobrar que vencen en un período
      */
-    @Query("SELECT cxc FROM CuentaPorCobrar cxc WHERE cxc.fechaVencimiento BETWEEN :fechaInicio AND :fechaFin ORDER BY cxc.fechaVencimiento")
+    @Query("SELECT cxc FROM CuentaPorCobrar cxc JOIN FETCH cxc.cliente WHERE cxc.fechaVencimiento BETWEEN :fechaInicio AND :fechaFin ORDER BY cxc.fechaVencimiento")
     List<CuentaPorCobrar> obtenerCuentasPorVencer(@Param("fechaInicio") LocalDate fechaInicio, @Param("fechaFin") LocalDate fechaFin);
 
     /**
@@ -40,4 +46,31 @@ public interface CuentaPorCobrarRepository extends JpaRepository<CuentaPorCobrar
      */
     @Query("SELECT SUM(cxc.saldoPendiente) FROM CuentaPorCobrar cxc WHERE cxc.estado IN ('PENDIENTE', 'PARCIAL')")
     java.math.BigDecimal obtenerTotalPendiente();
+
+    // ========== LISTADOS COMO DTO ==========
+    // Construyen el DTO desde las columnas, con el nombre del cliente del JOIN
+
+    String PROYECCION_DTO = "SELECT new edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.CuentaPorCobrarDTO(" +
+        "cxc.id, cl.id, cl.nombre, cxc.numeroDocumento, cxc.fechaEmision, cxc.fechaVencimiento, " +
+        "cxc.montoOriginal, cxc.montoAbonado, cxc.saldoPendiente, cxc.estado, cxc.descripcion, " +
+        "cxc.observaciones, cxc.fechaCreacion, cxc.fechaModificacion) FROM CuentaPorCobrar cxc JOIN cxc.cliente cl ";
+
+    /**
+     * Página de los documentos de un cliente (el orden lo da el Pageable)
+     */
+    @Query(PROYECCION_DTO + "WHERE cxc.cliente.id = :clienteId")
+    Slice<CuentaPorCobrarDTO> listarPorCliente(@Param("clienteId") Long clienteId, Pageable pageable);
+
+    /**
+     * Documentos pendientes vencidos antes de la fecha (resumen)
+     */
+    @Query(PROYECCION_DTO + "WHERE cxc.fechaVencimiento < :fecha AND cxc.estado = 'PENDIENTE' " +
+           "ORDER BY cxc.fechaVencimiento")
+    List<CuentaPorCobrarDTO> listarVencidas(@Param("fecha") LocalDate fecha);
+
+    /**
+     * Página de los documentos pendientes vencidos antes de la fecha (el orden lo da el Pageable)
+     */
+    @Query(PROYECCION_DTO + "WHERE cxc.fechaVencimiento < :fecha AND cxc.estado = 'PENDIENTE'")
+    Slice<CuentaPorCobrarDTO> listarVencidas(@Param("fecha") LocalDate fecha, Pageable pageable);
 }
\ No newline at end of file
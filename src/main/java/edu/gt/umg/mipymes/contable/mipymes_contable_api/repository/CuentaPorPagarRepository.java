@@ -1,7 +1,11 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
 
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.CuentaPorPagarDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.CuentaPorPagar;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.CuentaPorPagar.EstadoCuenta;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,23 +20,25 @@ public interface CuentaPorPagarRepository extends JpaRepository<CuentaPorPagar,
     /**
      * Obtener cuentas por pagar por proveedor
      */
+    @EntityGraph(attributePaths = "proveedor")
     List<CuentaPorPagar> findByProveedorIdOrderByFechaVencimiento(Long proveedorId);
 
     /**
      * Obtener cuentas por pagar por estado
      */
+    @EntityGraph(attributePaths = "proveedor")
     List<CuentaPorPagar> findByEstadoOrderByFechaVencimiento(EstadoCuenta estado);
 
     /**
      * Obtener cuentas por pagar vencidas
      */
-    @Query("SELECT cxp FROM CuentaPorPagar cxp WHERE cxp.fechaVencimiento < :fecha AND cxp.estado = 'PENDIENTE' ORDER BY cxp.fechaVencimiento")
+    @Query("SELECT cxp FROM CuentaPorPagar cxp JOIN FETCH cxp.proveedor WHERE cxp.fechaVencimiento < :fecha AND cxp.estado = 'PENDIENTE' ORDER BY cxp.fechaVencimiento")
     List<CuentaPorPagar> obtenerCuentasVencidas(@Param("fecha") LocalDate fecha);
 
     /**
      * Obtener cuentas por pagar que vencen en un período
      */
-    @Query("SELECT cxp FROM CuentaPorPagar cxp WHERE cxp.fechaVencimiento BETWEEN :fechaInicio AND :fechaFin ORDER BY cxp.fechaVencimiento")
+    @Query("SELECT cxp FROM CuentaPorPagar cxp JOIN FETCH cxp.proveedor WHERE cxp.fechaVencimiento BETWEEN :fechaInicio AND :fechaFin ORDER BY cxp.fechaVencimiento")
     List<CuentaPorPagar> obtenerCuentasPorVencer(@Param("fechaInicio") LocalDate fechaInicio, @Param("fechaFin") LocalDate fechaFin);
 
     /**
@@ -40,4 +46,25 @@ public interface CuentaPorPagarRepository extends JpaRepository<CuentaPorPagar,
      */
     @Query("SELECT SUM(cxp.saldoPendiente) FROM CuentaPorPagar cxp WHERE cxp.estado IN ('PENDIENTE', 'PARCIAL')")
     java.math.BigDecimal obtenerTotalPendiente();
+
+    // ========== LISTADOS COMO DTO ==========
+    // Construyen el DTO desde las columnas, con el nombre del proveedor del JOIN
+
+    String PROYECCION_DTO = "SELECT new edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.CuentaPorPagarDTO(" +
+        "cxp.id, pr.id, pr.nombre, cxp.numeroDocumento, cxp.fechaEmision, cxp.fechaVencimiento, " +
+        "cxp.montoOriginal, cxp.montoAbonado, cxp.saldoPendiente, cxp.estado, cxp.descripcion, " +
+        "cxp.observaciones, cxp.fechaCreacion, cxp.fechaModificacion) FROM CuentaPorPagar cxp JOIN cxp.proveedor pr ";
+
+    /**
+     * Documentos pendientes vencidos antes de la fecha (resumen)
+     */
+    @Query(PROYECCION_DTO + "WHERE cxp.fechaVencimiento < :fecha AND cxp.estado = 'PENDIENTE' " +
+           "ORDER BY cxp.fechaVencimiento")
+    List<CuentaPorPagarDTO> listarVencidas(@Param("fecha") LocalDate fecha);
+
+    /**
+     * Página de los documentos pendientes vencidos antes de la fecha (el orden lo da el Pageable)
+     */
+    @Query(PROYECCION_DTO + "WHERE cxp.fechaVencimiento < :fecha AND cxp.estado = 'PENDIENTE'")
+    Slice<CuentaPorPagarDTO> listarVencidas(@Param("fecha") LocalDate fecha, Pageable pageable);
 }
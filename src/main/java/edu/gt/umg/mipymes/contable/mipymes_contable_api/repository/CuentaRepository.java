@@ -1,11 +1,22 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
 
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.CuentaDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta.TipoCuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.MovimientoContableRepository.SaldoConNeto;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -54,9 +65,77 @@ public interface CuentaRepository extends JpaRepository<Cuenta, Long> {
     @Query("SELECT c FROM Cuenta c WHERE c.activa = true ORDER BY c.codigo")
     List<Cuenta> obtenerCatalogoActivo();
 
+    // ========== LISTADOS COMO DTO ==========
+    // Construyen el DTO desde las columnas: sin entidades administradas ni copias para dirty checking
+
+    String PROYECCION_DTO = "SELECT new edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.CuentaDTO(" +
+        "c.id, c.codigo, c.nombre, c.tipo, c.naturaleza, c.saldo, c.activa, c.descripcion, " +
+        "c.fechaCreacion, c.fechaModificacion) FROM Cuenta c ";
+
+    /**
+     * Página de cuentas activas (listado y catálogo)
+     * Filtros opcionales: tipo null incluye todos los tipos; nombre vacío, todos los nombres
+     */
+    @Query(PROYECCION_DTO + "WHERE c.activa = true AND (:tipo IS NULL OR c.tipo = :tipo) " +
+           "AND UPPER(c.nombre) LIKE UPPER(CONCAT('%', :#{escape([1])}, '%')) ESCAPE :#{escapeCharacter()}")
+    Page<CuentaDTO> listarActivas(@Param("tipo") TipoCuenta tipo, @Param("nombre") String nombre, Pageable pageable);
+
+    /**
+     * Página de cuentas cuyo nombre contiene el texto (sin distinguir mayúsculas, incluye inactivas)
+     */
+    @Query(PROYECCION_DTO + "WHERE UPPER(c.nombre) LIKE UPPER(CONCAT('%', :#{escape([0])}, '%')) ESCAPE :#{escapeCharacter()}")
+    Page<CuentaDTO> listarPorNombre(String nombre, Pageable pageable);
+
     /**
      * Buscar cuentas con saldo diferente de cero
      */
     @Query("SELECT c FROM Cuenta c WHERE c.saldo <> 0 AND c.activa = true ORDER BY c.codigo")
     List<Cuenta> obtenerCuentasConSaldo();
-}
\ No newline at end of file
+
+    /**
+     * Sumar un delta al saldo de una cuenta en la misma sentencia (sin leer el saldo en Java)
+     * Incrementa la versión para invalidar ediciones concurrentes de la cuenta
+     * Como todo UPDATE masivo en HQL, Hibernate vacía la región "cuentas" de la cache de segundo nivel
+     */
+    @Modifying
+    @Query("UPDATE Cuenta c SET c.saldo = c.saldo + :delta, c.version = c.version + 1, " +
+           "c.fechaModificacion = CURRENT_TIMESTAMP WHERE c.id = :id")
+    int aplicarDelta(@Param("id") Long id, @Param("delta") BigDecimal delta);
+
+    /**
+     * Versión actual de las cuentas indicadas
+     * Después de aplicarDelta, la fila sigue bloqueada y la versión leída es la que dejó esta transacción
+     */
+    @Query("SELECT c.id AS id, c.version AS version FROM Cuenta c WHERE c.id IN :ids")
+    List<VersionCuenta> obtenerVersiones(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Versión actual de todas las cuentas
+     */
+    @Query("SELECT c.id AS id, c.version AS version FROM Cuenta c")
+    List<VersionCuenta> obtenerTodasLasVersiones();
+
+    /**
+     * Saldo actual de todas las cuentas con el neto de los movimientos posteriores a desde
+     * En una sola sentencia, así el saldo y los movimientos corresponden al mismo momento
+     */
+    @Query("SELECT c.id AS cuentaId, c.saldo AS saldo, n.neto AS neto FROM Cuenta c " +
+           "LEFT JOIN (" + MovimientoContableRepository.NETOS_DESDE + "GROUP BY m.cuenta.id) n ON n.cuentaId = c.id")
+    List<SaldoConNeto> obtenerSaldosConNetosDesde(@Param("desde") LocalDate desde);
+
+    /**
+     * Todas las cuentas con sus filas bloqueadas (SELECT ... FOR UPDATE), por ID ascendente como
+     * las contabilizaciones: mientras dure la transacción ningún asiento puede afectar saldos
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cuenta c ORDER BY c.id")
+    List<Cuenta> bloquearTodas();
+
+    /**
+     * Proyección con el ID y la versión de una cuenta
+     */
+    interface VersionCuenta {
+        Long getId();
+        Long getVersion();
+    }
+}
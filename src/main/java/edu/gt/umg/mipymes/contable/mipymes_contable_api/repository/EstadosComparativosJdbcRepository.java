@@ -0,0 +1,67 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Repository JDBC para los estados financieros comparativos
+ *
+ * Todos los períodos se calculan con una sola lectura de movimientos_contables: cada movimiento
+ * se asigna a la columna de su fecha con un CASE y se agrupa por cuenta y columna.
+ * Solo cuentan los asientos CONTABILIZADOS; los netos van en sentido deudor.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EstadosComparativosJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Neto por cuenta y período; los rangos no deben traslaparse
+     * El período de cada fila es la posición del rango en la lista recibida
+     */
+    public List<NetoPeriodo> obtenerNetosPorPeriodo(List<Rango> rangos) {
+        StringBuilder columna = new StringBuilder("CASE");
+        List<Object> parametros = new ArrayList<>();
+        for (int i = 0; i < rangos.size(); i++) {
+            columna.append(" WHEN a.fecha BETWEEN ? AND ? THEN ").append(i);
+            parametros.add(Date.valueOf(rangos.get(i).desde()));
+            parametros.add(Date.valueOf(rangos.get(i).hasta()));
+        }
+        columna.append(" END");
+
+        LocalDate desde = rangos.stream().map(Rango::desde).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate hasta = rangos.stream().map(Rango::hasta).max(Comparator.naturalOrder()).orElseThrow();
+        parametros.add(Date.valueOf(desde));
+        parametros.add(Date.valueOf(hasta));
+
+        String sql =
+            "SELECT t.cuenta_id, t.periodo, SUM(t.neto) AS neto FROM (" +
+            "  SELECT m.cuenta_id, " + columna + " AS periodo, " +
+            "         CASE WHEN m.tipo_movimiento = 'DEBITO' THEN m.monto ELSE -m.monto END AS neto " +
+            "  FROM movimientos_contables m JOIN asientos_contables a ON a.id = m.asiento_contable_id " +
+            "  WHERE a.estado = 'CONTABILIZADO' AND a.fecha BETWEEN ? AND ?" +
+            ") t " +
+            "WHERE t.periodo IS NOT NULL " +
+            "GROUP BY t.cuenta_id, t.periodo";
+
+        return jdbcTemplate.query(sql,
+            (rs, i) -> new NetoPeriodo(rs.getLong("cuenta_id"), rs.getInt("periodo"), rs.getBigDecimal("neto")),
+            parametros.toArray());
+    }
+
+    /**
+     * Rango de fechas de un período (ambas inclusive)
+     */
+    public record Rango(LocalDate desde, LocalDate hasta) {}
+
+    public record NetoPeriodo(long cuentaId, int periodo, BigDecimal neto) {}
+}
@@ -0,0 +1,28 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Búsqueda de entidades por su identificador natural (@NaturalId: código, número de cuenta)
+ *
+ * A diferencia de findByCodigo (una consulta JPQL, que siempre va a la BD), Hibernate resuelve
+ * el código al ID con la región @NaturalIdCache y la entidad con la región @Cache:
+ * con ambas en cache la búsqueda no ejecuta SQL. Debe llamarse dentro de una transacción.
+ */
+@Repository
+public class IdentificadorNaturalRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> Optional<T> buscar(Class<T> entidad, Object identificadorNatural) {
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(entidad)
+            .loadOptional(identificadorNatural);
+    }
+}
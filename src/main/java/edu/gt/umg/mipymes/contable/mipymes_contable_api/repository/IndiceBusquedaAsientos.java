@@ -0,0 +1,61 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
+
+import java.util.List;
+
+/**
+ * Índice de búsqueda de texto sobre los asientos contables
+ *
+ * Cubre la descripción, la referencia y las descripciones de los movimientos.
+ * Se actualiza de forma incremental cuando se crean o contabilizan asientos,
+ * así la búsqueda no necesita recorrer la tabla de asientos con LIKE '%texto%'.
+ */
+public interface IndiceBusquedaAsientos {
+
+    /**
+     * Agregar o reemplazar el texto indexado de un asiento
+     */
+    void indexar(TextoAsiento texto);
+
+    /**
+     * Buscar asientos, ordenados por relevancia (y los más recientes primero en caso de empate)
+     */
+    ResultadoBusqueda buscar(String consulta, int desde, int limite);
+
+    /**
+     * Cantidad de asientos indexados
+     */
+    int cantidadIndexados();
+
+    /**
+     * Textos de un asiento que participan en la búsqueda
+     */
+    record TextoAsiento(long asientoId, String descripcion, String referencia, List<String> descripcionesMovimientos) {
+
+        /**
+         * Texto completo a indexar
+         */
+        public String contenido() {
+            StringBuilder texto = new StringBuilder();
+            if (descripcion != null) {
+                texto.append(descripcion);
+            }
+            if (referencia != null) {
+                texto.append(' ').append(referencia);
+            }
+            for (String descripcionMovimiento : descripcionesMovimientos) {
+                texto.append(' ').append(descripcionMovimiento);
+            }
+            return texto.toString();
+        }
+    }
+
+    /**
+     * Asiento encontrado y su puntaje (fracción de la consulta que coincide, de 0 a 1)
+     */
+    record Coincidencia(long asientoId, double puntaje) {}
+
+    /**
+     * Página de coincidencias y total de asientos que cumplen la búsqueda
+     */
+    record ResultadoBusqueda(int total, List<Coincidencia> coincidencias) {}
+}
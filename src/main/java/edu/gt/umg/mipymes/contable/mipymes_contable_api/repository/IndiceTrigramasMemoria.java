@@ -0,0 +1,306 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
+
+import org.springframework.stereotype.Repository;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas en memoria
+ *
+ * El texto se normaliza (minúsculas, sin tildes, solo letras y dígitos) y cada palabra se
+ * parte en trigramas. Cada trigrama guarda la lista de documentos que lo contienen.
+ * Una búsqueda recorre a la vez las listas de los trigramas de la consulta (ya ordenadas, sin
+ * copiarlas) y cuenta en cuántas aparece cada documento; el costo depende de los documentos que
+ * comparten trigramas con la consulta, no del total indexado:
+ * - Se devuelven los documentos que contienen al menos el 75% de los trigramas,
+ *   lo que tolera errores de escritura y palabras parciales.
+ * - El puntaje es la fracción de trigramas encontrados; las coincidencias al inicio
+ *   de una palabra puntúan más que las que quedan en medio.
+ *
+ * Los documentos reciben números internos crecientes, así las listas quedan ordenadas y
+ * los empates se resuelven por antigüedad sin ordenar. Si el texto de un asiento cambia,
+ * el documento anterior se marca como eliminado y se agrega uno nuevo.
+ *
+ * Límites: el índice vive en la memoria de cada instancia (4 bytes por trigrama distinto de
+ * cada documento, más o menos uno por letra del texto) y los documentos eliminados siguen en
+ * las listas hasta que el índice se reconstruye al reiniciar.
+ */
+@Repository
+public class IndiceTrigramasMemoria implements IndiceBusquedaAsientos {
+
+    private static final int ALFABETO = 37;                  // espacio, a-z y 0-9
+    private static final int MAXIMO_TRIGRAMAS_CONSULTA = 100;
+    private static final double COINCIDENCIA_MINIMA = 0.75;
+
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+    private final ListaEnteros[] documentosPorTrigrama = new ListaEnteros[ALFABETO * ALFABETO * ALFABETO];
+    private final Map<Long, Integer> documentoPorAsiento = new HashMap<>();
+    private final BitSet eliminados = new BitSet();
+    private long[] asientoPorDocumento = new long[1024];
+    private int[] huellaPorDocumento = new int[1024];
+    private int totalDocumentos = 0;
+
+    @Override
+    public void indexar(TextoAsiento texto) {
+        String normalizado = normalizar(texto.contenido());
+        int huella = normalizado.hashCode();
+        int[] trigramas = trigramasDocumento(normalizado);
+
+        candado.writeLock().lock();
+        try {
+            Integer anterior = documentoPorAsiento.get(texto.asientoId());
+            if (anterior != null) {
+                if (huellaPorDocumento[anterior] == huella) {
+                    return;     // El texto no cambió (por ejemplo, al contabilizar)
+                }
+                eliminados.set(anterior);
+            }
+
+            int documento = nuevoDocumento(texto.asientoId(), huella);
+            for (int trigrama : trigramas) {
+                ListaEnteros documentos = documentosPorTrigrama[trigrama];
+                if (documentos == null) {
+                    documentos = new ListaEnteros();
+                    documentosPorTrigrama[trigrama] = documentos;
+                }
+                documentos.agregar(documento);
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public ResultadoBusqueda buscar(String consulta, int desde, int limite) {
+        int[] trigramas = trigramasConsulta(normalizar(consulta));
+        if (trigramas.length == 0) {
+            return new ResultadoBusqueda(0, List.of());
+        }
+        int minimo = Math.max(1, (int) Math.ceil(trigramas.length * COINCIDENCIA_MINIMA));
+
+        candado.readLock().lock();
+        try {
+            // Agrupar por puntaje recorriendo del documento más reciente al más antiguo: cada
+            // documento aparece una vez por cada trigrama de la consulta que contiene
+            RecorridoListas recorrido = new RecorridoListas(documentosPorTrigrama, trigramas);
+            ListaEnteros[] porPuntaje = new ListaEnteros[trigramas.length + 1];
+            int total = 0;
+            while (recorrido.hayMas()) {
+                int documento = recorrido.documentoActual();
+                int puntaje = 0;
+                do {
+                    puntaje++;
+                    recorrido.avanzar();
+                } while (recorrido.hayMas() && recorrido.documentoActual() == documento);
+
+                if (puntaje >= minimo && !eliminados.get(documento)) {
+                    if (porPuntaje[puntaje] == null) {
+                        porPuntaje[puntaje] = new ListaEnteros();
+                    }
+                    porPuntaje[puntaje].agregar(documento);
+                    total++;
+                }
+            }
+
+            // Tomar la página pedida, del mayor puntaje al menor
+            List<Coincidencia> coincidencias = new ArrayList<>(Math.min(limite, Math.max(0, total - desde)));
+            int omitir = desde;
+            for (int puntaje = trigramas.length; puntaje >= minimo && coincidencias.size() < limite; puntaje--) {
+                ListaEnteros documentos = porPuntaje[puntaje];
+                if (documentos == null) {
+                    continue;
+                }
+                if (omitir >= documentos.tamano) {
+                    omitir -= documentos.tamano;
+                    continue;
+                }
+                for (int i = omitir; i < documentos.tamano && coincidencias.size() < limite; i++) {
+                    coincidencias.add(new Coincidencia(asientoPorDocumento[documentos.valores[i]],
+                        (double) puntaje / trigramas.length));
+                }
+                omitir = 0;
+            }
+            return new ResultadoBusqueda(total, coincidencias);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int cantidadIndexados() {
+        candado.readLock().lock();
+        try {
+            return documentoPorAsiento.size();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private int nuevoDocumento(long asientoId, int huella) {
+        if (totalDocumentos == asientoPorDocumento.length) {
+            asientoPorDocumento = Arrays.copyOf(asientoPorDocumento, totalDocumentos * 2);
+            huellaPorDocumento = Arrays.copyOf(huellaPorDocumento, totalDocumentos * 2);
+        }
+        int documento = totalDocumentos++;
+        asientoPorDocumento[documento] = asientoId;
+        huellaPorDocumento[documento] = huella;
+        documentoPorAsiento.put(asientoId, documento);
+        return documento;
+    }
+
+    /**
+     * Minúsculas, sin tildes y con cualquier otro carácter convertido en espacio
+     */
+    private static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinTildes = Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sinTildes.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").trim();
+    }
+
+    /**
+     * Trigramas distintos de un documento; cada palabra se rodea de espacios
+     */
+    private static int[] trigramasDocumento(String normalizado) {
+        BitSet trigramas = new BitSet();
+        for (String palabra : palabras(normalizado)) {
+            agregarTrigramas(" " + palabra + " ", trigramas);
+        }
+        return trigramas.stream().toArray();
+    }
+
+    /**
+     * Trigramas distintos de una consulta
+     * Las palabras solo llevan espacio al inicio para que también coincidan como prefijo;
+     * las de dos letras se buscan como inicio de palabra y las de una letra se ignoran
+     */
+    private static int[] trigramasConsulta(String normalizado) {
+        BitSet trigramas = new BitSet();
+        for (String palabra : palabras(normalizado)) {
+            if (palabra.length() >= 2) {
+                agregarTrigramas(" " + palabra, trigramas);
+            }
+        }
+        return trigramas.stream().limit(MAXIMO_TRIGRAMAS_CONSULTA).toArray();
+    }
+
+    private static String[] palabras(String normalizado) {
+        return normalizado.isEmpty() ? new String[0] : normalizado.split(" ");
+    }
+
+    private static void agregarTrigramas(String texto, BitSet trigramas) {
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            trigramas.set((codigo(texto.charAt(i)) * ALFABETO + codigo(texto.charAt(i + 1))) * ALFABETO
+                + codigo(texto.charAt(i + 2)));
+        }
+    }
+
+    private static int codigo(char caracter) {
+        if (caracter >= 'a' && caracter <= 'z') {
+            return caracter - 'a' + 1;
+        }
+        if (caracter >= '0' && caracter <= '9') {
+            return caracter - '0' + 27;
+        }
+        return 0;
+    }
+
+    /**
+     * Lista de enteros sin objetos por elemento
+     */
+    private static class ListaEnteros {
+        private int[] valores = new int[4];
+        private int tamano = 0;
+
+        void agregar(int valor) {
+            if (tamano == valores.length) {
+                valores = Arrays.copyOf(valores, tamano * 2);
+            }
+            valores[tamano++] = valor;
+        }
+    }
+
+    /**
+     * Recorrido de la unión de varias listas de documentos, del más reciente al más antiguo
+     * Un montículo de máximos guarda las listas por su documento actual: cada paso cuesta
+     * log(cantidad de listas), sin copiar ni ordenar las listas.
+     * Debe usarse con el candado de lectura tomado
+     */
+    private static class RecorridoListas {
+        private final ListaEnteros[] listas;
+        private final int[] posiciones;         // Documento actual de cada lista (se recorre hacia atrás)
+        private final int[] monticulo;          // Listas con documentos pendientes; arriba la del mayor
+        private int tamano = 0;
+
+        RecorridoListas(ListaEnteros[] documentosPorTrigrama, int[] trigramas) {
+            listas = new ListaEnteros[trigramas.length];
+            posiciones = new int[trigramas.length];
+            monticulo = new int[trigramas.length];
+            for (int i = 0; i < trigramas.length; i++) {
+                listas[i] = documentosPorTrigrama[trigramas[i]];
+                if (listas[i] != null && listas[i].tamano > 0) {
+                    posiciones[i] = listas[i].tamano - 1;
+                    monticulo[tamano++] = i;
+                }
+            }
+            for (int i = tamano / 2 - 1; i >= 0; i--) {
+                bajar(i);
+            }
+        }
+
+        boolean hayMas() {
+            return tamano > 0;
+        }
+
+        int documentoActual() {
+            return actual(monticulo[0]);
+        }
+
+        /**
+         * Pasar la lista del documento actual a su documento anterior
+         */
+        void avanzar() {
+            int lista = monticulo[0];
+            if (--posiciones[lista] < 0) {
+                monticulo[0] = monticulo[--tamano];
+            }
+            bajar(0);
+        }
+
+        private int actual(int lista) {
+            return listas[lista].valores[posiciones[lista]];
+        }
+
+        private void bajar(int nodo) {
+            while (true) {
+                int mayor = nodo;
+                int izquierdo = 2 * nodo + 1;
+                int derecho = izquierdo + 1;
+                if (izquierdo < tamano && actual(monticulo[izquierdo]) > actual(monticulo[mayor])) {
+                    mayor = izquierdo;
+                }
+                if (derecho < tamano && actual(monticulo[derecho]) > actual(monticulo[mayor])) {
+                    mayor = derecho;
+                }
+                if (mayor == nodo) {
+                    return;
+                }
+                int temporal = monticulo[nodo];
+                monticulo[nodo] = monticulo[mayor];
+                monticulo[mayor] = temporal;
+                nodo = mayor;
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository JDBC para el Libro Mayor
+ *
+ * Lee directamente movimientos_contables + asientos_contables y calcula el saldo acumulado
+ * en la BD con una función de ventana, sin cargar entidades AsientoContable.
+ * Solo cuentan los asientos CONTABILIZADOS (los borradores no afectan saldos).
+ *
+ * Los importes netos se expresan en sentido deudor (débito positivo, crédito negativo);
+ * el service los convierte según la naturaleza de la cuenta.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LibroMayorJdbcRepository {
+
+    private static final String SQL_RESUMEN =
+        "SELECT c.saldo, t.neto_desde_inicio, t.neto_hasta_posicion, t.debitos, t.creditos " +
+        "FROM cuentas c CROSS JOIN (" +
+        "  SELECT COALESCE(SUM(CASE WHEN m.tipo_movimiento = 'DEBITO' THEN m.monto ELSE -m.monto END), 0) AS neto_desde_inicio, " +
+        "         COALESCE(SUM(CASE WHEN a.fecha <= ? AND (a.fecha, a.numero_asiento, m.id) <= (?, ?, ?) " +
+        "                      THEN CASE WHEN m.tipo_movimiento = 'DEBITO' THEN m.monto ELSE -m.monto END END), 0) AS neto_hasta_posicion, " +
+        "         COALESCE(SUM(CASE WHEN a.fecha <= ? AND m.tipo_movimiento = 'DEBITO' THEN m.monto END), 0) AS debitos, " +
+        "         COALESCE(SUM(CASE WHEN a.fecha <= ? AND m.tipo_movimiento = 'CREDITO' THEN m.monto END), 0) AS creditos " +
+        "  FROM movimientos_contables m JOIN asientos_contables a ON a.id = m.asiento_contable_id " +
+        "  WHERE m.cuenta_id = ? AND a.estado = 'CONTABILIZADO' AND a.fecha >= ?" +
+        ") t " +
+        "WHERE c.id = ?";
+
+    private static final String SQL_MOVIMIENTOS =
+        "SELECT m.id AS movimiento_id, a.id AS asiento_id, a.numero_asiento, a.numero_correlativo, a.fecha, " +
+        "       COALESCE(m.descripcion, a.descripcion) AS descripcion, m.tipo_movimiento, m.monto, " +
+        "       SUM(CASE WHEN m.tipo_movimiento = 'DEBITO' THEN m.monto ELSE -m.monto END) " +
+        "           OVER (ORDER BY a.fecha, a.numero_asiento, m.id ROWS UNBOUNDED PRECEDING) AS neto_acumulado " +
+        "FROM movimientos_contables m JOIN asientos_contables a ON a.id = m.asiento_contable_id " +
+        "WHERE m.cuenta_id = ? AND a.estado = 'CONTABILIZADO' AND a.fecha BETWEEN ? AND ? " +
+        "  AND (a.fecha, a.numero_asiento, m.id) > (?, ?, ?) " +
+        "ORDER BY a.fecha, a.numero_asiento, m.id " +
+        "LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Saldo actual de la cuenta y sumas de sus movimientos desde el inicio del período
+     * netoHastaPosicion suma los movimientos del período hasta la posición indicada (inclusive)
+     * Se obtiene en una sola sentencia para que el saldo y las sumas sean consistentes
+     */
+    public Optional<ResumenMayor> obtenerResumen(Long cuentaId, LocalDate fechaInicio, LocalDate fechaFin,
+                                                 Posicion hasta) {
+        List<ResumenMayor> filas = jdbcTemplate.query(SQL_RESUMEN,
+            (rs, i) -> new ResumenMayor(
+                rs.getBigDecimal("saldo"),
+                rs.getBigDecimal("neto_desde_inicio"),
+                rs.getBigDecimal("neto_hasta_posicion"),
+                rs.getBigDecimal("debitos"),
+                rs.getBigDecimal("creditos")),
+            Date.valueOf(fechaFin), Date.valueOf(hasta.fecha()), hasta.numeroAsiento(), hasta.movimientoId(),
+            Date.valueOf(fechaFin), Date.valueOf(fechaFin), cuentaId, Date.valueOf(fechaInicio), cuentaId);
+        return filas.stream().findFirst();
+    }
+
+    /**
+     * Movimientos del período posteriores a la posición indicada, en orden cronológico
+     * netoAcumulado es la suma deudora desde la posición indicada (exclusive) hasta la fila
+     */
+    public List<FilaMayor> obtenerMovimientos(Long cuentaId, LocalDate fechaInicio, LocalDate fechaFin,
+                                              Posicion despuesDe, int limite) {
+        return jdbcTemplate.query(SQL_MOVIMIENTOS,
+            (rs, i) -> new FilaMayor(
+                rs.getLong("movimiento_id"),
+                rs.getLong("asiento_id"),
+                rs.getInt("numero_asiento"),
+                rs.getObject("numero_correlativo", Integer.class),
+                rs.getDate("fecha").toLocalDate(),
+                rs.getString("descripcion"),
+                "DEBITO".equals(rs.getString("tipo_movimiento")),
+                rs.getBigDecimal("monto"),
+                rs.getBigDecimal("neto_acumulado")),
+            cuentaId, Date.valueOf(fechaInicio), Date.valueOf(fechaFin),
+            Date.valueOf(despuesDe.fecha()), despuesDe.numeroAsiento(), despuesDe.movimientoId(),
+            limite);
+    }
+
+    /**
+     * Posición de un movimiento en el orden del mayor (fecha, número de asiento, ID)
+     */
+    public record Posicion(LocalDate fecha, int numeroAsiento, long movimientoId) {
+
+        /**
+         * Posición anterior a cualquier movimiento del período
+         */
+        public static Posicion antesDe(LocalDate fecha) {
+            return new Posicion(fecha.minusDays(1), 0, 0);
+        }
+    }
+
+    public record ResumenMayor(BigDecimal saldoActual, BigDecimal netoDesdeInicio, BigDecimal netoHastaPosicion,
+                               BigDecimal debitos, BigDecimal creditos) {}
+
+    public record FilaMayor(long movimientoId, long asientoId, int numeroAsiento, Integer numeroCorrelativo,
+                            LocalDate fecha, String descripcion, boolean debito, BigDecimal monto,
+                            BigDecimal netoAcumulado) {}
+}
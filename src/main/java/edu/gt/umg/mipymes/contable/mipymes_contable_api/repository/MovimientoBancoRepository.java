@@ -1,15 +1,23 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
 
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.MovimientoBancoDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoBanco;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoBanco.TipoMovimientoBanco;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoBanco.EstadoMovimiento;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MovimientoBancoRepository extends JpaRepository<MovimientoBanco, Long> {
@@ -17,18 +25,20 @@ public interface MovimientoBancoRepository extends JpaRepository<MovimientoBanco
     /**
      * Obtener movimientos por cuenta bancaria
      */
+    @EntityGraph(attributePaths = "cuentaBancaria")
     List<MovimientoBanco> findByCuentaBancariaIdOrderByFechaMovimientoDesc(Long cuentaBancariaId);
 
     /**
      * Obtener movimientos por rango de fechas
      */
+    @EntityGraph(attributePaths = "cuentaBancaria")
     List<MovimientoBanco> findByFechaMovimientoBetweenOrderByFechaMovimientoDesc(
         LocalDate fechaInicio, LocalDate fechaFin);
 
     /**
      * Obtener movimientos por cuenta y rango de fechas
      */
-    @Query("SELECT mb FROM MovimientoBanco mb WHERE mb.cuentaBancaria.id = :cuentaId " +
+    @Query("SELECT mb FROM MovimientoBanco mb JOIN FETCH mb.cuentaBancaria WHERE mb.cuentaBancaria.id = :cuentaId " +
            "AND mb.fechaMovimiento BETWEEN :fechaInicio AND :fechaFin ORDER BY mb.fechaMovimiento DESC")
     List<MovimientoBanco> obtenerMovimientosPorCuentaYFecha(
         @Param("cuentaId") Long cuentaId,
@@ -38,18 +48,74 @@ public interface MovimientoBancoRepository extends JpaRepository<MovimientoBanco
     /**
      * Obtener movimientos pendientes de conciliación
      */
+    @EntityGraph(attributePaths = "cuentaBancaria")
     List<MovimientoBanco> findByEstadoOrderByFechaMovimientoDesc(EstadoMovimiento estado);
 
     /**
      * Obtener cheques emitidos pendientes
      */
-    @Query("SELECT mb FROM MovimientoBanco mb WHERE mb.tipoMovimiento = 'CHEQUE_EMITIDO' " +
+    @Query("SELECT mb FROM MovimientoBanco mb JOIN FETCH mb.cuentaBancaria WHERE mb.tipoMovimiento = 'CHEQUE_EMITIDO' " +
            "AND mb.estado = 'PENDIENTE' ORDER BY mb.fechaMovimiento DESC")
     List<MovimientoBanco> obtenerChequesEnCirculacion();
 
     /**
      * Obtener últimos movimientos
      */
-    @Query("SELECT mb FROM MovimientoBanco mb ORDER BY mb.fechaCreacion DESC LIMIT 10")
+    @Query("SELECT mb FROM MovimientoBanco mb JOIN FETCH mb.cuentaBancaria ORDER BY mb.fechaCreacion DESC LIMIT 10")
     List<MovimientoBanco> obtenerUltimosMovimientos();
-}
\ No newline at end of file
+
+    // ========== LISTADOS COMO DTO ==========
+    // Construyen el DTO desde las columnas, con el nombre de la cuenta bancaria del JOIN
+
+    String PROYECCION_DTO = "SELECT new edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.MovimientoBancoDTO(" +
+        "mb.id, cb.id, cb.nombre, mb.tipoMovimiento, mb.fechaMovimiento, mb.monto, mb.descripcion, " +
+        "mb.numeroDocumento, mb.beneficiario, mb.estado, mb.fechaConciliacion, mb.observaciones, " +
+        "mb.fechaCreacion, mb.fechaModificacion, mb.creadoPor) FROM MovimientoBanco mb JOIN mb.cuentaBancaria cb ";
+
+    /**
+     * Página de los movimientos de una cuenta bancaria (el orden lo da el Pageable)
+     */
+    @Query(PROYECCION_DTO + "WHERE mb.cuentaBancaria.id = :cuentaId")
+    Slice<MovimientoBancoDTO> listarPorCuenta(@Param("cuentaId") Long cuentaId, Pageable pageable);
+
+    /**
+     * Página de los movimientos de todas las cuentas en un rango de fechas
+     */
+    @Query(PROYECCION_DTO + "WHERE mb.fechaMovimiento BETWEEN :fechaInicio AND :fechaFin")
+    Slice<MovimientoBancoDTO> listarPorFecha(@Param("fechaInicio") LocalDate fechaInicio,
+                                             @Param("fechaFin") LocalDate fechaFin, Pageable pageable);
+
+    /**
+     * Página de los cheques emitidos pendientes de cobro
+     */
+    @Query(PROYECCION_DTO + "WHERE mb.tipoMovimiento = 'CHEQUE_EMITIDO' AND mb.estado = 'PENDIENTE'")
+    Slice<MovimientoBancoDTO> listarChequesEnCirculacion(Pageable pageable);
+
+    /**
+     * Página de todos los movimientos (el orden lo da el Pageable)
+     */
+    @Query(PROYECCION_DTO)
+    Slice<MovimientoBancoDTO> listarTodos(Pageable pageable);
+
+    /**
+     * Recorrer todos los movimientos de una cuenta bancaria en orden cronológico (exportación)
+     * Debe consumirse dentro de una transacción y cerrarse al terminar
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(PROYECCION_DTO + "WHERE mb.cuentaBancaria.id = :cuentaId ORDER BY mb.fechaMovimiento, mb.id")
+    Stream<MovimientoBancoDTO> recorrerPorCuenta(@Param("cuentaId") Long cuentaId);
+
+    /**
+     * Recorrer los movimientos de todas las cuentas en un rango de fechas (exportación)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(PROYECCION_DTO + "WHERE mb.fechaMovimiento BETWEEN :fechaInicio AND :fechaFin ORDER BY mb.fechaMovimiento, mb.id")
+    Stream<MovimientoBancoDTO> recorrerPorFecha(@Param("fechaInicio") LocalDate fechaInicio,
+                                                @Param("fechaFin") LocalDate fechaFin);
+
+    /**
+     * Últimos 10 movimientos registrados (resumen y dashboard)
+     */
+    @Query(PROYECCION_DTO + "ORDER BY mb.fechaCreacion DESC LIMIT 10")
+    List<MovimientoBancoDTO> listarUltimos();
+}
@@ -0,0 +1,67 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoContable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository para consultas agregadas sobre los movimientos contables
+ *
+ * Solo cuentan los movimientos de asientos CONTABILIZADOS. El neto se expresa en
+ * sentido deudor (débitos menos créditos); quien lo usa lo convierte según la cuenta.
+ */
+@Repository
+public interface MovimientoContableRepository extends JpaRepository<MovimientoContable, Long> {
+
+    /**
+     * Neto por cuenta de los asientos con fecha posterior a :desde, para usar como subconsulta
+     * (quien la usa agrega el resto de la condición y GROUP BY m.cuenta.id)
+     */
+    String NETOS_DESDE = "SELECT m.cuenta.id AS cuentaId, " +
+        "SUM(CASE WHEN m.tipoMovimiento = 'DEBITO' THEN m.monto ELSE -m.monto END) AS neto " +
+        "FROM MovimientoContable m JOIN m.asientoContable a " +
+        "WHERE a.estado = 'CONTABILIZADO' AND a.fecha > :desde ";
+
+    /**
+     * Neto por cuenta de Ingresos y Gastos de los asientos entre dos fechas (inclusive)
+     */
+    @Query("SELECT c.id AS cuentaId, c.codigo AS codigo, c.nombre AS nombre, c.tipo AS tipo, " +
+           "c.naturaleza AS naturaleza, " +
+           "SUM(CASE WHEN m.tipoMovimiento = 'DEBITO' THEN m.monto ELSE -m.monto END) AS neto " +
+           "FROM MovimientoContable m JOIN m.asientoContable a JOIN m.cuenta c " +
+           "WHERE a.estado = 'CONTABILIZADO' AND a.fecha BETWEEN :fechaInicio AND :fechaFin " +
+           "AND c.tipo IN ('INGRESO', 'GASTO') " +
+           "GROUP BY c.id, c.codigo, c.nombre, c.tipo, c.naturaleza " +
+           "ORDER BY c.codigo")
+    List<NetoCuentaResultados> obtenerNetosResultados(@Param("fechaInicio") LocalDate fechaInicio,
+                                                      @Param("fechaFin") LocalDate fechaFin);
+
+    /**
+     * Proyección con un saldo de partida de una cuenta y el neto deudor de sus movimientos,
+     * leídos en la misma sentencia (neto null si no hubo movimientos)
+     */
+    interface SaldoConNeto {
+        Long getCuentaId();
+        BigDecimal getSaldo();
+        BigDecimal getNeto();
+    }
+
+    /**
+     * Proyección con el neto deudor de una cuenta de resultados y los datos para presentarla
+     */
+    interface NetoCuentaResultados {
+        Long getCuentaId();
+        String getCodigo();
+        String getNombre();
+        Cuenta.TipoCuenta getTipo();
+        Cuenta.NaturalezaCuenta getNaturaleza();
+        BigDecimal getNeto();
+    }
+}
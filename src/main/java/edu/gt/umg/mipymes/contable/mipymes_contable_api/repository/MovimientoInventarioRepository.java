@@ -1,14 +1,22 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
 
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.MovimientoInventarioDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoInventario;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoInventario.TipoMovimiento;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MovimientoInventarioRepository extends JpaRepository<MovimientoInventario, Long> {
@@ -16,23 +24,26 @@ public interface MovimientoInventarioRepository extends JpaRepository<Movimiento
     /**
      * Obtener movimientos por producto
      */
+    @EntityGraph(attributePaths = "producto")
     List<MovimientoInventario> findByProductoIdOrderByFechaMovimientoDesc(Long productoId);
 
     /**
      * Obtener movimientos por tipo
      */
+    @EntityGraph(attributePaths = "producto")
     List<MovimientoInventario> findByTipoMovimientoOrderByFechaMovimientoDesc(TipoMovimiento tipoMovimiento);
 
     /**
      * Obtener movimientos por rango de fechas
      */
+    @EntityGraph(attributePaths = "producto")
     List<MovimientoInventario> findByFechaMovimientoBetweenOrderByFechaMovimientoDesc(
         LocalDateTime fechaInicio, LocalDateTime fechaFin);
 
     /**
      * Obtener movimientos por producto en rango de fechas
      */
-    @Query("SELECT m FROM MovimientoInventario m WHERE m.producto.id = :productoId " +
+    @Query("SELECT m FROM MovimientoInventario m JOIN FETCH m.producto WHERE m.producto.id = :productoId " +
            "AND m.fechaMovimiento BETWEEN :fechaInicio AND :fechaFin ORDER BY m.fechaMovimiento DESC")
     List<MovimientoInventario> obtenerMovimientosPorProductoYFecha(
         @Param("productoId") Long productoId,
@@ -42,9 +53,50 @@ public interface MovimientoInventarioRepository extends JpaRepository<Movimiento
     /**
      * Obtener últimos movimientos (para dashboard)
      */
-    @Query("SELECT m FROM MovimientoInventario m ORDER BY m.fechaMovimiento DESC LIMIT 10")
+    @Query("SELECT m FROM MovimientoInventario m JOIN FETCH m.producto ORDER BY m.fechaMovimiento DESC LIMIT 10")
     List<MovimientoInventario> obtenerUltimosMovimientos();
 
+    // ========== LISTADOS COMO DTO ==========
+    // Construyen el DTO desde las columnas, con el nombre y código del producto del JOIN
+
+    String PROYECCION_DTO = "SELECT new edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.MovimientoInventarioDTO(" +
+        "m.id, p.id, p.nombre, p.codigo, m.tipoMovimiento, m.cantidad, m.precioUnitario, m.existenciaAnterior, " +
+        "m.existenciaNueva, m.observaciones, m.numeroDocumento, m.fechaMovimiento, m.creadoPor) " +
+        "FROM MovimientoInventario m JOIN m.producto p ";
+
+    /**
+     * Página del kardex de un producto (el orden lo da el Pageable)
+     */
+    @Query(PROYECCION_DTO + "WHERE m.producto.id = :productoId")
+    Slice<MovimientoInventarioDTO> listarPorProducto(@Param("productoId") Long productoId, Pageable pageable);
+
+    /**
+     * Últimos 10 movimientos (dashboard)
+     */
+    @Query(PROYECCION_DTO + "ORDER BY m.fechaMovimiento DESC LIMIT 10")
+    List<MovimientoInventarioDTO> listarUltimos();
+
+    /**
+     * Página de todos los movimientos (el orden lo da el Pageable)
+     */
+    @Query(PROYECCION_DTO)
+    Slice<MovimientoInventarioDTO> listarTodos(Pageable pageable);
+
+    /**
+     * Recorrer el kardex completo de un producto en orden cronológico (exportación)
+     * Debe consumirse dentro de una transacción y cerrarse al terminar
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(PROYECCION_DTO + "WHERE m.producto.id = :productoId ORDER BY m.fechaMovimiento, m.id")
+    Stream<MovimientoInventarioDTO> recorrerPorProducto(@Param("productoId") Long productoId);
+
+    /**
+     * Recorrer todos los movimientos en orden cronológico (exportación)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(PROYECCION_DTO + "ORDER BY m.fechaMovimiento, m.id")
+    Stream<MovimientoInventarioDTO> recorrerTodos();
+
     /**
      * Contar movimientos por tipo en un período
      */
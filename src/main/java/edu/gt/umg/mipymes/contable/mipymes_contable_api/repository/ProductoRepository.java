@@ -1,7 +1,12 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
 
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ProductoDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Producto;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -22,6 +27,15 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
      */
     boolean existsByCodigo(String codigo);
 
+    /**
+     * Producto con la fila bloqueada (SELECT ... FOR UPDATE) para cambiar su existencia
+     * Es una consulta: lee la fila de la BD, no la copia del cache de segundo nivel, y la
+     * transacción de otra instancia que quiera cambiarla espera a que esta confirme
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Producto p WHERE p.id = :id")
+    Optional<Producto> buscarParaActualizar(@Param("id") Long id);
+
     /**
      * Obtener productos activos ordenados por nombre
      */
@@ -43,6 +57,37 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
     @Query("SELECT p FROM Producto p WHERE p.existencia <= p.stockMinimo AND p.activo = true ORDER BY p.nombre")
     List<Producto> obtenerProductosEnStockMinimo();
 
+    // ========== LISTADOS COMO DTO ==========
+    // Construyen el DTO desde las columnas: sin entidades administradas ni copias para dirty checking
+
+    String PROYECCION_DTO = "SELECT new edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ProductoDTO(" +
+        "p.id, p.codigo, p.nombre, p.descripcion, p.precioCompra, p.precioVenta, p.existencia, p.stockMinimo, " +
+        "p.unidadMedida, p.activo, p.categoria, p.proveedor, p.fechaCreacion, p.fechaModificacion) FROM Producto p ";
+
+    /**
+     * Productos activos ordenados por nombre (reporte de inventario)
+     */
+    @Query(PROYECCION_DTO + "WHERE p.activo = true ORDER BY p.nombre")
+    List<ProductoDTO> listarActivos();
+
+    /**
+     * Página de productos activos
+     * Filtros opcionales: nombre vacío incluye todos los nombres; categoría null, todas las categorías;
+     * soloStockMinimo deja los que tienen existencia en el stock mínimo o por debajo
+     */
+    @Query(PROYECCION_DTO + "WHERE p.activo = true " +
+           "AND UPPER(p.nombre) LIKE UPPER(CONCAT('%', :#{escape([0])}, '%')) ESCAPE :#{escapeCharacter()} " +
+           "AND (:categoria IS NULL OR p.categoria = :categoria) " +
+           "AND (:soloStockMinimo = false OR p.existencia <= p.stockMinimo)")
+    Page<ProductoDTO> listarActivos(@Param("nombre") String nombre, @Param("categoria") String categoria,
+                                    @Param("soloStockMinimo") boolean soloStockMinimo, Pageable pageable);
+
+    /**
+     * Productos activos con existencia en el stock mínimo o por debajo (reporte de inventario)
+     */
+    @Query(PROYECCION_DTO + "WHERE p.existencia <= p.stockMinimo AND p.activo = true ORDER BY p.nombre")
+    List<ProductoDTO> listarEnStockMinimo();
+
     /**
      * Obtener productos con existencia
      */
@@ -1,9 +1,15 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
 
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ProveedorDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Proveedor;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Proveedor.TipoProveedor;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
@@ -23,6 +29,15 @@ public interface ProveedorRepository extends JpaRepository<Proveedor, Long> {
      */
     boolean existsByCodigo(String codigo);
 
+    /**
+     * Proveedor con la fila bloqueada (SELECT ... FOR UPDATE) para cambiar su saldo
+     * Es una consulta: lee la fila de la BD, no la copia del cache de segundo nivel, y la
+     * transacción de otra instancia que quiera cambiarla espera a que esta confirme
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Proveedor p WHERE p.id = :id")
+    Optional<Proveedor> buscarParaActualizar(@Param("id") Long id);
+
     /**
      * Obtener proveedores activos
      */
@@ -49,4 +64,26 @@ public interface ProveedorRepository extends JpaRepository<Proveedor, Long> {
      */
     @Query("SELECT SUM(p.saldoActual) FROM Proveedor p WHERE p.activo = true")
     BigDecimal obtenerTotalCuentasPorPagar();
+
+    /**
+     * Contar proveedores activos
+     */
+    long countByActivoTrue();
+
+    // ========== LISTADOS COMO DTO ==========
+    // Construyen el DTO desde las columnas: sin entidades administradas ni copias para dirty checking
+
+    String PROYECCION_DTO = "SELECT new edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ProveedorDTO(" +
+        "p.id, p.codigo, p.nombre, p.razonSocial, p.nit, p.telefono, p.email, p.direccion, p.contacto, " +
+        "p.tipoProveedor, p.saldoActual, p.diasPago, p.activo, p.observaciones, p.fechaCreacion, " +
+        "p.fechaModificacion) FROM Proveedor p ";
+
+    /**
+     * Página de proveedores activos
+     * Filtros opcionales: tipo null incluye todos los tipos; nombre vacío, todos los nombres
+     */
+    @Query(PROYECCION_DTO + "WHERE p.activo = true AND (:tipo IS NULL OR p.tipoProveedor = :tipo) " +
+           "AND UPPER(p.nombre) LIKE UPPER(CONCAT('%', :#{escape([1])}, '%')) ESCAPE :#{escapeCharacter()}")
+    Page<ProveedorDTO> listarActivos(@Param("tipo") TipoProveedor tipo, @Param("nombre") String nombre,
+                                     Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.SaldoCierre;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.MovimientoContableRepository.SaldoConNeto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository para los saldos de cierre de período
+ */
+@Repository
+public interface SaldoCierreRepository extends JpaRepository<SaldoCierre, Long> {
+
+    /**
+     * Fechas de cierre registradas, de la más reciente a la más antigua
+     */
+    @Query("SELECT DISTINCT s.fechaCierre FROM SaldoCierre s ORDER BY s.fechaCierre DESC")
+    List<LocalDate> obtenerFechasCierre();
+
+    /**
+     * Fecha del cierre más reciente
+     */
+    @Query("SELECT MAX(s.fechaCierre) FROM SaldoCierre s")
+    Optional<LocalDate> obtenerUltimoCierre();
+
+    /**
+     * Último cierre en o antes de una fecha
+     */
+    @Query("SELECT MAX(s.fechaCierre) FROM SaldoCierre s WHERE s.fechaCierre <= :fecha")
+    Optional<LocalDate> obtenerCierreAnterior(@Param("fecha") LocalDate fecha);
+
+    /**
+     * Primer cierre posterior a una fecha
+     */
+    @Query("SELECT MIN(s.fechaCierre) FROM SaldoCierre s WHERE s.fechaCierre > :fecha")
+    Optional<LocalDate> obtenerCierrePosterior(@Param("fecha") LocalDate fecha);
+
+    /**
+     * Saldos de un cierre con el neto de los movimientos entre desde (excluida) y hasta (incluida)
+     * Una sola sentencia: una contabilización que confirma en medio no puede quedar contada en
+     * una parte y no en la otra (el asiento atrasado cambia a la vez movimientos y cierres)
+     */
+    @Query("SELECT s.cuenta.id AS cuentaId, s.saldo AS saldo, n.neto AS neto FROM SaldoCierre s " +
+           "LEFT JOIN (" + MovimientoContableRepository.NETOS_DESDE + "AND a.fecha <= :hasta GROUP BY m.cuenta.id) n " +
+           "ON n.cuentaId = s.cuenta.id WHERE s.fechaCierre = :fecha")
+    List<SaldoConNeto> obtenerSaldosConNetos(@Param("fecha") LocalDate fecha, @Param("desde") LocalDate desde,
+                                             @Param("hasta") LocalDate hasta);
+
+    boolean existsByFechaCierre(LocalDate fechaCierre);
+
+    @Modifying
+    @Query("DELETE FROM SaldoCierre s WHERE s.fechaCierre = :fecha")
+    int eliminarCierre(@Param("fecha") LocalDate fecha);
+
+    /**
+     * Sumar un delta a los cierres de una cuenta desde una fecha (asiento con fecha atrasada)
+     */
+    @Modifying
+    @Query("UPDATE SaldoCierre s SET s.saldo = s.saldo + :delta " +
+           "WHERE s.cuenta.id = :cuentaId AND s.fechaCierre >= :fecha")
+    int ajustarSaldos(@Param("cuentaId") Long cuentaId, @Param("fecha") LocalDate fecha,
+                      @Param("delta") BigDecimal delta);
+}
@@ -0,0 +1,157 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.config.AgrupacionCuentasProperties;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LineaBalanceDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.SubtotalCuentaDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.util.Centavos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Árbol de prefijos del catálogo de cuentas (inmutable)
+ *
+ * Cada prefijo de cada código es un nodo: "1001" genera "1", "10", "100" y "1001".
+ * Los nodos se guardan en arreglos con el índice de su padre, ordenados de mayor a menor
+ * largo, así los subtotales de todos los niveles salen de una sola pasada de abajo hacia arriba.
+ * El grupo de cada nodo (costo de ventas, activo no corriente...) se resuelve al construir el
+ * árbol con la regla del prefijo más largo.
+ */
+public class ArbolCuentas {
+
+    private final String[] prefijos;
+    private final int[] padres;
+    private final String[] grupos;
+    private final Map<String, Integer> nodoPorPrefijo;
+    private final int[] ordenSalida;            // Orden de los subtotales (por prefijo)
+    private final Set<Integer> niveles;
+    private final Map<String, String> nombres;
+
+    ArbolCuentas(Collection<String> codigos, AgrupacionCuentasProperties agrupacion) {
+        // Todos los prefijos, de mayor a menor largo (los hijos antes que los padres)
+        Set<String> todos = new HashSet<>();
+        for (String codigo : codigos) {
+            for (int largo = 1; largo <= codigo.length(); largo++) {
+                todos.add(codigo.substring(0, largo));
+            }
+        }
+        prefijos = todos.stream()
+            .sorted(Comparator.comparingInt(String::length).reversed().thenComparing(Comparator.naturalOrder()))
+            .toArray(String[]::new);
+
+        nodoPorPrefijo = new HashMap<>();
+        for (int nodo = 0; nodo < prefijos.length; nodo++) {
+            nodoPorPrefijo.put(prefijos[nodo], nodo);
+        }
+        padres = new int[prefijos.length];
+        for (int nodo = 0; nodo < prefijos.length; nodo++) {
+            String prefijo = prefijos[nodo];
+            padres[nodo] = prefijo.length() == 1 ? -1 : nodoPorPrefijo.get(prefijo.substring(0, prefijo.length() - 1));
+        }
+
+        // Grupo por nodo: la regla del propio prefijo o, si no hay, la del padre
+        Map<String, String> grupoPorPrefijo = new HashMap<>();
+        agrupacion.getGrupos().forEach((grupo, prefijosGrupo) ->
+            prefijosGrupo.stream()
+                .map(String::trim)
+                .filter(prefijo -> !prefijo.isEmpty())
+                .forEach(prefijo -> grupoPorPrefijo.put(prefijo, grupo)));
+        grupos = new String[prefijos.length];
+        for (int nodo = prefijos.length - 1; nodo >= 0; nodo--) {
+            String propio = grupoPorPrefijo.get(prefijos[nodo]);
+            grupos[nodo] = propio != null ? propio : (padres[nodo] >= 0 ? grupos[padres[nodo]] : null);
+        }
+
+        ordenSalida = new int[prefijos.length];
+        Integer[] porPrefijo = new Integer[prefijos.length];
+        Arrays.setAll(porPrefijo, nodo -> nodo);
+        Arrays.sort(porPrefijo, Comparator.comparing(nodo -> prefijos[nodo]));
+        Arrays.setAll(ordenSalida, i -> porPrefijo[i]);
+
+        niveles = new TreeSet<>(agrupacion.getNiveles());
+        nombres = Map.copyOf(agrupacion.getNombres());
+    }
+
+    /**
+     * Grupo de la cuenta según el prefijo más largo con regla; null si no tiene
+     */
+    public String grupoDe(String codigo) {
+        for (int largo = codigo.length(); largo >= 1; largo--) {
+            Integer nodo = nodoPorPrefijo.get(codigo.substring(0, largo));
+            if (nodo != null) {
+                return grupos[nodo];
+            }
+        }
+        return null;
+    }
+
+    public boolean perteneceA(String codigo, String grupo) {
+        return Objects.equals(grupoDe(codigo), grupo);
+    }
+
+    /**
+     * Subtotales de las líneas por cada prefijo de los niveles configurados
+     * Solo se devuelven los prefijos con saldo, ordenados por prefijo
+     */
+    public List<SubtotalCuentaDTO> subtotalizar(List<LineaBalanceDTO> lineas) {
+        // Sumas en centavos; se convierten a BigDecimal solo los subtotales devueltos
+        long[] deudores = new long[prefijos.length];
+        long[] acreedores = new long[prefijos.length];
+
+        for (LineaBalanceDTO linea : lineas) {
+            int nodo = nodoMasLargo(linea.getCodigo());
+            if (nodo >= 0) {
+                deudores[nodo] = Centavos.sumar(deudores[nodo], linea.getSaldoDeudor());
+                acreedores[nodo] = Centavos.sumar(acreedores[nodo], linea.getSaldoAcreedor());
+            }
+        }
+
+        // Los hijos están antes que sus padres: una pasada acumula todos los niveles
+        for (int nodo = 0; nodo < prefijos.length; nodo++) {
+            int padre = padres[nodo];
+            if (padre >= 0) {
+                deudores[padre] = Centavos.sumar(deudores[padre], deudores[nodo]);
+                acreedores[padre] = Centavos.sumar(acreedores[padre], acreedores[nodo]);
+            }
+        }
+
+        List<SubtotalCuentaDTO> subtotales = new ArrayList<>();
+        for (int nodo : ordenSalida) {
+            String prefijo = prefijos[nodo];
+            if (niveles.contains(prefijo.length()) && (deudores[nodo] != 0 || acreedores[nodo] != 0)) {
+                subtotales.add(new SubtotalCuentaDTO(prefijo, prefijo.length(), nombres.get(prefijo),
+                    Centavos.aMonto(deudores[nodo]), Centavos.aMonto(acreedores[nodo])));
+            }
+        }
+        return subtotales;
+    }
+
+    public int cantidadNodos() {
+        return prefijos.length;
+    }
+
+    /**
+     * Nodo del código o, si la cuenta es posterior al árbol, de su prefijo más largo conocido
+     */
+    private int nodoMasLargo(String codigo) {
+        if (codigo == null) {
+            return -1;
+        }
+        for (int largo = codigo.length(); largo >= 1; largo--) {
+            Integer nodo = nodoPorPrefijo.get(codigo.substring(0, largo));
+            if (nodo != null) {
+                return nodo;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,65 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.config.AgrupacionCuentasProperties;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.CuentaModificadaEvent;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mantiene en memoria el árbol de prefijos del catálogo de cuentas
+ *
+ * El árbol se construye la primera vez que se pide y se descarta solo cuando CuentaService
+ * crea, actualiza o desactiva una cuenta; la siguiente consulta lo vuelve a construir.
+ */
+@Service
+@Timed("mipymes.servicio")
+@RequiredArgsConstructor
+@Slf4j
+public class ArbolCuentasService {
+
+    private final CuentaRepository cuentaRepository;
+    private final AgrupacionCuentasProperties agrupacion;
+
+    private final ReentrantLock candado = new ReentrantLock();
+    private volatile ArbolCuentas arbol;
+
+    public ArbolCuentas obtenerArbol() {
+        ArbolCuentas actual = arbol;
+        if (actual != null) {
+            return actual;
+        }
+        candado.lock();
+        try {
+            if (arbol == null) {
+                List<String> codigos = cuentaRepository.findAll().stream().map(Cuenta::getCodigo).toList();
+                arbol = new ArbolCuentas(codigos, agrupacion);
+                log.info("Árbol del catálogo construido: {} cuentas, {} prefijos", codigos.size(), arbol.cantidadNodos());
+            }
+            return arbol;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void invalidar(CuentaModificadaEvent evento) {
+        candado.lock();
+        try {
+            arbol = null;
+        } finally {
+            candado.unlock();
+        }
+    }
+}
@@ -1,49 +1,97 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
 
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.AsientoContableDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ContabilizarLoteDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.PaginaDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ResultadoContabilizacionLoteDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ResultadoPaginaDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.AsientosModificadosEvent;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.SaldosContabilizadosEvent;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.AsientoContableJdbcRepository;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.AsientoContableRepository;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.IndiceBusquedaAsientos;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.AsientoNotFoundException;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.AsientoNoBalanceadoException;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.AsientoYaContabilizadoException;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.CuentaNotFoundException;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.LoteInvalidoException;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Service para el manejo de Asientos Contables (Libro Diario)
  */
 @Service
+@Timed("mipymes.servicio")
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Slf4j
 public class AsientoContableService {
 
     private final AsientoContableRepository asientoRepository;
+    private final AsientoContableJdbcRepository asientoJdbcRepository;
     private final CuentaRepository cuentaRepository;
+    private final NumeracionAsientoService numeracionService;
+    private final IndiceBusquedaAsientos indiceBusqueda;
+    private final SaldosCierreService saldosCierreService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricasContables metricas;
+    private final PlatformTransactionManager transactionManager;
 
     /**
-     * Obtener todos los asientos del libro diario
+     * Tamaño máximo de página para las consultas del libro diario
      */
-    public List<AsientoContableDTO> obtenerLibroDiario() {
-        log.info("Obteniendo libro diario completo");
-        List<AsientoContable> asientos = asientoRepository.obtenerLibroDiario();
-        return convertirADTO(asientos);
+    public static final int TAMANO_PAGINA_MAXIMO = 500;
+
+    private static final String MOTIVO_NO_BALANCEADO = "El asiento no está balanceado";
+
+    /**
+     * Obtener una página del libro diario (keyset por número de asiento)
+     */
+    public ResultadoPaginaDTO<AsientoContableDTO> obtenerLibroDiario(Integer despuesDe, int tamano) {
+        int tamanoPagina = ajustarTamanoPagina(tamano);
+        log.info("Obteniendo libro diario después del asiento {} ({} por página)", despuesDe, tamanoPagina);
+        List<AsientoContable> asientos = asientoRepository.obtenerPaginaLibroDiario(
+            despuesDe != null ? despuesDe : 0, Limit.of(tamanoPagina + 1));
+        return ResultadoPaginaDTO.desdeConsulta(convertirADTO(asientos), tamanoPagina,
+            asiento -> String.valueOf(asiento.getNumeroAsiento()));
     }
 
     /**
-     * Obtener asientos por período
+     * Obtener una página de los asientos de un período (keyset por número de asiento)
      */
-    public List<AsientoContableDTO> obtenerLibroDiarioPorPeriodo(LocalDate fechaInicio, LocalDate fechaFin) {
-        log.info("Obteniendo libro diario del {} al {}", fechaInicio, fechaFin);
-        List<AsientoContable> asientos = asientoRepository.obtenerLibroDiarioPorPeriodo(fechaInicio, fechaFin);
-        return convertirADTO(asientos);
+    public ResultadoPaginaDTO<AsientoContableDTO> obtenerLibroDiarioPorPeriodo(LocalDate fechaInicio, LocalDate fechaFin,
+                                                                            Integer despuesDe, int tamano) {
+        int tamanoPagina = ajustarTamanoPagina(tamano);
+        log.info("Obteniendo libro diario del {} al {} después del asiento {}", fechaInicio, fechaFin, despuesDe);
+        List<AsientoContable> asientos = asientoRepository.obtenerPaginaLibroDiarioPorPeriodo(
+            fechaInicio, fechaFin, despuesDe != null ? despuesDe : 0, Limit.of(tamanoPagina + 1));
+        return ResultadoPaginaDTO.desdeConsulta(convertirADTO(asientos), tamanoPagina,
+            asiento -> String.valueOf(asiento.getNumeroAsiento()));
     }
 
     /**
@@ -51,7 +99,7 @@ public class AsientoContableService {
      */
     public AsientoContableDTO obtenerAsientoPorId(Long id) {
         log.info("Buscando asiento con ID: {}", id);
-        AsientoContable asiento = asientoRepository.findById(id)
+        AsientoContable asiento = asientoRepository.buscarConMovimientos(id)
             .orElseThrow(() -> new AsientoNotFoundException("Asiento no encontrado con ID: " + id));
         return convertirADTO(asiento);
     }
@@ -61,83 +109,216 @@ public class AsientoContableService {
      */
     public AsientoContableDTO obtenerAsientoPorNumero(Integer numero) {
         log.info("Buscando asiento número: {}", numero);
-        AsientoContable asiento = asientoRepository.findByNumeroAsiento(numero)
+        AsientoContable asiento = asientoRepository.buscarConMovimientosPorNumero(numero)
             .orElseThrow(() -> new AsientoNotFoundException("Asiento no encontrado con número: " + numero));
         return convertirADTO(asiento);
     }
 
     /**
      * Crear un nuevo asiento contable
+     *
+     * El número se resuelve antes de abrir la transacción que guarda el asiento: la reserva de
+     * un bloque usa su propia transacción y no debe esperar el contador (ni una segunda conexión)
+     * con la conexión del asiento tomada.
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AsientoContableDTO crearAsiento(AsientoContableDTO asientoDTO) {
         log.info("Creando nuevo asiento contable");
 
         // Validar que el asiento esté balanceado
         if (!esAsientoBalanceado(asientoDTO)) {
+            metricas.asientoNoBalanceado("crear");
             throw new AsientoNoBalanceadoException("El asiento no está balanceado. Débitos: " + 
                 asientoDTO.getTotalDebitos() + ", Créditos: " + asientoDTO.getTotalCreditos());
         }
 
         // Obtener siguiente número de asiento
         if (asientoDTO.getNumeroAsiento() == null) {
-            asientoDTO.setNumeroAsiento(asientoRepository.obtenerSiguienteNumeroAsiento());
+            asientoDTO.setNumeroAsiento(numeracionService.siguienteNumeroAsiento());
+        } else {
+            numeracionService.registrarNumeroManual(asientoDTO.getNumeroAsiento());
         }
 
-        // Convertir a entidad
-        AsientoContable asiento = convertirAEntidad(asientoDTO);
-        
-        // Establecer estado inicial
-        asiento.setEstado(AsientoContable.EstadoAsiento.BORRADOR);
-        
-        // Calcular totales
-        asiento.calcularTotales();
+        AsientoContableDTO asientoCreado = new TransactionTemplate(transactionManager).execute(status -> {
+            // Convertir a entidad
+            AsientoContable asiento = convertirAEntidad(asientoDTO);
+
+            // Establecer estado inicial
+            asiento.setEstado(AsientoContable.EstadoAsiento.BORRADOR);
+
+            // Calcular totales
+            asiento.calcularTotales();
 
-        // Guardar
-        AsientoContable asientoGuardado = asientoRepository.save(asiento);
+            // Guardar
+            AsientoContable asientoGuardado = asientoRepository.save(asiento);
+            eventPublisher.publishEvent(AsientosModificadosEvent.de(asientoGuardado.getId()));
+            return convertirADTO(asientoGuardado);
+        });
+        metricas.asientosCreados(MetricasContables.INDIVIDUAL, 1);
         
-        log.info("Asiento creado con número: {}", asientoGuardado.getNumeroAsiento());
-        return convertirADTO(asientoGuardado);
+        log.info("Asiento creado con número: {}", asientoCreado.getNumeroAsiento());
+        return asientoCreado;
     }
 
     /**
      * Contabilizar un asiento (cambiarlo a estado CONTABILIZADO y afectar saldos)
+     *
+     * Orden de bloqueos: contador de correlativos, asiento y cuentas por ID ascendente.
+     * Todas las contabilizaciones toman los bloqueos en el mismo orden, por lo que no
+     * pueden bloquearse mutuamente (deadlock).
      */
     @Transactional
     public AsientoContableDTO contabilizarAsiento(Long id) {
         log.info("Contabilizando asiento con ID: {}", id);
+        Timer.Sample muestra = metricas.iniciarContabilizacion();
         
-        AsientoContable asiento = asientoRepository.findById(id)
+        AsientoContable asiento = asientoRepository.buscarConMovimientos(id)
             .orElseThrow(() -> new AsientoNotFoundException("Asiento no encontrado con ID: " + id));
 
+        if (asiento.getEstado() != AsientoContable.EstadoAsiento.BORRADOR) {
+            throw new AsientoYaContabilizadoException("El asiento " + asiento.getNumeroAsiento() +
+                " no está en borrador (estado: " + asiento.getEstado() + ")");
+        }
+
         // Validar que esté balanceado
         if (!asiento.estaBalanceado()) {
+            metricas.asientoNoBalanceado("contabilizar");
             throw new AsientoNoBalanceadoException("No se puede contabilizar un asiento no balanceado");
         }
 
-        // Cambiar estado
-        asiento.setEstado(AsientoContable.EstadoAsiento.CONTABILIZADO);
+        // Neto por cuenta, calculado antes de que la actualización masiva desvincule el asiento
+        Map<Long, BigDecimal> deltas = new TreeMap<>();
+        acumularDeltas(asiento, deltas);
+
+        // Asignar número correlativo (sin saltos) y cambiar estado solo si sigue en BORRADOR
+        Integer correlativo = numeracionService.asignarCorrelativo();
+        if (asientoRepository.marcarContabilizado(id, correlativo) == 0) {
+            throw new AsientoYaContabilizadoException("El asiento " + asiento.getNumeroAsiento() +
+                " ya fue contabilizado por otra operación");
+        }
 
         // Afectar saldos de las cuentas
-        afectarSaldosCuentas(asiento);
+        aplicarDeltas(deltas, asiento.getFecha());
+        ajustarCierresAtrasados(List.of(asiento));
+        eventPublisher.publishEvent(AsientosModificadosEvent.de(id));
 
-        AsientoContable asientoActualizado = asientoRepository.save(asiento);
-        log.info("Asiento {} contabilizado exitosamente", asiento.getNumeroAsiento());
+        asiento.setEstado(AsientoContable.EstadoAsiento.CONTABILIZADO);
+        asiento.setNumeroCorrelativo(correlativo);
+        metricas.asientosContabilizados(MetricasContables.INDIVIDUAL, 1);
+        metricas.registrarContabilizacion(muestra, MetricasContables.INDIVIDUAL);
+        log.info("Asiento {} contabilizado exitosamente con correlativo {}", asiento.getNumeroAsiento(), correlativo);
         
-        return convertirADTO(asientoActualizado);
+        return convertirADTO(asiento);
     }
 
     /**
-     * Buscar asientos por descripción
+     * Contabilizar varios asientos en una sola transacción (cierre de mes)
+     *
+     * Cada asiento se valida por separado y los inválidos se reportan sin contabilizar.
+     * Los saldos se acumulan por cuenta para todo el lote, de modo que cada cuenta
+     * recibe un único UPDATE aunque la afecten cientos de asientos.
      */
-    public List<AsientoContableDTO> buscarAsientosPorDescripcion(String descripcion) {
-        log.info("Buscando asientos que contengan: {}", descripcion);
-        List<AsientoContable> asientos = asientoRepository.findByDescripcionContainingIgnoreCaseOrderByNumeroAsiento(descripcion);
-        return convertirADTO(asientos);
+    @Transactional
+    public ResultadoContabilizacionLoteDTO contabilizarLote(ContabilizarLoteDTO solicitud) {
+        long inicio = System.nanoTime();
+        Timer.Sample muestra = metricas.iniciarContabilizacion();
+        ResultadoContabilizacionLoteDTO resultado = new ResultadoContabilizacionLoteDTO();
+
+        List<AsientoContable> asientos = obtenerAsientosParaContabilizar(solicitud, resultado);
+        log.info("Contabilizando lote de {} asientos", asientos.size());
+
+        // Validar cada asiento y acumular el neto por cuenta de los válidos
+        Map<Long, BigDecimal> deltas = new TreeMap<>();
+        List<AsientoContable> validos = new ArrayList<>();
+        int movimientos = 0;
+        for (AsientoContable asiento : asientos) {
+            String motivo = validarParaContabilizar(asiento);
+            if (motivo != null) {
+                if (MOTIVO_NO_BALANCEADO.equals(motivo)) {
+                    metricas.asientoNoBalanceado("contabilizar_lote");
+                }
+                resultado.getRechazados().add(new ResultadoContabilizacionLoteDTO.AsientoRechazadoDTO(
+                    asiento.getId(), asiento.getNumeroAsiento(), motivo));
+                continue;
+            }
+            acumularDeltas(asiento, deltas);
+            movimientos += asiento.getMovimientos().size();
+            validos.add(asiento);
+        }
+
+        if (!validos.isEmpty()) {
+            List<Long> ids = validos.stream().map(AsientoContable::getId).collect(Collectors.toList());
+
+            // Mismo orden de bloqueos que la contabilización individual: contador, asientos, cuentas
+            int primerCorrelativo = numeracionService.asignarCorrelativos(ids.size());
+            if (asientoRepository.marcarContabilizados(ids) != ids.size()) {
+                throw new AsientoYaContabilizadoException(
+                    "Uno o más asientos del lote fueron contabilizados por otra operación");
+            }
+            asientoJdbcRepository.asignarCorrelativos(ids, primerCorrelativo);
+            LocalDate fechaDesde = validos.stream().map(AsientoContable::getFecha).min(LocalDate::compareTo).orElseThrow();
+            aplicarDeltas(deltas, fechaDesde);
+            ajustarCierresAtrasados(validos);
+            eventPublisher.publishEvent(new AsientosModificadosEvent(ids));
+
+            resultado.setCorrelativoInicial(primerCorrelativo);
+            resultado.setCorrelativoFinal(primerCorrelativo + ids.size() - 1);
+        }
+
+        long duracionNanos = System.nanoTime() - inicio;
+        resultado.setTotalContabilizados(validos.size());
+        resultado.setTotalRechazados(resultado.getRechazados().size());
+        resultado.setMovimientosProcesados(movimientos);
+        resultado.setCuentasActualizadas((int) deltas.values().stream().filter(delta -> delta.signum() != 0).count());
+        resultado.setDuracionMs(duracionNanos / 1_000_000);
+        resultado.setAsientosPorSegundo(duracionNanos == 0 ? 0.0 : validos.size() * 1_000_000_000.0 / duracionNanos);
+        metricas.asientosContabilizados(MetricasContables.LOTE, validos.size());
+        metricas.registrarContabilizacion(muestra, MetricasContables.LOTE);
+
+        log.info("Lote contabilizado: {} asientos, {} rechazados, {} cuentas actualizadas en {} ms",
+            resultado.getTotalContabilizados(), resultado.getTotalRechazados(),
+            resultado.getCuentasActualizadas(), resultado.getDuracionMs());
+
+        return resultado;
+    }
+
+    /**
+     * Buscar asientos por texto (descripción, referencia y descripciones de movimientos)
+     * Los resultados vienen ordenados por relevancia; la página siguiente empieza en pagina.siguiente
+     */
+    public ResultadoPaginaDTO<AsientoContableDTO> buscarAsientos(String texto, int desde, int tamano) {
+        int tamanoPagina = ajustarTamanoPagina(tamano);
+        int inicio = Math.max(0, desde);
+        log.info("Buscando asientos que contengan: {} (desde {})", texto, inicio);
+
+        IndiceBusquedaAsientos.ResultadoBusqueda resultado = indiceBusqueda.buscar(texto, inicio, tamanoPagina);
+        List<Long> ids = resultado.coincidencias().stream()
+            .map(IndiceBusquedaAsientos.Coincidencia::asientoId)
+            .collect(Collectors.toList());
+
+        // Cargar los asientos de la página y conservar el orden de relevancia
+        Map<Long, AsientoContable> asientos = asientoRepository.buscarConMovimientosPorIds(ids).stream()
+            .collect(Collectors.toMap(AsientoContable::getId, Function.identity()));
+        List<AsientoContableDTO> elementos = ids.stream()
+            .map(asientos::get)
+            .filter(Objects::nonNull)
+            .map(this::convertirADTO)
+            .collect(Collectors.toList());
+
+        boolean hayMas = inicio + tamanoPagina < resultado.total();
+        return new ResultadoPaginaDTO<>(elementos, new PaginaDTO(tamanoPagina, elementos.size(), hayMas,
+            hayMas ? String.valueOf(inicio + tamanoPagina) : null));
     }
 
     // ========== MÉTODOS AUXILIARES ==========
 
+    /**
+     * Limitar el tamaño de página al rango permitido
+     */
+    private int ajustarTamanoPagina(int tamano) {
+        return Math.max(1, Math.min(tamano, TAMANO_PAGINA_MAXIMO));
+    }
+
     /**
      * Validar si un asiento está balanceado
      */
@@ -148,33 +329,119 @@ public class AsientoContableService {
     }
 
     /**
-     * Afectar saldos de las cuentas cuando se contabiliza un asiento
+     * Cargar los asientos de una solicitud de contabilización masiva
+     * Los IDs que no existen se registran como rechazados
      */
-    private void afectarSaldosCuentas(AsientoContable asiento) {
+    private List<AsientoContable> obtenerAsientosParaContabilizar(ContabilizarLoteDTO solicitud,
+                                                                  ResultadoContabilizacionLoteDTO resultado) {
+        if (solicitud.getIds() != null && !solicitud.getIds().isEmpty()) {
+            Set<Long> ids = new LinkedHashSet<>(solicitud.getIds());
+            resultado.setTotalSolicitados(ids.size());
+
+            List<AsientoContable> asientos = asientoRepository.buscarConMovimientosPorIds(ids);
+            asientos.forEach(asiento -> ids.remove(asiento.getId()));
+            ids.forEach(id -> resultado.getRechazados().add(
+                new ResultadoContabilizacionLoteDTO.AsientoRechazadoDTO(id, null, "Asiento no encontrado")));
+            return asientos;
+        }
+
+        if (solicitud.getFechaInicio() == null || solicitud.getFechaFin() == null) {
+            throw new LoteInvalidoException("Debe indicar los IDs de los asientos o el período (fechaInicio y fechaFin)");
+        }
+        if (solicitud.getFechaInicio().isAfter(solicitud.getFechaFin())) {
+            throw new LoteInvalidoException("La fecha de inicio no puede ser posterior a la fecha de fin");
+        }
+
+        List<AsientoContable> asientos = asientoRepository.buscarBorradoresConMovimientos(
+            solicitud.getFechaInicio(), solicitud.getFechaFin());
+        resultado.setTotalSolicitados(asientos.size());
+        return asientos;
+    }
+
+    /**
+     * Validar un asiento antes de contabilizarlo
+     * Devuelve el motivo del rechazo, o null si el asiento es válido
+     */
+    private String validarParaContabilizar(AsientoContable asiento) {
+        if (asiento.getEstado() != AsientoContable.EstadoAsiento.BORRADOR) {
+            return "El asiento no está en borrador (estado: " + asiento.getEstado() + ")";
+        }
+        if (asiento.getMovimientos().isEmpty()) {
+            return "El asiento no tiene movimientos";
+        }
+        if (!asiento.estaBalanceado()) {
+            return MOTIVO_NO_BALANCEADO;
+        }
+        for (MovimientoContable movimiento : asiento.getMovimientos()) {
+            if (!Boolean.TRUE.equals(movimiento.getCuenta().getActiva())) {
+                return "La cuenta " + movimiento.getCuenta().getCodigo() + " está inactiva";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Acumular el efecto neto de un asiento sobre cada cuenta
+     * Varios movimientos a la misma cuenta se suman en un solo delta
+     */
+    private void acumularDeltas(AsientoContable asiento, Map<Long, BigDecimal> deltas) {
         for (MovimientoContable movimiento : asiento.getMovimientos()) {
             Cuenta cuenta = movimiento.getCuenta();
-            BigDecimal saldoActual = cuenta.getSaldo();
-            
-            // Calcular nuevo saldo según la naturaleza de la cuenta y tipo de movimiento
-            BigDecimal nuevoSaldo;
-            if (cuentaAumentaConDebito(cuenta)) {
-                // Activos y Gastos aumentan con débitos
-                nuevoSaldo = movimiento.esDebito() 
-                    ? saldoActual.add(movimiento.getMonto())
-                    : saldoActual.subtract(movimiento.getMonto());
-            } else {
-                // Pasivos, Patrimonio e Ingresos aumentan con créditos
-                nuevoSaldo = movimiento.esCredito()
-                    ? saldoActual.add(movimiento.getMonto())
-                    : saldoActual.subtract(movimiento.getMonto());
+
+            // Activos y Gastos aumentan con débitos; Pasivos, Patrimonio e Ingresos con créditos
+            boolean aumenta = cuentaAumentaConDebito(cuenta) ? movimiento.esDebito() : movimiento.esCredito();
+            BigDecimal delta = aumenta ? movimiento.getMonto() : movimiento.getMonto().negate();
+
+            deltas.merge(cuenta.getId(), delta, BigDecimal::add);
+        }
+    }
+
+    /**
+     * Afectar saldos de las cuentas con un UPDATE atómico por cuenta
+     * Las cuentas se actualizan en orden ascendente de ID (el mapa debe estar ordenado)
+     * Los cambios se publican con la versión resultante para la proyección del balance
+     */
+    private void aplicarDeltas(Map<Long, BigDecimal> deltas, LocalDate fechaDesde) {
+        deltas.forEach((cuentaId, delta) -> {
+            if (delta.signum() == 0) {
+                return;
+            }
+            if (cuentaRepository.aplicarDelta(cuentaId, delta) == 0) {
+                throw new CuentaNotFoundException("Cuenta no encontrada con ID: " + cuentaId);
+            }
+            log.debug("Cuenta {} - Delta aplicado: {}", cuentaId, delta);
+        });
+
+        List<Long> cuentaIds = deltas.entrySet().stream()
+            .filter(entrada -> entrada.getValue().signum() != 0)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+        if (cuentaIds.isEmpty()) {
+            return;
+        }
+        List<SaldosContabilizadosEvent.CambioSaldo> cambios = cuentaRepository.obtenerVersiones(cuentaIds).stream()
+            .map(version -> new SaldosContabilizadosEvent.CambioSaldo(
+                version.getId(), deltas.get(version.getId()), version.getVersion()))
+            .collect(Collectors.toList());
+        eventPublisher.publishEvent(new SaldosContabilizadosEvent(cambios, fechaDesde));
+    }
+
+    /**
+     * Ajustar los saldos de cierre cuando se contabilizan asientos con fecha de un período ya cerrado
+     * En el caso normal (asientos posteriores al último cierre) solo cuesta una consulta
+     */
+    private void ajustarCierresAtrasados(List<AsientoContable> asientos) {
+        Optional<LocalDate> ultimoCierre = saldosCierreService.obtenerUltimoCierre();
+        if (ultimoCierre.isEmpty()) {
+            return;
+        }
+        Map<LocalDate, Map<Long, BigDecimal>> deltasPorFecha = new TreeMap<>();
+        for (AsientoContable asiento : asientos) {
+            if (!asiento.getFecha().isAfter(ultimoCierre.get())) {
+                acumularDeltas(asiento, deltasPorFecha.computeIfAbsent(asiento.getFecha(), fecha -> new TreeMap<>()));
             }
-            
-            cuenta.setSaldo(nuevoSaldo);
-            cuentaRepository.save(cuenta);
-            
-            log.debug("Cuenta {} - Saldo anterior: {}, Nuevo saldo: {}", 
-                cuenta.getCodigo(), saldoActual, nuevoSaldo);
         }
+        deltasPorFecha.forEach(saldosCierreService::ajustarCierres);
     }
 
     /**
@@ -201,6 +468,7 @@ public class AsientoContableService {
         AsientoContableDTO dto = new AsientoContableDTO();
         dto.setId(asiento.getId());
         dto.setNumeroAsiento(asiento.getNumeroAsiento());
+        dto.setNumeroCorrelativo(asiento.getNumeroCorrelativo());
         dto.setFecha(asiento.getFecha());
         dto.setDescripcion(asiento.getDescripcion());
         dto.setReferencia(asiento.getReferencia());
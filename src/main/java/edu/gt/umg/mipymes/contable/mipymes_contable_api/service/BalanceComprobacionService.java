@@ -5,6 +5,10 @@ import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LineaBalanceDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.TotalesBalanceDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CacheReportes.ClaveReporte;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CacheReportes.TipoReporte;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.util.Centavos;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -14,38 +18,82 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Service para generar el Balance de Comprobación
+ *
+ * Solo los métodos que leen la BD abren transacción: el balance actual sale de la proyección
+ * en memoria (o del cache) y no debe tomar una conexión del pool.
  */
 @Service
-@Transactional(readOnly = true)
+@Timed("mipymes.servicio")
 @RequiredArgsConstructor
 @Slf4j
 public class BalanceComprobacionService {
 
     private final CuentaRepository cuentaRepository;
+    private final ProyeccionBalanceService proyeccionBalance;
+    private final SaldosCierreService saldosCierreService;
+    private final ArbolCuentasService arbolCuentasService;
+    private final CacheReportes cacheReportes;
 
     /**
      * Generar Balance de Comprobación a la fecha actual
+     * Usa la proyección en memoria de los saldos, sin consultar la BD
      */
     public BalanceComprobacionDTO generarBalanceComprobacion() {
-        return generarBalanceComprobacion(LocalDate.now());
+        return cacheReportes.obtener(ClaveReporte.deHoy(TipoReporte.BALANCE_COMPROBACION),
+            this::construirBalanceComprobacion);
     }
 
     /**
      * Generar Balance de Comprobación a una fecha específica
+     * Los saldos se calculan a la fecha de corte a partir del saldo de cierre más cercano
      */
+    @Transactional(readOnly = true)
     public BalanceComprobacionDTO generarBalanceComprobacion(LocalDate fechaCorte) {
+        return cacheReportes.obtener(ClaveReporte.alCorte(TipoReporte.BALANCE_COMPROBACION, fechaCorte),
+            () -> construirBalanceComprobacion(fechaCorte));
+    }
+
+    /**
+     * Calcular el Balance de Comprobación actual con la proyección (sin pasar por el cache)
+     */
+    private BalanceComprobacionDTO construirBalanceComprobacion() {
+        LocalDate hoy = LocalDate.now();
+        List<LineaBalanceDTO> lineas = proyeccionBalance.obtenerLineasActivas().stream()
+            .filter(linea -> !esSaldoCero(linea))
+            .collect(Collectors.toList());
+
+        TotalesBalanceDTO totales = calcularTotales(lineas);
+
+        BalanceComprobacionDTO balance = new BalanceComprobacionDTO();
+        balance.setFechaCorte(hoy);
+        balance.setLineas(lineas);
+        balance.setTotales(totales);
+        balance.setBalanceado(esBalanceado(totales));
+        balance.setSubtotales(arbolCuentasService.obtenerArbol().subtotalizar(lineas));
+        balance.setEmpresa("Almacén El Planeador");
+        balance.setPeriodo(formatearPeriodo(hoy));
+
+        return balance;
+    }
+
+    /**
+     * Calcular el Balance de Comprobación a una fecha (sin pasar por el cache)
+     */
+    private BalanceComprobacionDTO construirBalanceComprobacion(LocalDate fechaCorte) {
         log.info("Generando Balance de Comprobación al {}", fechaCorte);
 
-        // Obtener todas las cuentas activas con sus saldos
+        // Obtener todas las cuentas activas y sus saldos a la fecha de corte
         List<Cuenta> cuentas = cuentaRepository.obtenerCatalogoActivo();
+        Map<Long, BigDecimal> saldos = saldosCierreService.obtenerSaldosAl(fechaCorte, cuentas);
 
         // Convertir a líneas del balance
         List<LineaBalanceDTO> lineas = cuentas.stream()
-            .map(this::convertirCuentaALineaBalance)
+            .map(cuenta -> convertirCuentaALineaBalance(cuenta, saldos.get(cuenta.getId())))
             .filter(linea -> !esSaldoCero(linea)) // Opcional: filtrar cuentas con saldo cero
             .collect(Collectors.toList());
 
@@ -58,6 +106,7 @@ public class BalanceComprobacionService {
         balance.setLineas(lineas);
         balance.setTotales(totales);
         balance.setBalanceado(esBalanceado(totales));
+        balance.setSubtotales(arbolCuentasService.obtenerArbol().subtotalizar(lineas));
         balance.setEmpresa("Almacén El Planeador");
         balance.setPeriodo(formatearPeriodo(fechaCorte));
 
@@ -70,6 +119,7 @@ public class BalanceComprobacionService {
     /**
      * Generar Balance de Comprobación solo con cuentas que tienen saldo
      */
+    @Transactional(readOnly = true)
     public BalanceComprobacionDTO generarBalanceConSaldo() {
         log.info("Generando Balance de Comprobación solo con cuentas con saldo");
 
@@ -86,6 +136,7 @@ public class BalanceComprobacionService {
         balance.setLineas(lineas);
         balance.setTotales(totales);
         balance.setBalanceado(esBalanceado(totales));
+        balance.setSubtotales(arbolCuentasService.obtenerArbol().subtotalizar(lineas));
         balance.setEmpresa("Almacén El Planeador");
         balance.setPeriodo("Al " + LocalDate.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
 
@@ -95,6 +146,7 @@ public class BalanceComprobacionService {
     /**
      * Generar Balance de Comprobación por tipo de cuenta
      */
+    @Transactional(readOnly = true)
     public BalanceComprobacionDTO generarBalancePorTipo(Cuenta.TipoCuenta tipo) {
         log.info("Generando Balance de Comprobación para cuentas de tipo: {}", tipo);
 
@@ -111,6 +163,7 @@ public class BalanceComprobacionService {
         balance.setLineas(lineas);
         balance.setTotales(totales);
         balance.setBalanceado(esBalanceado(totales));
+        balance.setSubtotales(arbolCuentasService.obtenerArbol().subtotalizar(lineas));
         balance.setEmpresa("Almacén El Planeador");
         balance.setPeriodo("Cuentas de " + tipo.getDescripcion());
 
@@ -123,36 +176,43 @@ public class BalanceComprobacionService {
      * Convertir una cuenta a una línea del balance
      */
     private LineaBalanceDTO convertirCuentaALineaBalance(Cuenta cuenta) {
+        return convertirCuentaALineaBalance(cuenta, cuenta.getSaldo());
+    }
+
+    /**
+     * Convertir una cuenta a una línea del balance con el saldo indicado
+     */
+    private LineaBalanceDTO convertirCuentaALineaBalance(Cuenta cuenta, BigDecimal saldo) {
         return new LineaBalanceDTO(
             cuenta.getCodigo(),
             cuenta.getNombre(),
             cuenta.getTipo().getDescripcion(),
             cuenta.getNaturaleza().name(),
-            cuenta.getSaldo()
+            saldo
         );
     }
 
     /**
-     * Calcular los totales del balance
+     * Calcular los totales del balance en una sola pasada por las líneas (sumas en centavos)
      */
     private TotalesBalanceDTO calcularTotales(List<LineaBalanceDTO> lineas) {
-        BigDecimal totalDeudores = lineas.stream()
-            .map(LineaBalanceDTO::getSaldoDeudor)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalAcreedores = lineas.stream()
-            .map(LineaBalanceDTO::getSaldoAcreedor)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        int cuentasDeudoras = (int) lineas.stream()
-            .filter(linea -> linea.getSaldoDeudor().compareTo(BigDecimal.ZERO) > 0)
-            .count();
-
-        int cuentasAcreedoras = (int) lineas.stream()
-            .filter(linea -> linea.getSaldoAcreedor().compareTo(BigDecimal.ZERO) > 0)
-            .count();
-
-        TotalesBalanceDTO totales = new TotalesBalanceDTO(totalDeudores, totalAcreedores);
+        long totalDeudores = 0;
+        long totalAcreedores = 0;
+        int cuentasDeudoras = 0;
+        int cuentasAcreedoras = 0;
+
+        for (LineaBalanceDTO linea : lineas) {
+            totalDeudores = Centavos.sumar(totalDeudores, linea.getSaldoDeudor());
+            totalAcreedores = Centavos.sumar(totalAcreedores, linea.getSaldoAcreedor());
+            if (linea.getSaldoDeudor().signum() > 0) {
+                cuentasDeudoras++;
+            }
+            if (linea.getSaldoAcreedor().signum() > 0) {
+                cuentasAcreedoras++;
+            }
+        }
+
+        TotalesBalanceDTO totales = new TotalesBalanceDTO(Centavos.aMonto(totalDeudores), Centavos.aMonto(totalAcreedores));
         totales.setTotalCuentas(lineas.size());
         totales.setCuentasDeudoras(cuentasDeudoras);
         totales.setCuentasAcreedoras(cuentasAcreedoras);
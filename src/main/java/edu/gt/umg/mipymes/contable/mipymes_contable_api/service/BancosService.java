@@ -2,17 +2,29 @@ package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
 
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.*;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.ModuloModificadoEvent;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.ModuloModificadoEvent.Modulo;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.*;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CacheReportes.ClaveReporte;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CacheReportes.TipoReporte;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.util.OrdenListado;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * Service para el manejo de Bancos y Caja
@@ -21,6 +33,7 @@ import java.util.stream.Collectors;
  * - Conciliación bancaria
  */
 @Service
+@Timed("mipymes.servicio")
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Slf4j
@@ -28,16 +41,30 @@ public class BancosService {
 
     private final CuentaBancariaRepository cuentaBancariaRepository;
     private final MovimientoBancoRepository movimientoBancoRepository;
+    private final CacheReportes cacheReportes;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricasContables metricas;
+    private final RespuestaJsonEnStreaming respuestaEnStreaming;
+
+    private static final OrdenListado ORDEN_CUENTAS = OrdenListado.de("nombre", "banco", "tipo", "saldoLibros", "saldoBanco");
+    private static final Sort ORDEN_CUENTAS_POR_DEFECTO = Sort.by("nombre");
+    private static final OrdenListado ORDEN_MOVIMIENTOS = OrdenListado.de(
+        "fechaMovimiento", "fechaCreacion", "tipoMovimiento", "monto", "estado");
+    private static final Sort ORDEN_MOVIMIENTOS_POR_DEFECTO = Sort.by(Sort.Direction.DESC, "fechaMovimiento");
 
     // ========== GESTIÓN DE CUENTAS BANCARIAS ==========
 
     /**
-     * Obtener todas las cuentas bancarias activas
+     * Obtener una página de las cuentas bancarias activas
+     * Filtros opcionales: tipo, nombre (búsqueda parcial) y solo las no conciliadas
      */
-    public List<CuentaBancariaDTO> obtenerTodasLasCuentasBancarias() {
-        log.info("Obteniendo todas las cuentas bancarias activas");
-        List<CuentaBancaria> cuentas = cuentaBancariaRepository.findByActivaTrueOrderByNombre();
-        return convertirCuentasADTO(cuentas);
+    public ResultadoPaginaDTO<CuentaBancariaDTO> obtenerTodasLasCuentasBancarias(CuentaBancaria.TipoCuentaBancaria tipo,
+                                                                              String nombre, boolean soloNoConciliadas,
+                                                                              Pageable pageable) {
+        log.info("Obteniendo cuentas bancarias activas (tipo {}, nombre '{}', no conciliadas {}, página {})",
+            tipo, nombre, soloNoConciliadas, pageable.getPageNumber());
+        return ResultadoPaginaDTO.desdePagina(cuentaBancariaRepository.listarActivas(tipo,
+            Objects.requireNonNullElse(nombre, ""), soloNoConciliadas, ORDEN_CUENTAS.aplicar(pageable, ORDEN_CUENTAS_POR_DEFECTO)));
     }
 
     /**
@@ -67,6 +94,7 @@ public class BancosService {
         CuentaBancaria cuentaGuardada = cuentaBancariaRepository.save(cuenta);
 
         log.info("Cuenta bancaria creada exitosamente con ID: {}", cuentaGuardada.getId());
+        eventPublisher.publishEvent(new ModuloModificadoEvent(Modulo.BANCOS));
         return convertirCuentaADTO(cuentaGuardada);
     }
 
@@ -91,16 +119,17 @@ public class BancosService {
         CuentaBancaria cuentaActualizada = cuentaBancariaRepository.save(cuentaExistente);
 
         log.info("Cuenta bancaria actualizada exitosamente");
+        eventPublisher.publishEvent(new ModuloModificadoEvent(Modulo.BANCOS));
         return convertirCuentaADTO(cuentaActualizada);
     }
 
     /**
      * Obtener cuentas no conciliadas
      */
-    public List<CuentaBancariaDTO> obtenerCuentasNoConciliadas() {
+    public ResultadoPaginaDTO<CuentaBancariaDTO> obtenerCuentasNoConciliadas(Pageable pageable) {
         log.info("Obteniendo cuentas bancarias no conciliadas");
-        List<CuentaBancaria> cuentas = cuentaBancariaRepository.obtenerCuentasNoConciliadas();
-        return convertirCuentasADTO(cuentas);
+        return ResultadoPaginaDTO.desdePagina(cuentaBancariaRepository.listarActivas(
+            null, "", true, ORDEN_CUENTAS.aplicar(pageable, ORDEN_CUENTAS_POR_DEFECTO)));
     }
 
     // ========== MOVIMIENTOS BANCARIOS ==========
@@ -112,8 +141,8 @@ public class BancosService {
     public MovimientoBancoDTO registrarMovimientoBancario(CrearMovimientoBancoDTO movimientoDTO) {
         log.info("Registrando movimiento bancario para cuenta ID: {}", movimientoDTO.getCuentaBancariaId());
 
-        // Obtener cuenta bancaria
-        CuentaBancaria cuenta = cuentaBancariaRepository.findById(movimientoDTO.getCuentaBancariaId())
+        // Obtener cuenta bancaria con la fila bloqueada: el saldo se calcula sobre el de la BD
+        CuentaBancaria cuenta = cuentaBancariaRepository.buscarParaActualizar(movimientoDTO.getCuentaBancariaId())
             .orElseThrow(() -> new CuentaNotFoundException("Cuenta bancaria no encontrada con ID: " + movimientoDTO.getCuentaBancariaId()));
 
         // Crear movimiento
@@ -143,43 +172,77 @@ public class BancosService {
         cuentaBancariaRepository.save(cuenta);
 
         log.info("Movimiento bancario registrado exitosamente. Nuevo saldo: {}", nuevoSaldo);
+        eventPublisher.publishEvent(new ModuloModificadoEvent(Modulo.BANCOS));
+        metricas.movimientoBanco(movimientoGuardado.getTipoMovimiento());
         return convertirMovimientoADTO(movimientoGuardado);
     }
 
     /**
      * Obtener movimientos por cuenta bancaria
      */
-    public List<MovimientoBancoDTO> obtenerMovimientosPorCuenta(Long cuentaId) {
+    public ResultadoPaginaDTO<MovimientoBancoDTO> obtenerMovimientosPorCuenta(Long cuentaId, Pageable pageable) {
         log.info("Obteniendo movimientos para cuenta bancaria ID: {}", cuentaId);
-        List<MovimientoBanco> movimientos = movimientoBancoRepository.findByCuentaBancariaIdOrderByFechaMovimientoDesc(cuentaId);
-        return convertirMovimientosADTO(movimientos);
+        return ResultadoPaginaDTO.desdePagina(movimientoBancoRepository.listarPorCuenta(
+            cuentaId, ORDEN_MOVIMIENTOS.aplicar(pageable, ORDEN_MOVIMIENTOS_POR_DEFECTO)));
     }
 
     /**
      * Obtener movimientos por rango de fechas
      */
-    public List<MovimientoBancoDTO> obtenerMovimientosPorFecha(LocalDate fechaInicio, LocalDate fechaFin) {
+    public ResultadoPaginaDTO<MovimientoBancoDTO> obtenerMovimientosPorFecha(LocalDate fechaInicio, LocalDate fechaFin,
+                                                                          Pageable pageable) {
         log.info("Obteniendo movimientos bancarios del {} al {}", fechaInicio, fechaFin);
-        List<MovimientoBanco> movimientos = movimientoBancoRepository.findByFechaMovimientoBetweenOrderByFechaMovimientoDesc(fechaInicio, fechaFin);
-        return convertirMovimientosADTO(movimientos);
+        return ResultadoPaginaDTO.desdePagina(movimientoBancoRepository.listarPorFecha(
+            fechaInicio, fechaFin, ORDEN_MOVIMIENTOS.aplicar(pageable, ORDEN_MOVIMIENTOS_POR_DEFECTO)));
+    }
+
+    /**
+     * Obtener una página de los movimientos de todas las cuentas
+     */
+    public ResultadoPaginaDTO<MovimientoBancoDTO> obtenerMovimientos(Pageable pageable) {
+        log.info("Obteniendo movimientos bancarios (página {})", pageable.getPageNumber());
+        return ResultadoPaginaDTO.desdePagina(movimientoBancoRepository.listarTodos(
+            ORDEN_MOVIMIENTOS.aplicar(pageable, ORDEN_MOVIMIENTOS_POR_DEFECTO)));
     }
 
     /**
-     * Obtener últimos movimientos bancarios
+     * Escribir todos los movimientos de una cuenta bancaria, en orden cronológico, sin cargarlos en memoria
+     * La transacción (y la conexión) dura lo que tarde el cliente en recibirlos
+     */
+    public void exportarMovimientosPorCuenta(Long cuentaId, OutputStream salida) throws IOException {
+        log.info("Exportando movimientos de la cuenta bancaria ID: {}", cuentaId);
+        try (Stream<MovimientoBancoDTO> movimientos = movimientoBancoRepository.recorrerPorCuenta(cuentaId)) {
+            long escritos = respuestaEnStreaming.escribir(salida, "Movimientos de la cuenta exportados exitosamente", movimientos);
+            log.info("Exportación finalizada: {} movimientos bancarios", escritos);
+        }
+    }
+
+    /**
+     * Escribir los movimientos de todas las cuentas en un rango de fechas sin cargarlos en memoria
+     */
+    public void exportarMovimientosPorFecha(LocalDate fechaInicio, LocalDate fechaFin, OutputStream salida) throws IOException {
+        log.info("Exportando movimientos bancarios del {} al {}", fechaInicio, fechaFin);
+        try (Stream<MovimientoBancoDTO> movimientos = movimientoBancoRepository.recorrerPorFecha(fechaInicio, fechaFin)) {
+            long escritos = respuestaEnStreaming.escribir(salida, "Movimientos del período exportados exitosamente", movimientos);
+            log.info("Exportación finalizada: {} movimientos bancarios", escritos);
+        }
+    }
+
+    /**
+     * Obtener últimos movimientos bancarios (dashboard)
      */
     public List<MovimientoBancoDTO> obtenerUltimosMovimientos() {
         log.info("Obteniendo últimos movimientos bancarios");
-        List<MovimientoBanco> movimientos = movimientoBancoRepository.obtenerUltimosMovimientos();
-        return convertirMovimientosADTO(movimientos);
+        return movimientoBancoRepository.listarUltimos();
     }
 
     /**
      * Obtener cheques en circulación (pendientes)
      */
-    public List<MovimientoBancoDTO> obtenerChequesEnCirculacion() {
+    public ResultadoPaginaDTO<MovimientoBancoDTO> obtenerChequesEnCirculacion(Pageable pageable) {
         log.info("Obteniendo cheques en circulación");
-        List<MovimientoBanco> cheques = movimientoBancoRepository.obtenerChequesEnCirculacion();
-        return convertirMovimientosADTO(cheques);
+        return ResultadoPaginaDTO.desdePagina(movimientoBancoRepository.listarChequesEnCirculacion(
+            ORDEN_MOVIMIENTOS.aplicar(pageable, ORDEN_MOVIMIENTOS_POR_DEFECTO)));
     }
 
     /**
@@ -198,6 +261,7 @@ public class BancosService {
         MovimientoBanco movimientoActualizado = movimientoBancoRepository.save(movimiento);
         log.info("Movimiento bancario conciliado exitosamente");
 
+        eventPublisher.publishEvent(new ModuloModificadoEvent(Modulo.BANCOS));
         return convertirMovimientoADTO(movimientoActualizado);
     }
 
@@ -207,28 +271,32 @@ public class BancosService {
      * Generar resumen bancario
      */
     public ResumenBancarioDTO generarResumenBancario() {
+        return cacheReportes.obtener(ClaveReporte.deHoy(TipoReporte.RESUMEN_BANCARIO), this::construirResumenBancario);
+    }
+
+    private ResumenBancarioDTO construirResumenBancario() {
         log.info("Generando resumen bancario");
 
-        List<CuentaBancaria> todasLasCuentas = cuentaBancariaRepository.findByActivaTrueOrderByNombre();
-        List<MovimientoBanco> movimientosRecientes = movimientoBancoRepository.obtenerUltimosMovimientos();
+        List<CuentaBancariaDTO> todasLasCuentas = cuentaBancariaRepository.listarActivas();
+        List<MovimientoBancoDTO> movimientosRecientes = movimientoBancoRepository.listarUltimos();
 
         BigDecimal totalSaldosLibros = cuentaBancariaRepository.obtenerTotalSaldosLibros();
         BigDecimal totalSaldosBanco = cuentaBancariaRepository.obtenerTotalSaldosBanco();
 
         long cuentasConciliadas = todasLasCuentas.stream()
-            .mapToLong(cuenta -> cuenta.estaConciliada() ? 1 : 0)
+            .mapToLong(cuenta -> cuenta.getEstaConciliada() ? 1 : 0)
             .sum();
 
         ResumenBancarioDTO resumen = new ResumenBancarioDTO();
         resumen.setFecha(LocalDate.now());
         resumen.setEmpresa("Almacén El Planeador - Horacio Porras");
-        resumen.setCuentasBancarias(convertirCuentasADTO(todasLasCuentas));
+        resumen.setCuentasBancarias(todasLasCuentas);
         resumen.setTotalSaldosLibros(totalSaldosLibros != null ? totalSaldosLibros : BigDecimal.ZERO);
         resumen.setTotalSaldosBanco(totalSaldosBanco != null ? totalSaldosBanco : BigDecimal.ZERO);
         resumen.setTotalDiferencias(resumen.getTotalSaldosLibros().subtract(resumen.getTotalSaldosBanco()));
         resumen.setCuentasConciliadas((int) cuentasConciliadas);
         resumen.setCuentasPendientes(todasLasCuentas.size() - (int) cuentasConciliadas);
-        resumen.setMovimientosRecientes(convertirMovimientosADTO(movimientosRecientes));
+        resumen.setMovimientosRecientes(movimientosRecientes);
 
         return resumen;
     }
@@ -240,24 +308,19 @@ public class BancosService {
     public CuentaBancariaDTO actualizarSaldoBanco(Long cuentaId, BigDecimal nuevoSaldoBanco) {
         log.info("Actualizando saldo bancario para cuenta ID: {} - Nuevo saldo: {}", cuentaId, nuevoSaldoBanco);
 
-        CuentaBancaria cuenta = cuentaBancariaRepository.findById(cuentaId)
+        CuentaBancaria cuenta = cuentaBancariaRepository.buscarParaActualizar(cuentaId)
             .orElseThrow(() -> new CuentaNotFoundException("Cuenta bancaria no encontrada con ID: " + cuentaId));
 
         cuenta.setSaldoBanco(nuevoSaldoBanco);
         CuentaBancaria cuentaActualizada = cuentaBancariaRepository.save(cuenta);
 
         log.info("Saldo bancario actualizado exitosamente");
+        eventPublisher.publishEvent(new ModuloModificadoEvent(Modulo.BANCOS));
         return convertirCuentaADTO(cuentaActualizada);
     }
 
     // ========== MÉTODOS AUXILIARES ==========
 
-    private List<CuentaBancariaDTO> convertirCuentasADTO(List<CuentaBancaria> cuentas) {
-        return cuentas.stream()
-            .map(this::convertirCuentaADTO)
-            .collect(Collectors.toList());
-    }
-
     private CuentaBancariaDTO convertirCuentaADTO(CuentaBancaria cuenta) {
         CuentaBancariaDTO dto = new CuentaBancariaDTO();
         dto.setId(cuenta.getId());
@@ -299,12 +362,6 @@ public class BancosService {
         // No actualizamos saldos aquí, se hace a través de movimientos
     }
 
-    private List<MovimientoBancoDTO> convertirMovimientosADTO(List<MovimientoBanco> movimientos) {
-        return movimientos.stream()
-            .map(this::convertirMovimientoADTO)
-            .collect(Collectors.toList());
-    }
-
     private MovimientoBancoDTO convertirMovimientoADTO(MovimientoBanco movimiento) {
         MovimientoBancoDTO dto = new MovimientoBancoDTO();
         dto.setId(movimiento.getId());
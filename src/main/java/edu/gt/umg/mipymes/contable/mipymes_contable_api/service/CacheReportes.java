@@ -0,0 +1,289 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.EstadisticasCacheDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.EstadisticasCacheDTO.EstadisticaReporteDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.CuentaModificadaEvent;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.ModuloModificadoEvent;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.SaldosContabilizadosEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache de los reportes, por tipo de reporte y parámetros
+ *
+ * - Tamaño máximo configurable; al llenarse sale la entrada usada hace más tiempo.
+ * - Los reportes contables de períodos cerrados van aparte (fijadas), con su propio máximo, para que
+ *   los reportes del período abierto no los expulsen. Solo los de rangos canónicos: terminan en una
+ *   fecha de cierre registrada y empiezan al inicio de un período (o sin fecha inicial); un rango
+ *   arbitrario elegido por el cliente va con las entradas normales.
+ * - Invalidación después del commit de cada escritura:
+ *   contabilización: los reportes contables cuyo rango incluye la fecha de algún asiento
+ *   contabilizado o es posterior a ella; cambio en el catálogo de cuentas: todos los contables;
+ *   cambio en un módulo auxiliar: los reportes de ese módulo.
+ * Quien calcula un reporte toma la generación antes de empezar; si mientras tanto hubo una
+ * invalidación, el resultado se devuelve pero no se guarda porque pudo leerse antes del cambio.
+ * Los reportes guardados se comparten entre solicitudes y no deben modificarse.
+ * El cache y su invalidación son locales a la instancia: con varias instancias, una no se entera de
+ * lo que contabiliza otra (ver la sección "una sola instancia" del perfil prod).
+ * Métricas por tipo de reporte: mipymes.reportes.generacion (tiempo de cálculo de los fallos),
+ * mipymes.reportes.cache.{aciertos,fallos,expulsiones,invalidaciones} y mipymes.reportes.cache.entradas.
+ */
+@Component
+@Slf4j
+public class CacheReportes {
+
+    private final SaldosCierreService saldosCierreService;
+    private final int maximoEntradas;
+    private final int maximoFijadas;
+
+    private final Map<ClaveReporte, Object> entradas;
+    private final Map<ClaveReporte, Object> fijadas;
+    private long generacion = 0;
+
+    private final Map<TipoReporte, Contadores> contadores = new EnumMap<>(TipoReporte.class);
+    private final Map<TipoReporte, Timer> tiemposGeneracion = new EnumMap<>(TipoReporte.class);
+
+    public CacheReportes(SaldosCierreService saldosCierreService, MeterRegistry registry,
+                         @Value("${mipymes.reportes.cache.maximo-entradas:200}") int maximoEntradas,
+                         @Value("${mipymes.reportes.cache.maximo-fijadas:100}") int maximoFijadas) {
+        this.saldosCierreService = saldosCierreService;
+        this.maximoEntradas = maximoEntradas;
+        this.maximoFijadas = maximoFijadas;
+        this.entradas = nuevoMapaLru(maximoEntradas);
+        this.fijadas = nuevoMapaLru(maximoFijadas);
+        for (TipoReporte tipo : TipoReporte.values()) {
+            Contadores contador = new Contadores();
+            contadores.put(tipo, contador);
+            registrarContador(registry, "aciertos", tipo, contador.aciertos);
+            registrarContador(registry, "fallos", tipo, contador.fallos);
+            registrarContador(registry, "expulsiones", tipo, contador.expulsiones);
+            registrarContador(registry, "invalidaciones", tipo, contador.invalidaciones);
+            tiemposGeneracion.put(tipo, Timer.builder("mipymes.reportes.generacion")
+                .description("Tiempo de cálculo de los reportes que no estaban en el cache")
+                .tag("reporte", tipo.name())
+                .register(registry));
+        }
+        Gauge.builder("mipymes.reportes.cache.entradas", this, cache -> cache.contarEntradas(false))
+            .tag("fijadas", "false")
+            .register(registry);
+        Gauge.builder("mipymes.reportes.cache.entradas", this, cache -> cache.contarEntradas(true))
+            .tag("fijadas", "true")
+            .register(registry);
+    }
+
+    /**
+     * Devolver el reporte guardado o calcularlo y guardarlo
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T obtener(ClaveReporte clave, Supplier<T> calcular) {
+        long generacionLeida;
+        synchronized (this) {
+            Object guardado = fijadas.get(clave);
+            if (guardado == null) {
+                guardado = entradas.get(clave);
+            }
+            if (guardado != null) {
+                contadores.get(clave.tipo()).aciertos.increment();
+                return (T) guardado;
+            }
+            generacionLeida = generacion;
+        }
+        contadores.get(clave.tipo()).fallos.increment();
+
+        T reporte = tiemposGeneracion.get(clave.tipo()).record(calcular);
+        boolean fijar = esPeriodoCerrado(clave);
+        synchronized (this) {
+            if (generacion == generacionLeida) {
+                (fijar ? fijadas : entradas).put(clave, reporte);
+            }
+        }
+        return reporte;
+    }
+
+    /**
+     * Descartar todos los reportes de un tipo
+     */
+    public synchronized void invalidar(TipoReporte tipo) {
+        descartar(clave -> clave.tipo() == tipo);
+    }
+
+    public synchronized void limpiar() {
+        descartar(clave -> true);
+        log.info("Cache de reportes vaciado");
+    }
+
+    public synchronized EstadisticasCacheDTO obtenerEstadisticas() {
+        EstadisticasCacheDTO estadisticas = new EstadisticasCacheDTO();
+        estadisticas.setMaximoEntradas(maximoEntradas);
+        estadisticas.setMaximoEntradasFijadas(maximoFijadas);
+        estadisticas.setEntradas(entradas.size());
+        estadisticas.setEntradasFijadas(fijadas.size());
+        contadores.forEach((tipo, contador) -> {
+            long aciertos = contador.aciertos.sum();
+            long fallos = contador.fallos.sum();
+            estadisticas.getReportes().add(new EstadisticaReporteDTO(tipo.name(), aciertos, fallos,
+                contador.expulsiones.sum(), contador.invalidaciones.sum(),
+                aciertos + fallos == 0 ? null : (double) aciertos / (aciertos + fallos)));
+        });
+        return estadisticas;
+    }
+
+    // ========== INVALIDACIÓN POR ESCRITURAS ==========
+    // Se ejecutan después de la proyección del balance y del árbol de cuentas (Ordered.LOWEST_PRECEDENCE)
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public synchronized void invalidarContabilizacion(SaldosContabilizadosEvent evento) {
+        LocalDate fecha = evento.fechaDesde();
+        descartar(clave -> clave.tipo().contable && clave.incluyeOEsPosteriorA(fecha));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public synchronized void invalidarCatalogo(CuentaModificadaEvent evento) {
+        descartar(clave -> clave.tipo().contable);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void invalidarModulo(ModuloModificadoEvent evento) {
+        TipoReporte tipo = switch (evento.modulo()) {
+            case INVENTARIO -> TipoReporte.INVENTARIO;
+            case BANCOS -> TipoReporte.RESUMEN_BANCARIO;
+            case CLIENTES_PROVEEDORES -> TipoReporte.RESUMEN_CLIENTES_PROVEEDORES;
+        };
+        invalidar(tipo);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Mapa en orden de uso que expulsa la entrada usada hace más tiempo al pasar del máximo
+     */
+    private Map<ClaveReporte, Object> nuevoMapaLru(int maximo) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ClaveReporte, Object> mayor) {
+                if (size() > maximo) {
+                    contadores.get(mayor.getKey().tipo()).expulsiones.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Descartar las entradas que cumplen la condición (debe llamarse con el candado tomado)
+     */
+    private void descartar(Predicate<ClaveReporte> condicion) {
+        generacion++;
+        entradas.keySet().removeIf(clave -> descartarSi(clave, condicion));
+        fijadas.keySet().removeIf(clave -> descartarSi(clave, condicion));
+    }
+
+    private boolean descartarSi(ClaveReporte clave, Predicate<ClaveReporte> condicion) {
+        if (condicion.test(clave)) {
+            contadores.get(clave.tipo()).invalidaciones.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized int contarEntradas(boolean deFijadas) {
+        return deFijadas ? fijadas.size() : entradas.size();
+    }
+
+    private static void registrarContador(MeterRegistry registry, String nombre, TipoReporte tipo, LongAdder valor) {
+        FunctionCounter.builder("mipymes.reportes.cache." + nombre, valor, LongAdder::sum)
+            .tag("reporte", tipo.name())
+            .register(registry);
+    }
+
+    /**
+     * Reporte contable de un período cerrado con rango canónico (ver la descripción de la clase)
+     */
+    private boolean esPeriodoCerrado(ClaveReporte clave) {
+        if (!clave.tipo().contable || clave.fechaHasta() == null || clave.parametro() != null) {
+            return false;
+        }
+        if (clave.fechaDesde() != null && !saldosCierreService.esInicioDePeriodo(clave.fechaDesde())) {
+            return false;
+        }
+        return saldosCierreService.existeCierre(clave.fechaHasta());
+    }
+
+    /**
+     * Tipos de reporte; los contables dependen de las contabilizaciones y del catálogo
+     */
+    public enum TipoReporte {
+        BALANCE_COMPROBACION(true),
+        BALANCE_GENERAL(true),
+        ESTADO_RESULTADOS(true),
+        INVENTARIO(false),
+        RESUMEN_BANCARIO(false),
+        RESUMEN_CLIENTES_PROVEEDORES(false);
+
+        private final boolean contable;
+
+        TipoReporte(boolean contable) {
+            this.contable = contable;
+        }
+    }
+
+    /**
+     * Clave de un reporte
+     * fechaDesde/fechaHasta: rango de asientos que considera (null = sin límite);
+     * los reportes de módulos auxiliares usan el día en parametro porque dependen de la fecha actual
+     */
+    public record ClaveReporte(TipoReporte tipo, LocalDate fechaDesde, LocalDate fechaHasta, Object parametro) {
+
+        /**
+         * Reporte contable con todos los asientos hasta la fecha (saldos a una fecha)
+         */
+        public static ClaveReporte alCorte(TipoReporte tipo, LocalDate fechaCorte) {
+            return new ClaveReporte(tipo, null, fechaCorte, null);
+        }
+
+        /**
+         * Reporte contable de los asientos de un período
+         */
+        public static ClaveReporte delPeriodo(TipoReporte tipo, LocalDate fechaInicio, LocalDate fechaFin) {
+            return new ClaveReporte(tipo, fechaInicio, fechaFin, null);
+        }
+
+        /**
+         * Reporte con los datos actuales, válido durante el día
+         */
+        public static ClaveReporte deHoy(TipoReporte tipo) {
+            return new ClaveReporte(tipo, null, null, LocalDate.now());
+        }
+
+        boolean incluyeOEsPosteriorA(LocalDate fecha) {
+            return fecha == null || fechaHasta == null || !fecha.isAfter(fechaHasta);
+        }
+    }
+
+    private static class Contadores {
+        private final LongAdder aciertos = new LongAdder();
+        private final LongAdder fallos = new LongAdder();
+        private final LongAdder expulsiones = new LongAdder();
+        private final LongAdder invalidaciones = new LongAdder();
+    }
+}
@@ -0,0 +1,285 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.AsientoContableDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.MovimientoContableDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ResultadoAsientoLoteDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ResultadoLoteAsientosDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.AsientosModificadosEvent;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.LoteInvalidoException;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.AsientoContableJdbcRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service para la carga masiva de asientos contables (Libro Diario)
+ *
+ * Lee un arreglo JSON de asientos como flujo (sin cargar el archivo completo en memoria),
+ * valida cada asiento por separado y los inserta en bloques JDBC. Cada bloque se confirma
+ * en su propia transacción; si un bloque falla se reintenta asiento por asiento para que
+ * un asiento defectuoso no revierta el resto del archivo.
+ */
+@Service
+@Timed("mipymes.servicio")
+@RequiredArgsConstructor
+@Slf4j
+public class CargaLoteAsientosService {
+
+    private final NumeracionAsientoService numeracionService;
+    private final AsientoContableJdbcRepository asientoJdbcRepository;
+    private final CuentaRepository cuentaRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricasContables metricas;
+
+    /**
+     * Cantidad de asientos que se confirman por transacción
+     */
+    @Value("${mipymes.asientos.lote.tamano-bloque:500}")
+    private int tamanoBloque;
+
+    /**
+     * Cargar un lote de asientos desde un arreglo JSON
+     */
+    public ResultadoLoteAsientosDTO cargarLote(InputStream entrada) throws IOException {
+        long inicio = System.nanoTime();
+        log.info("Iniciando carga por lote de asientos (bloques de {})", tamanoBloque);
+
+        // Catálogo activo en memoria: evita una consulta por movimiento
+        Map<Long, Cuenta> cuentas = cuentaRepository.obtenerCatalogoActivo().stream()
+            .collect(Collectors.toMap(Cuenta::getId, Function.identity()));
+
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        ResultadoLoteAsientosDTO resultado = new ResultadoLoteAsientosDTO();
+        List<AsientoPendiente> bloque = new ArrayList<>(tamanoBloque);
+        int indice = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(entrada)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new LoteInvalidoException("Se esperaba un arreglo JSON de asientos");
+            }
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new JsonParseIncompletoException();
+                }
+
+                // Leer el elemento completo como árbol: un valor inválido no desalinea el parser
+                JsonNode nodo = parser.readValueAsTree();
+                try {
+                    bloque.add(new AsientoPendiente(indice, convertirAEntidad(nodo, cuentas)));
+                } catch (AsientoRechazadoException e) {
+                    resultado.getResultados().add(
+                        ResultadoAsientoLoteDTO.rechazado(indice, nodo.path("referencia").asText(null), e.getMessage()));
+                }
+                indice++;
+
+                if (bloque.size() >= tamanoBloque) {
+                    confirmarBloque(bloque, transaccion, resultado);
+                }
+            }
+        } catch (JsonProcessingException | JsonParseIncompletoException e) {
+            // No es posible resincronizar el flujo: se confirma lo leído y se reporta el punto de corte
+            log.warn("JSON mal formado en el asiento {}: {}", indice, e.getMessage());
+            resultado.getResultados().add(ResultadoAsientoLoteDTO.rechazado(indice, null,
+                "JSON mal formado a partir de este elemento; se detuvo la lectura del lote"));
+        }
+
+        confirmarBloque(bloque, transaccion, resultado);
+
+        resultado.getResultados().sort(Comparator.comparing(ResultadoAsientoLoteDTO::getIndice));
+        int creados = (int) resultado.getResultados().stream().filter(ResultadoAsientoLoteDTO::isExito).count();
+        resultado.setTotalRecibidos(indice);
+        resultado.setTotalCreados(creados);
+        resultado.setTotalRechazados(resultado.getResultados().size() - creados);
+        resultado.setDuracionMs((System.nanoTime() - inicio) / 1_000_000);
+
+        log.info("Carga por lote finalizada: {} recibidos, {} creados, {} rechazados en {} ms",
+            resultado.getTotalRecibidos(), resultado.getTotalCreados(),
+            resultado.getTotalRechazados(), resultado.getDuracionMs());
+
+        return resultado;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Confirmar un bloque de asientos en una sola transacción
+     * Si el bloque falla, se reintenta cada asiento en su propia transacción
+     */
+    private void confirmarBloque(List<AsientoPendiente> bloque, TransactionTemplate transaccion,
+                                 ResultadoLoteAsientosDTO resultado) {
+        if (bloque.isEmpty()) {
+            return;
+        }
+
+        // Los números se reservan antes de abrir la transacción del bloque (ver NumeracionAsientoService)
+        // y se conservan si hay que reintentar asiento por asiento
+        int siguienteNumero = numeracionService.reservarNumeros(bloque.size());
+        for (AsientoPendiente pendiente : bloque) {
+            pendiente.asiento().setNumeroAsiento(siguienteNumero++);
+        }
+
+        try {
+            transaccion.executeWithoutResult(status -> insertarBloque(bloque));
+            resultado.setBloquesConfirmados(resultado.getBloquesConfirmados() + 1);
+            bloque.forEach(pendiente -> resultado.getResultados().add(creado(pendiente)));
+            metricas.asientosCreados(MetricasContables.LOTE, bloque.size());
+        } catch (DataAccessException e) {
+            log.warn("Falló el bloque de {} asientos, reintentando individualmente: {}",
+                bloque.size(), e.getMostSpecificCause().getMessage());
+
+            for (AsientoPendiente pendiente : bloque) {
+                try {
+                    transaccion.executeWithoutResult(status -> insertarBloque(List.of(pendiente)));
+                    resultado.getResultados().add(creado(pendiente));
+                    metricas.asientosCreados(MetricasContables.LOTE, 1);
+                } catch (DataAccessException ex) {
+                    resultado.getResultados().add(ResultadoAsientoLoteDTO.rechazado(pendiente.indice(),
+                        pendiente.asiento().getReferencia(),
+                        "Error al guardar el asiento: " + ex.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+
+        bloque.clear();
+    }
+
+    /**
+     * Insertar el bloque con los números ya reservados
+     */
+    private void insertarBloque(List<AsientoPendiente> bloque) {
+        List<AsientoContable> asientos = bloque.stream().map(AsientoPendiente::asiento).collect(Collectors.toList());
+        asientoJdbcRepository.insertarAsientos(asientos);
+        eventPublisher.publishEvent(new AsientosModificadosEvent(
+            asientos.stream().map(AsientoContable::getId).collect(Collectors.toList())));
+    }
+
+    private ResultadoAsientoLoteDTO creado(AsientoPendiente pendiente) {
+        AsientoContable asiento = pendiente.asiento();
+        return ResultadoAsientoLoteDTO.creado(pendiente.indice(), asiento.getId(),
+            asiento.getNumeroAsiento(), asiento.getReferencia());
+    }
+
+    /**
+     * Convertir y validar un elemento del lote
+     * Lanza AsientoRechazadoException con el motivo si el asiento no es válido
+     */
+    private AsientoContable convertirAEntidad(JsonNode nodo, Map<Long, Cuenta> cuentas) {
+        AsientoContableDTO dto;
+        try {
+            dto = objectMapper.treeToValue(nodo, AsientoContableDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new AsientoRechazadoException("Formato de asiento inválido: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            throw new AsientoRechazadoException("Formato de asiento inválido: " + e.getMessage());
+        }
+
+        Set<ConstraintViolation<AsientoContableDTO>> violaciones = validator.validate(dto);
+        if (!violaciones.isEmpty()) {
+            throw new AsientoRechazadoException(violaciones.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; ")));
+        }
+
+        if (dto.getMovimientos() == null || dto.getMovimientos().size() < 2) {
+            throw new AsientoRechazadoException("El asiento debe tener al menos dos movimientos");
+        }
+
+        AsientoContable asiento = new AsientoContable();
+        asiento.setFecha(dto.getFecha());
+        asiento.setDescripcion(dto.getDescripcion());
+        asiento.setReferencia(dto.getReferencia());
+        asiento.setTipo(dto.getTipo());
+        asiento.setEstado(AsientoContable.EstadoAsiento.BORRADOR);
+        asiento.setCreadoPor(dto.getCreadoPor());
+
+        int orden = 1;
+        for (MovimientoContableDTO movimientoDTO : dto.getMovimientos()) {
+            if (movimientoDTO.getMonto().compareTo(BigDecimal.ZERO) <= 0) {
+                throw new AsientoRechazadoException("El monto debe ser positivo");
+            }
+
+            Cuenta cuenta = cuentas.get(movimientoDTO.getCuentaId());
+            if (cuenta == null) {
+                throw new AsientoRechazadoException(
+                    "Cuenta no encontrada o inactiva con ID: " + movimientoDTO.getCuentaId());
+            }
+
+            MovimientoContable movimiento = new MovimientoContable();
+            movimiento.setAsientoContable(asiento);
+            movimiento.setCuenta(cuenta);
+            movimiento.setTipoMovimiento(movimientoDTO.getTipoMovimiento());
+            movimiento.setMonto(movimientoDTO.getMonto());
+            movimiento.setDescripcion(movimientoDTO.getDescripcion());
+            movimiento.setOrden(movimientoDTO.getOrden() != null ? movimientoDTO.getOrden() : orden);
+            asiento.getMovimientos().add(movimiento);
+            orden++;
+        }
+
+        // La partida doble se valida con los movimientos, no con los totales enviados
+        asiento.calcularTotales();
+        if (!asiento.estaBalanceado()) {
+            metricas.asientoNoBalanceado("carga_lote");
+            throw new AsientoRechazadoException("El asiento no está balanceado. Débitos: " +
+                asiento.getTotalDebitos() + ", Créditos: " + asiento.getTotalCreditos());
+        }
+
+        return asiento;
+    }
+
+    /**
+     * Asiento ya validado, pendiente de confirmar, con su posición en el lote
+     */
+    private record AsientoPendiente(int indice, AsientoContable asiento) {}
+
+    /**
+     * Motivo de rechazo de un asiento individual (no detiene el lote)
+     */
+    private static class AsientoRechazadoException extends RuntimeException {
+        AsientoRechazadoException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * El arreglo JSON terminó antes de cerrarse
+     */
+    private static class JsonParseIncompletoException extends IOException {
+        JsonParseIncompletoException() {
+            super("El arreglo JSON terminó de forma inesperada");
+        }
+    }
+}
@@ -2,17 +2,26 @@ package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
 
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.*;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.ModuloModificadoEvent;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.ModuloModificadoEvent.Modulo;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.*;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CacheReportes.ClaveReporte;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CacheReportes.TipoReporte;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.util.OrdenListado;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 /**
  * Service para el manejo de Clientes y Proveedores
@@ -21,6 +30,7 @@ import java.util.stream.Collectors;
  * - Reportes de cartera
  */
 @Service
+@Timed("mipymes.servicio")
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Slf4j
@@ -30,16 +40,30 @@ public class ClientesProveedoresService {
     private final ProveedorRepository proveedorRepository;
     private final CuentaPorCobrarRepository cuentaPorCobrarRepository;
     private final CuentaPorPagarRepository cuentaPorPagarRepository;
+    private final CacheReportes cacheReportes;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final OrdenListado ORDEN_CLIENTES = OrdenListado.de(
+        "codigo", "nombre", "tipoCliente", "saldoActual", "limiteCredito", "fechaCreacion");
+    private static final OrdenListado ORDEN_PROVEEDORES = OrdenListado.de(
+        "codigo", "nombre", "tipoProveedor", "saldoActual", "fechaCreacion");
+    private static final Sort ORDEN_POR_NOMBRE = Sort.by("nombre");
+    private static final OrdenListado ORDEN_DOCUMENTOS = OrdenListado.de(
+        "fechaVencimiento", "fechaEmision", "numeroDocumento", "montoOriginal", "saldoPendiente");
+    private static final Sort ORDEN_POR_VENCIMIENTO = Sort.by("fechaVencimiento");
 
     // ========== GESTIÓN DE CLIENTES ==========
 
     /**
-     * Obtener todos los clientes activos
+     * Obtener una página de los clientes activos
+     * Filtros opcionales: tipo, nombre (búsqueda parcial) y solo los que tienen saldo pendiente
      */
-    public List<ClienteDTO> obtenerTodosLosClientes() {
-        log.info("Obteniendo todos los clientes activos");
-        List<Cliente> clientes = clienteRepository.findByActivoTrueOrderByNombre();
-        return convertirClientesADTO(clientes);
+    public ResultadoPaginaDTO<ClienteDTO> obtenerTodosLosClientes(Cliente.TipoCliente tipo, String nombre,
+                                                                 boolean soloConSaldo, Pageable pageable) {
+        log.info("Obteniendo clientes activos (tipo {}, nombre '{}', con saldo {}, página {})",
+            tipo, nombre, soloConSaldo, pageable.getPageNumber());
+        return ResultadoPaginaDTO.desdePagina(clienteRepository.listarActivos(tipo, Objects.requireNonNullElse(nombre, ""),
+            soloConSaldo, ORDEN_CLIENTES.aplicar(pageable, ORDEN_POR_NOMBRE)));
     }
 
     /**
@@ -67,6 +91,7 @@ public class ClientesProveedoresService {
         Cliente clienteGuardado = clienteRepository.save(cliente);
 
         log.info("Cliente creado exitosamente con ID: {}", clienteGuardado.getId());
+        eventPublisher.publishEvent(new ModuloModificadoEvent(Modulo.CLIENTES_PROVEEDORES));
         return convertirClienteADTO(clienteGuardado);
     }
 
@@ -89,36 +114,38 @@ public class ClientesProveedoresService {
         Cliente clienteActualizado = clienteRepository.save(clienteExistente);
 
         log.info("Cliente actualizado exitosamente");
+        eventPublisher.publishEvent(new ModuloModificadoEvent(Modulo.CLIENTES_PROVEEDORES));
         return convertirClienteADTO(clienteActualizado);
     }
 
     /**
      * Buscar clientes por nombre
      */
-    public List<ClienteDTO> buscarClientesPorNombre(String nombre) {
+    public ResultadoPaginaDTO<ClienteDTO> buscarClientesPorNombre(String nombre, Pageable pageable) {
         log.info("Buscando clientes que contengan: {}", nombre);
-        List<Cliente> clientes = clienteRepository.findByNombreContainingIgnoreCaseAndActivoTrue(nombre);
-        return convertirClientesADTO(clientes);
+        return ResultadoPaginaDTO.desdePagina(clienteRepository.listarActivos(
+            null, nombre, false, ORDEN_CLIENTES.aplicar(pageable, ORDEN_POR_NOMBRE)));
     }
 
     /**
      * Obtener clientes con saldo pendiente
      */
-    public List<ClienteDTO> obtenerClientesConSaldo() {
+    public ResultadoPaginaDTO<ClienteDTO> obtenerClientesConSaldo(Pageable pageable) {
         log.info("Obteniendo clientes con saldo pendiente");
-        List<Cliente> clientes = clienteRepository.obtenerClientesConSaldo();
-        return convertirClientesADTO(clientes);
+        return ResultadoPaginaDTO.desdePagina(clienteRepository.listarActivos(
+            null, "", true, ORDEN_CLIENTES.aplicar(pageable, ORDEN_POR_NOMBRE)));
     }
 
     // ========== GESTIÓN DE PROVEEDORES ==========
 
     /**
-     * Obtener todos los proveedores activos
+     * Obtener una página de los proveedores activos, con filtros opcionales de tipo y nombre
      */
-    public List<ProveedorDTO> obtenerTodosLosProveedores() {
-        log.info("Obteniendo todos los proveedores activos");
-        List<Proveedor> proveedores = proveedorRepository.findByActivoTrueOrderByNombre();
-        return convertirProveedoresADTO(proveedores);
+    public ResultadoPaginaDTO<ProveedorDTO> obtenerTodosLosProveedores(Proveedor.TipoProveedor tipo, String nombre,
+                                                                      Pageable pageable) {
+        log.info("Obteniendo proveedores activos (tipo {}, nombre '{}', página {})", tipo, nombre, pageable.getPageNumber());
+        return ResultadoPaginaDTO.desdePagina(proveedorRepository.listarActivos(tipo, Objects.requireNonNullElse(nombre, ""),
+            ORDEN_PROVEEDORES.aplicar(pageable, ORDEN_POR_NOMBRE)));
     }
 
     /**
@@ -146,6 +173,7 @@ public class ClientesProveedoresService {
         Proveedor proveedorGuardado = proveedorRepository.save(proveedor);
 
         log.info("Proveedor creado exitosamente con ID: {}", proveedorGuardado.getId());
+        eventPublisher.publishEvent(new ModuloModificadoEvent(Modulo.CLIENTES_PROVEEDORES));
         return convertirProveedorADTO(proveedorGuardado);
     }
 
@@ -168,6 +196,7 @@ public class ClientesProveedoresService {
         Proveedor proveedorActualizado = proveedorRepository.save(proveedorExistente);
 
         log.info("Proveedor actualizado exitosamente");
+        eventPublisher.publishEvent(new ModuloModificadoEvent(Modulo.CLIENTES_PROVEEDORES));
         return convertirProveedorADTO(proveedorActualizado);
     }
 
@@ -180,7 +209,8 @@ public class ClientesProveedoresService {
     public CuentaPorCobrarDTO crearCuentaPorCobrar(CuentaPorCobrarDTO cuentaDTO) {
         log.info("Creando cuenta por cobrar para cliente ID: {}", cuentaDTO.getClienteId());
 
-        Cliente cliente = clienteRepository.findById(cuentaDTO.getClienteId())
+        // Con la fila bloqueada: el saldo se calcula sobre el de la BD
+        Cliente cliente = clienteRepository.buscarParaActualizar(cuentaDTO.getClienteId())
             .orElseThrow(() -> new CuentaNotFoundException("Cliente no encontrado con ID: " + cuentaDTO.getClienteId()));
 
         CuentaPorCobrar cuenta = new CuentaPorCobrar();
@@ -199,25 +229,26 @@ public class ClientesProveedoresService {
         CuentaPorCobrar cuentaGuardada = cuentaPorCobrarRepository.save(cuenta);
         log.info("Cuenta por cobrar creada exitosamente");
 
+        eventPublisher.publishEvent(new ModuloModificadoEvent(Modulo.CLIENTES_PROVEEDORES));
         return convertirCuentaPorCobrarADTO(cuentaGuardada);
     }
 
     /**
      * Obtener cuentas por cobrar por cliente
      */
-    public List<CuentaPorCobrarDTO> obtenerCuentasPorCobrarPorCliente(Long clienteId) {
+    public ResultadoPaginaDTO<CuentaPorCobrarDTO> obtenerCuentasPorCobrarPorCliente(Long clienteId, Pageable pageable) {
         log.info("Obteniendo cuentas por cobrar para cliente ID: {}", clienteId);
-        List<CuentaPorCobrar> cuentas = cuentaPorCobrarRepository.findByClienteIdOrderByFechaVencimiento(clienteId);
-        return convertirCuentasPorCobrarADTO(cuentas);
+        return ResultadoPaginaDTO.desdePagina(cuentaPorCobrarRepository.listarPorCliente(
+            clienteId, ORDEN_DOCUMENTOS.aplicar(pageable, ORDEN_POR_VENCIMIENTO)));
     }
 
     /**
      * Obtener cuentas por cobrar vencidas
      */
-    public List<CuentaPorCobrarDTO> obtenerCuentasPorCobrarVencidas() {
+    public ResultadoPaginaDTO<CuentaPorCobrarDTO> obtenerCuentasPorCobrarVencidas(Pageable pageable) {
         log.info("Obteniendo cuentas por cobrar vencidas");
-        List<CuentaPorCobrar> cuentas = cuentaPorCobrarRepository.obtenerCuentasVencidas(LocalDate.now());
-        return convertirCuentasPorCobrarADTO(cuentas);
+        return ResultadoPaginaDTO.desdePagina(cuentaPorCobrarRepository.listarVencidas(
+            LocalDate.now(), ORDEN_DOCUMENTOS.aplicar(pageable, ORDEN_POR_VENCIMIENTO)));
     }
 
     // ========== CUENTAS POR PAGAR ==========
@@ -229,7 +260,8 @@ public class ClientesProveedoresService {
     public CuentaPorPagarDTO crearCuentaPorPagar(CuentaPorPagarDTO cuentaDTO) {
         log.info("Creando cuenta por pagar para proveedor ID: {}", cuentaDTO.getProveedorId());
 
-        Proveedor proveedor = proveedorRepository.findById(cuentaDTO.getProveedorId())
+        // Con la fila bloqueada: el saldo se calcula sobre el de la BD
+        Proveedor proveedor = proveedorRepository.buscarParaActualizar(cuentaDTO.getProveedorId())
             .orElseThrow(() -> new CuentaNotFoundException("Proveedor no encontrado con ID: " + cuentaDTO.getProveedorId()));
 
         CuentaPorPagar cuenta = new CuentaPorPagar();
@@ -248,16 +280,17 @@ public class ClientesProveedoresService {
         CuentaPorPagar cuentaGuardada = cuentaPorPagarRepository.save(cuenta);
         log.info("Cuenta por pagar creada exitosamente");
 
+        eventPublisher.publishEvent(new ModuloModificadoEvent(Modulo.CLIENTES_PROVEEDORES));
         return convertirCuentaPorPagarADTO(cuentaGuardada);
     }
 
     /**
      * Obtener cuentas por pagar vencidas
      */
-    public List<CuentaPorPagarDTO> obtenerCuentasPorPagarVencidas() {
+    public ResultadoPaginaDTO<CuentaPorPagarDTO> obtenerCuentasPorPagarVencidas(Pageable pageable) {
         log.info("Obteniendo cuentas por pagar vencidas");
-        List<CuentaPorPagar> cuentas = cuentaPorPagarRepository.obtenerCuentasVencidas(LocalDate.now());
-        return convertirCuentasPorPagarADTO(cuentas);
+        return ResultadoPaginaDTO.desdePagina(cuentaPorPagarRepository.listarVencidas(
+            LocalDate.now(), ORDEN_DOCUMENTOS.aplicar(pageable, ORDEN_POR_VENCIMIENTO)));
     }
 
     // ========== REPORTES ==========
@@ -266,46 +299,46 @@ public class ClientesProveedoresService {
      * Generar resumen de clientes y proveedores
      */
     public ResumenClientesProveedoresDTO generarResumen() {
+        return cacheReportes.obtener(ClaveReporte.deHoy(TipoReporte.RESUMEN_CLIENTES_PROVEEDORES), this::construirResumen);
+    }
+
+    private ResumenClientesProveedoresDTO construirResumen() {
         log.info("Generando resumen de clientes y proveedores");
 
-        List<Cliente> todosLosClientes = clienteRepository.findByActivoTrueOrderByNombre();
-        List<Proveedor> todosLosProveedores = proveedorRepository.findByActivoTrueOrderByNombre();
+        int clientesActivos = (int) clienteRepository.countByActivoTrue();
+        int proveedoresActivos = (int) proveedorRepository.countByActivoTrue();
         
         BigDecimal totalCuentasPorCobrar = clienteRepository.obtenerTotalCuentasPorCobrar();
         BigDecimal totalCuentasPorPagar = proveedorRepository.obtenerTotalCuentasPorPagar();
         
-        List<CuentaPorCobrar> cuentasVencidasCobrar = cuentaPorCobrarRepository.obtenerCuentasVencidas(LocalDate.now());
-        List<CuentaPorPagar> cuentasVencidasPagar = cuentaPorPagarRepository.obtenerCuentasVencidas(LocalDate.now());
+        List<CuentaPorCobrarDTO> cuentasVencidasCobrar = cuentaPorCobrarRepository.listarVencidas(LocalDate.now());
+        List<CuentaPorPagarDTO> cuentasVencidasPagar = cuentaPorPagarRepository.listarVencidas(LocalDate.now());
 
         ResumenClientesProveedoresDTO resumen = new ResumenClientesProveedoresDTO();
         resumen.setFecha(LocalDate.now());
         resumen.setEmpresa("Almacén El Planeador - Horacio Porras");
         
         // Datos de clientes
-        resumen.setTotalClientes(todosLosClientes.size());
-        resumen.setClientesActivos((int) todosLosClientes.stream().filter(Cliente::getActivo).count());
+        resumen.setTotalClientes(clientesActivos);
+        resumen.setClientesActivos(clientesActivos);
         resumen.setTotalCuentasPorCobrar(totalCuentasPorCobrar != null ? totalCuentasPorCobrar : BigDecimal.ZERO);
         resumen.setCuentasVencidas(cuentasVencidasCobrar.size());
         
         // Datos de proveedores
-        resumen.setTotalProveedores(todosLosProveedores.size());
-        resumen.setProveedoresActivos((int) todosLosProveedores.stream().filter(Proveedor::getActivo).count());
+        resumen.setTotalProveedores(proveedoresActivos);
+        resumen.setProveedoresActivos(proveedoresActivos);
         resumen.setTotalCuentasPorPagar(totalCuentasPorPagar != null ? totalCuentasPorPagar : BigDecimal.ZERO);
         resumen.setCuentasVencidasPagar(cuentasVencidasPagar.size());
         
         // Cuentas críticas
-        resumen.setCuentasPorCobrarVencidas(convertirCuentasPorCobrarADTO(cuentasVencidasCobrar));
-        resumen.setCuentasPorPagarVencidas(convertirCuentasPorPagarADTO(cuentasVencidasPagar));
+        resumen.setCuentasPorCobrarVencidas(cuentasVencidasCobrar);
+        resumen.setCuentasPorPagarVencidas(cuentasVencidasPagar);
 
         return resumen;
     }
 
     // ========== MÉTODOS AUXILIARES ==========
 
-    private List<ClienteDTO> convertirClientesADTO(List<Cliente> clientes) {
-        return clientes.stream().map(this::convertirClienteADTO).collect(Collectors.toList());
-    }
-
     private ClienteDTO convertirClienteADTO(Cliente cliente) {
         ClienteDTO dto = new ClienteDTO();
         dto.setId(cliente.getId());
@@ -364,10 +397,6 @@ public class ClientesProveedoresService {
         cliente.setObservaciones(dto.getObservaciones());
     }
 
-    private List<ProveedorDTO> convertirProveedoresADTO(List<Proveedor> proveedores) {
-        return proveedores.stream().map(this::convertirProveedorADTO).collect(Collectors.toList());
-    }
-
     private ProveedorDTO convertirProveedorADTO(Proveedor proveedor) {
         ProveedorDTO dto = new ProveedorDTO();
         dto.setId(proveedor.getId());
@@ -423,10 +452,6 @@ public class ClientesProveedoresService {
         proveedor.setObservaciones(dto.getObservaciones());
     }
 
-    private List<CuentaPorCobrarDTO> convertirCuentasPorCobrarADTO(List<CuentaPorCobrar> cuentas) {
-        return cuentas.stream().map(this::convertirCuentaPorCobrarADTO).collect(Collectors.toList());
-    }
-
     private CuentaPorCobrarDTO convertirCuentaPorCobrarADTO(CuentaPorCobrar cuenta) {
         CuentaPorCobrarDTO dto = new CuentaPorCobrarDTO();
         dto.setId(cuenta.getId());
@@ -447,10 +472,6 @@ public class ClientesProveedoresService {
         return dto;
     }
 
-    private List<CuentaPorPagarDTO> convertirCuentasPorPagarADTO(List<CuentaPorPagar> cuentas) {
-        return cuentas.stream().map(this::convertirCuentaPorPagarADTO).collect(Collectors.toList());
-    }
-
     private CuentaPorPagarDTO convertirCuentaPorPagarADTO(CuentaPorPagar cuenta) {
         CuentaPorPagarDTO dto = new CuentaPorPagarDTO();
         dto.setId(cuenta.getId());
@@ -1,19 +1,26 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
 
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.CuentaDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ResultadoPaginaDTO;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta.TipoCuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.CuentaModificadaEvent;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.IdentificadorNaturalRepository;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.CuentaNotFoundException;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.CodigoYaExisteException;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.util.OrdenListado;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 /**
  * Service que contiene la lógica de negocio para el manejo de Cuentas
@@ -23,20 +30,26 @@ import java.util.stream.Collectors;
  * @Slf4j: Lombok para logging
  */
 @Service
+@Timed("mipymes.servicio")
 @Transactional(readOnly = true)  // Por defecto las operaciones son solo lectura
 @RequiredArgsConstructor  // Constructor automático para inyección de dependencias
 @Slf4j  // Para logging
 public class CuentaService {
 
     private final CuentaRepository cuentaRepository;
+    private final IdentificadorNaturalRepository identificadorNaturalRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final OrdenListado ORDEN_CUENTAS = OrdenListado.de("codigo", "nombre", "tipo", "saldo", "fechaCreacion");
+    private static final Sort ORDEN_POR_DEFECTO = Sort.by("codigo");
 
     /**
-     * Obtener todas las cuentas activas
+     * Obtener una página de las cuentas activas, con filtros opcionales de tipo y nombre
      */
-    public List<CuentaDTO> obtenerTodasLasCuentas() {
-        log.info("Obteniendo todas las cuentas activas");
-        List<Cuenta> cuentas = cuentaRepository.findByActivaTrueOrderByCodigo();
-        return convertirADTO(cuentas);
+    public ResultadoPaginaDTO<CuentaDTO> obtenerTodasLasCuentas(TipoCuenta tipo, String nombre, Pageable pageable) {
+        log.info("Obteniendo cuentas activas (tipo {}, nombre '{}', página {})", tipo, nombre, pageable.getPageNumber());
+        return ResultadoPaginaDTO.desdePagina(cuentaRepository.listarActivas(
+            tipo, Objects.requireNonNullElse(nombre, ""), ORDEN_CUENTAS.aplicar(pageable, ORDEN_POR_DEFECTO)));
     }
 
     /**
@@ -54,7 +67,7 @@ public class CuentaService {
      */
     public CuentaDTO obtenerCuentaPorCodigo(String codigo) {
         log.info("Buscando cuenta con código: {}", codigo);
-        Cuenta cuenta = cuentaRepository.findByCodigo(codigo)
+        Cuenta cuenta = identificadorNaturalRepository.buscar(Cuenta.class, codigo)
             .orElseThrow(() -> new CuentaNotFoundException("Cuenta no encontrada con código: " + codigo));
         return convertirADTO(cuenta);
     }
@@ -62,19 +75,19 @@ public class CuentaService {
     /**
      * Obtener cuentas por tipo
      */
-    public List<CuentaDTO> obtenerCuentasPorTipo(TipoCuenta tipo) {
+    public ResultadoPaginaDTO<CuentaDTO> obtenerCuentasPorTipo(TipoCuenta tipo, Pageable pageable) {
         log.info("Obteniendo cuentas de tipo: {}", tipo);
-        List<Cuenta> cuentas = cuentaRepository.findByTipoAndActivaTrue(tipo);
-        return convertirADTO(cuentas);
+        return ResultadoPaginaDTO.desdePagina(cuentaRepository.listarActivas(
+            tipo, "", ORDEN_CUENTAS.aplicar(pageable, ORDEN_POR_DEFECTO)));
     }
 
     /**
      * Buscar cuentas por nombre (búsqueda parcial)
      */
-    public List<CuentaDTO> buscarCuentasPorNombre(String nombre) {
+    public ResultadoPaginaDTO<CuentaDTO> buscarCuentasPorNombre(String nombre, Pageable pageable) {
         log.info("Buscando cuentas que contengan: {}", nombre);
-        List<Cuenta> cuentas = cuentaRepository.findByNombreContainingIgnoreCase(nombre);
-        return convertirADTO(cuentas);
+        return ResultadoPaginaDTO.desdePagina(cuentaRepository.listarPorNombre(
+            nombre, ORDEN_CUENTAS.aplicar(pageable, ORDEN_POR_DEFECTO)));
     }
 
     /**
@@ -94,6 +107,7 @@ public class CuentaService {
         
         // Guardar en base de datos
         Cuenta cuentaGuardada = cuentaRepository.save(cuenta);
+        eventPublisher.publishEvent(new CuentaModificadaEvent(cuentaGuardada.getId()));
         
         log.info("Cuenta creada exitosamente con ID: {}", cuentaGuardada.getId());
         return convertirADTO(cuentaGuardada);
@@ -124,6 +138,7 @@ public class CuentaService {
         cuentaExistente.setActiva(cuentaDTO.getActiva());
 
         Cuenta cuentaActualizada = cuentaRepository.save(cuentaExistente);
+        eventPublisher.publishEvent(new CuentaModificadaEvent(id));
         log.info("Cuenta actualizada exitosamente");
         return convertirADTO(cuentaActualizada);
     }
@@ -140,6 +155,7 @@ public class CuentaService {
         
         cuenta.setActiva(false);
         cuentaRepository.save(cuenta);
+        eventPublisher.publishEvent(new CuentaModificadaEvent(id));
         
         log.info("Cuenta desactivada exitosamente");
     }
@@ -147,24 +163,15 @@ public class CuentaService {
     /**
      * Obtener el catálogo de cuentas (método específico del dominio contable)
      */
-    public List<CuentaDTO> obtenerCatalogoCuentas() {
-        log.info("Obteniendo catálogo completo de cuentas");
-        List<Cuenta> cuentas = cuentaRepository.obtenerCatalogoActivo();
-        return convertirADTO(cuentas);
+    public ResultadoPaginaDTO<CuentaDTO> obtenerCatalogoCuentas(Pageable pageable) {
+        log.info("Obteniendo catálogo de cuentas (página {})", pageable.getPageNumber());
+        return ResultadoPaginaDTO.desdePagina(cuentaRepository.listarActivas(
+            null, "", ORDEN_CUENTAS.aplicar(pageable, ORDEN_POR_DEFECTO)));
     }
 
     // ========== MÉTODOS AUXILIARES ==========
 
 
-    /**
-     * Convertir lista de entidades a DTOs
-     */
-    private List<CuentaDTO> convertirADTO(List<Cuenta> cuentas) {
-        return cuentas.stream()
-            .map(this::convertirADTO)
-            .collect(Collectors.toList());
-    }
-
     /**
      * Convertir entidad a DTO
      */
@@ -0,0 +1,203 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.config.CompartimentosInterceptor;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.config.CompartimentosInterceptor.Compartimento;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.DashboardDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.DashboardDTO.EstadoSeccion;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.DashboardDTO.SeccionDashboardDTO;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Service para armar el dashboard
+ *
+ * Cada sección se consulta en su propio hilo virtual, con su propia transacción de lectura,
+ * así el dashboard tarda lo que tarda la sección más lenta y no la suma de todas.
+ * Cada sección ocupa una conexión: además del permiso de la solicitud, el dashboard toma del
+ * compartimento de reportes los permisos libres (hasta secciones-simultaneas - 1) y corre a la
+ * vez solo las secciones que tienen permiso; las demás esperan turno dentro del mismo plazo.
+ * Todas las secciones comparten el plazo, contado desde el inicio de la solicitud; la que falla
+ * se informa sin afectar a las demás. La que no termina a tiempo se cancela de verdad:
+ * - La transacción de la sección tiene como timeout el plazo restante, que Spring aplica a cada
+ *   consulta (la BD la cancela y la conexión vuelve sana al pool).
+ * - Además el hilo se interrumpe (Future de ExecutorService.submit, no CompletableFuture, que no
+ *   interrumpe): si sigue en la BD, la interrupción cierra la conexión y Hikari la descarta.
+ */
+@Service
+@Timed("mipymes.servicio")
+@Slf4j
+public class DashboardService {
+
+    private final BalanceComprobacionService balanceService;
+    private final BancosService bancosService;
+    private final ClientesProveedoresService clientesProveedoresService;
+    private final InventarioService inventarioService;
+    private final PlatformTransactionManager transactionManager;
+    private final CompartimentosInterceptor compartimentos;
+
+    /**
+     * Tiempo máximo de cada sección en milisegundos
+     */
+    private final long tiempoMaximoSeccionMs;
+
+    /**
+     * Secciones que se consultan a la vez como máximo (conexiones que ocupa un dashboard)
+     */
+    private final int seccionesSimultaneas;
+
+    private final ExecutorService hilosVirtuales =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dashboard-", 0).factory());
+
+    public DashboardService(BalanceComprobacionService balanceService,
+                            BancosService bancosService,
+                            ClientesProveedoresService clientesProveedoresService,
+                            InventarioService inventarioService,
+                            PlatformTransactionManager transactionManager,
+                            CompartimentosInterceptor compartimentos,
+                            @Value("${mipymes.dashboard.tiempo-maximo-seccion-ms:3000}") long tiempoMaximoSeccionMs,
+                            @Value("${mipymes.dashboard.secciones-simultaneas:3}") int seccionesSimultaneas) {
+        this.balanceService = balanceService;
+        this.bancosService = bancosService;
+        this.clientesProveedoresService = clientesProveedoresService;
+        this.inventarioService = inventarioService;
+        this.transactionManager = transactionManager;
+        this.compartimentos = compartimentos;
+        this.tiempoMaximoSeccionMs = tiempoMaximoSeccionMs;
+        this.seccionesSimultaneas = Math.max(1, seccionesSimultaneas);
+    }
+
+    /**
+     * Obtener todas las secciones del dashboard en paralelo
+     */
+    public DashboardDTO generarDashboard() {
+        long inicio = System.nanoTime();
+        long limite = inicio + TimeUnit.MILLISECONDS.toNanos(tiempoMaximoSeccionMs);
+        DashboardDTO dashboard = new DashboardDTO();
+        dashboard.setFecha(LocalDate.now());
+
+        int adicionales = compartimentos.tomarAdicionales(Compartimento.REPORTES, seccionesSimultaneas - 1);
+        try {
+            Semaphore turnos = new Semaphore(1 + adicionales);
+
+            // Lanzar todas las secciones antes de esperar cualquiera
+            List<Seccion<?>> secciones = new ArrayList<>();
+            secciones.add(iniciar("balanceComprobacion", balanceService::generarBalanceComprobacion,
+                dashboard::setBalanceComprobacion, turnos, limite));
+            secciones.add(iniciar("resumenBancario", bancosService::generarResumenBancario,
+                dashboard::setResumenBancario, turnos, limite));
+            secciones.add(iniciar("resumenClientesProveedores", clientesProveedoresService::generarResumen,
+                dashboard::setResumenClientesProveedores, turnos, limite));
+            secciones.add(iniciar("reporteInventario", inventarioService::generarReporteInventario,
+                dashboard::setReporteInventario, turnos, limite));
+            secciones.add(iniciar("ultimosMovimientosBancarios", bancosService::obtenerUltimosMovimientos,
+                dashboard::setUltimosMovimientosBancarios, turnos, limite));
+            secciones.add(iniciar("ultimosMovimientosInventario", inventarioService::obtenerUltimosMovimientos,
+                dashboard::setUltimosMovimientosInventario, turnos, limite));
+
+            for (Seccion<?> seccion : secciones) {
+                dashboard.getSecciones().add(esperar(seccion, limite));
+            }
+        } finally {
+            compartimentos.liberarAdicionales(Compartimento.REPORTES, adicionales);
+        }
+
+        dashboard.setCompleto(dashboard.getSecciones().stream()
+            .allMatch(seccion -> seccion.getEstado() == EstadoSeccion.OK));
+        dashboard.setDuracionMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+
+        log.info("Dashboard generado en {} ms (completo: {}, secciones a la vez: {})",
+            dashboard.getDuracionMs(), dashboard.isCompleto(), 1 + adicionales);
+        return dashboard;
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        hilosVirtuales.shutdownNow();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private <T> Seccion<T> iniciar(String nombre, Supplier<T> consulta, Consumer<T> asignar,
+                                   Semaphore turnos, long limite) {
+        long inicio = System.nanoTime();
+        Future<Terminada<T>> futuro = hilosVirtuales.submit(() -> {
+            turnos.acquire();
+            try {
+                return new Terminada<>(enTransaccion(consulta, limite), System.nanoTime());
+            } finally {
+                turnos.release();
+            }
+        });
+        return new Seccion<>(nombre, futuro, asignar, inicio);
+    }
+
+    /**
+     * Ejecutar la consulta en una transacción de lectura que vence con el plazo del dashboard
+     * (el timeout de una transacción se expresa en segundos: se redondea hacia arriba)
+     */
+    private <T> T enTransaccion(Supplier<T> consulta, long limite) {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.setReadOnly(true);
+        long restanteMs = TimeUnit.NANOSECONDS.toMillis(limite - System.nanoTime());
+        transaccion.setTimeout((int) Math.max(1, (restanteMs + 999) / 1000));
+        return transaccion.execute(estado -> consulta.get());
+    }
+
+    /**
+     * Esperar una sección hasta el plazo común y asignar su resultado al dashboard
+     */
+    private <T> SeccionDashboardDTO esperar(Seccion<T> seccion, long limite) {
+        try {
+            Terminada<T> terminada = seccion.futuro().get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+            seccion.asignar().accept(terminada.resultado());
+            return resumen(seccion, EstadoSeccion.OK, null, terminada.fin());
+        } catch (TimeoutException e) {
+            seccion.futuro().cancel(true);
+            log.warn("Sección {} del dashboard sin respuesta después de {} ms", seccion.nombre(), tiempoMaximoSeccionMs);
+            return resumen(seccion, EstadoSeccion.TIEMPO_AGOTADO,
+                "Sin respuesta después de " + tiempoMaximoSeccionMs + " ms", System.nanoTime());
+        } catch (ExecutionException e) {
+            log.error("Error en la sección {} del dashboard", seccion.nombre(), e.getCause());
+            return resumen(seccion, EstadoSeccion.ERROR, e.getCause().getMessage(), System.nanoTime());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            seccion.futuro().cancel(true);
+            return resumen(seccion, EstadoSeccion.ERROR, "Solicitud interrumpida", System.nanoTime());
+        }
+    }
+
+    private SeccionDashboardDTO resumen(Seccion<?> seccion, EstadoSeccion estado, String mensaje, long fin) {
+        long duracion = TimeUnit.NANOSECONDS.toMillis(fin - seccion.inicio());
+        return new SeccionDashboardDTO(seccion.nombre(), estado, duracion, mensaje);
+    }
+
+    /**
+     * Sección en curso: la consulta lanzada y dónde guardar su resultado
+     */
+    private record Seccion<T>(String nombre, Future<Terminada<T>> futuro, Consumer<T> asignar, long inicio) {
+    }
+
+    /**
+     * Resultado de una sección y el momento en que terminó
+     */
+    private record Terminada<T>(T resultado, long fin) {
+    }
+}
@@ -0,0 +1,309 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.config.AgrupacionCuentasProperties;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.EstadoComparativoDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.EstadoComparativoDTO.SeccionComparativaDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LineaBalanceDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.SolicitudComparativoDTO.PeriodoDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.PeriodoInvalidoException;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.EstadosComparativosJdbcRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.EstadosComparativosJdbcRepository.NetoPeriodo;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.EstadosComparativosJdbcRepository.Rango;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.util.Centavos;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Service para Estados Financieros comparativos (varios períodos en columnas)
+ *
+ * Todas las columnas salen de una sola consulta agrupada por cuenta y período:
+ * - Estado de Resultados: el neto de cada cuenta dentro de cada período.
+ * - Balance General: el saldo a la primera fecha de corte y, a partir de él, los netos
+ *   entre fechas de corte consecutivas.
+ * Cada línea incluye el análisis horizontal (variación contra el período anterior) y el
+ * vertical (porcentaje sobre Total Ingresos o Total Activos del mismo período).
+ */
+@Service
+@Timed("mipymes.servicio")
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Slf4j
+public class EstadosComparativosService {
+
+    private static final int MAXIMO_PERIODOS = 36;
+    private static final BigDecimal CIEN = new BigDecimal("100");
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final CuentaRepository cuentaRepository;
+    private final EstadosComparativosJdbcRepository comparativosRepository;
+    private final SaldosCierreService saldosCierreService;
+    private final ArbolCuentasService arbolCuentasService;
+
+    /**
+     * Estado de Resultados comparativo
+     * Los períodos se ordenan por fecha de inicio y no pueden traslaparse
+     */
+    public EstadoComparativoDTO generarEstadoResultadosComparativo(List<PeriodoDTO> periodos) {
+        List<Rango> rangos = validarPeriodos(periodos);
+        int columnas = rangos.size();
+        log.info("Generando Estado de Resultados comparativo de {} períodos", columnas);
+
+        // Netos de todas las cuentas en todos los períodos con una sola consulta
+        Map<Long, BigDecimal[]> netosPorCuenta = new HashMap<>();
+        for (NetoPeriodo neto : comparativosRepository.obtenerNetosPorPeriodo(rangos)) {
+            netosPorCuenta.computeIfAbsent(neto.cuentaId(), id -> ceros(columnas))[neto.periodo()] = neto.neto();
+        }
+
+        List<Cuenta> cuentas = cuentaRepository.findAllById(netosPorCuenta.keySet()).stream()
+            .filter(cuenta -> cuenta.getTipo() == Cuenta.TipoCuenta.INGRESO || cuenta.getTipo() == Cuenta.TipoCuenta.GASTO)
+            .sorted(Comparator.comparing(Cuenta::getCodigo))
+            .toList();
+        Map<Long, BigDecimal[]> montos = new HashMap<>();
+        cuentas.forEach(cuenta -> montos.put(cuenta.getId(), aMontos(cuenta, netosPorCuenta.get(cuenta.getId()))));
+
+        ArbolCuentas arbol = arbolCuentasService.obtenerArbol();
+        Predicate<Cuenta> esCosto = cuenta -> arbol.perteneceA(cuenta.getCodigo(), AgrupacionCuentasProperties.COSTO_VENTAS);
+        List<Cuenta> ingresos = filtrar(cuentas, cuenta -> cuenta.getTipo() == Cuenta.TipoCuenta.INGRESO);
+        List<Cuenta> costos = filtrar(cuentas, cuenta -> cuenta.getTipo() == Cuenta.TipoCuenta.GASTO && esCosto.test(cuenta));
+        List<Cuenta> gastos = filtrar(cuentas, cuenta -> cuenta.getTipo() == Cuenta.TipoCuenta.GASTO && !esCosto.test(cuenta));
+
+        BigDecimal[] totalIngresos = sumar(ingresos, montos, columnas);
+        BigDecimal[] totalCostos = sumar(costos, montos, columnas);
+        BigDecimal[] totalGastos = sumar(gastos, montos, columnas);
+        BigDecimal[] utilidadBruta = restar(totalIngresos, totalCostos);
+        BigDecimal[] utilidadNeta = restar(utilidadBruta, totalGastos);
+
+        EstadoComparativoDTO estado = new EstadoComparativoDTO();
+        estado.setEmpresa("Almacén El Planeador - Propietario: Horacio Porras");
+        estado.setEstado("Estado de Resultados");
+        estado.setPeriodos(rangos.stream()
+            .map(rango -> "Del " + rango.desde().format(FORMATO_FECHA) + " al " + rango.hasta().format(FORMATO_FECHA))
+            .toList());
+        estado.getSecciones().add(crearSeccion("Ingresos", ingresos, montos, totalIngresos, "ACREEDORA", totalIngresos));
+        estado.getSecciones().add(crearSeccion("Costo de Ventas", costos, montos, totalCostos, "DEUDORA", totalIngresos));
+        estado.getSecciones().add(crearSeccion("Gastos de Operación", gastos, montos, totalGastos, "DEUDORA", totalIngresos));
+        estado.getResultados().add(crearLinea(null, "Utilidad Bruta", null, "ACREEDORA", utilidadBruta, totalIngresos));
+        estado.getResultados().add(crearLinea(null, "Utilidad Neta", null, "ACREEDORA", utilidadNeta, totalIngresos));
+
+        log.info("Estado de Resultados comparativo generado con {} cuentas", cuentas.size());
+        return estado;
+    }
+
+    /**
+     * Balance General comparativo a varias fechas de corte
+     */
+    public EstadoComparativoDTO generarBalanceGeneralComparativo(List<LocalDate> fechasCorte) {
+        List<LocalDate> fechas = validarFechasCorte(fechasCorte);
+        int columnas = fechas.size();
+        log.info("Generando Balance General comparativo a {} fechas", columnas);
+
+        List<Cuenta> cuentas = filtrar(cuentaRepository.obtenerCatalogoActivo(), cuenta ->
+            cuenta.getTipo() == Cuenta.TipoCuenta.ACTIVO || cuenta.getTipo() == Cuenta.TipoCuenta.PASIVO ||
+            cuenta.getTipo() == Cuenta.TipoCuenta.PATRIMONIO);
+
+        // Saldos a la primera fecha y netos entre fechas consecutivas (una sola consulta)
+        Map<Long, BigDecimal> saldosIniciales = saldosCierreService.obtenerSaldosAl(fechas.get(0), cuentas);
+        Map<Long, BigDecimal[]> netosPorCuenta = new HashMap<>();
+        if (columnas > 1) {
+            List<Rango> rangos = new ArrayList<>();
+            for (int i = 1; i < columnas; i++) {
+                rangos.add(new Rango(fechas.get(i - 1).plusDays(1), fechas.get(i)));
+            }
+            for (NetoPeriodo neto : comparativosRepository.obtenerNetosPorPeriodo(rangos)) {
+                netosPorCuenta.computeIfAbsent(neto.cuentaId(), id -> ceros(columnas))[neto.periodo() + 1] = neto.neto();
+            }
+        }
+
+        Map<Long, BigDecimal[]> montos = new HashMap<>();
+        for (Cuenta cuenta : cuentas) {
+            BigDecimal[] saldos = aMontos(cuenta, netosPorCuenta.getOrDefault(cuenta.getId(), ceros(columnas)));
+            saldos[0] = saldosIniciales.get(cuenta.getId());
+            for (int i = 1; i < columnas; i++) {
+                saldos[i] = saldos[i - 1].add(saldos[i]);
+            }
+            montos.put(cuenta.getId(), saldos);
+        }
+
+        List<Cuenta> activos = filtrar(cuentas, cuenta -> cuenta.getTipo() == Cuenta.TipoCuenta.ACTIVO);
+        List<Cuenta> pasivos = filtrar(cuentas, cuenta -> cuenta.getTipo() == Cuenta.TipoCuenta.PASIVO);
+        List<Cuenta> patrimonio = filtrar(cuentas, cuenta -> cuenta.getTipo() == Cuenta.TipoCuenta.PATRIMONIO);
+
+        BigDecimal[] totalActivos = sumar(activos, montos, columnas);
+        BigDecimal[] totalPasivos = sumar(pasivos, montos, columnas);
+        BigDecimal[] totalPatrimonio = sumar(patrimonio, montos, columnas);
+        BigDecimal[] pasivosMasPatrimonio = sumarColumnas(totalPasivos, totalPatrimonio);
+
+        EstadoComparativoDTO balance = new EstadoComparativoDTO();
+        balance.setEmpresa("Almacén El Planeador - Propietario: Horacio Porras");
+        balance.setEstado("Balance General");
+        balance.setPeriodos(fechas.stream().map(fecha -> "Al " + fecha.format(FORMATO_FECHA)).toList());
+        balance.getSecciones().add(crearSeccion("Activos", activos, montos, totalActivos, "DEUDORA", totalActivos));
+        balance.getSecciones().add(crearSeccion("Pasivos", pasivos, montos, totalPasivos, "ACREEDORA", totalActivos));
+        balance.getSecciones().add(crearSeccion("Patrimonio", patrimonio, montos, totalPatrimonio, "ACREEDORA", totalActivos));
+        balance.getResultados().add(crearLinea(null, "Total Pasivo + Patrimonio", null, "ACREEDORA",
+            pasivosMasPatrimonio, totalActivos));
+        balance.getResultados().add(crearLinea(null, "Diferencia", null, "DEUDORA",
+            restar(totalActivos, pasivosMasPatrimonio), null));
+
+        log.info("Balance General comparativo generado con {} cuentas", cuentas.size());
+        return balance;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Ordenar los períodos y verificar que no se traslapen
+     */
+    private List<Rango> validarPeriodos(List<PeriodoDTO> periodos) {
+        if (periodos == null || periodos.isEmpty() || periodos.size() > MAXIMO_PERIODOS) {
+            throw new PeriodoInvalidoException("Debe indicar entre 1 y " + MAXIMO_PERIODOS + " períodos");
+        }
+        List<Rango> rangos = new ArrayList<>();
+        for (PeriodoDTO periodo : periodos) {
+            if (periodo.getFechaInicio() == null || periodo.getFechaFin() == null) {
+                throw new PeriodoInvalidoException("Cada período debe tener fechaInicio y fechaFin");
+            }
+            if (periodo.getFechaInicio().isAfter(periodo.getFechaFin())) {
+                throw new PeriodoInvalidoException("La fecha de inicio no puede ser posterior a la fecha de fin");
+            }
+            rangos.add(new Rango(periodo.getFechaInicio(), periodo.getFechaFin()));
+        }
+        rangos.sort(Comparator.comparing(Rango::desde));
+        for (int i = 1; i < rangos.size(); i++) {
+            if (!rangos.get(i).desde().isAfter(rangos.get(i - 1).hasta())) {
+                throw new PeriodoInvalidoException("Los períodos no pueden traslaparse: " +
+                    rangos.get(i - 1).hasta() + " y " + rangos.get(i).desde());
+            }
+        }
+        return rangos;
+    }
+
+    /**
+     * Ordenar las fechas de corte sin repetidas
+     */
+    private List<LocalDate> validarFechasCorte(List<LocalDate> fechasCorte) {
+        if (fechasCorte == null || fechasCorte.isEmpty() || fechasCorte.size() > MAXIMO_PERIODOS ||
+                fechasCorte.contains(null)) {
+            throw new PeriodoInvalidoException("Debe indicar entre 1 y " + MAXIMO_PERIODOS + " fechas de corte");
+        }
+        return fechasCorte.stream().distinct().sorted().toList();
+    }
+
+    private SeccionComparativaDTO crearSeccion(String nombre, List<Cuenta> cuentas, Map<Long, BigDecimal[]> montos,
+                                               BigDecimal[] total, String naturaleza, BigDecimal[] base) {
+        List<LineaBalanceDTO> lineas = cuentas.stream()
+            .filter(cuenta -> Arrays.stream(montos.get(cuenta.getId())).anyMatch(monto -> monto.signum() != 0))
+            .map(cuenta -> crearLinea(cuenta.getCodigo(), cuenta.getNombre(), cuenta.getTipo().getDescripcion(),
+                cuenta.getNaturaleza().name(), montos.get(cuenta.getId()), base))
+            .collect(Collectors.toList());
+        return new SeccionComparativaDTO(nombre, lineas,
+            crearLinea(null, "Total " + nombre, null, naturaleza, total, base));
+    }
+
+    /**
+     * Línea con montos por período; saldoDeudor/saldoAcreedor corresponden al último período
+     */
+    private LineaBalanceDTO crearLinea(String codigo, String nombre, String tipo, String naturaleza,
+                                       BigDecimal[] montos, BigDecimal[] base) {
+        LineaBalanceDTO linea = new LineaBalanceDTO(codigo, nombre, tipo, naturaleza, montos[montos.length - 1]);
+        linea.setMontos(Arrays.asList(montos));
+
+        List<BigDecimal> horizontal = new ArrayList<>();
+        List<BigDecimal> vertical = new ArrayList<>();
+        for (int i = 0; i < montos.length; i++) {
+            horizontal.add(i == 0 ? null : porcentaje(montos[i].subtract(montos[i - 1]), montos[i - 1].abs()));
+            vertical.add(base == null ? null : porcentaje(montos[i], base[i]));
+        }
+        linea.setAnalisisHorizontal(horizontal);
+        if (base != null) {
+            linea.setAnalisisVertical(vertical);
+        }
+        return linea;
+    }
+
+    /**
+     * Porcentaje con dos decimales; null si la base es cero
+     */
+    private BigDecimal porcentaje(BigDecimal valor, BigDecimal base) {
+        if (base.signum() == 0) {
+            return null;
+        }
+        return valor.multiply(CIEN).divide(base, 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Convertir netos deudores en montos según la cuenta
+     * Activos y Gastos aumentan con débitos; Pasivos, Patrimonio e Ingresos con créditos
+     */
+    private BigDecimal[] aMontos(Cuenta cuenta, BigDecimal[] netosDeudores) {
+        boolean aumentaConDebito = cuenta.getTipo() == Cuenta.TipoCuenta.ACTIVO ||
+                                   cuenta.getTipo() == Cuenta.TipoCuenta.GASTO;
+        BigDecimal[] montos = new BigDecimal[netosDeudores.length];
+        for (int i = 0; i < montos.length; i++) {
+            montos[i] = aumentaConDebito ? netosDeudores[i] : netosDeudores[i].negate();
+        }
+        return montos;
+    }
+
+    /**
+     * Total por período de las cuentas (sumas en centavos)
+     */
+    private BigDecimal[] sumar(List<Cuenta> cuentas, Map<Long, BigDecimal[]> montos, int columnas) {
+        long[] total = new long[columnas];
+        for (Cuenta cuenta : cuentas) {
+            BigDecimal[] montosCuenta = montos.get(cuenta.getId());
+            for (int i = 0; i < columnas; i++) {
+                total[i] = Centavos.sumar(total[i], montosCuenta[i]);
+            }
+        }
+        BigDecimal[] resultado = new BigDecimal[columnas];
+        for (int i = 0; i < columnas; i++) {
+            resultado[i] = Centavos.aMonto(total[i]);
+        }
+        return resultado;
+    }
+
+    private BigDecimal[] sumarColumnas(BigDecimal[] a, BigDecimal[] b) {
+        BigDecimal[] resultado = new BigDecimal[a.length];
+        for (int i = 0; i < a.length; i++) {
+            resultado[i] = a[i].add(b[i]);
+        }
+        return resultado;
+    }
+
+    private BigDecimal[] restar(BigDecimal[] a, BigDecimal[] b) {
+        BigDecimal[] resultado = new BigDecimal[a.length];
+        for (int i = 0; i < a.length; i++) {
+            resultado[i] = a[i].subtract(b[i]);
+        }
+        return resultado;
+    }
+
+    private BigDecimal[] ceros(int columnas) {
+        BigDecimal[] ceros = new BigDecimal[columnas];
+        Arrays.fill(ceros, BigDecimal.ZERO);
+        return ceros;
+    }
+
+    private List<Cuenta> filtrar(List<Cuenta> cuentas, Predicate<Cuenta> condicion) {
+        return cuentas.stream().filter(condicion).toList();
+    }
+}
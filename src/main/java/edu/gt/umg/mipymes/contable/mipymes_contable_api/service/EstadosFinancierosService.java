@@ -1,8 +1,16 @@
 package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
 
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.config.AgrupacionCuentasProperties;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.*;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.PeriodoInvalidoException;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.MovimientoContableRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.MovimientoContableRepository.NetoCuentaResultados;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CacheReportes.ClaveReporte;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CacheReportes.TipoReporte;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.util.Centavos;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -11,7 +19,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -20,12 +30,17 @@ import java.util.stream.Collectors;
  * - Estado de Resultados (Estado de Pérdidas y Ganancias)
  */
 @Service
+@Timed("mipymes.servicio")
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Slf4j
 public class EstadosFinancierosService {
 
     private final CuentaRepository cuentaRepository;
+    private final SaldosCierreService saldosCierreService;
+    private final MovimientoContableRepository movimientoRepository;
+    private final CacheReportes cacheReportes;
+    private final ArbolCuentasService arbolCuentasService;
 
     /**
      * Generar Balance General a fecha actual
@@ -36,20 +51,61 @@ public class EstadosFinancierosService {
 
     /**
      * Generar Balance General a fecha específica
+     * Los saldos se calculan a la fecha de corte a partir del saldo de cierre más cercano
      */
     public BalanceGeneralDTO generarBalanceGeneral(LocalDate fechaCorte) {
+        return cacheReportes.obtener(ClaveReporte.alCorte(TipoReporte.BALANCE_GENERAL, fechaCorte),
+            () -> construirBalanceGeneral(fechaCorte));
+    }
+
+    /**
+     * Estado de Resultados del año actual
+     */
+    public EstadoResultadosDTO generarEstadoResultadosAnual() {
+        LocalDate inicioAno = LocalDate.now().withDayOfYear(1);
+        LocalDate finAno = LocalDate.now();
+        return generarEstadoResultados(inicioAno, finAno);
+    }
+
+    /**
+     * Generar Estado de Resultados para un período
+     * Los montos son los movimientos contabilizados entre las fechas, agrupados por cuenta en la BD
+     */
+    public EstadoResultadosDTO generarEstadoResultados(LocalDate fechaInicio, LocalDate fechaFin) {
+        if (fechaInicio.isAfter(fechaFin)) {
+            throw new PeriodoInvalidoException("La fecha de inicio no puede ser posterior a la fecha de fin");
+        }
+        return cacheReportes.obtener(ClaveReporte.delPeriodo(TipoReporte.ESTADO_RESULTADOS, fechaInicio, fechaFin),
+            () -> construirEstadoResultados(fechaInicio, fechaFin));
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Calcular el Balance General (sin pasar por el cache)
+     */
+    private BalanceGeneralDTO construirBalanceGeneral(LocalDate fechaCorte) {
         log.info("Generando Balance General al {}", fechaCorte);
 
-        // Obtener todas las cuentas con saldo
-        List<Cuenta> todasLasCuentas = cuentaRepository.obtenerCuentasConSaldo();
+        // Obtener las cuentas activas y sus saldos a la fecha de corte
+        List<Cuenta> todasLasCuentas = cuentaRepository.obtenerCatalogoActivo();
+        Map<Long, BigDecimal> saldos = saldosCierreService.obtenerSaldosAl(fechaCorte, todasLasCuentas);
 
-        // Clasificar cuentas por tipo
-        List<LineaBalanceDTO> activosCorrientes = obtenerCuentasPorTipo(todasLasCuentas, Cuenta.TipoCuenta.ACTIVO);
-        List<LineaBalanceDTO> pasivos = obtenerCuentasPorTipo(todasLasCuentas, Cuenta.TipoCuenta.PASIVO);
-        List<LineaBalanceDTO> patrimonio = obtenerCuentasPorTipo(todasLasCuentas, Cuenta.TipoCuenta.PATRIMONIO);
+        // Clasificar cuentas por tipo; corrientes y no corrientes según las reglas de agrupación
+        ArbolCuentas arbol = arbolCuentasService.obtenerArbol();
+        List<LineaBalanceDTO> activos = obtenerLineasPorTipo(todasLasCuentas, saldos, Cuenta.TipoCuenta.ACTIVO);
+        List<LineaBalanceDTO> pasivos = obtenerLineasPorTipo(todasLasCuentas, saldos, Cuenta.TipoCuenta.PASIVO);
+        List<LineaBalanceDTO> patrimonio = obtenerLineasPorTipo(todasLasCuentas, saldos, Cuenta.TipoCuenta.PATRIMONIO);
+
+        Map<Boolean, List<LineaBalanceDTO>> activosNoCorrientes = activos.stream()
+            .collect(Collectors.partitioningBy(linea ->
+                arbol.perteneceA(linea.getCodigo(), AgrupacionCuentasProperties.ACTIVO_NO_CORRIENTE)));
+        Map<Boolean, List<LineaBalanceDTO>> pasivosNoCorrientes = pasivos.stream()
+            .collect(Collectors.partitioningBy(linea ->
+                arbol.perteneceA(linea.getCodigo(), AgrupacionCuentasProperties.PASIVO_NO_CORRIENTE)));
 
         // Calcular totales
-        BigDecimal totalActivos = calcularTotal(activosCorrientes);
+        BigDecimal totalActivos = calcularTotal(activos);
         BigDecimal totalPasivos = calcularTotal(pasivos);
         BigDecimal totalPatrimonio = calcularTotal(patrimonio);
 
@@ -59,14 +115,14 @@ public class EstadosFinancierosService {
         balance.setEmpresa("Almacén El Planeador - Propietario: Horacio Porras");
         balance.setPeriodo("Al " + fechaCorte.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
 
-        // Activos (por simplicidad, todos como corrientes para la MIPYME)
-        balance.setActivosCorrientes(activosCorrientes);
-        balance.setActivosNoCorrientes(List.of()); // Vacío por ahora
+        // Activos
+        balance.setActivosCorrientes(activosNoCorrientes.get(false));
+        balance.setActivosNoCorrientes(activosNoCorrientes.get(true));
         balance.setTotalActivos(totalActivos);
 
-        // Pasivos (todos como corrientes)
-        balance.setPasivosCorrientes(pasivos);
-        balance.setPasivosNoCorrientes(List.of()); // Vacío por ahora
+        // Pasivos
+        balance.setPasivosCorrientes(pasivosNoCorrientes.get(false));
+        balance.setPasivosNoCorrientes(pasivosNoCorrientes.get(true));
         balance.setTotalPasivos(totalPasivos);
 
         // Patrimonio
@@ -78,6 +134,11 @@ public class EstadosFinancierosService {
         balance.setDiferencia(totalActivos.subtract(sumaPatrimonioMasPasivos));
         balance.setBalanceado(balance.getDiferencia().abs().compareTo(new BigDecimal("0.01")) < 0);
 
+        List<LineaBalanceDTO> todas = new ArrayList<>(activos);
+        todas.addAll(pasivos);
+        todas.addAll(patrimonio);
+        balance.setSubtotales(arbol.subtotalizar(todas));
+
         log.info("Balance General generado - Activos: {}, Pasivos + Patrimonio: {}, Balanceado: {}", 
                 totalActivos, sumaPatrimonioMasPasivos, balance.isBalanceado());
 
@@ -85,25 +146,37 @@ public class EstadosFinancierosService {
     }
 
     /**
-     * Generar Estado de Resultados para un período
+     * Calcular el Estado de Resultados (sin pasar por el cache)
      */
-    public EstadoResultadosDTO generarEstadoResultados(LocalDate fechaInicio, LocalDate fechaFin) {
+    private EstadoResultadosDTO construirEstadoResultados(LocalDate fechaInicio, LocalDate fechaFin) {
         log.info("Generando Estado de Resultados del {} al {}", fechaInicio, fechaFin);
 
-        // Obtener cuentas de resultados (ingresos y gastos)
-        List<Cuenta> todasLasCuentas = cuentaRepository.obtenerCuentasConSaldo();
-
-        List<LineaBalanceDTO> ingresos = obtenerCuentasPorTipo(todasLasCuentas, Cuenta.TipoCuenta.INGRESO);
-        List<LineaBalanceDTO> gastos = obtenerCuentasPorTipo(todasLasCuentas, Cuenta.TipoCuenta.GASTO);
+        // Netos por cuenta de ingresos y gastos del período
+        List<NetoCuentaResultados> netos = movimientoRepository.obtenerNetosResultados(fechaInicio, fechaFin);
+        ArbolCuentas arbol = arbolCuentasService.obtenerArbol();
 
-        // Separar Costo de Ventas de otros gastos (para MIPYME comercial)
-        List<LineaBalanceDTO> costos = gastos.stream()
-            .filter(linea -> linea.getCodigo().startsWith("5101")) // Costo de Ventas
-            .collect(Collectors.toList());
-        
-        List<LineaBalanceDTO> gastosOperativos = gastos.stream()
-            .filter(linea -> !linea.getCodigo().startsWith("5101")) // Otros gastos
-            .collect(Collectors.toList());
+        List<LineaBalanceDTO> ingresos = new ArrayList<>();
+        List<LineaBalanceDTO> costos = new ArrayList<>();
+        List<LineaBalanceDTO> gastosOperativos = new ArrayList<>();
+        for (NetoCuentaResultados neto : netos) {
+            if (neto.getNeto().signum() == 0) {
+                continue;
+            }
+            LineaBalanceDTO linea = new LineaBalanceDTO(
+                neto.getCodigo(),
+                neto.getNombre(),
+                neto.getTipo().getDescripcion(),
+                neto.getNaturaleza().name(),
+                neto.getNeto().abs() // Usar valor absoluto para presentación
+            );
+            if (neto.getTipo() == Cuenta.TipoCuenta.INGRESO) {
+                ingresos.add(linea);
+            } else if (arbol.perteneceA(neto.getCodigo(), AgrupacionCuentasProperties.COSTO_VENTAS)) {
+                costos.add(linea);          // Costo de Ventas (para MIPYME comercial)
+            } else {
+                gastosOperativos.add(linea);
+            }
+        }
 
         // Calcular totales
         BigDecimal totalIngresos = calcularTotal(ingresos);
@@ -136,6 +209,11 @@ public class EstadosFinancierosService {
         estado.setUtilidadNeta(utilidadNeta);
         estado.setTipoResultado(utilidadNeta.compareTo(BigDecimal.ZERO) >= 0 ? "UTILIDAD" : "PÉRDIDA");
 
+        List<LineaBalanceDTO> todas = new ArrayList<>(ingresos);
+        todas.addAll(costos);
+        todas.addAll(gastosOperativos);
+        estado.setSubtotales(arbol.subtotalizar(todas));
+
         log.info("Estado de Resultados generado - Ingresos: {}, Gastos: {}, Resultado: {} {}", 
                 totalIngresos, totalGastos.add(totalCostos), estado.getTipoResultado(), utilidadNeta.abs());
 
@@ -143,45 +221,38 @@ public class EstadosFinancierosService {
     }
 
     /**
-     * Estado de Resultados del año actual
-     */
-    public EstadoResultadosDTO generarEstadoResultadosAnual() {
-        LocalDate inicioAno = LocalDate.now().withDayOfYear(1);
-        LocalDate finAno = LocalDate.now();
-        return generarEstadoResultados(inicioAno, finAno);
-    }
-
-    // ========== MÉTODOS AUXILIARES ==========
-
-    /**
-     * Obtener cuentas filtradas por tipo y convertirlas a LineaBalanceDTO
+     * Obtener las cuentas de un tipo con saldo distinto de cero a la fecha, como LineaBalanceDTO
      */
-    private List<LineaBalanceDTO> obtenerCuentasPorTipo(List<Cuenta> cuentas, Cuenta.TipoCuenta tipo) {
+    private List<LineaBalanceDTO> obtenerLineasPorTipo(List<Cuenta> cuentas, Map<Long, BigDecimal> saldos,
+                                                       Cuenta.TipoCuenta tipo) {
         return cuentas.stream()
-            .filter(cuenta -> cuenta.getTipo() == tipo)
-            .map(this::convertirCuentaALinea)
+            .filter(cuenta -> cuenta.getTipo() == tipo && saldos.get(cuenta.getId()).signum() != 0)
+            .map(cuenta -> convertirCuentaALinea(cuenta, saldos.get(cuenta.getId())))
             .collect(Collectors.toList());
     }
 
     /**
-     * Convertir Cuenta a LineaBalanceDTO
+     * Convertir Cuenta a LineaBalanceDTO con el saldo indicado
      */
-    private LineaBalanceDTO convertirCuentaALinea(Cuenta cuenta) {
+    private LineaBalanceDTO convertirCuentaALinea(Cuenta cuenta, BigDecimal saldo) {
         return new LineaBalanceDTO(
             cuenta.getCodigo(),
             cuenta.getNombre(),
             cuenta.getTipo().getDescripcion(),
             cuenta.getNaturaleza().name(),
-            cuenta.getSaldo().abs() // Usar valor absoluto para presentación
+            saldo.abs() // Usar valor absoluto para presentación
         );
     }
 
     /**
-     * Calcular total de una lista de líneas
+     * Calcular total de una lista de líneas (suma en centavos)
      */
     private BigDecimal calcularTotal(List<LineaBalanceDTO> lineas) {
-        return lineas.stream()
-            .map(linea -> linea.getSaldoDeudor().add(linea.getSaldoAcreedor()))
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long total = 0;
+        for (LineaBalanceDTO linea : lineas) {
+            total = Centavos.sumar(total, linea.getSaldoDeudor());
+            total = Centavos.sumar(total, linea.getSaldoAcreedor());
+        }
+        return Centavos.aMonto(total);
     }
 }
\ No newline at end of file
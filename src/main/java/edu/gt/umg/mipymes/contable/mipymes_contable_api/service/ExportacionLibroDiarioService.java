@@ -0,0 +1,227 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LineaLibroDiarioDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.PeriodoInvalidoException;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.AsientoContableRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service para exportar el Libro Diario completo
+ *
+ * Lee el libro como un flujo de filas planas (cursor de BD con fetch size) y las escribe
+ * directamente en la respuesta, una a la vez. La memoria usada no depende del tamaño del libro.
+ */
+@Service
+@Timed("mipymes.servicio")
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ExportacionLibroDiarioService {
+
+    private static final String ENCABEZADO_CSV =
+        "numero_asiento,numero_correlativo,fecha,descripcion,referencia,tipo,estado," +
+        "orden,cuenta_codigo,cuenta_nombre,tipo_movimiento,monto";
+
+    private final AsientoContableRepository asientoRepository;
+    private final ObjectMapper objectMapper;
+    private final RespuestaJsonEnStreaming respuestaEnStreaming;
+
+    /**
+     * Formatos de exportación disponibles
+     */
+    public enum FormatoExportacion {
+        NDJSON("application/x-ndjson", "ndjson"),   // Un asiento (con sus movimientos) por línea
+        JSON("application/json", "json"),           // Respuesta normal de la API: {"success", "message", "data": [asientos]}
+        CSV("text/csv", "csv");                      // Un movimiento por línea
+
+        private final String tipoContenido;
+        private final String extension;
+
+        FormatoExportacion(String tipoContenido, String extension) {
+            this.tipoContenido = tipoContenido;
+            this.extension = extension;
+        }
+
+        public String getTipoContenido() { return tipoContenido; }
+        public String getExtension() { return extension; }
+    }
+
+    /**
+     * Validar el período antes de empezar a escribir la respuesta
+     * Ambas fechas son opcionales, pero deben venir juntas
+     */
+    public void validarPeriodo(LocalDate fechaInicio, LocalDate fechaFin) {
+        if ((fechaInicio == null) != (fechaFin == null)) {
+            throw new PeriodoInvalidoException("Debe indicar fechaInicio y fechaFin, o ninguna de las dos");
+        }
+        if (fechaInicio != null && fechaInicio.isAfter(fechaFin)) {
+            throw new PeriodoInvalidoException("La fecha de inicio no puede ser posterior a la fecha de fin");
+        }
+    }
+
+    /**
+     * Escribir el libro diario (o un período) en el formato indicado
+     */
+    public void exportarLibroDiario(OutputStream salida, FormatoExportacion formato,
+                                    LocalDate fechaInicio, LocalDate fechaFin) throws IOException {
+        log.info("Exportando libro diario en formato {} (período: {} - {})", formato, fechaInicio, fechaFin);
+
+        try (Stream<LineaLibroDiarioDTO> lineas = fechaInicio != null
+                ? asientoRepository.recorrerLibroDiarioPorPeriodo(fechaInicio, fechaFin)
+                : asientoRepository.recorrerLibroDiario()) {
+
+            long asientos = switch (formato) {
+                case NDJSON -> escribirNdjson(lineas.iterator(), salida);
+                case JSON -> respuestaEnStreaming.escribir(salida, "Libro diario exportado exitosamente",
+                    json -> escribirAsientosJson(lineas.iterator(), json, false));
+                case CSV -> escribirCsv(lineas.iterator(), salida);
+            };
+
+            log.info("Exportación finalizada: {} asientos", asientos);
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Un objeto JSON por línea
+     */
+    private long escribirNdjson(Iterator<LineaLibroDiarioDTO> lineas, OutputStream salida) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(salida, JsonEncoding.UTF8)) {
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            json.setRootValueSeparator(null);
+            return escribirAsientosJson(lineas, json, true);
+        }
+    }
+
+    /**
+     * Un objeto JSON por asiento; las filas llegan ordenadas por asiento,
+     * así que solo se mantiene en curso el asiento actual
+     */
+    private long escribirAsientosJson(Iterator<LineaLibroDiarioDTO> lineas, JsonGenerator json,
+                                      boolean unoPorLinea) throws IOException {
+        long asientos = 0;
+        Long asientoActual = null;
+
+        while (lineas.hasNext()) {
+            LineaLibroDiarioDTO linea = lineas.next();
+
+            if (!linea.getAsientoId().equals(asientoActual)) {
+                if (asientoActual != null) {
+                    cerrarAsientoJson(json, unoPorLinea);
+                }
+                abrirAsientoJson(json, linea);
+                asientoActual = linea.getAsientoId();
+                asientos++;
+            }
+
+            if (linea.getOrden() != null) {
+                json.writeStartObject();
+                json.writeNumberField("orden", linea.getOrden());
+                json.writeStringField("cuentaCodigo", linea.getCuentaCodigo());
+                json.writeStringField("cuentaNombre", linea.getCuentaNombre());
+                json.writeStringField("tipoMovimiento", linea.getTipoMovimiento().name());
+                json.writeNumberField("monto", linea.getMonto());
+                json.writeEndObject();
+            }
+        }
+
+        if (asientoActual != null) {
+            cerrarAsientoJson(json, unoPorLinea);
+        }
+        return asientos;
+    }
+
+    private void abrirAsientoJson(JsonGenerator json, LineaLibroDiarioDTO linea) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", linea.getAsientoId());
+        json.writeNumberField("numeroAsiento", linea.getNumeroAsiento());
+        if (linea.getNumeroCorrelativo() != null) {
+            json.writeNumberField("numeroCorrelativo", linea.getNumeroCorrelativo());
+        }
+        json.writeStringField("fecha", linea.getFecha().toString());
+        json.writeStringField("descripcion", linea.getDescripcion());
+        json.writeStringField("referencia", linea.getReferencia());
+        json.writeStringField("tipo", linea.getTipo().name());
+        json.writeStringField("estado", linea.getEstado().name());
+        json.writeNumberField("totalDebitos", linea.getTotalDebitos());
+        json.writeNumberField("totalCreditos", linea.getTotalCreditos());
+        json.writeArrayFieldStart("movimientos");
+    }
+
+    private void cerrarAsientoJson(JsonGenerator json, boolean unoPorLinea) throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+        if (unoPorLinea) {
+            json.writeRaw('\n');
+        }
+    }
+
+    /**
+     * Una fila CSV por movimiento, repitiendo los datos del asiento
+     */
+    private long escribirCsv(Iterator<LineaLibroDiarioDTO> lineas, OutputStream salida) throws IOException {
+        long asientos = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        writer.write(ENCABEZADO_CSV);
+        writer.write('\n');
+
+        Long asientoActual = null;
+        while (lineas.hasNext()) {
+            LineaLibroDiarioDTO linea = lineas.next();
+            if (!linea.getAsientoId().equals(asientoActual)) {
+                asientoActual = linea.getAsientoId();
+                asientos++;
+            }
+
+            writer.write(String.join(",",
+                valorCsv(linea.getNumeroAsiento()),
+                valorCsv(linea.getNumeroCorrelativo()),
+                valorCsv(linea.getFecha()),
+                valorCsv(linea.getDescripcion()),
+                valorCsv(linea.getReferencia()),
+                valorCsv(linea.getTipo()),
+                valorCsv(linea.getEstado()),
+                valorCsv(linea.getOrden()),
+                valorCsv(linea.getCuentaCodigo()),
+                valorCsv(linea.getCuentaNombre()),
+                valorCsv(linea.getTipoMovimiento()),
+                valorCsv(linea.getMonto() != null ? linea.getMonto().toPlainString() : null)));
+            writer.write('\n');
+        }
+
+        writer.flush();
+        return asientos;
+    }
+
+    /**
+     * Escapar un valor para CSV (RFC 4180)
+     */
+    private String valorCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor instanceof Enum<?> e ? e.name() : valor.toString();
+        if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            return '"' + texto.replace("\"", "\"\"") + '"';
+        }
+        return texto;
+    }
+}
@@ -2,18 +2,30 @@ package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
 
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.*;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.ModuloModificadoEvent;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.ModuloModificadoEvent.Modulo;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.*;
 import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CacheReportes.ClaveReporte;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CacheReportes.TipoReporte;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.util.OrdenListado;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * Service para el manejo de Inventario
@@ -22,23 +34,38 @@ import java.util.stream.Collectors;
  * - Reportes de inventario
  */
 @Service
+@Timed("mipymes.servicio")
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Slf4j
 public class InventarioService {
 
     private final ProductoRepository productoRepository;
+    private final IdentificadorNaturalRepository identificadorNaturalRepository;
     private final MovimientoInventarioRepository movimientoInventarioRepository;
+    private final CacheReportes cacheReportes;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricasContables metricas;
+    private final RespuestaJsonEnStreaming respuestaEnStreaming;
+
+    private static final OrdenListado ORDEN_PRODUCTOS = OrdenListado.de(
+        "codigo", "nombre", "categoria", "existencia", "precioCompra", "precioVenta", "fechaCreacion");
+    private static final Sort ORDEN_PRODUCTOS_POR_DEFECTO = Sort.by("nombre");
+    private static final OrdenListado ORDEN_MOVIMIENTOS = OrdenListado.de("fechaMovimiento", "tipoMovimiento", "cantidad");
+    private static final Sort ORDEN_MOVIMIENTOS_POR_DEFECTO = Sort.by(Sort.Direction.DESC, "fechaMovimiento");
 
     // ========== GESTIÓN DE PRODUCTOS ==========
 
     /**
-     * Obtener todos los productos activos
+     * Obtener una página de los productos activos
+     * Filtros opcionales: nombre (búsqueda parcial), categoría y solo los que están en stock mínimo
      */
-    public List<ProductoDTO> obtenerTodosLosProductos() {
-        log.info("Obteniendo todos los productos activos");
-        List<Producto> productos = productoRepository.findByActivoTrueOrderByNombre();
-        return convertirProductosADTO(productos);
+    public ResultadoPaginaDTO<ProductoDTO> obtenerTodosLosProductos(String nombre, String categoria,
+                                                                   boolean soloStockMinimo, Pageable pageable) {
+        log.info("Obteniendo productos activos (nombre '{}', categoría {}, stock mínimo {}, página {})",
+            nombre, categoria, soloStockMinimo, pageable.getPageNumber());
+        return ResultadoPaginaDTO.desdePagina(productoRepository.listarActivos(Objects.requireNonNullElse(nombre, ""),
+            categoria, soloStockMinimo, ORDEN_PRODUCTOS.aplicar(pageable, ORDEN_PRODUCTOS_POR_DEFECTO)));
     }
 
     /**
@@ -56,7 +83,7 @@ public class InventarioService {
      */
     public ProductoDTO obtenerProductoPorCodigo(String codigo) {
         log.info("Buscando producto con código: {}", codigo);
-        Producto producto = productoRepository.findByCodigo(codigo)
+        Producto producto = identificadorNaturalRepository.buscar(Producto.class, codigo)
             .orElseThrow(() -> new CuentaNotFoundException("Producto no encontrado con código: " + codigo));
         return convertirProductoADTO(producto);
     }
@@ -78,6 +105,7 @@ public class InventarioService {
         Producto productoGuardado = productoRepository.save(producto);
 
         log.info("Producto creado exitosamente con ID: {}", productoGuardado.getId());
+        eventPublisher.publishEvent(new ModuloModificadoEvent(Modulo.INVENTARIO));
         return convertirProductoADTO(productoGuardado);
     }
 
@@ -102,25 +130,26 @@ public class InventarioService {
         Producto productoActualizado = productoRepository.save(productoExistente);
 
         log.info("Producto actualizado exitosamente");
+        eventPublisher.publishEvent(new ModuloModificadoEvent(Modulo.INVENTARIO));
         return convertirProductoADTO(productoActualizado);
     }
 
     /**
      * Buscar productos por nombre
      */
-    public List<ProductoDTO> buscarProductosPorNombre(String nombre) {
+    public ResultadoPaginaDTO<ProductoDTO> buscarProductosPorNombre(String nombre, Pageable pageable) {
         log.info("Buscando productos que contengan: {}", nombre);
-        List<Producto> productos = productoRepository.findByNombreContainingIgnoreCaseAndActivoTrue(nombre);
-        return convertirProductosADTO(productos);
+        return ResultadoPaginaDTO.desdePagina(productoRepository.listarActivos(
+            nombre, null, false, ORDEN_PRODUCTOS.aplicar(pageable, ORDEN_PRODUCTOS_POR_DEFECTO)));
     }
 
     /**
      * Obtener productos en stock mínimo
      */
-    public List<ProductoDTO> obtenerProductosEnStockMinimo() {
+    public ResultadoPaginaDTO<ProductoDTO> obtenerProductosEnStockMinimo(Pageable pageable) {
         log.info("Obteniendo productos en stock mínimo");
-        List<Producto> productos = productoRepository.obtenerProductosEnStockMinimo();
-        return convertirProductosADTO(productos);
+        return ResultadoPaginaDTO.desdePagina(productoRepository.listarActivos(
+            "", null, true, ORDEN_PRODUCTOS.aplicar(pageable, ORDEN_PRODUCTOS_POR_DEFECTO)));
     }
 
     // ========== MOVIMIENTOS DE INVENTARIO ==========
@@ -132,8 +161,8 @@ public class InventarioService {
     public MovimientoInventarioDTO registrarMovimiento(CrearMovimientoInventarioDTO movimientoDTO) {
         log.info("Registrando movimiento de inventario para producto ID: {}", movimientoDTO.getProductoId());
 
-        // Obtener producto
-        Producto producto = productoRepository.findById(movimientoDTO.getProductoId())
+        // Obtener producto con la fila bloqueada: la existencia se calcula sobre la de la BD
+        Producto producto = productoRepository.buscarParaActualizar(movimientoDTO.getProductoId())
             .orElseThrow(() -> new CuentaNotFoundException("Producto no encontrado con ID: " + movimientoDTO.getProductoId()));
 
         // Validar existencia para salidas
@@ -169,25 +198,58 @@ public class InventarioService {
         productoRepository.save(producto);
 
         log.info("Movimiento registrado exitosamente. Nueva existencia: {}", nuevaExistencia);
+        eventPublisher.publishEvent(new ModuloModificadoEvent(Modulo.INVENTARIO));
+        metricas.movimientoInventario(movimientoGuardado.getTipoMovimiento());
         return convertirMovimientoADTO(movimientoGuardado);
     }
 
     /**
-     * Obtener movimientos por producto
+     * Obtener una página de los movimientos de un producto (kardex)
      */
-    public List<MovimientoInventarioDTO> obtenerMovimientosPorProducto(Long productoId) {
+    public ResultadoPaginaDTO<MovimientoInventarioDTO> obtenerMovimientosPorProducto(Long productoId, Pageable pageable) {
         log.info("Obteniendo movimientos para producto ID: {}", productoId);
-        List<MovimientoInventario> movimientos = movimientoInventarioRepository.findByProductoIdOrderByFechaMovimientoDesc(productoId);
-        return convertirMovimientosADTO(movimientos);
+        return ResultadoPaginaDTO.desdePagina(movimientoInventarioRepository.listarPorProducto(
+            productoId, ORDEN_MOVIMIENTOS.aplicar(pageable, ORDEN_MOVIMIENTOS_POR_DEFECTO)));
+    }
+
+    /**
+     * Obtener una página de los movimientos de todos los productos
+     */
+    public ResultadoPaginaDTO<MovimientoInventarioDTO> obtenerMovimientos(Pageable pageable) {
+        log.info("Obteniendo movimientos de inventario (página {})", pageable.getPageNumber());
+        return ResultadoPaginaDTO.desdePagina(movimientoInventarioRepository.listarTodos(
+            ORDEN_MOVIMIENTOS.aplicar(pageable, ORDEN_MOVIMIENTOS_POR_DEFECTO)));
     }
 
     /**
-     * Obtener últimos movimientos
+     * Escribir el kardex completo de un producto, en orden cronológico, sin cargarlo en memoria
+     * La transacción (y la conexión) dura lo que tarde el cliente en recibirlo
+     */
+    public void exportarKardex(Long productoId, OutputStream salida) throws IOException {
+        log.info("Exportando kardex del producto ID: {}", productoId);
+        try (Stream<MovimientoInventarioDTO> movimientos = movimientoInventarioRepository.recorrerPorProducto(productoId)) {
+            long escritos = respuestaEnStreaming.escribir(salida, "Kardex del producto exportado exitosamente", movimientos);
+            log.info("Exportación finalizada: {} movimientos de inventario", escritos);
+        }
+    }
+
+    /**
+     * Escribir los movimientos de todos los productos, en orden cronológico, sin cargarlos en memoria
+     */
+    public void exportarMovimientos(OutputStream salida) throws IOException {
+        log.info("Exportando movimientos de inventario");
+        try (Stream<MovimientoInventarioDTO> movimientos = movimientoInventarioRepository.recorrerTodos()) {
+            long escritos = respuestaEnStreaming.escribir(salida, "Movimientos exportados exitosamente", movimientos);
+            log.info("Exportación finalizada: {} movimientos de inventario", escritos);
+        }
+    }
+
+    /**
+     * Obtener últimos movimientos (dashboard)
      */
     public List<MovimientoInventarioDTO> obtenerUltimosMovimientos() {
         log.info("Obteniendo últimos movimientos de inventario");
-        List<MovimientoInventario> movimientos = movimientoInventarioRepository.obtenerUltimosMovimientos();
-        return convertirMovimientosADTO(movimientos);
+        return movimientoInventarioRepository.listarUltimos();
     }
 
     // ========== REPORTES ==========
@@ -196,32 +258,30 @@ public class InventarioService {
      * Generar reporte de inventario
      */
     public ReporteInventarioDTO generarReporteInventario() {
+        return cacheReportes.obtener(ClaveReporte.deHoy(TipoReporte.INVENTARIO), this::construirReporteInventario);
+    }
+
+    private ReporteInventarioDTO construirReporteInventario() {
         log.info("Generando reporte de inventario");
 
-        List<Producto> todosLosProductos = productoRepository.findByActivoTrueOrderByNombre();
-        List<Producto> productosStockMinimo = productoRepository.obtenerProductosEnStockMinimo();
+        List<ProductoDTO> todosLosProductos = productoRepository.listarActivos();
+        List<ProductoDTO> productosStockMinimo = productoRepository.listarEnStockMinimo();
         BigDecimal valorTotal = productoRepository.obtenerValorTotalInventario();
 
         ReporteInventarioDTO reporte = new ReporteInventarioDTO();
         reporte.setFechaCorte(LocalDate.now());
         reporte.setEmpresa("Almacén El Planeador - Horacio Porras");
-        reporte.setProductos(convertirProductosADTO(todosLosProductos));
+        reporte.setProductos(todosLosProductos);
         reporte.setTotalProductos(todosLosProductos.size());
         reporte.setProductosEnStockMinimo(productosStockMinimo.size());
         reporte.setValorTotalInventario(valorTotal != null ? valorTotal : BigDecimal.ZERO);
-        reporte.setProductosStockMinimo(convertirProductosADTO(productosStockMinimo));
+        reporte.setProductosStockMinimo(productosStockMinimo);
 
         return reporte;
     }
 
     // ========== MÉTODOS AUXILIARES ==========
 
-    private List<ProductoDTO> convertirProductosADTO(List<Producto> productos) {
-        return productos.stream()
-            .map(this::convertirProductoADTO)
-            .collect(Collectors.toList());
-    }
-
     private ProductoDTO convertirProductoADTO(Producto producto) {
         ProductoDTO dto = new ProductoDTO();
         dto.setId(producto.getId());
@@ -272,12 +332,6 @@ public class InventarioService {
         producto.setProveedor(dto.getProveedor());
     }
 
-    private List<MovimientoInventarioDTO> convertirMovimientosADTO(List<MovimientoInventario> movimientos) {
-        return movimientos.stream()
-            .map(this::convertirMovimientoADTO)
-            .collect(Collectors.toList());
-    }
-
     private MovimientoInventarioDTO convertirMovimientoADTO(MovimientoInventario movimiento) {
         MovimientoInventarioDTO dto = new MovimientoInventarioDTO();
         dto.setId(movimiento.getId());
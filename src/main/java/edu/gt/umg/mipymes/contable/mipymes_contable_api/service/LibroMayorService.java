@@ -0,0 +1,156 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LibroMayorDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LineaLibroMayorDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.PaginaDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.CuentaNotFoundException;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.CursorInvalidoException;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.PeriodoInvalidoException;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.LibroMayorJdbcRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.LibroMayorJdbcRepository.FilaMayor;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.LibroMayorJdbcRepository.Posicion;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.LibroMayorJdbcRepository.ResumenMayor;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Service para el Libro Mayor (movimientos de una cuenta con saldo acumulado)
+ *
+ * El saldo inicial del período se deduce del saldo actual de la cuenta menos lo contabilizado
+ * desde la fecha de inicio. El saldo acumulado de cada línea se calcula en la BD.
+ *
+ * La paginación es por keyset: el cursor guarda solo la posición del último movimiento entregado.
+ * El saldo con que continúa cada página no viaja en el cursor (el cliente podría alterarlo): se
+ * calcula en la misma sentencia del resumen, sumando los movimientos del período hasta esa posición.
+ */
+@Service
+@Timed("mipymes.servicio")
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Slf4j
+public class LibroMayorService {
+
+    public static final int TAMANO_PAGINA_MAXIMO = 500;
+
+    private final CuentaRepository cuentaRepository;
+    private final LibroMayorJdbcRepository libroMayorRepository;
+
+    /**
+     * Libro mayor con los metadatos de la página devuelta
+     */
+    public record PaginaLibroMayor(LibroMayorDTO libroMayor, PaginaDTO pagina) {}
+
+    /**
+     * Obtener el libro mayor de una cuenta para un período
+     */
+    public PaginaLibroMayor obtenerLibroMayor(Long cuentaId, LocalDate fechaInicio, LocalDate fechaFin,
+                                              String cursor, int tamano) {
+        log.info("Generando libro mayor de la cuenta {} del {} al {}", cuentaId, fechaInicio, fechaFin);
+
+        if (fechaInicio.isAfter(fechaFin)) {
+            throw new PeriodoInvalidoException("La fecha de inicio no puede ser posterior a la fecha de fin");
+        }
+        int tamanoPagina = Math.max(1, Math.min(tamano, TAMANO_PAGINA_MAXIMO));
+
+        Cuenta cuenta = cuentaRepository.findById(cuentaId)
+            .orElseThrow(() -> new CuentaNotFoundException("Cuenta no encontrada con ID: " + cuentaId));
+        BigDecimal signo = aumentaConDebito(cuenta) ? BigDecimal.ONE : BigDecimal.ONE.negate();
+
+        // Punto de partida de la página: inicio del período o el último movimiento entregado
+        Posicion desde = cursor != null && !cursor.isBlank()
+            ? decodificarCursor(cursor)
+            : Posicion.antesDe(fechaInicio);
+
+        ResumenMayor resumen = libroMayorRepository.obtenerResumen(cuentaId, fechaInicio, fechaFin, desde)
+            .orElseThrow(() -> new CuentaNotFoundException("Cuenta no encontrada con ID: " + cuentaId));
+        BigDecimal saldoInicial = resumen.saldoActual().subtract(resumen.netoDesdeInicio().multiply(signo));
+        BigDecimal saldoFinal = saldoInicial.add(resumen.debitos().subtract(resumen.creditos()).multiply(signo));
+        BigDecimal saldoBase = saldoInicial.add(resumen.netoHastaPosicion().multiply(signo));
+
+        List<FilaMayor> filas = libroMayorRepository.obtenerMovimientos(
+            cuentaId, fechaInicio, fechaFin, desde, tamanoPagina + 1);
+        boolean hayMas = filas.size() > tamanoPagina;
+        if (hayMas) {
+            filas = filas.subList(0, tamanoPagina);
+        }
+
+        List<LineaLibroMayorDTO> lineas = new ArrayList<>(filas.size());
+        for (FilaMayor fila : filas) {
+            lineas.add(new LineaLibroMayorDTO(
+                fila.movimientoId(),
+                fila.asientoId(),
+                fila.numeroAsiento(),
+                fila.numeroCorrelativo(),
+                fila.fecha(),
+                fila.descripcion(),
+                fila.debito() ? fila.monto() : BigDecimal.ZERO,
+                fila.debito() ? BigDecimal.ZERO : fila.monto(),
+                saldoBase.add(fila.netoAcumulado().multiply(signo))));
+        }
+
+        String siguiente = null;
+        if (hayMas) {
+            FilaMayor ultima = filas.get(filas.size() - 1);
+            siguiente = codificarCursor(new Posicion(ultima.fecha(), ultima.numeroAsiento(), ultima.movimientoId()));
+        }
+
+        LibroMayorDTO libroMayor = new LibroMayorDTO(
+            cuenta.getId(),
+            cuenta.getCodigo(),
+            cuenta.getNombre(),
+            cuenta.getTipo(),
+            fechaInicio,
+            fechaFin,
+            saldoInicial,
+            resumen.debitos(),
+            resumen.creditos(),
+            saldoFinal,
+            lineas
+        );
+
+        return new PaginaLibroMayor(libroMayor, new PaginaDTO(tamanoPagina, lineas.size(), hayMas, siguiente));
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Activos y Gastos aumentan con débitos; Pasivos, Patrimonio e Ingresos con créditos
+     */
+    private boolean aumentaConDebito(Cuenta cuenta) {
+        return cuenta.getTipo() == Cuenta.TipoCuenta.ACTIVO ||
+               cuenta.getTipo() == Cuenta.TipoCuenta.GASTO;
+    }
+
+    /**
+     * Cursor con la posición del último movimiento de una página
+     */
+    private String codificarCursor(Posicion posicion) {
+        String texto = posicion.fecha() + "|" + posicion.numeroAsiento() + "|" + posicion.movimientoId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Posicion decodificarCursor(String cursor) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = texto.split("\\|");
+            if (partes.length != 3) {
+                throw new IllegalArgumentException("Cantidad de partes inválida");
+            }
+            return new Posicion(LocalDate.parse(partes[0]), Integer.parseInt(partes[1]), Long.parseLong(partes[2]));
+        } catch (RuntimeException e) {
+            throw new CursorInvalidoException("El cursor de paginación no es válido");
+        }
+    }
+}
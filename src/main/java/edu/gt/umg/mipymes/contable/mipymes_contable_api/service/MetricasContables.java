@@ -0,0 +1,88 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoBanco;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoInventario;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Métricas de negocio del sistema contable
+ *
+ * Contadores de asientos creados, contabilizados y rechazados por no estar balanceados,
+ * de movimientos de inventario y bancarios, y la latencia de contabilización.
+ * Se publican en /actuator/prometheus junto con las métricas de los services (mipymes.servicio),
+ * del pool de conexiones (hikaricp.*) y de Hibernate (hibernate.*).
+ */
+@Component
+@RequiredArgsConstructor
+public class MetricasContables {
+
+    /**
+     * Origen de un asiento o de una contabilización
+     */
+    public static final String INDIVIDUAL = "individual";
+    public static final String LOTE = "lote";
+
+    private final MeterRegistry registry;
+
+    public void asientosCreados(String origen, int cantidad) {
+        Counter.builder("mipymes.asientos.creados")
+            .description("Asientos contables creados en borrador")
+            .tag("origen", origen)
+            .register(registry)
+            .increment(cantidad);
+    }
+
+    public void asientosContabilizados(String origen, int cantidad) {
+        Counter.builder("mipymes.asientos.contabilizados")
+            .description("Asientos contables contabilizados")
+            .tag("origen", origen)
+            .register(registry)
+            .increment(cantidad);
+    }
+
+    /**
+     * Asiento rechazado por no cumplir la partida doble
+     * operacion: crear, contabilizar, contabilizar_lote o carga_lote
+     */
+    public void asientoNoBalanceado(String operacion) {
+        Counter.builder("mipymes.asientos.rechazados.no.balanceados")
+            .description("Asientos rechazados por no estar balanceados")
+            .tag("operacion", operacion)
+            .register(registry)
+            .increment();
+    }
+
+    public void movimientoInventario(MovimientoInventario.TipoMovimiento tipo) {
+        Counter.builder("mipymes.inventario.movimientos")
+            .description("Movimientos de inventario registrados")
+            .tag("tipo", tipo.name())
+            .register(registry)
+            .increment();
+    }
+
+    public void movimientoBanco(MovimientoBanco.TipoMovimientoBanco tipo) {
+        Counter.builder("mipymes.bancos.movimientos")
+            .description("Movimientos bancarios registrados")
+            .tag("tipo", tipo.name())
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * Iniciar la medición de una contabilización; se cierra con registrarContabilizacion
+     */
+    public Timer.Sample iniciarContabilizacion() {
+        return Timer.start(registry);
+    }
+
+    public void registrarContabilizacion(Timer.Sample muestra, String origen) {
+        muestra.stop(Timer.builder("mipymes.asientos.contabilizacion")
+            .description("Latencia de contabilización (un asiento o un lote completo)")
+            .tag("origen", origen)
+            .register(registry));
+    }
+}
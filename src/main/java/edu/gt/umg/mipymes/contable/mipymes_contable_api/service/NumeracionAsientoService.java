@@ -0,0 +1,242 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.EstadisticasNumeracionDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.ContadorAsiento;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.AsientoContableRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.ContadorAsientoRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service para la numeración de asientos contables
+ *
+ * Reemplaza el cálculo MAX(numeroAsiento) + 1 por contadores en la tabla contadores_asiento:
+ * - Número de asiento: se reservan bloques (hi-lo) en una transacción propia y se entregan
+ *   desde memoria. Cada instancia recibe rangos distintos; si una instancia se reinicia,
+ *   los números no usados de su bloque se pierden (los borradores pueden tener saltos).
+ * - Número correlativo: se asigna al contabilizar, dentro de la misma transacción.
+ *   La fila del contador queda bloqueada hasta el commit, así que si la contabilización
+ *   falla el número se libera y la serie de asientos CONTABILIZADOS no tiene saltos.
+ * Los números de asiento se piden antes de abrir la transacción del asiento: la reserva toma
+ * candadoBloque y luego la fila del contador (siempre en ese orden) en una transacción propia,
+ * sin retener otra conexión mientras espera.
+ * Métricas: mipymes.numeracion.reserva y mipymes.numeracion.correlativo (latencia de los viajes
+ * al contador), mipymes.numeracion.desde.memoria y mipymes.numeracion.disponibles.bloque.
+ */
+@Service
+@Timed("mipymes.servicio")
+@RequiredArgsConstructor
+@Slf4j
+public class NumeracionAsientoService {
+
+    private final ContadorAsientoRepository contadorRepository;
+    private final AsientoContableRepository asientoRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry registry;
+
+    /**
+     * Cantidad de números de asiento que se reservan por viaje a la BD
+     */
+    @Value("${mipymes.asientos.numeracion.tamano-bloque:50}")
+    private int tamanoBloque;
+
+    // ReentrantLock y no synchronized: la reserva consulta la BD con el candado tomado y un hilo
+    // virtual bloqueado dentro de synchronized retiene su hilo portador
+    private final ReentrantLock candadoBloque = new ReentrantLock();
+    private long siguienteEnBloque = 1;
+    private long limiteBloque = 0;
+
+    private final LongAdder numerosDesdeMemoria = new LongAdder();
+    private Timer timerReserva;
+    private Timer timerCorrelativo;
+
+    @PostConstruct
+    void registrarMetricas() {
+        timerReserva = Timer.builder("mipymes.numeracion.reserva")
+            .description("Reservas de bloques de números de asiento contra la BD")
+            .register(registry);
+        timerCorrelativo = Timer.builder("mipymes.numeracion.correlativo")
+            .description("Asignaciones de números correlativos (una por contabilización o lote)")
+            .register(registry);
+        FunctionCounter.builder("mipymes.numeracion.desde.memoria", numerosDesdeMemoria, LongAdder::sum)
+            .description("Números de asiento entregados desde el bloque en memoria")
+            .register(registry);
+        Gauge.builder("mipymes.numeracion.disponibles.bloque", this, NumeracionAsientoService::disponiblesEnBloque)
+            .description("Números de asiento que quedan en el bloque en memoria")
+            .register(registry);
+    }
+
+    /**
+     * Crear los contadores que falten y adelantarlos a los números ya usados
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializarContadores() {
+        inicializarSerie(ContadorAsiento.SERIE_BORRADOR, asientoRepository.obtenerSiguienteNumeroAsiento() - 1);
+        inicializarSerie(ContadorAsiento.SERIE_CONTABILIZADO, asientoRepository.obtenerUltimoNumeroCorrelativo());
+    }
+
+    /**
+     * Obtener el siguiente número de asiento
+     * Solo consulta la BD cuando se agota el bloque en memoria; debe llamarse fuera de la
+     * transacción que guarda el asiento
+     */
+    public int siguienteNumeroAsiento() {
+        candadoBloque.lock();
+        try {
+            if (siguienteEnBloque > limiteBloque) {
+                siguienteEnBloque = reservar(tamanoBloque);
+                limiteBloque = siguienteEnBloque + tamanoBloque - 1;
+            } else {
+                numerosDesdeMemoria.increment();
+            }
+            return Math.toIntExact(siguienteEnBloque++);
+        } finally {
+            candadoBloque.unlock();
+        }
+    }
+
+    /**
+     * Reservar un rango consecutivo de números de asiento (cargas por lote)
+     * Devuelve el primer número del rango; debe llamarse antes de abrir la transacción del bloque
+     */
+    public int reservarNumeros(int cantidad) {
+        return Math.toIntExact(reservar(cantidad));
+    }
+
+    /**
+     * Registrar un número de asiento ingresado manualmente
+     * Adelanta el contador para que no se vuelva a entregar. Igual que la reserva de bloques,
+     * toma el candado antes que la fila del contador y la libera al terminar (transacción propia):
+     * si el asiento no se guarda, el número manual queda como salto.
+     */
+    public void registrarNumeroManual(int numero) {
+        candadoBloque.lock();
+        try {
+            nuevaTransaccion().executeWithoutResult(status ->
+                contadorRepository.adelantar(ContadorAsiento.SERIE_BORRADOR, numero));
+            if (numero >= siguienteEnBloque && numero <= limiteBloque) {
+                // Descartar el bloque local: el resto podría chocar con el número manual
+                limiteBloque = siguienteEnBloque - 1;
+            }
+        } finally {
+            candadoBloque.unlock();
+        }
+    }
+
+    /**
+     * Asignar el siguiente número correlativo de contabilización
+     * Debe llamarse dentro de la transacción que contabiliza el asiento
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int asignarCorrelativo() {
+        return asignarCorrelativos(1);
+    }
+
+    /**
+     * Asignar un rango de correlativos para una contabilización masiva
+     * Devuelve el primer número del rango; el contador queda bloqueado hasta el commit
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int asignarCorrelativos(int cantidad) {
+        long ultimo = timerCorrelativo.record(() -> incrementar(ContadorAsiento.SERIE_CONTABILIZADO, cantidad));
+        return Math.toIntExact(ultimo - cantidad + 1);
+    }
+
+    /**
+     * Obtener estadísticas de la numeración
+     * Se leen de los mismos timers que /actuator/prometheus; el máximo es el de los últimos minutos
+     */
+    public EstadisticasNumeracionDTO obtenerEstadisticas() {
+        EstadisticasNumeracionDTO estadisticas = new EstadisticasNumeracionDTO();
+        estadisticas.setTamanoBloque(tamanoBloque);
+        estadisticas.setNumerosDisponiblesEnBloque(disponiblesEnBloque());
+        estadisticas.setNumerosDesdeMemoria(numerosDesdeMemoria.sum());
+        estadisticas.setReservasBloque(timerReserva.count());
+        estadisticas.setLatenciaPromedioReservaMs(timerReserva.mean(TimeUnit.MILLISECONDS));
+        estadisticas.setLatenciaMaximaReservaMs(timerReserva.max(TimeUnit.MILLISECONDS));
+        estadisticas.setCorrelativosAsignados(timerCorrelativo.count());
+        estadisticas.setLatenciaPromedioCorrelativoMs(timerCorrelativo.mean(TimeUnit.MILLISECONDS));
+        estadisticas.setLatenciaMaximaCorrelativoMs(timerCorrelativo.max(TimeUnit.MILLISECONDS));
+        return estadisticas;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Reservar un rango de números de asiento en una transacción independiente
+     * Así el contador se libera de inmediato y no espera al commit del asiento
+     */
+    private long reservar(int cantidad) {
+        Long ultimo = timerReserva.record(() ->
+            nuevaTransaccion().execute(status -> incrementar(ContadorAsiento.SERIE_BORRADOR, cantidad)));
+        log.debug("Reservados los números de asiento {} a {}", ultimo - cantidad + 1, ultimo);
+        return ultimo - cantidad + 1;
+    }
+
+    /**
+     * Incrementar un contador y devolver su nuevo valor
+     */
+    private long incrementar(String serie, long cantidad) {
+        if (contadorRepository.incrementar(serie, cantidad) == 0) {
+            throw new IllegalStateException("No existe el contador de numeración " + serie);
+        }
+        return contadorRepository.obtenerValor(serie);
+    }
+
+    /**
+     * Crear una serie si no existe, o adelantarla si quedó atrás de los datos
+     */
+    private void inicializarSerie(String serie, long valorMinimo) {
+        try {
+            nuevaTransaccion().executeWithoutResult(status -> {
+                if (contadorRepository.existsById(serie)) {
+                    contadorRepository.adelantar(serie, valorMinimo);
+                } else {
+                    ContadorAsiento contador = new ContadorAsiento();
+                    contador.setClave(serie);
+                    contador.setValor(valorMinimo);
+                    contadorRepository.saveAndFlush(contador);
+                    log.info("Contador de numeración {} inicializado en {}", serie, valorMinimo);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia creó el contador al mismo tiempo
+            log.debug("El contador {} ya fue creado por otra instancia", serie);
+        }
+    }
+
+    private long disponiblesEnBloque() {
+        candadoBloque.lock();
+        try {
+            return Math.max(0, limiteBloque - siguienteEnBloque + 1);
+        } finally {
+            candadoBloque.unlock();
+        }
+    }
+
+    private TransactionTemplate nuevaTransaccion() {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaccion;
+    }
+}
@@ -0,0 +1,269 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LineaBalanceDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.VerificacionProyeccionDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.VerificacionProyeccionDTO.DiferenciaCuentaDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.CuentaModificadaEvent;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.SaldosContabilizadosEvent;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.SaldosContabilizadosEvent.CambioSaldo;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository.VersionCuenta;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Proyección en memoria de los saldos para el Balance de Comprobación
+ *
+ * Se construye una vez desde la tabla de cuentas y después se actualiza con los deltas de
+ * cada contabilización confirmada, así el balance actual se arma sin consultar la BD.
+ * Cada cambio trae la versión que dejó en la cuenta:
+ * - Versión igual o menor a la proyectada: el cambio ya está incluido y se ignora.
+ * - Versión siguiente: se suma el delta.
+ * - Versión más adelante: se perdió o atrasó un cambio; la cuenta se vuelve a leer de la BD.
+ * Los cambios de catálogo (crear, editar o desactivar) también recargan la cuenta.
+ *
+ * Los eventos son locales: lo que contabiliza otra instancia contra la misma BD no llega por
+ * ellos. Para eso sincronizar() compara periódicamente las versiones de la tabla de cuentas
+ * (una consulta de ID y versión) y recarga las que cambiaron; el atraso queda acotado por
+ * mipymes.proyeccion.sincronizar-cron.
+ */
+@Service
+@Timed("mipymes.servicio")
+@RequiredArgsConstructor
+@Slf4j
+public class ProyeccionBalanceService {
+
+    private final CuentaRepository cuentaRepository;
+
+    // Protege cuentas e inicializada; recargar cuentas consulta la BD con el candado tomado
+    private final ReentrantLock candado = new ReentrantLock();
+    private final Map<Long, CuentaProyectada> cuentas = new HashMap<>();
+    private boolean inicializada = false;
+    private volatile List<LineaBalanceDTO> lineasActivas;   // null cuando hay cambios sin reflejar
+
+    private final LongAdder cambiosAplicados = new LongAdder();
+    private final LongAdder cuentasRecargadas = new LongAdder();
+
+    /**
+     * Reconstruir la proyección con los saldos de la tabla de cuentas
+     * Devuelve la cantidad de cuentas cargadas
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int reconstruir() {
+        candado.lock();
+        try {
+            List<Cuenta> todas = cuentaRepository.findAll();
+            cuentas.clear();
+            todas.forEach(cuenta -> cuentas.put(cuenta.getId(), CuentaProyectada.de(cuenta)));
+            inicializada = true;
+            lineasActivas = null;
+            log.info("Proyección del balance de comprobación construida con {} cuentas", todas.size());
+            return todas.size();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Líneas del balance de las cuentas activas, ordenadas por código
+     * Se recalculan solo después de un cambio; la lista devuelta no debe modificarse
+     */
+    public List<LineaBalanceDTO> obtenerLineasActivas() {
+        List<LineaBalanceDTO> lineas = lineasActivas;
+        if (lineas != null) {
+            return lineas;
+        }
+        candado.lock();
+        try {
+            if (!inicializada) {
+                reconstruir();
+            }
+            if (lineasActivas == null) {
+                lineasActivas = cuentas.values().stream()
+                    .filter(CuentaProyectada::activa)
+                    .sorted(Comparator.comparing(CuentaProyectada::codigo))
+                    .map(cuenta -> new LineaBalanceDTO(cuenta.codigo(), cuenta.nombre(),
+                        cuenta.tipo().getDescripcion(), cuenta.naturaleza().name(), cuenta.saldo()))
+                    .toList();
+            }
+            return lineasActivas;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Aplicar los deltas de una contabilización confirmada
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void aplicarCambios(SaldosContabilizadosEvent evento) {
+        candado.lock();
+        try {
+            if (!inicializada) {
+                return;     // Se leerá todo de la BD al construirse
+            }
+            List<Long> recargar = new ArrayList<>();
+            for (CambioSaldo cambio : evento.cambios()) {
+                CuentaProyectada actual = cuentas.get(cambio.cuentaId());
+                if (actual == null || cambio.version() > actual.version() + 1) {
+                    recargar.add(cambio.cuentaId());
+                } else if (cambio.version() == actual.version() + 1) {
+                    cuentas.put(cambio.cuentaId(), actual.conDelta(cambio.delta(), cambio.version()));
+                    cambiosAplicados.increment();
+                }
+            }
+            if (!recargar.isEmpty()) {
+                log.debug("Versiones saltadas en la proyección, recargando cuentas {}", recargar);
+                recargarCuentas(recargar);
+            }
+            lineasActivas = null;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Recargar una cuenta después de un cambio en el catálogo
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void actualizarCuenta(CuentaModificadaEvent evento) {
+        candado.lock();
+        try {
+            if (!inicializada) {
+                return;
+            }
+            recargarCuentas(List.of(evento.cuentaId()));
+            lineasActivas = null;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Recargar las cuentas que cambiaron en la BD sin pasar por esta instancia
+     * Solo recarga las que tienen una versión más nueva que la proyectada (una contabilización local
+     * confirmada después de leer las versiones ya está aplicada). Devuelve las cuentas recargadas.
+     */
+    @Scheduled(cron = "${mipymes.proyeccion.sincronizar-cron:-}")
+    public int sincronizar() {
+        List<VersionCuenta> versiones = cuentaRepository.obtenerTodasLasVersiones();
+        candado.lock();
+        try {
+            if (!inicializada) {
+                return 0;
+            }
+            List<Long> recargar = versiones.stream()
+                .filter(version -> {
+                    CuentaProyectada actual = cuentas.get(version.getId());
+                    return actual == null || version.getVersion() > actual.version();
+                })
+                .map(VersionCuenta::getId)
+                .toList();
+            if (!recargar.isEmpty()) {
+                log.info("Proyección del balance sincronizada: {} cuentas cambiadas fuera de esta instancia",
+                    recargar.size());
+                recargarCuentas(recargar);
+                lineasActivas = null;
+            }
+            return recargar.size();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Comparar la proyección con la tabla de cuentas
+     * Una contabilización que se está confirmando en este momento puede aparecer como diferencia
+     */
+    public VerificacionProyeccionDTO verificar() {
+        List<Cuenta> cuentasBD = cuentaRepository.findAll();
+        Map<Long, CuentaProyectada> proyectadas;
+        candado.lock();
+        try {
+            if (!inicializada) {
+                reconstruir();
+            }
+            proyectadas = new HashMap<>(cuentas);
+        } finally {
+            candado.unlock();
+        }
+
+        VerificacionProyeccionDTO verificacion = new VerificacionProyeccionDTO();
+        Set<Long> revisadas = new HashSet<>();
+        for (Cuenta cuenta : cuentasBD) {
+            revisadas.add(cuenta.getId());
+            CuentaProyectada proyectada = proyectadas.get(cuenta.getId());
+            if (proyectada == null || proyectada.saldo().compareTo(cuenta.getSaldo()) != 0 ||
+                    !proyectada.version().equals(cuenta.getVersion()) ||
+                    proyectada.activa() != Boolean.TRUE.equals(cuenta.getActiva())) {
+                verificacion.getDiferencias().add(new DiferenciaCuentaDTO(cuenta.getId(), cuenta.getCodigo(),
+                    proyectada != null ? proyectada.saldo() : null, cuenta.getSaldo(),
+                    proyectada != null ? proyectada.version() : null, cuenta.getVersion()));
+            }
+        }
+        proyectadas.values().stream()
+            .filter(proyectada -> !revisadas.contains(proyectada.id()))
+            .forEach(proyectada -> verificacion.getDiferencias().add(new DiferenciaCuentaDTO(proyectada.id(),
+                proyectada.codigo(), proyectada.saldo(), null, proyectada.version(), null)));
+
+        verificacion.setCuentasRevisadas(cuentasBD.size());
+        verificacion.setConsistente(verificacion.getDiferencias().isEmpty());
+        verificacion.setCambiosAplicados(cambiosAplicados.sum());
+        verificacion.setCuentasRecargadas(cuentasRecargadas.sum());
+
+        log.info("Verificación de la proyección del balance: {} cuentas, {} diferencias",
+            cuentasBD.size(), verificacion.getDiferencias().size());
+        return verificacion;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Leer cuentas de la BD y reemplazarlas en la proyección (debe llamarse con el candado tomado)
+     */
+    private void recargarCuentas(List<Long> cuentaIds) {
+        List<Cuenta> leidas = cuentaRepository.findAllById(cuentaIds);
+        leidas.forEach(cuenta -> cuentas.put(cuenta.getId(), CuentaProyectada.de(cuenta)));
+        cuentasRecargadas.add(leidas.size());
+    }
+
+    /**
+     * Datos de una cuenta necesarios para el balance
+     */
+    private record CuentaProyectada(Long id, String codigo, String nombre, Cuenta.TipoCuenta tipo,
+                                    Cuenta.NaturalezaCuenta naturaleza, boolean activa,
+                                    BigDecimal saldo, Long version) {
+
+        static CuentaProyectada de(Cuenta cuenta) {
+            return new CuentaProyectada(cuenta.getId(), cuenta.getCodigo(), cuenta.getNombre(), cuenta.getTipo(),
+                cuenta.getNaturaleza(), Boolean.TRUE.equals(cuenta.getActiva()), cuenta.getSaldo(), cuenta.getVersion());
+        }
+
+        CuentaProyectada conDelta(BigDecimal delta, Long nuevaVersion) {
+            return new CuentaProyectada(id, codigo, nombre, tipo, naturaleza, activa, saldo.add(delta), nuevaVersion);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Escribe una respuesta con la forma de ApiResponse ({"success", "message", "data": [...]})
+ * elemento por elemento, sin armar la lista en memoria
+ *
+ * Los elementos vienen de un Stream del repository (cursor de BD con fetch size) y se serializan
+ * con la configuración de Jackson de la aplicación, igual que en los listados normales.
+ * - Memoria constante: solo el elemento actual y el buffer de salida, sin importar cuántos haya.
+ * - Contrapresión: la escritura en la respuesta bloquea mientras el cliente no lee, y con ella
+ *   la lectura del cursor; la BD no entrega más filas de las que el cliente va recibiendo.
+ * - Desconexión del cliente: la escritura falla, se deja de leer el cursor y el Stream se cierra
+ *   (el llamador lo abre con try-with-resources), lo que devuelve la conexión al pool.
+ * Un error después del primer byte ya no puede responderse como error: el cliente recibe un
+ * JSON incompleto, por eso los parámetros se validan antes de empezar a escribir.
+ */
+@Component
+@Slf4j
+public class RespuestaJsonEnStreaming {
+
+    // Elementos escritos entre cada envío al cliente (igual al fetch size de los recorridos)
+    private static final int ELEMENTOS_POR_ENVIO = 500;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter escritorElementos;
+
+    public RespuestaJsonEnStreaming(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // Sin flush por elemento: se envía al cliente cada ELEMENTOS_POR_ENVIO
+        this.escritorElementos = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Contenido del arreglo "data": escribe los elementos y devuelve cuántos escribió
+     */
+    @FunctionalInterface
+    public interface ContenidoArreglo {
+        long escribir(JsonGenerator json) throws IOException;
+    }
+
+    /**
+     * Escribir la respuesta con cada elemento del Stream serializado como en ApiResponse
+     */
+    public <T> long escribir(OutputStream salida, String mensaje, Stream<T> elementos) throws IOException {
+        return escribir(salida, mensaje, json -> {
+            long escritos = 0;
+            Iterator<T> iterador = elementos.iterator();
+            while (iterador.hasNext()) {
+                escritorElementos.writeValue(json, iterador.next());
+                if (++escritos % ELEMENTOS_POR_ENVIO == 0) {
+                    json.flush();
+                }
+            }
+            return escritos;
+        });
+    }
+
+    /**
+     * Escribir la respuesta con un arreglo "data" que arma el llamador (p. ej. agrupando filas)
+     */
+    public long escribir(OutputStream salida, String mensaje, ContenidoArreglo contenido) throws IOException {
+        try (JsonGenerator json = objectMapper.createGenerator(salida, JsonEncoding.UTF8)) {
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            json.writeStartObject();
+            json.writeBooleanField("success", true);
+            json.writeStringField("message", mensaje);
+            json.writeArrayFieldStart("data");
+
+            long escritos = contenido.escribir(json);
+
+            json.writeEndArray();
+            json.writeEndObject();
+            return escritos;
+        } catch (IOException e) {
+            log.info("Respuesta en streaming interrumpida ({}): {}", mensaje, e.getMessage());
+            throw e;
+        }
+    }
+}
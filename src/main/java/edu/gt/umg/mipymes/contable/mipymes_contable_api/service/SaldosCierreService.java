@@ -0,0 +1,226 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.SaldoCierre;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.PeriodoInvalidoException;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.MovimientoContableRepository.SaldoConNeto;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.SaldoCierreRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Service para los saldos de cierre de período y los saldos a una fecha
+ *
+ * Al terminar cada período (mensual por defecto) se guarda el saldo de todas las cuentas.
+ * El saldo a una fecha se calcula desde el punto de partida más cercano:
+ * - El cierre anterior, sumando los movimientos hasta la fecha.
+ * - El cierre posterior o el saldo actual de la cuenta, restando los movimientos posteriores a la fecha.
+ * Así el costo depende de los movimientos de un período, no de la antigüedad de la fecha.
+ * El punto de partida y los movimientos se leen en la misma sentencia (ver SaldoConNeto).
+ *
+ * Generar un cierre bloquea todas las cuentas (SELECT ... FOR UPDATE), igual que las
+ * contabilizaciones bloquean las que afectan: un asiento atrasado en curso termina antes de
+ * tomar la foto, y uno que empieza después espera el commit y ajusta el cierre ya guardado.
+ */
+@Service
+@Timed("mipymes.servicio")
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Slf4j
+public class SaldosCierreService {
+
+    private final SaldoCierreRepository saldoCierreRepository;
+    private final CuentaRepository cuentaRepository;
+
+    /**
+     * Meses por período contable (1, 2, 3, 4, 6 o 12)
+     */
+    @Value("${mipymes.cierre.meses-por-periodo:1}")
+    private int mesesPorPeriodo;
+
+    /**
+     * Obtener el saldo de las cuentas al final de una fecha (incluye los asientos de ese día)
+     */
+    public Map<Long, BigDecimal> obtenerSaldosAl(LocalDate fecha, Collection<Cuenta> cuentas) {
+        Optional<LocalDate> anterior = saldoCierreRepository.obtenerCierreAnterior(fecha);
+        Optional<LocalDate> posterior = saldoCierreRepository.obtenerCierrePosterior(fecha);
+        LocalDate hoy = LocalDate.now();
+
+        long diasDesdeAnterior = anterior.map(cierre -> ChronoUnit.DAYS.between(cierre, fecha)).orElse(Long.MAX_VALUE);
+        long diasHastaPosterior = ChronoUnit.DAYS.between(fecha, posterior.orElse(fecha.isAfter(hoy) ? fecha : hoy));
+
+        Map<Long, BigDecimal> saldos = new HashMap<>();
+        List<Cuenta> sinCierre = new ArrayList<>();
+
+        if (diasDesdeAnterior <= diasHastaPosterior) {
+            // Cierre anterior + movimientos hasta la fecha
+            Map<Long, SaldoConNeto> base = aMapa(saldoCierreRepository.obtenerSaldosConNetos(anterior.get(), anterior.get(), fecha));
+            for (Cuenta cuenta : cuentas) {
+                SaldoConNeto cierre = base.get(cuenta.getId());
+                if (cierre == null) {
+                    sinCierre.add(cuenta);
+                } else {
+                    saldos.put(cuenta.getId(), cierre.getSaldo().add(efecto(cuenta, cierre.getNeto())));
+                }
+            }
+        } else if (posterior.isPresent()) {
+            // Cierre posterior - movimientos entre la fecha y el cierre
+            Map<Long, SaldoConNeto> base = aMapa(saldoCierreRepository.obtenerSaldosConNetos(posterior.get(), fecha, posterior.get()));
+            for (Cuenta cuenta : cuentas) {
+                SaldoConNeto cierre = base.get(cuenta.getId());
+                if (cierre == null) {
+                    sinCierre.add(cuenta);
+                } else {
+                    saldos.put(cuenta.getId(), cierre.getSaldo().subtract(efecto(cuenta, cierre.getNeto())));
+                }
+            }
+        } else {
+            sinCierre.addAll(cuentas);
+        }
+
+        // Cuentas sin cierre (o sin cierres cercanos): saldo actual - movimientos posteriores a la fecha
+        // (el saldo actual se lee con los movimientos, no se toma de la entidad cargada antes)
+        if (!sinCierre.isEmpty()) {
+            Map<Long, SaldoConNeto> actuales = aMapa(cuentaRepository.obtenerSaldosConNetosDesde(fecha));
+            for (Cuenta cuenta : sinCierre) {
+                SaldoConNeto actual = actuales.get(cuenta.getId());
+                saldos.put(cuenta.getId(), actual.getSaldo().subtract(efecto(cuenta, actual.getNeto())));
+            }
+        }
+
+        return saldos;
+    }
+
+    /**
+     * Fechas de cierre registradas, de la más reciente a la más antigua
+     */
+    public List<LocalDate> obtenerFechasCierre() {
+        return saldoCierreRepository.obtenerFechasCierre();
+    }
+
+    /**
+     * Fecha del cierre más reciente
+     */
+    public Optional<LocalDate> obtenerUltimoCierre() {
+        return saldoCierreRepository.obtenerUltimoCierre();
+    }
+
+    /**
+     * Indicar si hay saldos de cierre guardados a la fecha
+     */
+    public boolean existeCierre(LocalDate fecha) {
+        return saldoCierreRepository.existsByFechaCierre(fecha);
+    }
+
+    /**
+     * Indicar si la fecha es el primer día de un período
+     */
+    public boolean esInicioDePeriodo(LocalDate fecha) {
+        return finDePeriodo(fecha.minusDays(1)).plusDays(1).equals(fecha);
+    }
+
+    /**
+     * Guardar los saldos de todas las cuentas al cierre de un período
+     * Si el cierre ya existía, se vuelve a calcular. Devuelve la cantidad de cuentas guardadas.
+     */
+    @Transactional
+    public int generarCierre(LocalDate fechaCierre) {
+        if (!fechaCierre.equals(finDePeriodo(fechaCierre))) {
+            throw new PeriodoInvalidoException("La fecha " + fechaCierre + " no es el último día de un período de " +
+                mesesPorPeriodo + " mes(es); el período termina el " + finDePeriodo(fechaCierre));
+        }
+        if (!fechaCierre.isBefore(LocalDate.now())) {
+            throw new PeriodoInvalidoException("Solo se pueden cerrar períodos que ya terminaron");
+        }
+
+        // Primero el bloqueo: espera a las contabilizaciones en curso y detiene las nuevas hasta el commit
+        List<Cuenta> cuentas = cuentaRepository.bloquearTodas();
+        log.info("Generando saldos de cierre al {}", fechaCierre);
+        saldoCierreRepository.eliminarCierre(fechaCierre);
+
+        Map<Long, BigDecimal> saldos = obtenerSaldosAl(fechaCierre, cuentas);
+
+        List<SaldoCierre> cierre = cuentas.stream()
+            .map(cuenta -> new SaldoCierre(null, cuenta, fechaCierre, saldos.get(cuenta.getId()), null))
+            .collect(Collectors.toList());
+        saldoCierreRepository.saveAll(cierre);
+
+        log.info("Cierre al {} generado con {} cuentas", fechaCierre, cierre.size());
+        return cierre.size();
+    }
+
+    /**
+     * Generar el cierre del último período terminado si todavía no existe
+     * Corre en todas las instancias: la primera en bloquear las cuentas genera el cierre y las
+     * demás, al obtener el bloqueo, ya lo encuentran guardado
+     */
+    @Scheduled(cron = "${mipymes.cierre.cron:0 15 0 * * *}")
+    @Transactional
+    public void cerrarPeriodoAnterior() {
+        LocalDate fechaCierre = finDePeriodo(LocalDate.now().withDayOfMonth(1).minusMonths(mesesPorPeriodo));
+        cuentaRepository.bloquearTodas();
+        if (!saldoCierreRepository.existsByFechaCierre(fechaCierre)) {
+            generarCierre(fechaCierre);
+        }
+    }
+
+    /**
+     * Ajustar los cierres posteriores a un asiento contabilizado con fecha atrasada
+     * Debe llamarse en la misma transacción que afecta los saldos de las cuentas
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ajustarCierres(LocalDate fechaAsiento, Map<Long, BigDecimal> deltas) {
+        deltas.forEach((cuentaId, delta) -> {
+            if (delta.signum() != 0) {
+                saldoCierreRepository.ajustarSaldos(cuentaId, fechaAsiento, delta);
+            }
+        });
+        log.info("Cierres desde el {} ajustados por asiento con fecha atrasada", fechaAsiento);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Último día del período que contiene la fecha (los períodos empiezan en enero)
+     */
+    private LocalDate finDePeriodo(LocalDate fecha) {
+        int ultimoMes = ((fecha.getMonthValue() - 1) / mesesPorPeriodo + 1) * mesesPorPeriodo;
+        return fecha.withMonth(ultimoMes).with(TemporalAdjusters.lastDayOfMonth());
+    }
+
+    private Map<Long, SaldoConNeto> aMapa(List<SaldoConNeto> saldos) {
+        return saldos.stream().collect(Collectors.toMap(SaldoConNeto::getCuentaId, saldo -> saldo));
+    }
+
+    /**
+     * Efecto de un neto deudor sobre el saldo de la cuenta
+     * Activos y Gastos aumentan con débitos; Pasivos, Patrimonio e Ingresos con créditos
+     */
+    private BigDecimal efecto(Cuenta cuenta, BigDecimal netoDeudor) {
+        if (netoDeudor == null) {
+            return BigDecimal.ZERO;
+        }
+        boolean aumentaConDebito = cuenta.getTipo() == Cuenta.TipoCuenta.ACTIVO ||
+                                   cuenta.getTipo() == Cuenta.TipoCuenta.GASTO;
+        return aumentaConDebito ? netoDeudor : netoDeudor.negate();
+    }
+}
@@ -0,0 +1,56 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aritmética de montos en centavos (long)
+ *
+ * Todas las columnas de montos son precision = 15, scale = 2, así que un monto cabe exacto
+ * en un long de centavos. Los totales de los reportes se acumulan en long y se convierten a
+ * BigDecimal una sola vez al armar el DTO, en lugar de crear un BigDecimal por cada suma.
+ * - Un monto con más de 2 decimales distintos de cero no se redondea: lanza ArithmeticException.
+ * - Las sumas que se salen del rango de long también lanzan ArithmeticException.
+ */
+public final class Centavos {
+
+    public static final int ESCALA = 2;
+
+    private Centavos() {
+    }
+
+    /**
+     * Convertir un monto a centavos (null cuenta como cero)
+     */
+    public static long de(BigDecimal monto) {
+        if (monto == null || monto.signum() == 0) {
+            return 0L;
+        }
+        if (monto.scale() > ESCALA) {
+            monto = monto.setScale(ESCALA, RoundingMode.UNNECESSARY);
+        }
+        return monto.scaleByPowerOfTen(ESCALA).longValueExact();
+    }
+
+    /**
+     * Convertir centavos a un monto con 2 decimales
+     */
+    public static BigDecimal aMonto(long centavos) {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    /**
+     * Sumar un monto a un total en centavos
+     */
+    public static long sumar(long total, BigDecimal monto) {
+        return Math.addExact(total, de(monto));
+    }
+
+    public static long sumar(long total, long centavos) {
+        return Math.addExact(total, centavos);
+    }
+
+    public static long restar(long total, long centavos) {
+        return Math.subtractExact(total, centavos);
+    }
+}
@@ -0,0 +1,51 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.util;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.OrdenInvalidoException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Campos por los que se puede ordenar un listado paginado (?orden=campo,asc|desc)
+ *
+ * Cada listado declara sus campos: solo columnas de la entidad que se listan, para que el
+ * cliente no pueda ordenar por asociaciones ni por columnas que no tienen sentido en pantalla.
+ * Al orden pedido se le agrega el id como desempate, así una fila no aparece en dos páginas
+ * cuando varias comparten el mismo valor.
+ */
+public final class OrdenListado {
+
+    private static final String DESEMPATE = "id";
+
+    private final Set<String> campos;
+
+    private OrdenListado(Set<String> campos) {
+        this.campos = campos;
+    }
+
+    public static OrdenListado de(String... campos) {
+        return new OrdenListado(Set.of(campos));
+    }
+
+    /**
+     * Validar el orden de la solicitud y agregar el desempate por id
+     * Sin orden en la solicitud se usa el de respaldo (el @PageableDefault del controller lo evita)
+     */
+    public Pageable aplicar(Pageable pageable, Sort respaldo) {
+        Sort orden = pageable.getSort().isSorted() ? pageable.getSort() : respaldo;
+        for (Sort.Order criterio : orden) {
+            if (!campos.contains(criterio.getProperty())) {
+                throw new OrdenInvalidoException("No se puede ordenar por '" + criterio.getProperty() +
+                    "'; campos permitidos: " + String.join(", ", new TreeSet<>(campos)));
+            }
+        }
+        if (orden.getOrderFor(DESEMPATE) == null) {
+            Sort.Direction direccion = orden.stream().findFirst().map(Sort.Order::getDirection).orElse(Sort.Direction.ASC);
+            orden = orden.and(Sort.by(direccion, DESEMPATE));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), orden);
+    }
+}
@@ -0,0 +1,270 @@
+-- =================================================================
+-- ESQUEMA INICIAL (PostgreSQL)
+-- =================================================================
+-- Corresponde a las entidades JPA; en el perfil prod Hibernate solo valida
+-- (ddl-auto=validate), así que todo cambio de entidad necesita su migración.
+
+-- ========== CONTABILIDAD GENERAL ==========
+
+CREATE TABLE cuentas (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    codigo             VARCHAR(10)    NOT NULL,
+    nombre             VARCHAR(100)   NOT NULL,
+    tipo               VARCHAR(255)   NOT NULL,
+    naturaleza         VARCHAR(255)   NOT NULL,
+    saldo              NUMERIC(15, 2) NOT NULL,
+    activa             BOOLEAN        NOT NULL,
+    version            BIGINT         NOT NULL,
+    descripcion        VARCHAR(500),
+    fecha_creacion     TIMESTAMP(6)   NOT NULL,
+    fecha_modificacion TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_cuentas PRIMARY KEY (id),
+    CONSTRAINT uk_cuentas_codigo UNIQUE (codigo),
+    CONSTRAINT ck_cuentas_tipo CHECK (tipo IN ('ACTIVO', 'PASIVO', 'PATRIMONIO', 'INGRESO', 'GASTO')),
+    CONSTRAINT ck_cuentas_naturaleza CHECK (naturaleza IN ('DEUDORA', 'ACREEDORA'))
+);
+
+CREATE TABLE asientos_contables (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    numero_asiento     INTEGER        NOT NULL,
+    numero_correlativo INTEGER,
+    fecha              DATE           NOT NULL,
+    descripcion        VARCHAR(500)   NOT NULL,
+    referencia         VARCHAR(50),
+    tipo               VARCHAR(255)   NOT NULL,
+    total_debitos      NUMERIC(15, 2) NOT NULL,
+    total_creditos     NUMERIC(15, 2) NOT NULL,
+    estado             VARCHAR(255)   NOT NULL,
+    fecha_creacion     TIMESTAMP(6)   NOT NULL,
+    fecha_modificacion TIMESTAMP(6)   NOT NULL,
+    creado_por         VARCHAR(100),
+    CONSTRAINT pk_asientos_contables PRIMARY KEY (id),
+    CONSTRAINT uk_asientos_contables_numero_asiento UNIQUE (numero_asiento),
+    CONSTRAINT uk_asientos_contables_numero_correlativo UNIQUE (numero_correlativo),
+    CONSTRAINT ck_asientos_contables_tipo CHECK (tipo IN ('APERTURA', 'OPERACION', 'AJUSTE', 'CIERRE')),
+    CONSTRAINT ck_asientos_contables_estado CHECK (estado IN ('BORRADOR', 'VALIDADO', 'CONTABILIZADO', 'ANULADO'))
+);
+
+CREATE TABLE movimientos_contables (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    asiento_contable_id BIGINT         NOT NULL,
+    cuenta_id           BIGINT         NOT NULL,
+    tipo_movimiento     VARCHAR(255)   NOT NULL,
+    monto               NUMERIC(15, 2) NOT NULL,
+    descripcion         VARCHAR(500),
+    orden               INTEGER        NOT NULL,
+    fecha_creacion      TIMESTAMP(6)   NOT NULL,
+    fecha_modificacion  TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_movimientos_contables PRIMARY KEY (id),
+    CONSTRAINT fk_movimientos_contables_asiento FOREIGN KEY (asiento_contable_id) REFERENCES asientos_contables (id),
+    CONSTRAINT fk_movimientos_contables_cuenta FOREIGN KEY (cuenta_id) REFERENCES cuentas (id),
+    CONSTRAINT ck_movimientos_contables_tipo CHECK (tipo_movimiento IN ('DEBITO', 'CREDITO'))
+);
+
+-- Series de numeración de asientos (borrador y correlativo contabilizado)
+CREATE TABLE contadores_asiento (
+    clave              VARCHAR(30)  NOT NULL,
+    valor              BIGINT       NOT NULL,
+    fecha_modificacion TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_contadores_asiento PRIMARY KEY (clave)
+);
+
+-- Saldos de cada cuenta al cierre de un período
+CREATE TABLE saldos_cierre (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    cuenta_id      BIGINT         NOT NULL,
+    fecha_cierre   DATE           NOT NULL,
+    saldo          NUMERIC(15, 2) NOT NULL,
+    fecha_creacion TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_saldos_cierre PRIMARY KEY (id),
+    CONSTRAINT uk_saldos_cierre_cuenta_fecha UNIQUE (cuenta_id, fecha_cierre),
+    CONSTRAINT fk_saldos_cierre_cuenta FOREIGN KEY (cuenta_id) REFERENCES cuentas (id)
+);
+
+-- ========== INVENTARIO ==========
+
+CREATE TABLE productos (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    codigo             VARCHAR(20)    NOT NULL,
+    nombre             VARCHAR(200)   NOT NULL,
+    descripcion        VARCHAR(500),
+    precio_compra      NUMERIC(15, 2) NOT NULL,
+    precio_venta       NUMERIC(15, 2) NOT NULL,
+    existencia         INTEGER        NOT NULL,
+    stock_minimo       INTEGER        NOT NULL,
+    unidad_medida      VARCHAR(255)   NOT NULL,
+    activo             BOOLEAN        NOT NULL,
+    categoria          VARCHAR(100),
+    proveedor          VARCHAR(100),
+    fecha_creacion     TIMESTAMP(6)   NOT NULL,
+    fecha_modificacion TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_productos PRIMARY KEY (id),
+    CONSTRAINT uk_productos_codigo UNIQUE (codigo),
+    CONSTRAINT ck_productos_unidad_medida
+        CHECK (unidad_medida IN ('UNIDAD', 'CAJA', 'PAQUETE', 'KILOGRAMO', 'LITRO', 'METRO', 'DOCENA'))
+);
+
+CREATE TABLE movimientos_inventario (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    producto_id         BIGINT         NOT NULL,
+    tipo_movimiento     VARCHAR(255)   NOT NULL,
+    cantidad            INTEGER        NOT NULL,
+    precio_unitario     NUMERIC(15, 2) NOT NULL,
+    existencia_anterior INTEGER        NOT NULL,
+    existencia_nueva    INTEGER        NOT NULL,
+    observaciones       VARCHAR(500),
+    numero_documento    VARCHAR(50),
+    fecha_movimiento    TIMESTAMP(6)   NOT NULL,
+    creado_por          VARCHAR(100),
+    CONSTRAINT pk_movimientos_inventario PRIMARY KEY (id),
+    CONSTRAINT fk_movimientos_inventario_producto FOREIGN KEY (producto_id) REFERENCES productos (id),
+    CONSTRAINT ck_movimientos_inventario_tipo CHECK (tipo_movimiento IN ('ENTRADA_COMPRA', 'SALIDA_VENTA',
+        'AJUSTE_POSITIVO', 'AJUSTE_NEGATIVO', 'DEVOLUCION_CLIENTE', 'DEVOLUCION_PROVEEDOR'))
+);
+
+-- ========== BANCOS Y CAJA ==========
+
+CREATE TABLE cuentas_bancarias (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nombre             VARCHAR(100)   NOT NULL,
+    banco              VARCHAR(100)   NOT NULL,
+    numero_cuenta      VARCHAR(50)    NOT NULL,
+    tipo               VARCHAR(255)   NOT NULL,
+    saldo_libros       NUMERIC(15, 2) NOT NULL,
+    saldo_banco        NUMERIC(15, 2) NOT NULL,
+    activa             BOOLEAN        NOT NULL,
+    descripcion        VARCHAR(500),
+    fecha_creacion     TIMESTAMP(6)   NOT NULL,
+    fecha_modificacion TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_cuentas_bancarias PRIMARY KEY (id),
+    CONSTRAINT uk_cuentas_bancarias_numero_cuenta UNIQUE (numero_cuenta),
+    CONSTRAINT ck_cuentas_bancarias_tipo CHECK (tipo IN ('CUENTA_CORRIENTE', 'CUENTA_AHORRO', 'CUENTA_DEPOSITO'))
+);
+
+CREATE TABLE movimientos_banco (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    cuenta_bancaria_id BIGINT         NOT NULL,
+    tipo_movimiento    VARCHAR(255)   NOT NULL,
+    fecha_movimiento   DATE           NOT NULL,
+    monto              NUMERIC(15, 2) NOT NULL,
+    descripcion        VARCHAR(500)   NOT NULL,
+    numero_documento   VARCHAR(50),
+    beneficiario       VARCHAR(200),
+    estado             VARCHAR(255)   NOT NULL,
+    fecha_conciliacion DATE,
+    observaciones      VARCHAR(500),
+    fecha_creacion     TIMESTAMP(6)   NOT NULL,
+    fecha_modificacion TIMESTAMP(6)   NOT NULL,
+    creado_por         VARCHAR(100),
+    CONSTRAINT pk_movimientos_banco PRIMARY KEY (id),
+    CONSTRAINT fk_movimientos_banco_cuenta_bancaria FOREIGN KEY (cuenta_bancaria_id) REFERENCES cuentas_bancarias (id),
+    CONSTRAINT ck_movimientos_banco_tipo CHECK (tipo_movimiento IN ('DEPOSITO', 'CHEQUE_EMITIDO',
+        'TRANSFERENCIA_ENTRADA', 'TRANSFERENCIA_SALIDA', 'NOTA_DEBITO', 'NOTA_CREDITO', 'COMISION_BANCARIA',
+        'INTERES_GANADO')),
+    CONSTRAINT ck_movimientos_banco_estado CHECK (estado IN ('PENDIENTE', 'CONCILIADO', 'ANULADO'))
+);
+
+CREATE TABLE conciliaciones_bancarias (
+    id                     BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    cuenta_bancaria_id     BIGINT         NOT NULL,
+    fecha_conciliacion     DATE           NOT NULL,
+    saldo_segun_libros     NUMERIC(15, 2) NOT NULL,
+    saldo_segun_banco      NUMERIC(15, 2) NOT NULL,
+    depositos_en_transito  NUMERIC(15, 2) NOT NULL,
+    cheques_en_circulacion NUMERIC(15, 2) NOT NULL,
+    ajustes_libros         NUMERIC(15, 2) NOT NULL,
+    ajustes_banco          NUMERIC(15, 2) NOT NULL,
+    conciliado             BOOLEAN        NOT NULL,
+    observaciones          VARCHAR(1000),
+    fecha_creacion         TIMESTAMP(6)   NOT NULL,
+    creado_por             VARCHAR(100),
+    CONSTRAINT pk_conciliaciones_bancarias PRIMARY KEY (id),
+    CONSTRAINT fk_conciliaciones_bancarias_cuenta_bancaria
+        FOREIGN KEY (cuenta_bancaria_id) REFERENCES cuentas_bancarias (id)
+);
+
+-- ========== CLIENTES Y PROVEEDORES ==========
+
+CREATE TABLE clientes (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    codigo             VARCHAR(20)    NOT NULL,
+    nombre             VARCHAR(200)   NOT NULL,
+    razon_social       VARCHAR(200),
+    nit                VARCHAR(20),
+    dpi                VARCHAR(20),
+    telefono           VARCHAR(15),
+    email              VARCHAR(100),
+    direccion          VARCHAR(500),
+    tipo_cliente       VARCHAR(255)   NOT NULL,
+    limite_credito     NUMERIC(15, 2) NOT NULL,
+    saldo_actual       NUMERIC(15, 2) NOT NULL,
+    dias_credito       INTEGER        NOT NULL,
+    activo             BOOLEAN        NOT NULL,
+    observaciones      VARCHAR(500),
+    fecha_creacion     TIMESTAMP(6)   NOT NULL,
+    fecha_modificacion TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_clientes PRIMARY KEY (id),
+    CONSTRAINT uk_clientes_codigo UNIQUE (codigo),
+    CONSTRAINT ck_clientes_tipo CHECK (tipo_cliente IN ('CONSUMIDOR_FINAL', 'EMPRESA', 'GOBIERNO', 'ONG'))
+);
+
+CREATE TABLE proveedores (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    codigo             VARCHAR(20)    NOT NULL,
+    nombre             VARCHAR(200)   NOT NULL,
+    razon_social       VARCHAR(200),
+    nit                VARCHAR(20),
+    telefono           VARCHAR(15),
+    email              VARCHAR(100),
+    direccion          VARCHAR(500),
+    contacto           VARCHAR(100),
+    tipo_proveedor     VARCHAR(255)   NOT NULL,
+    saldo_actual       NUMERIC(15, 2) NOT NULL,
+    dias_pago          INTEGER        NOT NULL,
+    activo             BOOLEAN        NOT NULL,
+    observaciones      VARCHAR(500),
+    fecha_creacion     TIMESTAMP(6)   NOT NULL,
+    fecha_modificacion TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_proveedores PRIMARY KEY (id),
+    CONSTRAINT uk_proveedores_codigo UNIQUE (codigo),
+    CONSTRAINT ck_proveedores_tipo CHECK (tipo_proveedor IN ('MERCADERIAS', 'SERVICIOS', 'ACTIVOS_FIJOS', 'SUMINISTROS'))
+);
+
+CREATE TABLE cuentas_por_cobrar (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    cliente_id         BIGINT         NOT NULL,
+    numero_documento   VARCHAR(50)    NOT NULL,
+    fecha_emision      DATE           NOT NULL,
+    fecha_vencimiento  DATE           NOT NULL,
+    monto_original     NUMERIC(15, 2) NOT NULL,
+    monto_abonado      NUMERIC(15, 2) NOT NULL,
+    saldo_pendiente    NUMERIC(15, 2) NOT NULL,
+    estado             VARCHAR(255)   NOT NULL,
+    descripcion        VARCHAR(500),
+    observaciones      VARCHAR(500),
+    fecha_creacion     TIMESTAMP(6)   NOT NULL,
+    fecha_modificacion TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_cuentas_por_cobrar PRIMARY KEY (id),
+    CONSTRAINT uk_cuentas_por_cobrar_numero_documento UNIQUE (numero_documento),
+    CONSTRAINT fk_cuentas_por_cobrar_cliente FOREIGN KEY (cliente_id) REFERENCES clientes (id),
+    CONSTRAINT ck_cuentas_por_cobrar_estado CHECK (estado IN ('PENDIENTE', 'PAGADO', 'VENCIDO', 'PARCIAL', 'ANULADO'))
+);
+
+CREATE TABLE cuentas_por_pagar (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    proveedor_id       BIGINT         NOT NULL,
+    numero_documento   VARCHAR(50)    NOT NULL,
+    fecha_emision      DATE           NOT NULL,
+    fecha_vencimiento  DATE           NOT NULL,
+    monto_original     NUMERIC(15, 2) NOT NULL,
+    monto_abonado      NUMERIC(15, 2) NOT NULL,
+    saldo_pendiente    NUMERIC(15, 2) NOT NULL,
+    estado             VARCHAR(255)   NOT NULL,
+    descripcion        VARCHAR(500),
+    observaciones      VARCHAR(500),
+    fecha_creacion     TIMESTAMP(6)   NOT NULL,
+    fecha_modificacion TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_cuentas_por_pagar PRIMARY KEY (id),
+    CONSTRAINT fk_cuentas_por_pagar_proveedor FOREIGN KEY (proveedor_id) REFERENCES proveedores (id),
+    CONSTRAINT ck_cuentas_por_pagar_estado CHECK (estado IN ('PENDIENTE', 'PAGADO', 'VENCIDO', 'PARCIAL', 'ANULADO'))
+);
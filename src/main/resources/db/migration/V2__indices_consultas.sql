@@ -0,0 +1,89 @@
+-- =================================================================
+-- ÍNDICES PARA LAS CONSULTAS DE LOS REPOSITORIOS
+-- =================================================================
+-- PostgreSQL no indexa las llaves foráneas por su cuenta; cada índice indica
+-- la consulta que lo usa. IndicesPostgresTest revisa los planes con EXPLAIN.
+
+-- ========== CONTABILIDAD GENERAL ==========
+
+-- Libro mayor: movimientos de una cuenta y su asiento (LibroMayorJdbcRepository)
+CREATE INDEX idx_movimientos_contables_cuenta_asiento
+    ON movimientos_contables (cuenta_id, asiento_contable_id);
+
+-- Movimientos de un asiento (JOIN FETCH a.movimientos) y sumas por período del balance
+CREATE INDEX idx_movimientos_contables_asiento
+    ON movimientos_contables (asiento_contable_id);
+
+-- Asientos por rango de fechas y estado: período, balance por fecha, estados comparativos
+CREATE INDEX idx_asientos_contables_fecha_estado
+    ON asientos_contables (fecha, estado);
+
+-- Saldos guardados de un cierre (el único por cuenta y fecha ya tiene índice)
+CREATE INDEX idx_saldos_cierre_fecha
+    ON saldos_cierre (fecha_cierre);
+
+-- Catálogo de cuentas activas ordenado por código
+CREATE INDEX idx_cuentas_codigo_activas
+    ON cuentas (codigo) WHERE activa = true;
+
+-- ========== INVENTARIO ==========
+
+-- Kardex de un producto por fecha
+CREATE INDEX idx_movimientos_inventario_producto_fecha
+    ON movimientos_inventario (producto_id, fecha_movimiento);
+
+-- Movimientos por rango de fechas y los últimos del dashboard
+CREATE INDEX idx_movimientos_inventario_fecha
+    ON movimientos_inventario (fecha_movimiento);
+
+-- Productos activos por nombre y por categoría
+CREATE INDEX idx_productos_nombre_activos
+    ON productos (nombre) WHERE activo = true;
+
+CREATE INDEX idx_productos_categoria_nombre_activos
+    ON productos (categoria, nombre) WHERE activo = true;
+
+-- ========== BANCOS Y CAJA ==========
+
+-- Movimientos de una cuenta bancaria por fecha
+CREATE INDEX idx_movimientos_banco_cuenta_fecha
+    ON movimientos_banco (cuenta_bancaria_id, fecha_movimiento);
+
+-- Movimientos bancarios por rango de fechas
+CREATE INDEX idx_movimientos_banco_fecha
+    ON movimientos_banco (fecha_movimiento);
+
+-- Cheques en circulación: pocos entre todos los movimientos
+CREATE INDEX idx_movimientos_banco_cheques_pendientes
+    ON movimientos_banco (fecha_movimiento)
+    WHERE tipo_movimiento = 'CHEQUE_EMITIDO' AND estado = 'PENDIENTE';
+
+-- Últimos movimientos del dashboard
+CREATE INDEX idx_movimientos_banco_fecha_creacion
+    ON movimientos_banco (fecha_creacion);
+
+CREATE INDEX idx_conciliaciones_bancarias_cuenta
+    ON conciliaciones_bancarias (cuenta_bancaria_id);
+
+-- ========== CLIENTES Y PROVEEDORES ==========
+
+-- Cuentas vencidas y por estado, ordenadas por vencimiento
+CREATE INDEX idx_cuentas_por_cobrar_estado_vencimiento
+    ON cuentas_por_cobrar (estado, fecha_vencimiento);
+
+CREATE INDEX idx_cuentas_por_pagar_estado_vencimiento
+    ON cuentas_por_pagar (estado, fecha_vencimiento);
+
+-- Estado de cuenta de un cliente o proveedor
+CREATE INDEX idx_cuentas_por_cobrar_cliente_vencimiento
+    ON cuentas_por_cobrar (cliente_id, fecha_vencimiento);
+
+CREATE INDEX idx_cuentas_por_pagar_proveedor_vencimiento
+    ON cuentas_por_pagar (proveedor_id, fecha_vencimiento);
+
+-- Clientes y proveedores activos por nombre
+CREATE INDEX idx_clientes_nombre_activos
+    ON clientes (nombre) WHERE activo = true;
+
+CREATE INDEX idx_proveedores_nombre_activos
+    ON proveedores (nombre) WHERE activo = true;
@@ -0,0 +1,11 @@
+-- =================================================================
+-- VERSIÓN EN LAS ENTIDADES CON SALDO
+-- =================================================================
+-- Productos (existencia), cuentas bancarias, clientes y proveedores (saldos) están en
+-- el cache de segundo nivel: la versión (@Version) rechaza el UPDATE hecho sobre una
+-- copia vieja en lugar de sobrescribir el saldo que otra transacción acaba de guardar.
+
+ALTER TABLE productos ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE cuentas_bancarias ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE clientes ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE proveedores ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
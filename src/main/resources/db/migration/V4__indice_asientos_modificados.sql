@@ -0,0 +1,8 @@
+-- =================================================================
+-- ASIENTOS MODIFICADOS RECIENTEMENTE
+-- =================================================================
+-- Cada instancia pone al día su índice de búsqueda en memoria con los asientos creados o
+-- editados por las demás (AsientoContableJdbcRepository.obtenerTextosModificadosDesde)
+
+CREATE INDEX idx_asientos_contables_fecha_modificacion
+    ON asientos_contables (fecha_modificacion);
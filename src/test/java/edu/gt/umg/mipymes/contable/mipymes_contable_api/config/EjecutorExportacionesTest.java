@@ -0,0 +1,59 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ejecutor de las exportaciones en streaming: hilos virtuales y cancelación sin interrumpir la tarea,
+ * sin contexto de Spring
+ */
+class EjecutorExportacionesTest {
+
+    private final EjecutorExportaciones ejecutor = new EjecutorExportaciones();
+
+    @AfterEach
+    void cerrar() {
+        ejecutor.cerrar();
+    }
+
+    @Test
+    void tareasCorrenEnHilosVirtuales() throws Exception {
+        Future<Thread> tarea = ejecutor.submit(Thread::currentThread);
+
+        Thread hilo = tarea.get(5, TimeUnit.SECONDS);
+        assertThat(hilo.isVirtual()).isTrue();
+        assertThat(hilo.getName()).startsWith("exportacion-");
+    }
+
+    @Test
+    void cancelarNoInterrumpeLaTareaEnCurso() throws Exception {
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch terminada = new CountDownLatch(1);
+        AtomicBoolean interrumpida = new AtomicBoolean(false);
+        Future<?> tarea = ejecutor.submit(() -> {
+            iniciada.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                interrumpida.set(true);
+            }
+            terminada.countDown();
+        });
+        assertThat(iniciada.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(tarea.cancel(true)).isTrue();
+        liberar.countDown();
+
+        assertThat(terminada.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(interrumpida).isFalse();
+        assertThat(tarea.isCancelled()).isTrue();
+    }
+}
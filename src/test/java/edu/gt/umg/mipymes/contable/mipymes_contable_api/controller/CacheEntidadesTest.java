@@ -0,0 +1,311 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.NumeracionAsientoService;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.soporte.ContadorSentenciasSql;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.soporte.ContadorSentenciasSql.Medicion;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.soporte.PresupuestoConsultasConfig;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cache de segundo nivel de los catálogos (CacheEntidadesConfig)
+ *
+ * La primera consulta de una entidad va a la BD; la segunda, por ID o por código, no ejecuta SQL.
+ * Después de cada tipo de escritura (edición, contabilización con UPDATE masivo, movimientos)
+ * la siguiente consulta devuelve el valor nuevo, y un saldo cambiado por otra instancia no se
+ * pierde por escribir sobre la copia en cache. Usa su propia BD en memoria.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:cacheentidades")
+@AutoConfigureMockMvc
+@Import(PresupuestoConsultasConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CacheEntidadesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private AsientoContableRepository asientoRepository;
+
+    @Autowired
+    private NumeracionAsientoService numeracionService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private CuentaBancariaRepository cuentaBancariaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProveedorRepository proveedorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cuenta caja;
+    private Cuenta contrapartida;
+    private Producto producto;
+    private CuentaBancaria cuentaBancaria;
+    private Cliente cliente;
+    private Proveedor proveedor;
+
+    @BeforeAll
+    void cargarDatos() {
+        List<Cuenta> catalogo = cuentaRepository.findByActivaTrueOrderByCodigo();
+        caja = catalogo.get(0);
+        contrapartida = catalogo.get(1);
+        producto = productoRepository.save(crearProducto());
+        cuentaBancaria = cuentaBancariaRepository.save(crearCuentaBancaria());
+        cliente = clienteRepository.save(crearCliente());
+        proveedor = proveedorRepository.save(crearProveedor());
+    }
+
+    @ParameterizedTest(name = "{0} sin SQL la segunda vez")
+    @CsvSource({
+        "/api/cuentas/{cuenta}, cuentas",
+        "/api/cuentas/codigo/{codigoCuenta}, cuentas",
+        "/api/inventario/productos/{producto}, productos",
+        "/api/inventario/productos/codigo/{codigoProducto}, productos",
+        "/api/bancos/cuentas/{cuentaBancaria}, cuentas-bancarias",
+        "/api/clientes-proveedores/clientes/{cliente}, clientes",
+        "/api/clientes-proveedores/proveedores/{proveedor}, proveedores"
+    })
+    void segundaConsultaSeRespondeDesdeLaCache(String plantilla, String region) throws Exception {
+        String url = plantilla
+            .replace("{cuenta}", caja.getId().toString())
+            .replace("{codigoCuenta}", caja.getCodigo())
+            .replace("{producto}", producto.getId().toString())
+            .replace("{codigoProducto}", producto.getCodigo())
+            .replace("{cuentaBancaria}", cuentaBancaria.getId().toString())
+            .replace("{cliente}", cliente.getId().toString())
+            .replace("{proveedor}", proveedor.getId().toString());
+        entityManagerFactory.getCache().evictAll();
+        double aciertosAntes = aciertos(region);
+
+        Medicion fria = ContadorSentenciasSql.medir(() -> mockMvc.perform(get(url)).andExpect(status().isOk()));
+        Medicion caliente = ContadorSentenciasSql.medir(() -> mockMvc.perform(get(url)).andExpect(status().isOk()));
+
+        assertThat(fria.total()).as(fria.detalle()).isPositive();
+        assertThat(caliente.total()).as(caliente.detalle()).isZero();
+        assertThat(aciertos(region)).isGreaterThan(aciertosAntes);
+    }
+
+    @Test
+    void edicionDelCodigoInvalidaLaBusquedaPorCodigo() throws Exception {
+        Cuenta cuenta = cuentaRepository.save(crearCuenta("9901"));
+        mockMvc.perform(get("/api/cuentas/codigo/9901")).andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/cuentas/" + cuenta.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"codigo": "9902", "nombre": "Cuenta renombrada", "tipo": "GASTO", "naturaleza": "DEUDORA", "activa": true}
+                    """))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/cuentas/codigo/9901")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/cuentas/codigo/9902"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.nombre").value("Cuenta renombrada"));
+        mockMvc.perform(get("/api/cuentas/" + cuenta.getId()))
+            .andExpect(jsonPath("$.data.codigo").value("9902"));
+    }
+
+    @Test
+    void contabilizacionInvalidaElSaldoDeLasCuentas() throws Exception {
+        BigDecimal saldoAnterior = leerSaldo("/api/cuentas/" + caja.getId(), "$.data.saldo");
+        AsientoContable asiento = asientoRepository.save(crearAsiento(new BigDecimal("75.00")));
+
+        mockMvc.perform(put("/api/asientos/" + asiento.getId() + "/contabilizar")).andExpect(status().isOk());
+
+        assertThat(leerSaldo("/api/cuentas/" + caja.getId(), "$.data.saldo"))
+            .isEqualByComparingTo(saldoAnterior.add(new BigDecimal("75.00")));
+        assertThat(leerSaldo("/api/cuentas/codigo/" + caja.getCodigo(), "$.data.saldo"))
+            .isEqualByComparingTo(saldoAnterior.add(new BigDecimal("75.00")));
+    }
+
+    @Test
+    void movimientosInvalidanExistenciaYSaldoBancario() throws Exception {
+        mockMvc.perform(get("/api/inventario/productos/codigo/" + producto.getCodigo())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/bancos/cuentas/" + cuentaBancaria.getId())).andExpect(status().isOk());
+        int existenciaAnterior = leerSaldo("/api/inventario/productos/" + producto.getId(), "$.data.existencia").intValue();
+        BigDecimal saldoAnterior = leerSaldo("/api/bancos/cuentas/" + cuentaBancaria.getId(), "$.data.saldoLibros");
+
+        mockMvc.perform(post("/api/inventario/movimientos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"productoId": %d, "tipoMovimiento": "ENTRADA_COMPRA", "cantidad": 7, "precioUnitario": 5.00}
+                    """.formatted(producto.getId())))
+            .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/bancos/movimientos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"cuentaBancariaId": %d, "tipoMovimiento": "DEPOSITO", "fechaMovimiento": "%s",
+                     "monto": 30.00, "descripcion": "Depósito de prueba de cache"}
+                    """.formatted(cuentaBancaria.getId(), LocalDate.now())))
+            .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/inventario/productos/codigo/" + producto.getCodigo()))
+            .andExpect(jsonPath("$.data.existencia").value(existenciaAnterior + 7));
+        assertThat(leerSaldo("/api/bancos/cuentas/" + cuentaBancaria.getId(), "$.data.saldoLibros"))
+            .isEqualByComparingTo(saldoAnterior.add(new BigDecimal("30.00")));
+    }
+
+    @Test
+    void cambioDeOtraInstanciaNoSeSobrescribeConLaCopiaEnCache() throws Exception {
+        Producto otro = crearProducto();
+        otro.setCodigo("CE-2");
+        Long id = productoRepository.save(otro).getId();
+        mockMvc.perform(get("/api/inventario/productos/" + id)).andExpect(jsonPath("$.data.existencia").value(10));
+
+        // Otra instancia (otra cache) registra una entrada de 100 directamente en la BD
+        jdbcTemplate.update("UPDATE productos SET existencia = existencia + 100, version = version + 1 WHERE id = ?", id);
+
+        mockMvc.perform(post("/api/inventario/movimientos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"productoId": %d, "tipoMovimiento": "SALIDA_VENTA", "cantidad": 3, "precioUnitario": 8.00}
+                    """.formatted(id)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.data.existenciaAnterior").value(110))
+            .andExpect(jsonPath("$.data.existenciaNueva").value(107));
+        assertThat(existenciaEnBd(id)).isEqualTo(107);
+
+        // La edición del catálogo sobre la copia vieja de la cache se rechaza en lugar de pisar la existencia
+        jdbcTemplate.update("UPDATE productos SET existencia = existencia + 5, version = version + 1 WHERE id = ?", id);
+        mockMvc.perform(put("/api/inventario/productos/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"codigo": "CE-2", "nombre": "Producto renombrado", "precioCompra": 5.00, "precioVenta": 9.00,
+                     "existencia": 107, "stockMinimo": 1, "unidadMedida": "UNIDAD", "activo": true}
+                    """))
+            .andExpect(status().isConflict());
+        assertThat(existenciaEnBd(id)).isEqualTo(112);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private Integer existenciaEnBd(Long productoId) {
+        return jdbcTemplate.queryForObject("SELECT existencia FROM productos WHERE id = ?", Integer.class, productoId);
+    }
+
+    private double aciertos(String region) {
+        return meterRegistry.get("hibernate.second.level.cache.requests")
+            .tag("region", region).tag("result", "hit").functionCounter().count();
+    }
+
+    private BigDecimal leerSaldo(String url, String campo) throws Exception {
+        String respuesta = mockMvc.perform(get(url)).andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return new BigDecimal(JsonPath.read(respuesta, campo).toString());
+    }
+
+    // ========== DATOS DE PRUEBA ==========
+
+    private Cuenta crearCuenta(String codigo) {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setCodigo(codigo);
+        cuenta.setNombre("Cuenta de cache " + codigo);
+        cuenta.setTipo(Cuenta.TipoCuenta.GASTO);
+        cuenta.setNaturaleza(Cuenta.NaturalezaCuenta.DEUDORA);
+        cuenta.setSaldo(BigDecimal.ZERO);
+        cuenta.setActiva(true);
+        return cuenta;
+    }
+
+    private AsientoContable crearAsiento(BigDecimal monto) {
+        AsientoContable asiento = new AsientoContable();
+        asiento.setNumeroAsiento(numeracionService.siguienteNumeroAsiento());
+        asiento.setFecha(LocalDate.now());
+        asiento.setDescripcion("Asiento de prueba de cache");
+        asiento.setTipo(AsientoContable.TipoAsiento.OPERACION);
+        asiento.getMovimientos().add(crearMovimiento(asiento, caja, MovimientoContable.TipoMovimiento.DEBITO, monto, 1));
+        asiento.getMovimientos().add(crearMovimiento(asiento, contrapartida, MovimientoContable.TipoMovimiento.CREDITO, monto, 2));
+        asiento.calcularTotales();
+        return asiento;
+    }
+
+    private MovimientoContable crearMovimiento(AsientoContable asiento, Cuenta cuenta,
+                                               MovimientoContable.TipoMovimiento tipo, BigDecimal monto, int orden) {
+        MovimientoContable movimiento = new MovimientoContable();
+        movimiento.setAsientoContable(asiento);
+        movimiento.setCuenta(cuenta);
+        movimiento.setTipoMovimiento(tipo);
+        movimiento.setMonto(monto);
+        movimiento.setOrden(orden);
+        return movimiento;
+    }
+
+    private Producto crearProducto() {
+        Producto producto = new Producto();
+        producto.setCodigo("CE-1");
+        producto.setNombre("Producto de prueba de cache");
+        producto.setPrecioCompra(new BigDecimal("5.00"));
+        producto.setPrecioVenta(new BigDecimal("8.00"));
+        producto.setExistencia(10);
+        producto.setStockMinimo(1);
+        producto.setUnidadMedida(Producto.UnidadMedida.UNIDAD);
+        return producto;
+    }
+
+    private CuentaBancaria crearCuentaBancaria() {
+        CuentaBancaria cuenta = new CuentaBancaria();
+        cuenta.setNombre("Cuenta de prueba de cache");
+        cuenta.setBanco("Banco de prueba");
+        cuenta.setNumeroCuenta("CE-1");
+        cuenta.setTipo(CuentaBancaria.TipoCuentaBancaria.CUENTA_CORRIENTE);
+        cuenta.setSaldoLibros(new BigDecimal("100.00"));
+        return cuenta;
+    }
+
+    private Cliente crearCliente() {
+        Cliente cliente = new Cliente();
+        cliente.setCodigo("CE-1");
+        cliente.setNombre("Cliente de prueba de cache");
+        return cliente;
+    }
+
+    private Proveedor crearProveedor() {
+        Proveedor proveedor = new Proveedor();
+        proveedor.setCodigo("CE-1");
+        proveedor.setNombre("Proveedor de prueba de cache");
+        return proveedor;
+    }
+}
@@ -0,0 +1,67 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Carga por lote de asientos: un asiento inválido se rechaza solo, sin detener el lote
+ * Usa su propia BD en memoria.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:cargaloteasientos")
+@AutoConfigureMockMvc
+class CargaLoteAsientosTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Test
+    void montoConMasDeDosDecimalesRechazaSoloEseAsiento() throws Exception {
+        List<Cuenta> catalogo = cuentaRepository.findByActivaTrueOrderByCodigo();
+        Long debito = catalogo.get(0).getId();
+        Long credito = catalogo.get(1).getId();
+        String lote = "[" + String.join(",",
+            asiento("LOTE-1", debito, credito, "10.00"),
+            asiento("LOTE-2", debito, credito, "0.001"),
+            asiento("LOTE-3", debito, credito, "20.50")) + "]";
+
+        mockMvc.perform(post("/api/asientos/lote").contentType(MediaType.APPLICATION_JSON).content(lote))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.totalRecibidos").value(3))
+            .andExpect(jsonPath("$.data.totalCreados").value(2))
+            .andExpect(jsonPath("$.data.totalRechazados").value(1))
+            .andExpect(jsonPath("$.data.resultados[0].exito").value(true))
+            .andExpect(jsonPath("$.data.resultados[1].exito").value(false))
+            .andExpect(jsonPath("$.data.resultados[1].referencia").value("LOTE-2"))
+            .andExpect(jsonPath("$.data.resultados[1].mensaje").value(containsString("2 decimales")))
+            .andExpect(jsonPath("$.data.resultados[2].exito").value(true));
+    }
+
+    // ========== DATOS DE PRUEBA ==========
+
+    private String asiento(String referencia, Long debito, Long credito, String monto) {
+        return """
+            {"fecha": "%s", "descripcion": "Asiento de lote", "referencia": "%s", "tipo": "OPERACION",
+             "movimientos": [
+               {"cuentaId": %d, "tipoMovimiento": "DEBITO", "monto": %s},
+               {"cuentaId": %d, "tipoMovimiento": "CREDITO", "monto": %s}
+             ]}
+            """.formatted(LocalDate.now(), referencia, debito, monto, credito, monto);
+    }
+}
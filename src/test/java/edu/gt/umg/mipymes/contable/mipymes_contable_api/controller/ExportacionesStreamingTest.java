@@ -0,0 +1,271 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.zaxxer.hikari.HikariDataSource;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.CuentaBancaria;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoBanco;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoInventario;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Producto;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaBancariaRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.MovimientoBancoRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.MovimientoInventarioRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.ProductoRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exportaciones en streaming (rutas /exportar): forma de la respuesta, mismos elementos que el
+ * listado paginado equivalente, validación antes del primer byte y liberación del cursor y de la
+ * conexión cuando la escritura falla a mitad de camino
+ * Una cuenta bancaria y un producto con más movimientos que varios envíos de 500 elementos.
+ * Usa su propia BD en memoria.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:exportacionesstreaming")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExportacionesStreamingTest {
+
+    private static final int MOVIMIENTOS = 1201;
+    private static final LocalDate HOY = LocalDate.now();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BancosController bancosController;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CuentaBancariaRepository cuentaBancariaRepository;
+
+    @MockitoSpyBean
+    private MovimientoBancoRepository movimientoBancoRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private MovimientoInventarioRepository movimientoInventarioRepository;
+
+    private Long cuentaBancariaId;
+    private Long productoId;
+
+    @BeforeAll
+    void cargarDatos() {
+        CuentaBancaria cuenta = crearCuentaBancaria();
+        Producto producto = crearProducto();
+        cuentaBancariaId = cuenta.getId();
+        productoId = producto.getId();
+
+        List<MovimientoBanco> movimientosBanco = new ArrayList<>();
+        List<MovimientoInventario> movimientosInventario = new ArrayList<>();
+        for (int i = 0; i < MOVIMIENTOS; i++) {
+            movimientosBanco.add(crearMovimientoBanco(cuenta, i));
+            movimientosInventario.add(crearMovimientoInventario(producto));
+        }
+        movimientoBancoRepository.saveAll(movimientosBanco);
+        movimientoInventarioRepository.saveAll(movimientosInventario);
+    }
+
+    @Test
+    void exportacionTieneLaFormaDeApiResponseSinPagina() throws Exception {
+        MvcResult inicio = mockMvc.perform(get("/api/bancos/movimientos/cuenta/{id}/exportar", cuentaBancariaId))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(inicio))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"movimientos-cuenta-" + cuentaBancariaId + ".json\""))
+            .andExpect(jsonPath("$.success").value(true))
+            .andExpect(jsonPath("$.message").value("Movimientos de la cuenta exportados exitosamente"))
+            .andExpect(jsonPath("$.pagina").doesNotExist())
+            .andExpect(jsonPath("$.data.length()").value(MOVIMIENTOS))
+            .andExpect(jsonPath("$.data[0].fechaMovimiento").value(HOY.minusDays(MOVIMIENTOS - 1).toString()));
+    }
+
+    @Test
+    void exportacionDeCuentaBancariaTraeLoMismoQueElListadoPaginado() throws Exception {
+        List<Map<String, Object>> exportados = exportar("/api/bancos/movimientos/cuenta/" + cuentaBancariaId + "/exportar");
+
+        assertThat(exportados).hasSize(MOVIMIENTOS)
+            .containsExactlyInAnyOrderElementsOf(todasLasPaginas("/api/bancos/movimientos/cuenta/" + cuentaBancariaId + "?"));
+    }
+
+    @Test
+    void exportacionPorFechaTraeLoMismoQueElListadoPaginado() throws Exception {
+        String periodo = "fechaInicio=" + HOY.minusDays(999) + "&fechaFin=" + HOY;
+
+        List<Map<String, Object>> exportados = exportar("/api/bancos/movimientos/fecha/exportar?" + periodo);
+
+        assertThat(exportados).hasSize(1000)
+            .containsExactlyInAnyOrderElementsOf(todasLasPaginas("/api/bancos/movimientos/fecha?" + periodo + "&"));
+    }
+
+    @Test
+    void exportacionDeKardexTraeLoMismoQueElListadoPaginado() throws Exception {
+        List<Map<String, Object>> exportados = exportar("/api/inventario/movimientos/producto/" + productoId + "/exportar");
+
+        assertThat(exportados).hasSize(MOVIMIENTOS)
+            .containsExactlyInAnyOrderElementsOf(todasLasPaginas("/api/inventario/movimientos/producto/" + productoId + "?"));
+    }
+
+    @Test
+    void periodoInvertidoSeRechazaAntesDeEmpezarAEscribir() throws Exception {
+        mockMvc.perform(get("/api/bancos/movimientos/fecha/exportar")
+                .param("fechaInicio", HOY.toString())
+                .param("fechaFin", HOY.minusDays(1).toString()))
+            .andExpect(request().asyncNotStarted())
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Período inválido"));
+    }
+
+    @Test
+    void escrituraFallidaCierraElCursorYDevuelveLaConexion() throws Exception {
+        AtomicBoolean cursorCerrado = new AtomicBoolean(false);
+        // El espía de un repository reenvía al repository real con su respuesta por omisión
+        Answer<?> repositorioReal = mockingDetails(movimientoBancoRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocacion -> ((Stream<?>) repositorioReal.answer(invocacion)).onClose(() -> cursorCerrado.set(true)))
+            .when(movimientoBancoRepository).recorrerPorCuenta(anyLong());
+
+        // El cliente se desconecta después de recibir el primer envío
+        assertThatThrownBy(() -> bancosController.exportarMovimientosPorCuenta(cuentaBancariaId).getBody()
+                .writeTo(new SalidaQueFalla(8 * 1024)))
+            .isInstanceOf(IOException.class);
+
+        assertThat(cursorCerrado).isTrue();
+        assertThat(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private List<Map<String, Object>> exportar(String url) throws Exception {
+        MvcResult inicio = mockMvc.perform(get(url))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String cuerpo = mockMvc.perform(asyncDispatch(inicio))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(cuerpo, "$.data");
+    }
+
+    /**
+     * Recorrer el listado paginado con páginas del tamaño máximo hasta que no haya más
+     */
+    private List<Map<String, Object>> todasLasPaginas(String url) throws Exception {
+        List<Map<String, Object>> elementos = new ArrayList<>();
+        String siguiente = "0";
+        while (siguiente != null) {
+            String cuerpo = mockMvc.perform(get(url + "pagina=" + siguiente + "&tamano=500"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            elementos.addAll(JsonPath.read(cuerpo, "$.data"));
+            siguiente = JsonPath.read(cuerpo, "$.pagina.siguiente");
+        }
+        return elementos;
+    }
+
+    /**
+     * Salida que falla como un socket cerrado por el cliente después de cierta cantidad de bytes
+     */
+    private static class SalidaQueFalla extends OutputStream {
+        private final int limite;
+        private int escritos = 0;
+
+        SalidaQueFalla(int limite) {
+            this.limite = limite;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int desde, int cantidad) throws IOException {
+            escritos += cantidad;
+            if (escritos > limite) {
+                throw new IOException("Conexión cerrada por el cliente");
+            }
+        }
+    }
+
+    // ========== DATOS DE PRUEBA ==========
+
+    private CuentaBancaria crearCuentaBancaria() {
+        CuentaBancaria cuenta = new CuentaBancaria();
+        cuenta.setNombre("Cuenta de exportación");
+        cuenta.setBanco("Banco de prueba");
+        cuenta.setNumeroCuenta("EXP-1");
+        cuenta.setTipo(CuentaBancaria.TipoCuentaBancaria.CUENTA_CORRIENTE);
+        cuenta.setSaldoLibros(new BigDecimal("100.00"));
+        return cuentaBancariaRepository.save(cuenta);
+    }
+
+    private MovimientoBanco crearMovimientoBanco(CuentaBancaria cuenta, int i) {
+        MovimientoBanco movimiento = new MovimientoBanco();
+        movimiento.setCuentaBancaria(cuenta);
+        movimiento.setTipoMovimiento(MovimientoBanco.TipoMovimientoBanco.CHEQUE_EMITIDO);
+        movimiento.setFechaMovimiento(HOY.minusDays(i));
+        movimiento.setMonto(new BigDecimal("25.00"));
+        movimiento.setDescripcion("Cheque de exportación " + i);
+        return movimiento;
+    }
+
+    private Producto crearProducto() {
+        Producto producto = new Producto();
+        producto.setCodigo("EXP-1");
+        producto.setNombre("Producto de exportación");
+        producto.setPrecioCompra(new BigDecimal("5.00"));
+        producto.setPrecioVenta(new BigDecimal("8.00"));
+        producto.setExistencia(0);
+        producto.setStockMinimo(10);
+        producto.setUnidadMedida(Producto.UnidadMedida.UNIDAD);
+        return productoRepository.save(producto);
+    }
+
+    private MovimientoInventario crearMovimientoInventario(Producto producto) {
+        MovimientoInventario movimiento = new MovimientoInventario();
+        movimiento.setProducto(producto);
+        movimiento.setTipoMovimiento(MovimientoInventario.TipoMovimiento.ENTRADA_COMPRA);
+        movimiento.setCantidad(5);
+        movimiento.setPrecioUnitario(producto.getPrecioCompra());
+        movimiento.setExistenciaAnterior(0);
+        movimiento.setExistenciaNueva(5);
+        return movimiento;
+    }
+}
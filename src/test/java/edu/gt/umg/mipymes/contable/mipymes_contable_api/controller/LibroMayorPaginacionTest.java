@@ -0,0 +1,149 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.AsientoContableRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.AsientoContableService;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.NumeracionAsientoService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Paginación del Libro Mayor: el saldo de cada página se calcula en el servidor a partir de la
+ * posición del cursor (cuenta de Activo con 5 asientos de 10.00, páginas de 2 líneas)
+ * Usa su propia BD en memoria.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:libromayorpaginacion")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LibroMayorPaginacionTest {
+
+    private static final LocalDate HOY = LocalDate.now();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private AsientoContableRepository asientoRepository;
+
+    @Autowired
+    private AsientoContableService asientoService;
+
+    @Autowired
+    private NumeracionAsientoService numeracionService;
+
+    private Long cuentaId;
+
+    @BeforeAll
+    void cargarDatos() {
+        Cuenta caja = crearCuenta("LM-CAJA", Cuenta.TipoCuenta.ACTIVO);
+        Cuenta ventas = crearCuenta("LM-VTA", Cuenta.TipoCuenta.INGRESO);
+        cuentaId = caja.getId();
+        for (int i = 5; i >= 1; i--) {
+            AsientoContable asiento = asientoRepository.save(crearAsiento(caja, ventas, HOY.minusDays(i)));
+            asientoService.contabilizarAsiento(asiento.getId());
+        }
+    }
+
+    @Test
+    void cadaPaginaContinuaElSaldoCalculadoEnElServidor() throws Exception {
+        String cursor = pagina(null)
+            .andExpect(jsonPath("$.data.saldoInicial").value(0.0))
+            .andExpect(jsonPath("$.data.movimientos[0].saldo").value(10.0))
+            .andExpect(jsonPath("$.data.movimientos[1].saldo").value(20.0))
+            .andExpect(jsonPath("$.pagina.hayMas").value(true))
+            .andReturn().getResponse().getContentAsString();
+        cursor = JsonPath.read(cursor, "$.pagina.siguiente");
+
+        cursor = pagina(cursor)
+            .andExpect(jsonPath("$.data.movimientos[0].saldo").value(30.0))
+            .andExpect(jsonPath("$.data.movimientos[1].saldo").value(40.0))
+            .andReturn().getResponse().getContentAsString();
+        cursor = JsonPath.read(cursor, "$.pagina.siguiente");
+
+        pagina(cursor)
+            .andExpect(jsonPath("$.data.movimientos[0].saldo").value(50.0))
+            .andExpect(jsonPath("$.data.saldoFinal").value(50.0))
+            .andExpect(jsonPath("$.pagina.hayMas").value(false));
+    }
+
+    @Test
+    void cursorConSaldoDelClienteSeRechaza() throws Exception {
+        String conSaldo = HOY.minusDays(4) + "|1|1|1000000.00";
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(conSaldo.getBytes(StandardCharsets.UTF_8));
+
+        pagina(cursor).andExpect(status().isBadRequest());
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private ResultActions pagina(String cursor) throws Exception {
+        var solicitud = get("/api/libro-mayor/{cuenta}", cuentaId)
+            .param("fechaInicio", HOY.minusDays(10).toString())
+            .param("fechaFin", HOY.toString())
+            .param("tamano", "2");
+        if (cursor != null) {
+            solicitud.param("cursor", cursor);
+        }
+        return mockMvc.perform(solicitud);
+    }
+
+    // ========== DATOS DE PRUEBA ==========
+
+    private Cuenta crearCuenta(String codigo, Cuenta.TipoCuenta tipo) {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setCodigo(codigo);
+        cuenta.setNombre("Cuenta de prueba " + codigo);
+        cuenta.setTipo(tipo);
+        cuenta.setNaturaleza(tipo == Cuenta.TipoCuenta.ACTIVO
+            ? Cuenta.NaturalezaCuenta.DEUDORA : Cuenta.NaturalezaCuenta.ACREEDORA);
+        cuenta.setSaldo(BigDecimal.ZERO);
+        cuenta.setActiva(true);
+        return cuentaRepository.save(cuenta);
+    }
+
+    private AsientoContable crearAsiento(Cuenta debito, Cuenta credito, LocalDate fecha) {
+        AsientoContable asiento = new AsientoContable();
+        asiento.setNumeroAsiento(numeracionService.siguienteNumeroAsiento());
+        asiento.setFecha(fecha);
+        asiento.setDescripcion("Venta de contado");
+        asiento.setTipo(AsientoContable.TipoAsiento.OPERACION);
+        asiento.getMovimientos().add(crearMovimiento(asiento, debito, MovimientoContable.TipoMovimiento.DEBITO, 1));
+        asiento.getMovimientos().add(crearMovimiento(asiento, credito, MovimientoContable.TipoMovimiento.CREDITO, 2));
+        asiento.calcularTotales();
+        return asiento;
+    }
+
+    private MovimientoContable crearMovimiento(AsientoContable asiento, Cuenta cuenta,
+                                               MovimientoContable.TipoMovimiento tipo, int orden) {
+        MovimientoContable movimiento = new MovimientoContable();
+        movimiento.setAsientoContable(asiento);
+        movimiento.setCuenta(cuenta);
+        movimiento.setTipoMovimiento(tipo);
+        movimiento.setMonto(new BigDecimal("10.00"));
+        movimiento.setOrden(orden);
+        return movimiento;
+    }
+}
@@ -0,0 +1,174 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.CuentaBancaria;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoBanco;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Producto;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaBancariaRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.MovimientoBancoRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.ProductoRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Metadatos de los listados paginados: un catálogo (Page) trae los totales, un historial (Slice)
+ * solo sabe si hay más; el orden se limita a los campos de cada listado y el tamano al máximo
+ * configurado. Siete productos (tres en el stock mínimo), tres cuentas bancarias (dos sin conciliar)
+ * y siete movimientos en días distintos. Usa su propia BD en memoria.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:listadospaginados")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListadosPaginadosTest {
+
+    private static final int FILAS = 7;
+    private static final LocalDate HOY = LocalDate.now();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private CuentaBancariaRepository cuentaBancariaRepository;
+
+    @Autowired
+    private MovimientoBancoRepository movimientoBancoRepository;
+
+    private Long cuentaBancariaId;
+
+    @BeforeAll
+    void cargarDatos() {
+        for (int i = 1; i <= FILAS; i++) {
+            crearProducto(i);
+        }
+        CuentaBancaria cuenta = crearCuentaBancaria(1, "100.00");
+        crearCuentaBancaria(2, "80.00");
+        crearCuentaBancaria(3, "0.00");
+        cuentaBancariaId = cuenta.getId();
+        for (int i = 0; i < FILAS; i++) {
+            movimientoBancoRepository.save(crearMovimientoBanco(cuenta, i));
+        }
+    }
+
+    @Test
+    void catalogoPaginadoTraeLosTotales() throws Exception {
+        mockMvc.perform(get("/api/inventario/productos").param("pagina", "1").param("tamano", "3").param("orden", "codigo,asc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].codigo").value("LP-4"))
+            .andExpect(jsonPath("$.pagina.numero").value(1))
+            .andExpect(jsonPath("$.pagina.elementos").value(3))
+            .andExpect(jsonPath("$.pagina.hayMas").value(true))
+            .andExpect(jsonPath("$.pagina.siguiente").value("2"))
+            .andExpect(jsonPath("$.pagina.totalElementos").value(FILAS))
+            .andExpect(jsonPath("$.pagina.totalPaginas").value(3));
+    }
+
+    @Test
+    void cuentasNoConciliadasSonUnaPaginaDelCatalogo() throws Exception {
+        mockMvc.perform(get("/api/bancos/cuentas/no-conciliadas"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.length()").value(2))
+            .andExpect(jsonPath("$.data[0].numeroCuenta").value("LP-1"))
+            .andExpect(jsonPath("$.pagina.totalElementos").value(2));
+    }
+
+    @Test
+    void historialPaginadoNoCuentaElTotal() throws Exception {
+        String url = "/api/bancos/movimientos/cuenta/" + cuentaBancariaId;
+
+        mockMvc.perform(get(url).param("pagina", "0").param("tamano", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].fechaMovimiento").value(HOY.toString()))
+            .andExpect(jsonPath("$.pagina.elementos").value(5))
+            .andExpect(jsonPath("$.pagina.hayMas").value(true))
+            .andExpect(jsonPath("$.pagina.siguiente").value("1"))
+            .andExpect(jsonPath("$.pagina.totalElementos").doesNotExist())
+            .andExpect(jsonPath("$.pagina.totalPaginas").doesNotExist());
+
+        mockMvc.perform(get(url).param("pagina", "1").param("tamano", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.pagina.numero").value(1))
+            .andExpect(jsonPath("$.pagina.elementos").value(2))
+            .andExpect(jsonPath("$.pagina.hayMas").value(false))
+            .andExpect(jsonPath("$.pagina.siguiente").doesNotExist());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "/api/inventario/productos?orden=descripcion,asc",
+        "/api/bancos/cuentas?orden=numeroCuenta,desc",
+        "/api/bancos/movimientos?orden=cuentaBancaria.nombre,asc"
+    })
+    void ordenFueraDeLosCamposDelListadoDevuelve400(String url) throws Exception {
+        mockMvc.perform(get(url))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Orden inválido"));
+    }
+
+    @Test
+    void tamanoMayorAlMaximoSeReduceAlMaximo() throws Exception {
+        mockMvc.perform(get("/api/inventario/productos").param("tamano", "10000"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.length()").value(FILAS))
+            .andExpect(jsonPath("$.pagina.tamano").value(500))
+            .andExpect(jsonPath("$.pagina.hayMas").value(false));
+    }
+
+    @Test
+    void reporteDeInventarioListaLosProductosEnStockMinimo() throws Exception {
+        mockMvc.perform(get("/api/inventario/reporte"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.totalProductos").value(FILAS))
+            .andExpect(jsonPath("$.data.productosStockMinimo.length()").value(3))
+            .andExpect(jsonPath("$.data.productosStockMinimo[0].codigo").value("LP-1"));
+    }
+
+    // ========== DATOS DE PRUEBA ==========
+
+    private Producto crearProducto(int i) {
+        Producto producto = new Producto();
+        producto.setCodigo("LP-" + i);
+        producto.setNombre("Producto de listado " + i);
+        producto.setPrecioCompra(new BigDecimal("5.00"));
+        producto.setPrecioVenta(new BigDecimal("8.00"));
+        producto.setExistencia(i * 4);     // Los tres primeros quedan en el stock mínimo o por debajo
+        producto.setStockMinimo(12);
+        producto.setUnidadMedida(Producto.UnidadMedida.UNIDAD);
+        return productoRepository.save(producto);
+    }
+
+    private CuentaBancaria crearCuentaBancaria(int i, String saldoLibros) {
+        CuentaBancaria cuenta = new CuentaBancaria();
+        cuenta.setNombre("Cuenta de listado " + i);
+        cuenta.setBanco("Banco de prueba");
+        cuenta.setNumeroCuenta("LP-" + i);
+        cuenta.setTipo(CuentaBancaria.TipoCuentaBancaria.CUENTA_CORRIENTE);
+        cuenta.setSaldoLibros(new BigDecimal(saldoLibros));
+        return cuentaBancariaRepository.save(cuenta);
+    }
+
+    private MovimientoBanco crearMovimientoBanco(CuentaBancaria cuenta, int i) {
+        MovimientoBanco movimiento = new MovimientoBanco();
+        movimiento.setCuentaBancaria(cuenta);
+        movimiento.setTipoMovimiento(MovimientoBanco.TipoMovimientoBanco.CHEQUE_EMITIDO);
+        movimiento.setFechaMovimiento(HOY.minusDays(i));
+        movimiento.setMonto(new BigDecimal("25.00"));
+        movimiento.setDescripcion("Cheque de listado " + i);
+        return movimiento;
+    }
+}
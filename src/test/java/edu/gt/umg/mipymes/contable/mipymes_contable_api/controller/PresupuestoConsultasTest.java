@@ -0,0 +1,282 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.controller;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.AsientoContableService;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CacheReportes;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.NumeracionAsientoService;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.soporte.ContadorSentenciasSql;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.soporte.ContadorSentenciasSql.Medicion;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.soporte.PresupuestoConsultasConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Presupuesto de sentencias SQL por endpoint de consulta
+ *
+ * Cada listado devuelve filas de 20 productos, cuentas bancarias, clientes, proveedores y cuentas
+ * contables distintos: si la conversión a DTO cargara las asociaciones fila por fila (N+1),
+ * el endpoint haría 10 a 20 sentencias de más y superaría su presupuesto.
+ * Una página intermedia de un catálogo suma el COUNT del total; la de un historial no lo hace.
+ * Los reportes se miden sin cache. Usa su propia BD en memoria para no compartir datos con
+ * las demás pruebas.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:presupuestoconsultas")
+@AutoConfigureMockMvc
+@Import(PresupuestoConsultasConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PresupuestoConsultasTest {
+
+    private static final int FILAS = 20;
+    private static final LocalDate HOY = LocalDate.now();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheReportes cacheReportes;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private AsientoContableRepository asientoRepository;
+
+    @Autowired
+    private AsientoContableService asientoService;
+
+    @Autowired
+    private NumeracionAsientoService numeracionService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private MovimientoInventarioRepository movimientoInventarioRepository;
+
+    @Autowired
+    private CuentaBancariaRepository cuentaBancariaRepository;
+
+    @Autowired
+    private MovimientoBancoRepository movimientoBancoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CuentaPorCobrarRepository cuentaPorCobrarRepository;
+
+    @Autowired
+    private ProveedorRepository proveedorRepository;
+
+    @Autowired
+    private CuentaPorPagarRepository cuentaPorPagarRepository;
+
+    private Long productoId;
+    private Long cuentaBancariaId;
+    private Long clienteId;
+    private Long cuentaContableId;
+    private AsientoContable ultimoAsiento;
+
+    @BeforeAll
+    void cargarDatos() {
+        List<Cuenta> catalogo = cuentaRepository.findByActivaTrueOrderByCodigo();
+        Cuenta caja = catalogo.get(0);
+        cuentaContableId = caja.getId();
+        for (int i = 0; i < FILAS; i++) {
+            // Cada asiento afecta una cuenta distinta del catálogo
+            ultimoAsiento = asientoRepository.save(crearAsiento(caja, catalogo.get(1 + i % (catalogo.size() - 1)), i));
+            asientoService.contabilizarAsiento(ultimoAsiento.getId());
+
+            Producto producto = crearProducto(i);
+            movimientoInventarioRepository.save(crearMovimientoInventario(producto));
+            productoId = producto.getId();
+
+            CuentaBancaria cuentaBancaria = crearCuentaBancaria(i);
+            movimientoBancoRepository.save(crearMovimientoBanco(cuentaBancaria, i));
+            cuentaBancariaId = cuentaBancaria.getId();
+
+            Cliente cliente = crearCliente(i);
+            cuentaPorCobrarRepository.save(crearCuentaPorCobrar(cliente, i));
+            cuentaPorCobrarRepository.save(crearCuentaPorCobrar(cliente, FILAS + i));
+            clienteId = cliente.getId();
+
+            cuentaPorPagarRepository.save(crearCuentaPorPagar(crearProveedor(i), i));
+        }
+    }
+
+    @ParameterizedTest(name = "{0} <= {1} sentencias")
+    @CsvSource({
+        "/api/cuentas, 1",
+        "/api/cuentas/catalogo, 1",
+        "/api/cuentas/tipo/ACTIVO, 1",
+        "/api/asientos, 1",
+        "/api/asientos/periodo?fechaInicio={desde}&fechaFin={hoy}, 1",
+        "/api/asientos/{asiento}, 1",
+        "/api/asientos/numero/{numero}, 1",
+        "/api/asientos/buscar?descripcion=presupuesto, 1",
+        "/api/libro-mayor/{cuenta}?fechaInicio={desde}&fechaFin={hoy}, 3",
+        "/api/balance-comprobacion, 1",
+        "/api/balance-comprobacion/fecha/{hoy}, 5",
+        "/api/estados-financieros/balance-general, 5",
+        "/api/estados-financieros/estado-resultados, 2",
+        "/api/inventario/productos, 1",
+        "'/api/inventario/productos?tamano=5&pagina=1&orden=codigo,desc', 2",
+        "/api/inventario/productos/stock-minimo, 1",
+        "/api/inventario/movimientos, 1",
+        "/api/inventario/movimientos/producto/{producto}, 1",
+        "/api/inventario/reporte, 3",
+        "/api/bancos/cuentas, 1",
+        "/api/bancos/cuentas/no-conciliadas, 1",
+        "/api/bancos/movimientos, 1",
+        "/api/bancos/movimientos/cuenta/{cuentaBancaria}, 1",
+        "/api/bancos/movimientos/fecha?fechaInicio={desde}&fechaFin={hoy}, 1",
+        "/api/bancos/movimientos/cheques, 1",
+        "/api/bancos/movimientos?tamano=5&pagina=1, 1",
+        "/api/bancos/resumen, 4",
+        "/api/clientes-proveedores/clientes, 1",
+        "/api/clientes-proveedores/clientes/con-saldo, 1",
+        "/api/clientes-proveedores/proveedores, 1",
+        "/api/clientes-proveedores/cuentas-cobrar/cliente/{cliente}, 1",
+        "/api/clientes-proveedores/cuentas-cobrar/vencidas, 1",
+        "/api/clientes-proveedores/cuentas-pagar/vencidas, 1",
+        "/api/clientes-proveedores/resumen, 6",
+        "/api/dashboard, 15"
+    })
+    void endpointRespetaPresupuestoDeSentencias(String plantilla, int maximo) throws Exception {
+        String url = plantilla
+            .replace("{desde}", HOY.minusDays(FILAS).toString())
+            .replace("{hoy}", HOY.toString())
+            .replace("{asiento}", ultimoAsiento.getId().toString())
+            .replace("{numero}", ultimoAsiento.getNumeroAsiento().toString())
+            .replace("{cuenta}", cuentaContableId.toString())
+            .replace("{producto}", productoId.toString())
+            .replace("{cuentaBancaria}", cuentaBancariaId.toString())
+            .replace("{cliente}", clienteId.toString());
+        cacheReportes.limpiar();
+
+        Medicion medicion = ContadorSentenciasSql.medir(() -> mockMvc.perform(get(url)).andExpect(status().isOk()));
+
+        assertThat(medicion.total()).as(medicion.detalle()).isLessThanOrEqualTo(maximo);
+    }
+
+    // ========== DATOS DE PRUEBA ==========
+
+    private AsientoContable crearAsiento(Cuenta debito, Cuenta credito, int i) {
+        AsientoContable asiento = new AsientoContable();
+        asiento.setNumeroAsiento(numeracionService.siguienteNumeroAsiento());
+        asiento.setFecha(HOY.minusDays(i % FILAS));
+        asiento.setDescripcion("Asiento de presupuesto " + i);
+        asiento.setTipo(AsientoContable.TipoAsiento.OPERACION);
+        asiento.getMovimientos().add(crearMovimiento(asiento, debito, MovimientoContable.TipoMovimiento.DEBITO, 1));
+        asiento.getMovimientos().add(crearMovimiento(asiento, credito, MovimientoContable.TipoMovimiento.CREDITO, 2));
+        asiento.calcularTotales();
+        return asiento;
+    }
+
+    private MovimientoContable crearMovimiento(AsientoContable asiento, Cuenta cuenta,
+                                               MovimientoContable.TipoMovimiento tipo, int orden) {
+        MovimientoContable movimiento = new MovimientoContable();
+        movimiento.setAsientoContable(asiento);
+        movimiento.setCuenta(cuenta);
+        movimiento.setTipoMovimiento(tipo);
+        movimiento.setMonto(new BigDecimal("10.00"));
+        movimiento.setOrden(orden);
+        return movimiento;
+    }
+
+    private Producto crearProducto(int i) {
+        Producto producto = new Producto();
+        producto.setCodigo("PP-" + i);
+        producto.setNombre("Producto de presupuesto " + i);
+        producto.setPrecioCompra(new BigDecimal("5.00"));
+        producto.setPrecioVenta(new BigDecimal("8.00"));
+        producto.setExistencia(0);
+        producto.setStockMinimo(10);
+        producto.setUnidadMedida(Producto.UnidadMedida.UNIDAD);
+        return productoRepository.save(producto);
+    }
+
+    private MovimientoInventario crearMovimientoInventario(Producto producto) {
+        MovimientoInventario movimiento = new MovimientoInventario();
+        movimiento.setProducto(producto);
+        movimiento.setTipoMovimiento(MovimientoInventario.TipoMovimiento.ENTRADA_COMPRA);
+        movimiento.setCantidad(5);
+        movimiento.setPrecioUnitario(producto.getPrecioCompra());
+        movimiento.setExistenciaAnterior(0);
+        movimiento.setExistenciaNueva(5);
+        return movimiento;
+    }
+
+    private CuentaBancaria crearCuentaBancaria(int i) {
+        CuentaBancaria cuenta = new CuentaBancaria();
+        cuenta.setNombre("Cuenta de presupuesto " + i);
+        cuenta.setBanco("Banco de prueba");
+        cuenta.setNumeroCuenta("PP-" + i);
+        cuenta.setTipo(CuentaBancaria.TipoCuentaBancaria.CUENTA_CORRIENTE);
+        cuenta.setSaldoLibros(new BigDecimal("100.00"));
+        return cuentaBancariaRepository.save(cuenta);
+    }
+
+    private MovimientoBanco crearMovimientoBanco(CuentaBancaria cuenta, int i) {
+        MovimientoBanco movimiento = new MovimientoBanco();
+        movimiento.setCuentaBancaria(cuenta);
+        movimiento.setTipoMovimiento(MovimientoBanco.TipoMovimientoBanco.CHEQUE_EMITIDO);
+        movimiento.setFechaMovimiento(HOY.minusDays(i % FILAS));
+        movimiento.setMonto(new BigDecimal("25.00"));
+        movimiento.setDescripcion("Cheque de presupuesto " + i);
+        return movimiento;
+    }
+
+    private Cliente crearCliente(int i) {
+        Cliente cliente = new Cliente();
+        cliente.setCodigo("PP-" + i);
+        cliente.setNombre("Cliente de presupuesto " + i);
+        cliente.setSaldoActual(new BigDecimal("50.00"));
+        return clienteRepository.save(cliente);
+    }
+
+    private CuentaPorCobrar crearCuentaPorCobrar(Cliente cliente, int i) {
+        CuentaPorCobrar cuenta = new CuentaPorCobrar();
+        cuenta.setCliente(cliente);
+        cuenta.setNumeroDocumento("PP-CXC-" + i);
+        cuenta.setFechaEmision(HOY.minusDays(60));
+        cuenta.setFechaVencimiento(HOY.minusDays(30));
+        cuenta.setMontoOriginal(new BigDecimal("25.00"));
+        cuenta.setSaldoPendiente(new BigDecimal("25.00"));
+        return cuenta;
+    }
+
+    private Proveedor crearProveedor(int i) {
+        Proveedor proveedor = new Proveedor();
+        proveedor.setCodigo("PP-" + i);
+        proveedor.setNombre("Proveedor de presupuesto " + i);
+        return proveedorRepository.save(proveedor);
+    }
+
+    private CuentaPorPagar crearCuentaPorPagar(Proveedor proveedor, int i) {
+        CuentaPorPagar cuenta = new CuentaPorPagar();
+        cuenta.setProveedor(proveedor);
+        cuenta.setNumeroDocumento("PP-CXP-" + i);
+        cuenta.setFechaEmision(HOY.minusDays(60));
+        cuenta.setFechaVencimiento(HOY.minusDays(30));
+        cuenta.setMontoOriginal(new BigDecimal("40.00"));
+        cuenta.setSaldoPendiente(new BigDecimal("40.00"));
+        return cuenta;
+    }
+}
@@ -0,0 +1,85 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.IndiceBusquedaAsientos.Coincidencia;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.IndiceBusquedaAsientos.ResultadoBusqueda;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.IndiceBusquedaAsientos.TextoAsiento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Puntaje, desempates, paginación y reemplazo de textos del índice de trigramas, sin contexto de Spring
+ */
+class IndiceTrigramasMemoriaTest {
+
+    private IndiceTrigramasMemoria indice;
+
+    @BeforeEach
+    void crearIndice() {
+        indice = new IndiceTrigramasMemoria();
+        indexar(1, "Pago de factura a proveedor");
+        indexar(2, "Venta de contado");
+        indexar(3, "Pago de planilla");
+    }
+
+    @Test
+    void empatesDevuelvenPrimeroLosMasRecientes() {
+        ResultadoBusqueda resultado = indice.buscar("pago", 0, 10);
+
+        assertThat(resultado.total()).isEqualTo(2);
+        assertThat(ids(resultado)).containsExactly(3L, 1L);
+        assertThat(resultado.coincidencias()).allSatisfy(coincidencia -> assertThat(coincidencia.puntaje()).isEqualTo(1.0));
+    }
+
+    @Test
+    void toleraErroresDeEscrituraYOrdenaPorPuntaje() {
+        ResultadoBusqueda resultado = indice.buscar("proveedr pago", 0, 10);
+
+        assertThat(ids(resultado)).containsExactly(1L);
+        assertThat(resultado.coincidencias().get(0).puntaje()).isLessThan(1.0);
+    }
+
+    @Test
+    void paginaDesdeLaPosicionPedida() {
+        ResultadoBusqueda resultado = indice.buscar("pago", 1, 1);
+
+        assertThat(resultado.total()).isEqualTo(2);
+        assertThat(ids(resultado)).containsExactly(1L);
+    }
+
+    @Test
+    void textoEditadoReemplazaAlAnterior() {
+        indexar(1, "Compra de mercadería");
+
+        assertThat(ids(indice.buscar("pago", 0, 10))).containsExactly(3L);
+        assertThat(ids(indice.buscar("mercaderia", 0, 10))).containsExactly(1L);
+        assertThat(indice.cantidadIndexados()).isEqualTo(3);
+    }
+
+    @Test
+    void cuentaCoincidenciasEnListasDeDistintoLargo() {
+        indice = new IndiceTrigramasMemoria();
+        for (int id = 1; id <= 300; id++) {
+            indexar(id, (id % 2 == 0 ? "pago " : "") + (id % 3 == 0 ? "proveedor" : "venta"));
+        }
+
+        // Solo "proveedor" o solo "pago" no llegan al 75% de los trigramas de la consulta
+        ResultadoBusqueda resultado = indice.buscar("pago proveedor", 0, 3);
+
+        assertThat(resultado.total()).isEqualTo(50);
+        assertThat(ids(resultado)).containsExactly(300L, 294L, 288L);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void indexar(long asientoId, String descripcion) {
+        indice.indexar(new TextoAsiento(asientoId, descripcion, null, List.of()));
+    }
+
+    private List<Long> ids(ResultadoBusqueda resultado) {
+        return resultado.coincidencias().stream().map(Coincidencia::asientoId).toList();
+    }
+}
@@ -0,0 +1,253 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.repository;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.soporte.ContadorSentenciasSql;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.soporte.ContadorSentenciasSql.Medicion;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.soporte.PresupuestoConsultasConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Planes de PostgreSQL de las consultas principales con el esquema de Flyway (perfil prod)
+ *
+ * Captura el SQL que generan los repositorios, lo prepara en el servidor y revisa con EXPLAIN
+ * el plan genérico, el que sirve para cualquier valor de los parámetros. Las tablas se llenan con miles de filas y se
+ * analizan antes, para que el planificador prefiera el índice solo si de verdad conviene.
+ * Levanta PostgreSQL 16 en un contenedor; sin Docker la prueba se omite.
+ */
+@SpringBootTest
+@ActiveProfiles("prod")
+@Testcontainers(disabledWithoutDocker = true)
+@Import({IndicesPostgresTest.PostgresConfig.class, PresupuestoConsultasConfig.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IndicesPostgresTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2024, 1, 1);
+    // Primera página de los listados de movimientos con el orden por omisión de los services
+    private static final Pageable PRIMERA_PAGINA_RECIENTES =
+        PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "fechaMovimiento", "id"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LibroMayorJdbcRepository libroMayorRepository;
+
+    @Autowired
+    private SaldoCierreRepository saldoCierreRepository;
+
+    @Autowired
+    private MovimientoInventarioRepository movimientoInventarioRepository;
+
+    @Autowired
+    private MovimientoBancoRepository movimientoBancoRepository;
+
+    @Autowired
+    private CuentaPorCobrarRepository cuentaPorCobrarRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class PostgresConfig {
+
+        @Bean
+        @ServiceConnection
+        PostgreSQLContainer<?> postgres() {
+            return new PostgreSQLContainer<>("postgres:16-alpine");
+        }
+    }
+
+    @BeforeAll
+    void cargarDatos() {
+        // 300 cuentas, 100 mil asientos en dos años (2% en borrador) con dos movimientos cada uno
+        jdbcTemplate.update(
+            "INSERT INTO cuentas (codigo, nombre, tipo, naturaleza, saldo, activa, version, " +
+            "fecha_creacion, fecha_modificacion) " +
+            "SELECT 'P' || g, 'Cuenta ' || g, 'ACTIVO', 'DEUDORA', 0, true, 0, now(), now() " +
+            "FROM generate_series(1, 300) g");
+        jdbcTemplate.update(
+            "INSERT INTO asientos_contables (numero_asiento, fecha, descripcion, tipo, total_debitos, " +
+            "total_creditos, estado, fecha_creacion, fecha_modificacion) " +
+            "SELECT 1000000 + g, DATE '2024-01-01' + g % 730, 'Asiento ' || g, 'OPERACION', 100, 100, " +
+            "CASE WHEN g % 50 = 0 THEN 'BORRADOR' ELSE 'CONTABILIZADO' END, now(), now() " +
+            "FROM generate_series(1, 100000) g");
+        jdbcTemplate.update(
+            "INSERT INTO movimientos_contables (asiento_contable_id, cuenta_id, tipo_movimiento, monto, orden, " +
+            "fecha_creacion, fecha_modificacion) " +
+            "SELECT a.id, c.primera + (a.id * 7 + o) % 300, CASE o WHEN 0 THEN 'DEBITO' ELSE 'CREDITO' END, " +
+            "100, o + 1, now(), now() " +
+            "FROM asientos_contables a CROSS JOIN generate_series(0, 1) o " +
+            "CROSS JOIN (SELECT MIN(id) AS primera FROM cuentas WHERE codigo LIKE 'P%') c");
+        // Cierres mensuales de las 300 cuentas
+        jdbcTemplate.update(
+            "INSERT INTO saldos_cierre (cuenta_id, fecha_cierre, saldo, fecha_creacion) " +
+            "SELECT c.id, (DATE '2024-02-01' + m * INTERVAL '1 month')::date - 1, 0, now() " +
+            "FROM cuentas c CROSS JOIN generate_series(0, 23) m WHERE c.codigo LIKE 'P%'");
+
+        // 20 mil productos en 50 categorías (20% inactivos) y 200 mil movimientos
+        jdbcTemplate.update(
+            "INSERT INTO productos (codigo, nombre, precio_compra, precio_venta, existencia, stock_minimo, " +
+            "unidad_medida, activo, categoria, fecha_creacion, fecha_modificacion) " +
+            "SELECT 'PRD' || g, 'Producto ' || g, 10, 15, 100, 5, 'UNIDAD', g % 5 <> 0, 'CAT' || g % 50, now(), now() " +
+            "FROM generate_series(1, 20000) g");
+        jdbcTemplate.update(
+            "INSERT INTO movimientos_inventario (producto_id, tipo_movimiento, cantidad, precio_unitario, " +
+            "existencia_anterior, existencia_nueva, fecha_movimiento) " +
+            "SELECT p.primero + g % 20000, 'ENTRADA_COMPRA', 1, 10, 99, 100, " +
+            "TIMESTAMP '2024-01-01 08:00' + (g % 730) * INTERVAL '1 day' " +
+            "FROM generate_series(1, 200000) g CROSS JOIN (SELECT MIN(id) AS primero FROM productos) p");
+
+        // 5 cuentas bancarias con 100 mil movimientos; 1 de cada 100 es un cheque sin conciliar
+        jdbcTemplate.update(
+            "INSERT INTO cuentas_bancarias (nombre, banco, numero_cuenta, tipo, saldo_libros, saldo_banco, " +
+            "activa, fecha_creacion, fecha_modificacion) " +
+            "SELECT 'Cuenta ' || g, 'Banco', 'CB-' || g, 'CUENTA_CORRIENTE', 0, 0, true, now(), now() " +
+            "FROM generate_series(1, 5) g");
+        jdbcTemplate.update(
+            "INSERT INTO movimientos_banco (cuenta_bancaria_id, tipo_movimiento, fecha_movimiento, monto, " +
+            "descripcion, estado, fecha_creacion, fecha_modificacion) " +
+            "SELECT b.primera + g % 5, CASE WHEN g % 10 = 0 THEN 'CHEQUE_EMITIDO' ELSE 'DEPOSITO' END, " +
+            "DATE '2024-01-01' + g % 730, 100, 'Movimiento ' || g, " +
+            "CASE WHEN g % 100 = 0 THEN 'PENDIENTE' ELSE 'CONCILIADO' END, now(), now() " +
+            "FROM generate_series(1, 100000) g CROSS JOIN (SELECT MIN(id) AS primera FROM cuentas_bancarias) b");
+
+        // 5 mil clientes con 100 mil documentos; 10% sigue pendiente o parcial
+        jdbcTemplate.update(
+            "INSERT INTO clientes (codigo, nombre, tipo_cliente, limite_credito, saldo_actual, dias_credito, " +
+            "activo, fecha_creacion, fecha_modificacion) " +
+            "SELECT 'CLI' || g, 'Cliente ' || g, 'EMPRESA', 1000, 0, 30, true, now(), now() " +
+            "FROM generate_series(1, 5000) g");
+        jdbcTemplate.update(
+            "INSERT INTO cuentas_por_cobrar (cliente_id, numero_documento, fecha_emision, fecha_vencimiento, " +
+            "monto_original, monto_abonado, saldo_pendiente, estado, fecha_creacion, fecha_modificacion) " +
+            "SELECT c.primero + g % 5000, 'DOC-' || g, DATE '2024-01-01' + g % 730, DATE '2024-01-31' + g % 730, " +
+            "100, 0, 100, CASE g % 20 WHEN 0 THEN 'PENDIENTE' WHEN 1 THEN 'PARCIAL' ELSE 'PAGADO' END, now(), now() " +
+            "FROM generate_series(1, 100000) g CROSS JOIN (SELECT MIN(id) AS primero FROM clientes) c");
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void libroMayorUsaIndiceCuentaAsiento() throws Exception {
+        Long cuentaId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM cuentas WHERE codigo LIKE 'P%'", Long.class);
+        LocalDate desde = INICIO.plusMonths(6);
+
+        String plan = planDe(() -> libroMayorRepository.obtenerMovimientos(
+            cuentaId, desde, desde.plusMonths(1).minusDays(1), LibroMayorJdbcRepository.Posicion.antesDe(desde), 100));
+
+        assertThat(plan).contains("idx_movimientos_contables_cuenta_asiento");
+    }
+
+    @Test
+    void saldosDeCierreConNetosDelPeriodoUsanIndiceFechaEstado() throws Exception {
+        LocalDate cierre = INICIO.plusMonths(6).minusDays(1);
+
+        String plan = planDe(() -> saldoCierreRepository.obtenerSaldosConNetos(cierre, cierre, cierre.plusMonths(1)));
+
+        assertThat(plan)
+            .contains("idx_asientos_contables_fecha_estado")
+            .contains("idx_movimientos_contables_asiento");
+    }
+
+    @Test
+    void kardexUsaIndiceProductoFecha() throws Exception {
+        Long productoId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM productos", Long.class);
+
+        String plan = planDe(() -> movimientoInventarioRepository.listarPorProducto(productoId, PRIMERA_PAGINA_RECIENTES));
+
+        assertThat(plan).contains("idx_movimientos_inventario_producto_fecha");
+    }
+
+    @Test
+    void movimientosBancariosPorCuentaUsanIndiceCuentaFecha() throws Exception {
+        Long cuentaId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM cuentas_bancarias", Long.class);
+
+        String plan = planDe(() -> movimientoBancoRepository.obtenerMovimientosPorCuentaYFecha(
+            cuentaId, INICIO.plusMonths(6), INICIO.plusMonths(7)));
+
+        assertThat(plan).contains("idx_movimientos_banco_cuenta_fecha");
+    }
+
+    @Test
+    void chequesEnCirculacionUsanIndiceParcial() throws Exception {
+        String plan = planDe(() -> movimientoBancoRepository.listarChequesEnCirculacion(PRIMERA_PAGINA_RECIENTES));
+
+        assertThat(plan).contains("idx_movimientos_banco_cheques_pendientes");
+    }
+
+    @Test
+    void cuentasVencidasUsanIndiceEstadoVencimiento() throws Exception {
+        String plan = planDe(() -> cuentaPorCobrarRepository.listarVencidas(INICIO.plusMonths(6)));
+
+        assertThat(plan).contains("idx_cuentas_por_cobrar_estado_vencimiento");
+    }
+
+    @Test
+    void productosActivosPorCategoriaUsanIndiceParcial() throws Exception {
+        String plan = planDe(() -> productoRepository.findByCategoriaAndActivoTrueOrderByNombre("CAT7"));
+
+        assertThat(plan).contains("idx_productos_categoria_nombre_activos");
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * SQL y plan genérico de la única sentencia que ejecuta la consulta
+     */
+    private String planDe(ContadorSentenciasSql.Accion consulta) throws Exception {
+        Medicion medicion = ContadorSentenciasSql.medir(consulta);
+        assertThat(medicion.total()).as(medicion.detalle()).isEqualTo(1);
+
+        // Los parámetros JDBC (?) pasan a ser $1, $2... de una sentencia preparada en el servidor
+        StringBuilder sql = new StringBuilder();
+        int parametros = 0;
+        for (char caracter : medicion.sentencias().get(0).toCharArray()) {
+            if (caracter == '?') {
+                sql.append('$').append(++parametros);
+            } else {
+                sql.append(caracter);
+            }
+        }
+        String valores = parametros == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parametros, "NULL")) + ")";
+
+        // Con force_generic_plan los valores (NULL) no influyen en el plan
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) conexion -> {
+            try (Statement sentencia = conexion.createStatement()) {
+                sentencia.execute("PREPARE consulta AS " + sql);
+                sentencia.execute("SET plan_cache_mode = force_generic_plan");
+                StringBuilder lineas = new StringBuilder();
+                try (ResultSet filas = sentencia.executeQuery("EXPLAIN EXECUTE consulta" + valores)) {
+                    while (filas.next()) {
+                        lineas.append(System.lineSeparator()).append(filas.getString(1));
+                    }
+                }
+                sentencia.execute("RESET plan_cache_mode");
+                sentencia.execute("DEALLOCATE consulta");
+                return lineas.toString();
+            }
+        });
+        return sql + plan;
+    }
+}
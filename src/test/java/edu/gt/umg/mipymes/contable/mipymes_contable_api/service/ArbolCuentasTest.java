@@ -0,0 +1,88 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.config.AgrupacionCuentasProperties;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LineaBalanceDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.SubtotalCuentaDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Grupos por prefijo más largo y subtotales por nivel del árbol de cuentas, sin contexto de Spring
+ */
+class ArbolCuentasTest {
+
+    private static final String GASTOS_FINANCIEROS = "gastos-financieros";
+
+    private ArbolCuentas arbol;
+
+    @BeforeEach
+    void crearArbol() {
+        AgrupacionCuentasProperties agrupacion = new AgrupacionCuentasProperties();
+        agrupacion.setNiveles(List.of(1, 2));
+        agrupacion.setNombres(Map.of("1", "Activo"));
+        agrupacion.setGrupos(Map.of(
+            AgrupacionCuentasProperties.COSTO_VENTAS, List.of("51"),
+            GASTOS_FINANCIEROS, List.of(" 5102 "),
+            AgrupacionCuentasProperties.ACTIVO_NO_CORRIENTE, List.of("12")));
+        arbol = new ArbolCuentas(List.of("1001", "1002", "1201", "2101", "5101", "510201", "5201"), agrupacion);
+    }
+
+    @Test
+    void elPrefijoMasLargoDecideElGrupo() {
+        assertThat(arbol.grupoDe("5101")).isEqualTo(AgrupacionCuentasProperties.COSTO_VENTAS);
+        assertThat(arbol.grupoDe("510201")).isEqualTo(GASTOS_FINANCIEROS);
+        assertThat(arbol.grupoDe("1201")).isEqualTo(AgrupacionCuentasProperties.ACTIVO_NO_CORRIENTE);
+        assertThat(arbol.grupoDe("5201")).isNull();
+        assertThat(arbol.perteneceA("510201", AgrupacionCuentasProperties.COSTO_VENTAS)).isFalse();
+    }
+
+    @Test
+    void cuentaPosteriorAlArbolTomaElGrupoDeSuPrefijoConocido() {
+        assertThat(arbol.grupoDe("5109")).isEqualTo(AgrupacionCuentasProperties.COSTO_VENTAS);
+        assertThat(arbol.grupoDe("9001")).isNull();
+    }
+
+    @Test
+    void subtotalesPorNivelConfiguradoOrdenadosPorPrefijo() {
+        List<SubtotalCuentaDTO> subtotales = arbol.subtotalizar(List.of(
+            linea("1001", "DEUDORA", "100.10"),
+            linea("1002", "DEUDORA", "50.05"),
+            linea("1201", "DEUDORA", "200.00"),
+            linea("2101", "ACREEDORA", "300.15"),
+            linea("1003", "DEUDORA", "10.00")));   // Creada después del árbol: suma en "100"
+
+        assertThat(subtotales).extracting(SubtotalCuentaDTO::getPrefijo).containsExactly("1", "10", "12", "2", "21");
+        assertSubtotal(subtotales.get(0), 1, "Activo", "360.15", "0.00");
+        assertSubtotal(subtotales.get(1), 2, null, "160.15", "0.00");
+        assertSubtotal(subtotales.get(2), 2, null, "200.00", "0.00");
+        assertSubtotal(subtotales.get(3), 1, null, "0.00", "300.15");
+        assertSubtotal(subtotales.get(4), 2, null, "0.00", "300.15");
+    }
+
+    @Test
+    void sinLineasNoHaySubtotales() {
+        assertThat(arbol.subtotalizar(List.of())).isEmpty();
+        assertThat(arbol.cantidadNodos()).isEqualTo(22);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void assertSubtotal(SubtotalCuentaDTO subtotal, int nivel, String nombre, String deudor, String acreedor) {
+        assertThat(subtotal.getNivel()).isEqualTo(nivel);
+        assertThat(subtotal.getNombre()).isEqualTo(nombre);
+        assertThat(subtotal.getSaldoDeudor()).isEqualByComparingTo(deudor);
+        assertThat(subtotal.getSaldoAcreedor()).isEqualByComparingTo(acreedor);
+    }
+
+    // ========== DATOS DE PRUEBA ==========
+
+    private LineaBalanceDTO linea(String codigo, String naturaleza, String saldo) {
+        return new LineaBalanceDTO(codigo, "Cuenta de prueba " + codigo, null, naturaleza, new BigDecimal(saldo));
+    }
+}
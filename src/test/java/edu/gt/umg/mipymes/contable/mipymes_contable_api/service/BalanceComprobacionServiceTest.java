@@ -0,0 +1,65 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.BalanceComprobacionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Transacciones del Balance de Comprobación: el balance actual sale de la proyección en memoria
+ * sin abrir transacción; el balance a una fecha lee la BD en una transacción de solo lectura
+ * (BD en memoria propia, sin cache de reportes entre pruebas)
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:balancecomprobacion")
+class BalanceComprobacionServiceTest {
+
+    @Autowired
+    private BalanceComprobacionService balanceService;
+
+    @Autowired
+    private CacheReportes cacheReportes;
+
+    @MockitoSpyBean
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void cargarProyeccionYArbol() {
+        // La primera llamada carga el árbol de cuentas desde la BD; las siguientes lo usan en memoria
+        balanceService.generarBalanceComprobacion();
+        cacheReportes.limpiar();
+        clearInvocations(transactionManager);
+    }
+
+    @Test
+    void balanceActualNoAbreTransaccion() {
+        BalanceComprobacionDTO balance = balanceService.generarBalanceComprobacion();
+
+        assertThat(balance.getLineas()).isNotEmpty();
+        assertThat(balance.isBalanceado()).isTrue();
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void balanceAlCorteLeeEnUnaTransaccionDeSoloLectura() {
+        BalanceComprobacionDTO balance = balanceService.generarBalanceComprobacion(LocalDate.now());
+
+        assertThat(balance.getLineas()).isNotEmpty();
+        ArgumentCaptor<TransactionDefinition> definiciones = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definiciones.capture());
+        assertThat(definiciones.getAllValues().get(0).isReadOnly()).isTrue();
+    }
+}
@@ -0,0 +1,151 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.CuentaModificadaEvent;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.ModuloModificadoEvent;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.ModuloModificadoEvent.Modulo;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.event.SaldosContabilizadosEvent;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CacheReportes.ClaveReporte;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.service.CacheReportes.TipoReporte;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reglas de invalidación, fijado de períodos cerrados y carrera entre cálculo e invalidación
+ * del cache de reportes, sin contexto de Spring (el cierre registrado es el 31 de enero)
+ */
+class CacheReportesTest {
+
+    private static final LocalDate CIERRE = LocalDate.of(2025, 1, 31);
+
+    private final AtomicInteger calculos = new AtomicInteger();
+    private CacheReportes cache;
+
+    @BeforeEach
+    void crearCache() {
+        SaldosCierreService saldosCierre = mock(SaldosCierreService.class);
+        when(saldosCierre.existeCierre(any())).thenAnswer(llamada -> CIERRE.equals(llamada.getArgument(0)));
+        when(saldosCierre.esInicioDePeriodo(any()))
+            .thenAnswer(llamada -> llamada.<LocalDate>getArgument(0).getDayOfMonth() == 1);
+        cache = new CacheReportes(saldosCierre, new SimpleMeterRegistry(), 2, 2);
+    }
+
+    @Test
+    void contabilizacionDescartaLosRangosQueIncluyenLaFechaOPosteriores() {
+        ClaveReporte enero = periodo(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+        ClaveReporte febrero = periodo(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28));
+        obtener(enero);
+        obtener(febrero);
+
+        cache.invalidarContabilizacion(contabilizacion(LocalDate.of(2025, 2, 10)));
+
+        assertThat(seCalcula(enero)).isFalse();
+        assertThat(seCalcula(febrero)).isTrue();
+    }
+
+    @Test
+    void cambioDelCatalogoDescartaSoloLosContables() {
+        ClaveReporte balance = ClaveReporte.alCorte(TipoReporte.BALANCE_GENERAL, CIERRE);
+        ClaveReporte inventario = ClaveReporte.deHoy(TipoReporte.INVENTARIO);
+        obtener(balance);
+        obtener(inventario);
+
+        cache.invalidarCatalogo(new CuentaModificadaEvent(1L));
+
+        assertThat(seCalcula(balance)).isTrue();
+        assertThat(seCalcula(inventario)).isFalse();
+    }
+
+    @Test
+    void cambioDeUnModuloDescartaSoloSuReporte() {
+        ClaveReporte inventario = ClaveReporte.deHoy(TipoReporte.INVENTARIO);
+        ClaveReporte bancos = ClaveReporte.deHoy(TipoReporte.RESUMEN_BANCARIO);
+        obtener(inventario);
+        obtener(bancos);
+
+        cache.invalidarModulo(new ModuloModificadoEvent(Modulo.BANCOS));
+
+        assertThat(seCalcula(inventario)).isFalse();
+        assertThat(seCalcula(bancos)).isTrue();
+    }
+
+    @Test
+    void reporteCalculadoDuranteUnaInvalidacionNoSeGuarda() {
+        ClaveReporte balance = ClaveReporte.alCorte(TipoReporte.BALANCE_COMPROBACION, LocalDate.of(2025, 3, 15));
+
+        // El cálculo empezó antes de la contabilización y termina después: pudo leer los saldos viejos
+        cache.obtener(balance, () -> {
+            calculos.incrementAndGet();
+            cache.invalidarContabilizacion(contabilizacion(LocalDate.of(2025, 3, 1)));
+            return "saldos viejos";
+        });
+
+        assertThat(seCalcula(balance)).isTrue();
+        assertThat(seCalcula(balance)).isFalse();
+    }
+
+    @Test
+    void soloLosRangosCanonicosDePeriodosCerradosQuedanFijados() {
+        ClaveReporte canonico = periodo(LocalDate.of(2025, 1, 1), CIERRE);
+        ClaveReporte arbitrario = periodo(LocalDate.of(2025, 1, 7), CIERRE);
+        obtener(canonico);
+        obtener(arbitrario);
+
+        assertThat(cache.obtenerEstadisticas().getEntradasFijadas()).isEqualTo(1);
+        assertThat(cache.obtenerEstadisticas().getEntradas()).isEqualTo(1);
+
+        // Llenar las entradas normales expulsa el rango arbitrario, no el canónico
+        obtener(ClaveReporte.alCorte(TipoReporte.BALANCE_GENERAL, LocalDate.of(2025, 3, 1)));
+        obtener(ClaveReporte.alCorte(TipoReporte.BALANCE_GENERAL, LocalDate.of(2025, 3, 2)));
+
+        assertThat(seCalcula(canonico)).isFalse();
+        assertThat(seCalcula(arbitrario)).isTrue();
+    }
+
+    @Test
+    void losFijadosTienenSuPropioMaximo() {
+        obtener(ClaveReporte.alCorte(TipoReporte.BALANCE_GENERAL, CIERRE));
+        obtener(ClaveReporte.alCorte(TipoReporte.BALANCE_COMPROBACION, CIERRE));
+        obtener(periodo(LocalDate.of(2025, 1, 1), CIERRE));
+
+        assertThat(cache.obtenerEstadisticas().getEntradasFijadas()).isEqualTo(2);
+        assertThat(seCalcula(ClaveReporte.alCorte(TipoReporte.BALANCE_GENERAL, CIERRE))).isTrue();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void obtener(ClaveReporte clave) {
+        cache.obtener(clave, () -> {
+            calculos.incrementAndGet();
+            return clave.toString();
+        });
+    }
+
+    /**
+     * Pedir el reporte e indicar si hubo que calcularlo (no estaba guardado)
+     */
+    private boolean seCalcula(ClaveReporte clave) {
+        int antes = calculos.get();
+        obtener(clave);
+        return calculos.get() > antes;
+    }
+
+    // ========== DATOS DE PRUEBA ==========
+
+    private ClaveReporte periodo(LocalDate inicio, LocalDate fin) {
+        return ClaveReporte.delPeriodo(TipoReporte.ESTADO_RESULTADOS, inicio, fin);
+    }
+
+    private SaldosContabilizadosEvent contabilizacion(LocalDate fechaAsiento) {
+        return new SaldosContabilizadosEvent(List.of(), fechaAsiento);
+    }
+}
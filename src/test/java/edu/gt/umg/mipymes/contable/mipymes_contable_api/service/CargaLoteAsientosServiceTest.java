@@ -0,0 +1,266 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ResultadoAsientoLoteDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ResultadoLoteAsientosDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.AsientoContableJdbcRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.AsientoContableRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Carga por lote de asientos: lectura en flujo con bloques confirmados mientras se lee,
+ * rechazo de un asiento no balanceado sin afectar a su bloque, reintento asiento por asiento
+ * cuando el lote JDBC de un bloque falla e IDs generados asignados a sus movimientos
+ * (BD en memoria propia, bloques de 10 asientos)
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:cargaloteservicio",
+    "mipymes.asientos.lote.tamano-bloque=10"
+})
+class CargaLoteAsientosServiceTest {
+
+    private static final int TAMANO_BLOQUE = 10;
+    private static final String REFERENCIA_QUE_FALLA = "LOTE-FALLA";
+
+    @Autowired
+    private CargaLoteAsientosService cargaLoteService;
+
+    @Autowired
+    private NumeracionAsientoService numeracionService;
+
+    @MockitoSpyBean
+    private AsientoContableJdbcRepository asientoJdbcRepository;
+
+    @Autowired
+    private AsientoContableRepository asientoRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Cuenta debito;
+    private Cuenta credito;
+
+    @BeforeEach
+    void tomarCuentas() {
+        List<Cuenta> catalogo = cuentaRepository.findByActivaTrueOrderByCodigo();
+        debito = catalogo.get(0);
+        credito = catalogo.get(1);
+    }
+
+    @Test
+    void loteValidoSeConfirmaPorBloquesMientrasSeLee() throws Exception {
+        int cantidad = 100;
+        long previos = asientoRepository.count();
+        AtomicLong creadosAntesDelFinal = new AtomicLong(-1);
+
+        ResultadoLoteAsientosDTO resultado = cargaLoteService.cargarLote(loteGenerado(cantidad,
+            () -> creadosAntesDelFinal.set(asientoRepository.count() - previos)));
+
+        assertThat(resultado.getTotalRecibidos()).isEqualTo(cantidad);
+        assertThat(resultado.getTotalCreados()).isEqualTo(cantidad);
+        assertThat(resultado.getTotalRechazados()).isZero();
+        assertThat(resultado.getBloquesConfirmados()).isEqualTo(cantidad / TAMANO_BLOQUE);
+        assertThat(resultado.getResultados()).extracting(ResultadoAsientoLoteDTO::getIndice)
+            .containsExactlyElementsOf(rango(cantidad));
+        assertThat(resultado.getResultados()).extracting(ResultadoAsientoLoteDTO::getNumeroAsiento)
+            .doesNotHaveDuplicates();
+        // Los primeros bloques ya estaban en la BD antes de leer el final del arreglo
+        assertThat(creadosAntesDelFinal.get()).isGreaterThanOrEqualTo(TAMANO_BLOQUE);
+        assertThat(asientoRepository.count()).isEqualTo(previos + cantidad);
+    }
+
+    @Test
+    void asientoNoBalanceadoSeRechazaSinDetenerSuBloque() throws Exception {
+        String lote = "[" + String.join(",",
+            asiento("LOTE-1", "10.00", "10.00"),
+            asiento("LOTE-2", "10.00", "9.99"),
+            asiento("LOTE-3", "20.50", "20.50")) + "]";
+
+        ResultadoLoteAsientosDTO resultado = cargaLoteService.cargarLote(entrada(lote));
+
+        assertThat(resultado.getTotalCreados()).isEqualTo(2);
+        assertThat(resultado.getTotalRechazados()).isEqualTo(1);
+        assertThat(resultado.getBloquesConfirmados()).isEqualTo(1);
+        ResultadoAsientoLoteDTO rechazado = resultado.getResultados().get(1);
+        assertThat(rechazado.isExito()).isFalse();
+        assertThat(rechazado.getReferencia()).isEqualTo("LOTE-2");
+        assertThat(rechazado.getMensaje()).contains("no está balanceado");
+        assertThat(contarPorReferencia("LOTE-2")).isZero();
+    }
+
+    @Test
+    void bloqueQueFallaSeReintentaAsientoPorAsiento() throws Exception {
+        // La BD rechaza cualquier lote JDBC que incluya el asiento marcado
+        doAnswer(invocacion -> {
+            List<AsientoContable> asientos = invocacion.getArgument(0);
+            if (asientos.stream().anyMatch(asiento -> REFERENCIA_QUE_FALLA.equals(asiento.getReferencia()))) {
+                throw new DataIntegrityViolationException("Restricción violada por " + REFERENCIA_QUE_FALLA);
+            }
+            return invocacion.callRealMethod();
+        }).when(asientoJdbcRepository).insertarAsientos(anyList());
+
+        String lote = "[" + String.join(",",
+            asiento("REINTENTO-1", "10.00", "10.00"),
+            asiento(REFERENCIA_QUE_FALLA, "15.00", "15.00"),
+            asiento("REINTENTO-3", "20.00", "20.00")) + "]";
+
+        ResultadoLoteAsientosDTO resultado = cargaLoteService.cargarLote(entrada(lote));
+
+        assertThat(resultado.getBloquesConfirmados()).isZero();
+        assertThat(resultado.getTotalCreados()).isEqualTo(2);
+        assertThat(resultado.getResultados()).extracting(ResultadoAsientoLoteDTO::isExito).containsExactly(true, false, true);
+        assertThat(resultado.getResultados().get(1).getMensaje())
+            .isEqualTo("Error al guardar el asiento: Restricción violada por " + REFERENCIA_QUE_FALLA);
+        // Los asientos reintentados conservan el número reservado para el bloque
+        assertThat(resultado.getResultados().get(2).getNumeroAsiento())
+            .isEqualTo(resultado.getResultados().get(0).getNumeroAsiento() + 2);
+        assertThat(contarPorReferencia("REINTENTO-1")).isEqualTo(1);
+        assertThat(contarPorReferencia("REINTENTO-3")).isEqualTo(1);
+        assertThat(contarPorReferencia(REFERENCIA_QUE_FALLA)).isZero();
+    }
+
+    @Test
+    void insertarAsientosAsignaLosIdsGeneradosASusMovimientos() {
+        List<AsientoContable> asientos = new ArrayList<>();
+        int numero = numeracionService.reservarNumeros(3);
+        for (int i = 1; i <= 3; i++) {
+            asientos.add(crearAsiento(numero++, "IDS-" + i, new BigDecimal(i + "0.00")));
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            asientoJdbcRepository.insertarAsientos(asientos));
+
+        assertThat(asientos).extracting(AsientoContable::getId).doesNotContainNull().doesNotHaveDuplicates();
+        for (AsientoContable asiento : asientos) {
+            List<Map<String, Object>> filas = jdbcTemplate.queryForList(
+                "SELECT a.referencia, m.cuenta_id, m.monto, m.orden FROM movimientos_contables m " +
+                "JOIN asientos_contables a ON a.id = m.asiento_contable_id WHERE a.id = ? ORDER BY m.orden",
+                asiento.getId());
+            assertThat(filas).hasSize(2);
+            for (int i = 0; i < filas.size(); i++) {
+                MovimientoContable movimiento = asiento.getMovimientos().get(i);
+                assertThat(filas.get(i).get("REFERENCIA")).isEqualTo(asiento.getReferencia());
+                assertThat(((Number) filas.get(i).get("CUENTA_ID")).longValue()).isEqualTo(movimiento.getCuenta().getId());
+                assertThat((BigDecimal) filas.get(i).get("MONTO")).isEqualByComparingTo(movimiento.getMonto());
+            }
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private long contarPorReferencia(String referencia) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM asientos_contables WHERE referencia = ?", Long.class, referencia);
+    }
+
+    private List<Integer> rango(int cantidad) {
+        List<Integer> indices = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            indices.add(i);
+        }
+        return indices;
+    }
+
+    private InputStream entrada(String texto) {
+        return new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Arreglo JSON que se genera a medida que se lee; antes de entregar el cierre del arreglo
+     * ejecuta alLlegarAlFinal
+     */
+    private InputStream loteGenerado(int cantidad, Runnable alLlegarAlFinal) {
+        Enumeration<InputStream> partes = new Enumeration<>() {
+            private int parte = 0;
+
+            @Override
+            public boolean hasMoreElements() {
+                return parte <= cantidad + 1;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                int actual = parte++;
+                if (actual == 0) {
+                    return entrada("[");
+                }
+                if (actual > cantidad) {
+                    alLlegarAlFinal.run();
+                    return entrada("]");
+                }
+                return entrada((actual > 1 ? "," : "") + asiento("FLUJO-" + actual, "12.00", "12.00"));
+            }
+        };
+        return new SequenceInputStream(partes);
+    }
+
+    // ========== DATOS DE PRUEBA ==========
+
+    private String asiento(String referencia, String montoDebito, String montoCredito) {
+        return """
+            {"fecha": "%s", "descripcion": "Asiento de lote", "referencia": "%s", "tipo": "OPERACION",
+             "movimientos": [
+               {"cuentaId": %d, "tipoMovimiento": "DEBITO", "monto": %s},
+               {"cuentaId": %d, "tipoMovimiento": "CREDITO", "monto": %s}
+             ]}
+            """.formatted(LocalDate.now(), referencia, debito.getId(), montoDebito, credito.getId(), montoCredito);
+    }
+
+    private AsientoContable crearAsiento(int numero, String referencia, BigDecimal monto) {
+        AsientoContable asiento = new AsientoContable();
+        asiento.setNumeroAsiento(numero);
+        asiento.setFecha(LocalDate.now());
+        asiento.setDescripcion("Asiento de inserción JDBC");
+        asiento.setReferencia(referencia);
+        asiento.setTipo(AsientoContable.TipoAsiento.OPERACION);
+        asiento.setEstado(AsientoContable.EstadoAsiento.BORRADOR);
+        asiento.getMovimientos().add(crearMovimiento(asiento, debito, MovimientoContable.TipoMovimiento.DEBITO, monto, 1));
+        asiento.getMovimientos().add(crearMovimiento(asiento, credito, MovimientoContable.TipoMovimiento.CREDITO, monto, 2));
+        asiento.calcularTotales();
+        return asiento;
+    }
+
+    private MovimientoContable crearMovimiento(AsientoContable asiento, Cuenta cuenta,
+                                               MovimientoContable.TipoMovimiento tipo, BigDecimal monto, int orden) {
+        MovimientoContable movimiento = new MovimientoContable();
+        movimiento.setAsientoContable(asiento);
+        movimiento.setCuenta(cuenta);
+        movimiento.setTipoMovimiento(tipo);
+        movimiento.setMonto(monto);
+        movimiento.setOrden(orden);
+        return movimiento;
+    }
+}
@@ -0,0 +1,191 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.exception.AsientoYaContabilizadoException;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.AsientoContableRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contabiliza muchos asientos en paralelo sobre las mismas cuentas y verifica
+ * que no se pierdan actualizaciones de saldo ni se contabilice dos veces un asiento
+ */
+@SpringBootTest
+class ContabilizacionConcurrenteTest {
+
+    private static final int ASIENTOS = 60;
+    private static final int HILOS = 12;
+    private static final BigDecimal MONTO = new BigDecimal("10.00");
+
+    @Autowired
+    private AsientoContableService asientoService;
+
+    @Autowired
+    private AsientoContableRepository asientoRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private NumeracionAsientoService numeracionService;
+
+    @Autowired
+    private ProyeccionBalanceService proyeccionBalance;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void contabilizacionesConcurrentesNoPierdenSaldos() throws Exception {
+        Cuenta caja = crearCuenta("T003-CAJA", Cuenta.TipoCuenta.ACTIVO, Cuenta.NaturalezaCuenta.DEUDORA, "1000.00");
+        Cuenta bancos = crearCuenta("T003-BCO", Cuenta.TipoCuenta.ACTIVO, Cuenta.NaturalezaCuenta.DEUDORA, "1000.00");
+        Cuenta ventas = crearCuenta("T003-VTA", Cuenta.TipoCuenta.INGRESO, Cuenta.NaturalezaCuenta.ACREEDORA, "0.00");
+
+        // Asientos en ambos sentidos para que las transacciones toquen las cuentas en distinto orden
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ASIENTOS; i++) {
+            AsientoContable asiento = switch (i % 3) {
+                case 0 -> crearAsiento(caja, ventas);
+                case 1 -> crearAsiento(bancos, caja);
+                default -> crearAsiento(caja, bancos);
+            };
+            ids.add(asiento.getId());
+        }
+
+        // Cada asiento se intenta contabilizar dos veces al mismo tiempo
+        List<Long> intentos = new ArrayList<>(ids);
+        intentos.addAll(ids);
+        Collections.shuffle(intentos);
+
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (Long id : intentos) {
+            Callable<Boolean> tarea = () -> {
+                salida.await();
+                try {
+                    asientoService.contabilizarAsiento(id);
+                    return true;
+                } catch (AsientoYaContabilizadoException e) {
+                    return false;
+                }
+            };
+            resultados.add(executor.submit(tarea));
+        }
+        salida.countDown();
+
+        int exitosos = 0;
+        for (Future<Boolean> resultado : resultados) {
+            if (resultado.get(60, TimeUnit.SECONDS)) {
+                exitosos++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(exitosos).isEqualTo(ASIENTOS);
+
+        // Cantidad de asientos de cada tipo (ver el switch de arriba)
+        int cajaAVentas = (ASIENTOS + 2) / 3;
+        int bancosACaja = (ASIENTOS + 1) / 3;
+        int cajaABancos = ASIENTOS / 3;
+        BigDecimal esperadoCaja = new BigDecimal("1000.00")
+            .add(MONTO.multiply(BigDecimal.valueOf(cajaAVentas)))
+            .subtract(MONTO.multiply(BigDecimal.valueOf(bancosACaja)))
+            .add(MONTO.multiply(BigDecimal.valueOf(cajaABancos)));
+        BigDecimal esperadoBancos = new BigDecimal("1000.00")
+            .add(MONTO.multiply(BigDecimal.valueOf(bancosACaja)))
+            .subtract(MONTO.multiply(BigDecimal.valueOf(cajaABancos)));
+        BigDecimal esperadoVentas = MONTO.multiply(BigDecimal.valueOf(cajaAVentas));
+
+        assertThat(cuentaRepository.findById(caja.getId()).orElseThrow().getSaldo()).isEqualByComparingTo(esperadoCaja);
+        assertThat(cuentaRepository.findById(bancos.getId()).orElseThrow().getSaldo()).isEqualByComparingTo(esperadoBancos);
+        assertThat(cuentaRepository.findById(ventas.getId()).orElseThrow().getSaldo()).isEqualByComparingTo(esperadoVentas);
+
+        // Correlativos únicos y consecutivos entre los asientos del test
+        List<Integer> correlativos = ids.stream()
+            .map(id -> asientoRepository.findById(id).orElseThrow())
+            .peek(asiento -> assertThat(asiento.getEstado()).isEqualTo(AsientoContable.EstadoAsiento.CONTABILIZADO))
+            .map(AsientoContable::getNumeroCorrelativo)
+            .sorted()
+            .toList();
+        assertThat(correlativos).doesNotHaveDuplicates();
+        assertThat(correlativos.get(correlativos.size() - 1) - correlativos.get(0)).isEqualTo(ASIENTOS - 1);
+
+        // La proyección del balance recibió los deltas en desorden y aun así coincide con la BD
+        assertThat(proyeccionBalance.verificar().getDiferencias()).isEmpty();
+    }
+
+    @Test
+    void contabilizacionDeOtraInstanciaSeIncorporaAlSincronizar() {
+        Cuenta caja = crearCuenta("T008-CAJA", Cuenta.TipoCuenta.ACTIVO, Cuenta.NaturalezaCuenta.DEUDORA, "100.00");
+        proyeccionBalance.sincronizar();
+
+        // Otra instancia aplica un delta directamente en la BD: no hay evento local
+        jdbcTemplate.update("UPDATE cuentas SET saldo = saldo + 25, version = version + 1 WHERE id = ?", caja.getId());
+        assertThat(proyeccionBalance.verificar().getDiferencias())
+            .anySatisfy(diferencia -> assertThat(diferencia.getCuentaId()).isEqualTo(caja.getId()));
+
+        assertThat(proyeccionBalance.sincronizar()).isEqualTo(1);
+        assertThat(proyeccionBalance.verificar().getDiferencias()).isEmpty();
+        assertThat(proyeccionBalance.obtenerLineasActivas())
+            .filteredOn(linea -> linea.getCodigo().equals("T008-CAJA"))
+            .singleElement()
+            .satisfies(linea -> assertThat(linea.getSaldoDeudor()).isEqualByComparingTo("125.00"));
+    }
+
+    private Cuenta crearCuenta(String codigo, Cuenta.TipoCuenta tipo, Cuenta.NaturalezaCuenta naturaleza, String saldo) {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setCodigo(codigo);
+        cuenta.setNombre("Cuenta de prueba " + codigo);
+        cuenta.setTipo(tipo);
+        cuenta.setNaturaleza(naturaleza);
+        cuenta.setSaldo(new BigDecimal(saldo));
+        cuenta.setActiva(true);
+        return cuentaRepository.save(cuenta);
+    }
+
+    /**
+     * Asiento de dos líneas: débito a la primera cuenta y crédito a la segunda
+     */
+    private AsientoContable crearAsiento(Cuenta debito, Cuenta credito) {
+        AsientoContable asiento = new AsientoContable();
+        asiento.setNumeroAsiento(numeracionService.siguienteNumeroAsiento());
+        asiento.setFecha(LocalDate.now());
+        asiento.setDescripcion("Prueba de concurrencia");
+        asiento.setTipo(AsientoContable.TipoAsiento.OPERACION);
+        asiento.getMovimientos().add(crearMovimiento(asiento, debito, MovimientoContable.TipoMovimiento.DEBITO, 1));
+        asiento.getMovimientos().add(crearMovimiento(asiento, credito, MovimientoContable.TipoMovimiento.CREDITO, 2));
+        asiento.calcularTotales();
+        return asientoRepository.save(asiento);
+    }
+
+    private MovimientoContable crearMovimiento(AsientoContable asiento, Cuenta cuenta,
+                                               MovimientoContable.TipoMovimiento tipo, int orden) {
+        MovimientoContable movimiento = new MovimientoContable();
+        movimiento.setAsientoContable(asiento);
+        movimiento.setCuenta(cuenta);
+        movimiento.setTipoMovimiento(tipo);
+        movimiento.setMonto(MONTO);
+        movimiento.setOrden(orden);
+        return movimiento;
+    }
+}
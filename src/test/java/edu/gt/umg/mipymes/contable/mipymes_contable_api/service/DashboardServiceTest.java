@@ -0,0 +1,146 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.config.CompartimentosInterceptor;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.config.CompartimentosProperties;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.DashboardDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.DashboardDTO.EstadoSeccion;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.DashboardDTO.SeccionDashboardDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.stubbing.Answer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Plazo, cancelación, fallas parciales y permisos del compartimento de reportes en el dashboard,
+ * con los services simulados (sin contexto de Spring ni BD)
+ */
+class DashboardServiceTest {
+
+    private static final long PLAZO_MS = 300;
+
+    private final BalanceComprobacionService balanceService = mock(BalanceComprobacionService.class);
+    private final BancosService bancosService = mock(BancosService.class);
+    private final ClientesProveedoresService clientesProveedoresService = mock(ClientesProveedoresService.class);
+    private final InventarioService inventarioService = mock(InventarioService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void crearService() {
+        when(transactionManager.getTransaction(any())).thenAnswer(llamada -> new SimpleTransactionStatus());
+        CompartimentosInterceptor compartimentos = new CompartimentosInterceptor(new CompartimentosProperties(), registry);
+        dashboardService = new DashboardService(balanceService, bancosService, clientesProveedoresService,
+            inventarioService, transactionManager, compartimentos, PLAZO_MS, 3);
+    }
+
+    @AfterEach
+    void cerrarService() {
+        dashboardService.cerrar();
+    }
+
+    @Test
+    void seccionLentaSeInterrumpeYLasDemasSeEntregan() throws Exception {
+        CountDownLatch interrumpida = new CountDownLatch(1);
+        when(bancosService.generarResumenBancario()).thenAnswer(llamada -> {
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrumpida.countDown();
+                throw e;
+            }
+            return null;
+        });
+        when(clientesProveedoresService.generarResumen()).thenThrow(new IllegalStateException("Sin conexión a la BD"));
+        when(inventarioService.obtenerUltimosMovimientos()).thenReturn(List.of());
+
+        DashboardDTO dashboard = dashboardService.generarDashboard();
+
+        assertThat(dashboard.isCompleto()).isFalse();
+        assertThat(dashboard.getDuracionMs()).isLessThan(PLAZO_MS + 1000);
+        assertThat(estado(dashboard, "resumenBancario")).isEqualTo(EstadoSeccion.TIEMPO_AGOTADO);
+        assertThat(seccion(dashboard, "resumenClientesProveedores").getEstado()).isEqualTo(EstadoSeccion.ERROR);
+        assertThat(seccion(dashboard, "resumenClientesProveedores").getMensaje()).isEqualTo("Sin conexión a la BD");
+        assertThat(estado(dashboard, "balanceComprobacion")).isEqualTo(EstadoSeccion.OK);
+        assertThat(estado(dashboard, "ultimosMovimientosInventario")).isEqualTo(EstadoSeccion.OK);
+        assertThat(dashboard.getUltimosMovimientosInventario()).isEmpty();
+        // La sección que no terminó no sigue ocupando su conexión: el hilo se interrumpe
+        assertThat(interrumpida.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void cadaSeccionCorreEnUnaTransaccionDeLecturaQueVenceConElPlazo() {
+        dashboardService.generarDashboard();
+
+        ArgumentCaptor<TransactionDefinition> definiciones = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definiciones.capture());
+        assertThat(definiciones.getAllValues()).hasSize(6).allSatisfy(definicion -> {
+            assertThat(definicion.isReadOnly()).isTrue();
+            assertThat(definicion.getTimeout()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void seccionesSimultaneasLimitadasPorLosPermisosDelCompartimento() {
+        AtomicInteger enCurso = new AtomicInteger();
+        AtomicInteger maximoEnCurso = new AtomicInteger();
+        AtomicInteger minimoDisponibles = new AtomicInteger(Integer.MAX_VALUE);
+        Answer<Object> consulta = llamada -> {
+            maximoEnCurso.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+            minimoDisponibles.accumulateAndGet((int) disponibles(), Math::min);
+            Thread.sleep(30);
+            enCurso.decrementAndGet();
+            return null;
+        };
+        when(balanceService.generarBalanceComprobacion()).thenAnswer(consulta);
+        when(bancosService.generarResumenBancario()).thenAnswer(consulta);
+        when(bancosService.obtenerUltimosMovimientos()).thenAnswer(consulta);
+        when(clientesProveedoresService.generarResumen()).thenAnswer(consulta);
+        when(inventarioService.generarReporteInventario()).thenAnswer(consulta);
+        when(inventarioService.obtenerUltimosMovimientos()).thenAnswer(consulta);
+
+        DashboardDTO dashboard = dashboardService.generarDashboard();
+
+        assertThat(dashboard.isCompleto()).isTrue();
+        // 3 a la vez: el permiso de la solicitud más 2 tomados de los 4 del compartimento
+        assertThat(maximoEnCurso.get()).isLessThanOrEqualTo(3);
+        assertThat(minimoDisponibles.get()).isEqualTo(2);
+        assertThat(disponibles()).isEqualTo(4);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private double disponibles() {
+        return registry.get("mipymes.compartimentos.disponibles").tag("compartimento", "reportes").gauge().value();
+    }
+
+    private SeccionDashboardDTO seccion(DashboardDTO dashboard, String nombre) {
+        return dashboard.getSecciones().stream()
+            .filter(seccion -> seccion.getNombre().equals(nombre))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private EstadoSeccion estado(DashboardDTO dashboard, String nombre) {
+        return seccion(dashboard, nombre).getEstado();
+    }
+}
@@ -0,0 +1,190 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.EstadoComparativoDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.EstadoComparativoDTO.SeccionComparativaDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LineaBalanceDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.SolicitudComparativoDTO.PeriodoDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.AsientoContableRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Estado de Resultados comparativo de febrero, marzo y abril de 2023: asientos en los bordes de
+ * los períodos, un borrador, costo de ventas configurado (prefijos 59 y 5801) y porcentajes
+ * horizontales y verticales con base cero
+ * Usa su propia BD en memoria.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:estadoscomparativos",
+    "mipymes.agrupacion.grupos.costo-ventas=59,5801"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EstadosComparativosServiceTest {
+
+    private static final LocalDate MARZO = LocalDate.of(2023, 3, 1);
+    private static final Comparator<BigDecimal> POR_VALOR = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    @Autowired
+    private EstadosComparativosService estadosComparativosService;
+
+    @Autowired
+    private AsientoContableService asientoService;
+
+    @Autowired
+    private AsientoContableRepository asientoRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private NumeracionAsientoService numeracionService;
+
+    private EstadoComparativoDTO estado;
+
+    @BeforeAll
+    void cargarDatos() {
+        Cuenta caja = crearCuenta("1901", Cuenta.TipoCuenta.ACTIVO);
+        Cuenta ventas = crearCuenta("4901", Cuenta.TipoCuenta.INGRESO);
+        Cuenta costoMercaderia = crearCuenta("5901", Cuenta.TipoCuenta.GASTO);
+        Cuenta fletes = crearCuenta("5801", Cuenta.TipoCuenta.GASTO);
+        Cuenta papeleria = crearCuenta("5802", Cuenta.TipoCuenta.GASTO);
+
+        contabilizar(papeleria, caja, "70.00", MARZO.minusDays(1));
+        contabilizar(caja, ventas, "1000.00", MARZO);
+        contabilizar(fletes, caja, "100.00", MARZO.plusDays(14));
+        contabilizar(papeleria, caja, "50.00", MARZO.plusDays(19));
+        asientoRepository.save(crearAsiento(papeleria, caja, "999.00", MARZO.plusDays(9)));   // Borrador
+        contabilizar(costoMercaderia, caja, "300.00", MARZO.plusMonths(1).minusDays(1));
+        contabilizar(caja, ventas, "500.00", MARZO.plusMonths(1));
+
+        // Se envían desordenados: el servicio los ordena por fecha de inicio
+        estado = estadosComparativosService.generarEstadoResultadosComparativo(List.of(
+            periodo(MARZO.plusMonths(1)), periodo(MARZO.minusMonths(1)), periodo(MARZO)));
+    }
+
+    @Test
+    void cadaAsientoCaeEnSuPeriodoYLosBorradoresNoCuentan() {
+        assertThat(estado.getPeriodos()).hasSize(3);
+        assertMontos(linea(seccion("Ingresos"), "4901").getMontos(), "0", "1000.00", "500.00");
+        assertMontos(linea(seccion("Gastos de Operación"), "5802").getMontos(), "70.00", "50.00", "0");
+        assertMontos(resultado("Utilidad Neta").getMontos(), "-70.00", "550.00", "500.00");
+    }
+
+    @Test
+    void costoDeVentasSegunLosGruposConfigurados() {
+        SeccionComparativaDTO costos = seccion("Costo de Ventas");
+
+        assertThat(costos.getLineas()).extracting(LineaBalanceDTO::getCodigo).containsExactly("5801", "5901");
+        assertMontos(costos.getTotal().getMontos(), "0", "400.00", "0");
+        assertThat(seccion("Gastos de Operación").getLineas()).extracting(LineaBalanceDTO::getCodigo)
+            .containsExactly("5802");
+        assertMontos(resultado("Utilidad Bruta").getMontos(), "0", "600.00", "500.00");
+    }
+
+    @Test
+    void analisisHorizontalSinVariacionCuandoElPeriodoAnteriorEsCero() {
+        assertMontos(linea(seccion("Ingresos"), "4901").getAnalisisHorizontal(), null, null, "-50.00");
+        assertMontos(linea(seccion("Gastos de Operación"), "5802").getAnalisisHorizontal(), null, "-28.57", "-100.00");
+        assertMontos(seccion("Costo de Ventas").getTotal().getAnalisisHorizontal(), null, null, "-100.00");
+        // La base es el valor absoluto del período anterior: de una pérdida a una utilidad la variación es positiva
+        assertMontos(resultado("Utilidad Neta").getAnalisisHorizontal(), null, "885.71", "-9.09");
+    }
+
+    @Test
+    void analisisVerticalSinPorcentajeCuandoNoHayIngresos() {
+        assertMontos(linea(seccion("Ingresos"), "4901").getAnalisisVertical(), null, "100.00", "100.00");
+        assertMontos(linea(seccion("Gastos de Operación"), "5802").getAnalisisVertical(), null, "5.00", "0.00");
+        assertMontos(resultado("Utilidad Neta").getAnalisisVertical(), null, "55.00", "100.00");
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void contabilizar(Cuenta debito, Cuenta credito, String monto, LocalDate fecha) {
+        AsientoContable asiento = asientoRepository.save(crearAsiento(debito, credito, monto, fecha));
+        asientoService.contabilizarAsiento(asiento.getId());
+    }
+
+    private PeriodoDTO periodo(LocalDate inicioMes) {
+        return new PeriodoDTO(inicioMes, inicioMes.plusMonths(1).minusDays(1));
+    }
+
+    private SeccionComparativaDTO seccion(String nombre) {
+        return estado.getSecciones().stream()
+            .filter(seccion -> seccion.getNombre().equals(nombre))
+            .findFirst().orElseThrow();
+    }
+
+    private LineaBalanceDTO linea(SeccionComparativaDTO seccion, String codigo) {
+        return seccion.getLineas().stream()
+            .filter(linea -> codigo.equals(linea.getCodigo()))
+            .findFirst().orElseThrow();
+    }
+
+    private LineaBalanceDTO resultado(String nombre) {
+        return estado.getResultados().stream()
+            .filter(linea -> linea.getNombreCuenta().equals(nombre))
+            .findFirst().orElseThrow();
+    }
+
+    /**
+     * Comparar montos o porcentajes por valor (sin importar la escala); null es "sin dato"
+     */
+    private void assertMontos(List<BigDecimal> actuales, String... esperados) {
+        BigDecimal[] valores = new BigDecimal[esperados.length];
+        for (int i = 0; i < esperados.length; i++) {
+            valores[i] = esperados[i] == null ? null : new BigDecimal(esperados[i]);
+        }
+        assertThat(actuales).usingElementComparator(POR_VALOR).containsExactly(valores);
+    }
+
+    // ========== DATOS DE PRUEBA ==========
+
+    private Cuenta crearCuenta(String codigo, Cuenta.TipoCuenta tipo) {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setCodigo(codigo);
+        cuenta.setNombre("Cuenta de prueba " + codigo);
+        cuenta.setTipo(tipo);
+        cuenta.setNaturaleza(tipo == Cuenta.TipoCuenta.ACTIVO || tipo == Cuenta.TipoCuenta.GASTO
+            ? Cuenta.NaturalezaCuenta.DEUDORA : Cuenta.NaturalezaCuenta.ACREEDORA);
+        cuenta.setSaldo(BigDecimal.ZERO);
+        cuenta.setActiva(true);
+        return cuentaRepository.save(cuenta);
+    }
+
+    private AsientoContable crearAsiento(Cuenta debito, Cuenta credito, String monto, LocalDate fecha) {
+        AsientoContable asiento = new AsientoContable();
+        asiento.setNumeroAsiento(numeracionService.siguienteNumeroAsiento());
+        asiento.setFecha(fecha);
+        asiento.setDescripcion("Asiento de prueba de estados comparativos");
+        asiento.setTipo(AsientoContable.TipoAsiento.OPERACION);
+        asiento.getMovimientos().add(crearMovimiento(asiento, debito, MovimientoContable.TipoMovimiento.DEBITO, monto, 1));
+        asiento.getMovimientos().add(crearMovimiento(asiento, credito, MovimientoContable.TipoMovimiento.CREDITO, monto, 2));
+        asiento.calcularTotales();
+        return asiento;
+    }
+
+    private MovimientoContable crearMovimiento(AsientoContable asiento, Cuenta cuenta,
+                                               MovimientoContable.TipoMovimiento tipo, String monto, int orden) {
+        MovimientoContable movimiento = new MovimientoContable();
+        movimiento.setAsientoContable(asiento);
+        movimiento.setCuenta(cuenta);
+        movimiento.setTipoMovimiento(tipo);
+        movimiento.setMonto(new BigDecimal(monto));
+        movimiento.setOrden(orden);
+        return movimiento;
+    }
+}
@@ -0,0 +1,148 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.EstadoResultadosDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.LineaBalanceDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.AsientoContableRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Estado de Resultados de marzo de 2023: asientos en los dos bordes del período, un borrador
+ * y asientos de los días vecinos; el costo de ventas sale de mipymes.agrupacion.grupos
+ * (aquí los prefijos 59 y 5801, en lugar de los del catálogo)
+ * Usa su propia BD en memoria.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:estadosfinancieros",
+    "mipymes.agrupacion.grupos.costo-ventas=59,5801"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EstadosFinancierosServiceTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2023, 3, 1);
+    private static final LocalDate FIN = LocalDate.of(2023, 3, 31);
+
+    @Autowired
+    private EstadosFinancierosService estadosFinancierosService;
+
+    @Autowired
+    private AsientoContableService asientoService;
+
+    @Autowired
+    private AsientoContableRepository asientoRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private NumeracionAsientoService numeracionService;
+
+    @BeforeAll
+    void cargarDatos() {
+        Cuenta caja = crearCuenta("1901", Cuenta.TipoCuenta.ACTIVO);
+        Cuenta ventas = crearCuenta("4901", Cuenta.TipoCuenta.INGRESO);
+        Cuenta costoMercaderia = crearCuenta("5901", Cuenta.TipoCuenta.GASTO);
+        Cuenta fletes = crearCuenta("5801", Cuenta.TipoCuenta.GASTO);
+        Cuenta papeleria = crearCuenta("5802", Cuenta.TipoCuenta.GASTO);
+
+        contabilizar(caja, ventas, "1000.00", INICIO);
+        contabilizar(costoMercaderia, caja, "300.00", FIN);
+        contabilizar(fletes, caja, "100.00", INICIO.plusDays(14));
+        contabilizar(papeleria, caja, "50.00", INICIO.plusDays(19));
+        asientoRepository.save(crearAsiento(papeleria, caja, "999.00", INICIO.plusDays(9)));   // Borrador
+        contabilizar(caja, ventas, "500.00", FIN.plusDays(1));
+        contabilizar(papeleria, caja, "70.00", INICIO.minusDays(1));
+    }
+
+    @Test
+    void incluyeLosBordesDelPeriodoYExcluyeBorradoresYDiasVecinos() {
+        EstadoResultadosDTO estado = estadosFinancierosService.generarEstadoResultados(INICIO, FIN);
+
+        assertThat(codigos(estado.getIngresos())).containsExactly("4901");
+        assertThat(estado.getTotalIngresos()).isEqualByComparingTo("1000.00");
+        assertThat(codigos(estado.getGastos())).containsExactly("5802");
+        assertThat(estado.getTotalGastos()).isEqualByComparingTo("50.00");
+        assertThat(estado.getUtilidadNeta()).isEqualByComparingTo("550.00");
+        assertThat(estado.getTipoResultado()).isEqualTo("UTILIDAD");
+    }
+
+    @Test
+    void costoDeVentasSegunLosGruposConfigurados() {
+        EstadoResultadosDTO estado = estadosFinancierosService.generarEstadoResultados(INICIO, FIN);
+
+        assertThat(codigos(estado.getCostos())).containsExactly("5801", "5901");
+        assertThat(estado.getTotalCostos()).isEqualByComparingTo("400.00");
+        assertThat(estado.getUtilidadBruta()).isEqualByComparingTo("600.00");
+    }
+
+    @Test
+    void periodoDeUnDiaSoloTomaLosAsientosDeEseDia() {
+        EstadoResultadosDTO estado = estadosFinancierosService.generarEstadoResultados(FIN, FIN);
+
+        assertThat(estado.getIngresos()).isEmpty();
+        assertThat(estado.getTotalCostos()).isEqualByComparingTo("300.00");
+        assertThat(estado.getUtilidadNeta()).isEqualByComparingTo("-300.00");
+        assertThat(estado.getTipoResultado()).isEqualTo("PÉRDIDA");
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void contabilizar(Cuenta debito, Cuenta credito, String monto, LocalDate fecha) {
+        AsientoContable asiento = asientoRepository.save(crearAsiento(debito, credito, monto, fecha));
+        asientoService.contabilizarAsiento(asiento.getId());
+    }
+
+    private List<String> codigos(List<LineaBalanceDTO> lineas) {
+        return lineas.stream().map(LineaBalanceDTO::getCodigo).toList();
+    }
+
+    // ========== DATOS DE PRUEBA ==========
+
+    private Cuenta crearCuenta(String codigo, Cuenta.TipoCuenta tipo) {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setCodigo(codigo);
+        cuenta.setNombre("Cuenta de prueba " + codigo);
+        cuenta.setTipo(tipo);
+        cuenta.setNaturaleza(tipo == Cuenta.TipoCuenta.ACTIVO || tipo == Cuenta.TipoCuenta.GASTO
+            ? Cuenta.NaturalezaCuenta.DEUDORA : Cuenta.NaturalezaCuenta.ACREEDORA);
+        cuenta.setSaldo(BigDecimal.ZERO);
+        cuenta.setActiva(true);
+        return cuentaRepository.save(cuenta);
+    }
+
+    private AsientoContable crearAsiento(Cuenta debito, Cuenta credito, String monto, LocalDate fecha) {
+        AsientoContable asiento = new AsientoContable();
+        asiento.setNumeroAsiento(numeracionService.siguienteNumeroAsiento());
+        asiento.setFecha(fecha);
+        asiento.setDescripcion("Asiento de prueba de estados financieros");
+        asiento.setTipo(AsientoContable.TipoAsiento.OPERACION);
+        asiento.getMovimientos().add(crearMovimiento(asiento, debito, MovimientoContable.TipoMovimiento.DEBITO, monto, 1));
+        asiento.getMovimientos().add(crearMovimiento(asiento, credito, MovimientoContable.TipoMovimiento.CREDITO, monto, 2));
+        asiento.calcularTotales();
+        return asiento;
+    }
+
+    private MovimientoContable crearMovimiento(AsientoContable asiento, Cuenta cuenta,
+                                               MovimientoContable.TipoMovimiento tipo, String monto, int orden) {
+        MovimientoContable movimiento = new MovimientoContable();
+        movimiento.setAsientoContable(asiento);
+        movimiento.setCuenta(cuenta);
+        movimiento.setTipoMovimiento(tipo);
+        movimiento.setMonto(new BigDecimal(monto));
+        movimiento.setOrden(orden);
+        return movimiento;
+    }
+}
@@ -0,0 +1,183 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.AsientoContableDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.MovimientoContableDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Numeración de asientos: bloques en memoria, rangos de lote, números manuales y la mezcla
+ * concurrente de números manuales y automáticos con un pool de solo dos conexiones
+ * (BD en memoria propia, bloques de 5 números)
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:numeracionasientos",
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.connection-timeout=2000",
+    "mipymes.asientos.numeracion.tamano-bloque=5"
+})
+class NumeracionAsientoServiceTest {
+
+    private static final int TAMANO_BLOQUE = 5;
+
+    @Autowired
+    private NumeracionAsientoService numeracionService;
+
+    @Autowired
+    private AsientoContableService asientoService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @BeforeEach
+    void agotarBloque() {
+        while (numeracionService.obtenerEstadisticas().getNumerosDisponiblesEnBloque() > 0) {
+            numeracionService.siguienteNumeroAsiento();
+        }
+    }
+
+    @Test
+    void unaReservaPorBloqueYElRestoDesdeMemoria() {
+        long reservas = numeracionService.obtenerEstadisticas().getReservasBloque();
+
+        int primero = numeracionService.siguienteNumeroAsiento();
+        for (int i = 1; i < TAMANO_BLOQUE; i++) {
+            assertThat(numeracionService.siguienteNumeroAsiento()).isEqualTo(primero + i);
+        }
+
+        assertThat(numeracionService.obtenerEstadisticas().getReservasBloque()).isEqualTo(reservas + 1);
+        assertThat(numeracionService.obtenerEstadisticas().getNumerosDisponiblesEnBloque()).isZero();
+    }
+
+    @Test
+    void rangoDeLoteNoSeCruzaConElBloqueEnMemoria() {
+        Set<Integer> numeros = new HashSet<>();
+        numeros.add(numeracionService.siguienteNumeroAsiento());
+        int primeroLote = numeracionService.reservarNumeros(20);
+        for (int i = 0; i < 20; i++) {
+            numeros.add(primeroLote + i);
+        }
+        for (int i = 0; i < 2 * TAMANO_BLOQUE; i++) {
+            numeros.add(numeracionService.siguienteNumeroAsiento());
+        }
+
+        assertThat(numeros).hasSize(1 + 20 + 2 * TAMANO_BLOQUE);
+    }
+
+    @Test
+    void numeroManualDentroDelBloqueLoDescarta() {
+        int automatico = numeracionService.siguienteNumeroAsiento();
+        int manual = automatico + 2;
+
+        numeracionService.registrarNumeroManual(manual);
+
+        assertThat(numeracionService.obtenerEstadisticas().getNumerosDisponiblesEnBloque()).isZero();
+        assertThat(numeracionService.siguienteNumeroAsiento()).isGreaterThan(manual);
+    }
+
+    @Test
+    void numeroManualAdelantaElContador() {
+        int manual = numeracionService.siguienteNumeroAsiento() + 1000;
+
+        numeracionService.registrarNumeroManual(manual);
+        agotarBloque();
+
+        assertThat(numeracionService.siguienteNumeroAsiento()).isGreaterThan(manual);
+    }
+
+    @Test
+    void numerosManualesYAutomaticosConcurrentesNoSeBloquean() throws Exception {
+        Cuenta caja = crearCuenta("NUM-CAJA", Cuenta.TipoCuenta.ACTIVO);
+        Cuenta ventas = crearCuenta("NUM-VTA", Cuenta.TipoCuenta.INGRESO);
+        int hilos = 8;
+        int asientosPorHilo = 15;
+        // Números manuales por encima de todo lo entregado, en orden descendente: nunca chocan
+        // con un número automático (los posteriores al primero manual quedan por encima)
+        AtomicInteger siguienteManual = new AtomicInteger(
+            numeracionService.siguienteNumeroAsiento() + 10_000 + hilos * asientosPorHilo);
+        ConcurrentLinkedQueue<Integer> numeros = new ConcurrentLinkedQueue<>();
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int hilo = 0; hilo < hilos; hilo++) {
+                boolean manuales = hilo % 2 == 0;
+                tareas.add(ejecutor.submit(() -> {
+                    salida.await();
+                    for (int i = 0; i < asientosPorHilo; i++) {
+                        Integer numero = manuales && i % 3 == 0 ? siguienteManual.getAndDecrement() : null;
+                        numeros.add(asientoService.crearAsiento(crearAsiento(caja, ventas, numero)).getNumeroAsiento());
+                    }
+                    return null;
+                }));
+            }
+            salida.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+
+        assertThat(numeros).hasSize(hilos * asientosPorHilo);
+        assertThat(new HashSet<>(numeros)).hasSize(hilos * asientosPorHilo);
+    }
+
+    // ========== DATOS DE PRUEBA ==========
+
+    private Cuenta crearCuenta(String codigo, Cuenta.TipoCuenta tipo) {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setCodigo(codigo);
+        cuenta.setNombre("Cuenta de prueba " + codigo);
+        cuenta.setTipo(tipo);
+        cuenta.setNaturaleza(tipo == Cuenta.TipoCuenta.ACTIVO
+            ? Cuenta.NaturalezaCuenta.DEUDORA : Cuenta.NaturalezaCuenta.ACREEDORA);
+        cuenta.setSaldo(BigDecimal.ZERO);
+        cuenta.setActiva(true);
+        return cuentaRepository.save(cuenta);
+    }
+
+    private AsientoContableDTO crearAsiento(Cuenta debito, Cuenta credito, Integer numero) {
+        AsientoContableDTO asiento = new AsientoContableDTO();
+        asiento.setNumeroAsiento(numero);
+        asiento.setFecha(LocalDate.now());
+        asiento.setDescripcion("Asiento de prueba de numeración");
+        asiento.setTipo(AsientoContable.TipoAsiento.OPERACION);
+        asiento.setTotalDebitos(new BigDecimal("10.00"));
+        asiento.setTotalCreditos(new BigDecimal("10.00"));
+        asiento.getMovimientos().add(crearMovimiento(debito, MovimientoContable.TipoMovimiento.DEBITO, 1));
+        asiento.getMovimientos().add(crearMovimiento(credito, MovimientoContable.TipoMovimiento.CREDITO, 2));
+        return asiento;
+    }
+
+    private MovimientoContableDTO crearMovimiento(Cuenta cuenta, MovimientoContable.TipoMovimiento tipo, int orden) {
+        MovimientoContableDTO movimiento = new MovimientoContableDTO();
+        movimiento.setCuentaId(cuenta.getId());
+        movimiento.setTipoMovimiento(tipo);
+        movimiento.setMonto(new BigDecimal("10.00"));
+        movimiento.setOrden(orden);
+        return movimiento;
+    }
+}
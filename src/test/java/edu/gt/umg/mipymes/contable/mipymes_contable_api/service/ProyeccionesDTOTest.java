@@ -0,0 +1,328 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.dto.ResultadoPaginaDTO;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.*;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Los listados construyen el DTO en la consulta (SELECT new ...); el detalle lo arma el
+ * convertidor del servicio desde la entidad. Para cada tipo, el DTO del listado debe ser igual
+ * campo por campo al que devuelve el convertidor, incluidos los nombres que vienen de la
+ * asociación y los campos calculados. Cada entidad tiene todos sus campos opcionales con valor
+ * para que un campo olvidado en la proyección no pase como null = null. Usa su propia BD en memoria.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:proyeccionesdto")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProyeccionesDTOTest {
+
+    private static final LocalDate HOY = LocalDate.now();
+    private static final Pageable PAGINA = PageRequest.of(0, 10);
+
+    @Autowired
+    private CuentaService cuentaService;
+
+    @Autowired
+    private InventarioService inventarioService;
+
+    @Autowired
+    private BancosService bancosService;
+
+    @Autowired
+    private ClientesProveedoresService clientesProveedoresService;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private MovimientoInventarioRepository movimientoInventarioRepository;
+
+    @Autowired
+    private CuentaBancariaRepository cuentaBancariaRepository;
+
+    @Autowired
+    private MovimientoBancoRepository movimientoBancoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProveedorRepository proveedorRepository;
+
+    @Autowired
+    private CuentaPorCobrarRepository cuentaPorCobrarRepository;
+
+    @Autowired
+    private CuentaPorPagarRepository cuentaPorPagarRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Cuenta cuenta;
+    private Producto producto;
+    private MovimientoInventario movimientoInventario;
+    private CuentaBancaria cuentaBancaria;
+    private MovimientoBanco movimientoBanco;
+    private Cliente cliente;
+    private Proveedor proveedor;
+    private CuentaPorCobrar cuentaPorCobrar;
+    private CuentaPorPagar cuentaPorPagar;
+
+    @BeforeAll
+    void cargarDatos() {
+        cuenta = cuentaRepository.save(crearCuenta());
+        producto = productoRepository.save(crearProducto());
+        movimientoInventario = movimientoInventarioRepository.save(crearMovimientoInventario(producto));
+        cuentaBancaria = cuentaBancariaRepository.save(crearCuentaBancaria());
+        movimientoBanco = movimientoBancoRepository.save(crearMovimientoBanco(cuentaBancaria));
+        cliente = clienteRepository.save(crearCliente());
+        proveedor = proveedorRepository.save(crearProveedor());
+        cuentaPorCobrar = cuentaPorCobrarRepository.save(crearCuentaPorCobrar(cliente));
+        cuentaPorPagar = cuentaPorPagarRepository.save(crearCuentaPorPagar(proveedor));
+    }
+
+    @Test
+    void cuentaContable() {
+        Object proyectado = unico(cuentaService.obtenerTodasLasCuentas(null, cuenta.getNombre(), PAGINA));
+
+        assertIgualAlConvertido(proyectado, cuentaService, "convertirADTO", cuentaRepository, cuenta.getId());
+    }
+
+    @Test
+    void producto() {
+        Object proyectado = unico(inventarioService.obtenerTodosLosProductos(producto.getNombre(), null, false, PAGINA));
+
+        assertIgualAlConvertido(proyectado, inventarioService, "convertirProductoADTO", productoRepository, producto.getId());
+    }
+
+    @Test
+    void movimientoDeInventarioConElNombreDelProducto() {
+        Object proyectado = unico(inventarioService.obtenerMovimientosPorProducto(producto.getId(), PAGINA));
+
+        assertThat(proyectado).hasFieldOrPropertyWithValue("productoNombre", producto.getNombre());
+        assertIgualAlConvertido(proyectado, inventarioService, "convertirMovimientoADTO",
+            movimientoInventarioRepository, movimientoInventario.getId());
+    }
+
+    @Test
+    void cuentaBancaria() {
+        Object proyectado = unico(bancosService.obtenerTodasLasCuentasBancarias(null, cuentaBancaria.getNombre(), false, PAGINA));
+
+        assertIgualAlConvertido(proyectado, bancosService, "convertirCuentaADTO", cuentaBancariaRepository, cuentaBancaria.getId());
+    }
+
+    @Test
+    void movimientoBancarioConElNombreDeLaCuenta() {
+        Object proyectado = unico(bancosService.obtenerMovimientosPorCuenta(cuentaBancaria.getId(), PAGINA));
+
+        assertThat(proyectado).hasFieldOrPropertyWithValue("cuentaBancariaNombre", cuentaBancaria.getNombre());
+        assertIgualAlConvertido(proyectado, bancosService, "convertirMovimientoADTO",
+            movimientoBancoRepository, movimientoBanco.getId());
+    }
+
+    @Test
+    void cliente() {
+        Object proyectado = unico(clientesProveedoresService.obtenerTodosLosClientes(null, cliente.getNombre(), false, PAGINA));
+
+        assertIgualAlConvertido(proyectado, clientesProveedoresService, "convertirClienteADTO", clienteRepository, cliente.getId());
+    }
+
+    @Test
+    void proveedor() {
+        Object proyectado = unico(clientesProveedoresService.obtenerTodosLosProveedores(null, proveedor.getNombre(), PAGINA));
+
+        assertIgualAlConvertido(proyectado, clientesProveedoresService, "convertirProveedorADTO",
+            proveedorRepository, proveedor.getId());
+    }
+
+    @Test
+    void cuentaPorCobrarConElNombreDelCliente() {
+        Object proyectado = unico(clientesProveedoresService.obtenerCuentasPorCobrarPorCliente(cliente.getId(), PAGINA));
+
+        assertThat(proyectado).hasFieldOrPropertyWithValue("clienteNombre", cliente.getNombre());
+        assertIgualAlConvertido(proyectado, clientesProveedoresService, "convertirCuentaPorCobrarADTO",
+            cuentaPorCobrarRepository, cuentaPorCobrar.getId());
+    }
+
+    @Test
+    void cuentaPorPagarConElNombreDelProveedor() {
+        Object proyectado = unico(clientesProveedoresService.obtenerCuentasPorPagarVencidas(PAGINA));
+
+        assertThat(proyectado).hasFieldOrPropertyWithValue("proveedorNombre", proveedor.getNombre());
+        assertIgualAlConvertido(proyectado, clientesProveedoresService, "convertirCuentaPorPagarADTO",
+            cuentaPorPagarRepository, cuentaPorPagar.getId());
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private Object unico(ResultadoPaginaDTO<?> pagina) {
+        assertThat(pagina.getElementos()).hasSize(1);
+        return pagina.getElementos().get(0);
+    }
+
+    /**
+     * Leer la entidad de la BD y pasarla por el convertidor privado del servicio, dentro de una
+     * transacción para que pueda cargar la asociación
+     */
+    private <T> void assertIgualAlConvertido(Object proyectado, Object servicio, String convertidor,
+                                             JpaRepository<T, Long> repositorio, Long id) {
+        Object objetivo = AopTestUtils.getTargetObject(servicio);
+        Object convertido = new TransactionTemplate(transactionManager).execute(status ->
+            ReflectionTestUtils.invokeMethod(objetivo, convertidor, repositorio.findById(id).orElseThrow()));
+
+        assertThat(convertido).isNotNull();
+        assertThat(proyectado).usingRecursiveComparison().isEqualTo(convertido);
+    }
+
+    // ========== DATOS DE PRUEBA ==========
+
+    private Cuenta crearCuenta() {
+        Cuenta nueva = new Cuenta();
+        nueva.setCodigo("PD-1");
+        nueva.setNombre("Cuenta de proyección");
+        nueva.setTipo(Cuenta.TipoCuenta.ACTIVO);
+        nueva.setNaturaleza(Cuenta.NaturalezaCuenta.DEUDORA);
+        nueva.setSaldo(new BigDecimal("150.25"));
+        nueva.setDescripcion("Cuenta con todos los campos");
+        return nueva;
+    }
+
+    private Producto crearProducto() {
+        Producto nuevo = new Producto();
+        nuevo.setCodigo("PD-1");
+        nuevo.setNombre("Producto de proyección");
+        nuevo.setDescripcion("Producto con todos los campos");
+        nuevo.setPrecioCompra(new BigDecimal("5.00"));
+        nuevo.setPrecioVenta(new BigDecimal("8.50"));
+        nuevo.setExistencia(4);
+        nuevo.setStockMinimo(10);
+        nuevo.setUnidadMedida(Producto.UnidadMedida.UNIDAD);
+        nuevo.setCategoria("FERRETERIA");
+        nuevo.setProveedor("Proveedor de proyección");
+        return nuevo;
+    }
+
+    private MovimientoInventario crearMovimientoInventario(Producto productoMovido) {
+        MovimientoInventario movimiento = new MovimientoInventario();
+        movimiento.setProducto(productoMovido);
+        movimiento.setTipoMovimiento(MovimientoInventario.TipoMovimiento.ENTRADA_COMPRA);
+        movimiento.setCantidad(4);
+        movimiento.setPrecioUnitario(productoMovido.getPrecioCompra());
+        movimiento.setExistenciaAnterior(0);
+        movimiento.setExistenciaNueva(4);
+        movimiento.setObservaciones("Compra inicial");
+        movimiento.setNumeroDocumento("FAC-1");
+        movimiento.setCreadoPor("prueba");
+        return movimiento;
+    }
+
+    private CuentaBancaria crearCuentaBancaria() {
+        CuentaBancaria nueva = new CuentaBancaria();
+        nueva.setNombre("Cuenta bancaria de proyección");
+        nueva.setBanco("Banco de prueba");
+        nueva.setNumeroCuenta("PD-1");
+        nueva.setTipo(CuentaBancaria.TipoCuentaBancaria.CUENTA_CORRIENTE);
+        nueva.setSaldoLibros(new BigDecimal("100.00"));
+        nueva.setSaldoBanco(new BigDecimal("75.00"));
+        nueva.setDescripcion("Cuenta bancaria con todos los campos");
+        return nueva;
+    }
+
+    private MovimientoBanco crearMovimientoBanco(CuentaBancaria cuentaMovida) {
+        MovimientoBanco movimiento = new MovimientoBanco();
+        movimiento.setCuentaBancaria(cuentaMovida);
+        movimiento.setTipoMovimiento(MovimientoBanco.TipoMovimientoBanco.CHEQUE_EMITIDO);
+        movimiento.setFechaMovimiento(HOY.minusDays(3));
+        movimiento.setMonto(new BigDecimal("25.00"));
+        movimiento.setDescripcion("Cheque de proyección");
+        movimiento.setNumeroDocumento("CHQ-1");
+        movimiento.setBeneficiario("Beneficiario de prueba");
+        movimiento.setEstado(MovimientoBanco.EstadoMovimiento.CONCILIADO);
+        movimiento.setFechaConciliacion(HOY.minusDays(1));
+        movimiento.setObservaciones("Conciliado con el estado de cuenta");
+        movimiento.setCreadoPor("prueba");
+        return movimiento;
+    }
+
+    private Cliente crearCliente() {
+        Cliente nuevo = new Cliente();
+        nuevo.setCodigo("PD-1");
+        nuevo.setNombre("Cliente de proyección");
+        nuevo.setRazonSocial("Cliente de proyección, S.A.");
+        nuevo.setNit("1234567-8");
+        nuevo.setDpi("1234567890101");
+        nuevo.setTelefono("5555-0001");
+        nuevo.setEmail("cliente@prueba.com");
+        nuevo.setDireccion("Ciudad de Guatemala");
+        nuevo.setTipoCliente(Cliente.TipoCliente.EMPRESA);
+        nuevo.setLimiteCredito(new BigDecimal("1000.00"));
+        nuevo.setSaldoActual(new BigDecimal("60.00"));
+        nuevo.setDiasCredito(30);
+        nuevo.setObservaciones("Cliente con todos los campos");
+        return nuevo;
+    }
+
+    private Proveedor crearProveedor() {
+        Proveedor nuevo = new Proveedor();
+        nuevo.setCodigo("PD-1");
+        nuevo.setNombre("Proveedor de proyección");
+        nuevo.setRazonSocial("Proveedor de proyección, S.A.");
+        nuevo.setNit("8765432-1");
+        nuevo.setTelefono("5555-0002");
+        nuevo.setEmail("proveedor@prueba.com");
+        nuevo.setDireccion("Mixco");
+        nuevo.setContacto("Contacto de prueba");
+        nuevo.setTipoProveedor(Proveedor.TipoProveedor.SERVICIOS);
+        nuevo.setSaldoActual(new BigDecimal("200.00"));
+        nuevo.setDiasPago(15);
+        nuevo.setObservaciones("Proveedor con todos los campos");
+        return nuevo;
+    }
+
+    private CuentaPorCobrar crearCuentaPorCobrar(Cliente deudor) {
+        CuentaPorCobrar nueva = new CuentaPorCobrar();
+        nueva.setCliente(deudor);
+        nueva.setNumeroDocumento("PD-CXC-1");
+        nueva.setFechaEmision(HOY.minusDays(40));
+        nueva.setFechaVencimiento(HOY.minusDays(10));
+        nueva.setMontoOriginal(new BigDecimal("100.00"));
+        nueva.setMontoAbonado(new BigDecimal("40.00"));
+        nueva.setSaldoPendiente(new BigDecimal("60.00"));
+        nueva.setDescripcion("Venta al crédito");
+        nueva.setObservaciones("Abono parcial");
+        return nueva;
+    }
+
+    private CuentaPorPagar crearCuentaPorPagar(Proveedor acreedor) {
+        CuentaPorPagar nueva = new CuentaPorPagar();
+        nueva.setProveedor(acreedor);
+        nueva.setNumeroDocumento("PD-CXP-1");
+        nueva.setFechaEmision(HOY.minusDays(45));
+        nueva.setFechaVencimiento(HOY.minusDays(15));
+        nueva.setMontoOriginal(new BigDecimal("200.00"));
+        nueva.setMontoAbonado(new BigDecimal("50.00"));
+        nueva.setSaldoPendiente(new BigDecimal("150.00"));
+        nueva.setDescripcion("Compra de servicios");
+        nueva.setObservaciones("Pago parcial");
+        return nueva;
+    }
+}
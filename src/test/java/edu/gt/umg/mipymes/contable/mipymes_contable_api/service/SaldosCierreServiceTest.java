@@ -0,0 +1,207 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.service;
+
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.AsientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.Cuenta;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.entity.MovimientoContable;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.AsientoContableRepository;
+import edu.gt.umg.mipymes.contable.mipymes_contable_api.repository.CuentaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Saldos de cierre: la foto del cierre, el saldo a una fecha desde cada punto de partida,
+ * el ajuste por asientos atrasados y la serialización con las contabilizaciones en curso
+ * (BD en memoria propia; el período que se cierra es el de hace tres meses)
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:saldoscierre")
+class SaldosCierreServiceTest {
+
+    private static final LocalDate INICIO = LocalDate.now().withDayOfMonth(1).minusMonths(3);
+    private static final LocalDate CIERRE = INICIO.plusMonths(1).minusDays(1);
+
+    @Autowired
+    private SaldosCierreService saldosCierreService;
+
+    @Autowired
+    private AsientoContableService asientoService;
+
+    @Autowired
+    private AsientoContableRepository asientoRepository;
+
+    @Autowired
+    private CuentaRepository cuentaRepository;
+
+    @Autowired
+    private NumeracionAsientoService numeracionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void saldoAUnaFechaDesdeCadaPuntoDePartida() {
+        Cuenta caja = crearCuenta("SC1-CAJA", Cuenta.TipoCuenta.ACTIVO, "500.00");
+        Cuenta ventas = crearCuenta("SC1-VTA", Cuenta.TipoCuenta.INGRESO, "0.00");
+        contabilizar(caja, ventas, "100.00", INICIO.plusDays(4));
+        contabilizar(caja, ventas, "30.00", CIERRE.plusDays(10));
+
+        saldosCierreService.generarCierre(CIERRE);
+
+        assertThat(saldoDeCierre(caja, CIERRE)).isEqualByComparingTo("600.00");
+        assertThat(saldoDeCierre(ventas, CIERRE)).isEqualByComparingTo("100.00");
+        // Antes del cierre, más cerca de él que de hoy: cierre posterior menos los movimientos
+        assertThat(saldoAl(caja, INICIO)).isEqualByComparingTo("500.00");
+        // Después del cierre: cierre anterior más los movimientos (el Ingreso aumenta con créditos)
+        assertThat(saldoAl(caja, CIERRE.plusDays(10))).isEqualByComparingTo("630.00");
+        assertThat(saldoAl(ventas, CIERRE.plusDays(10))).isEqualByComparingTo("130.00");
+        // Hoy: saldo actual de la cuenta
+        assertThat(saldoAl(caja, LocalDate.now())).isEqualByComparingTo("630.00");
+    }
+
+    @Test
+    void asientoAtrasadoAjustaElCierreGuardado() {
+        Cuenta caja = crearCuenta("SC2-CAJA", Cuenta.TipoCuenta.ACTIVO, "0.00");
+        Cuenta ventas = crearCuenta("SC2-VTA", Cuenta.TipoCuenta.INGRESO, "0.00");
+        contabilizar(caja, ventas, "50.00", INICIO.plusDays(2));
+        saldosCierreService.generarCierre(CIERRE);
+
+        contabilizar(caja, ventas, "20.00", INICIO.plusDays(3));
+
+        assertThat(saldoDeCierre(caja, CIERRE)).isEqualByComparingTo("70.00");
+        assertThat(saldoAl(caja, CIERRE)).isEqualByComparingTo("70.00");
+        assertThat(saldoAl(caja, INICIO.plusDays(2))).isEqualByComparingTo("50.00");
+        assertThat(saldoAl(caja, INICIO)).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void cierreEsperaLaContabilizacionAtrasadaEnCursoYLaIncluye() throws Exception {
+        Cuenta caja = crearCuenta("SC3-CAJA", Cuenta.TipoCuenta.ACTIVO, "0.00");
+        Cuenta ventas = crearCuenta("SC3-VTA", Cuenta.TipoCuenta.INGRESO, "0.00");
+        Long asientoId = asientoRepository.save(crearAsiento(caja, ventas, "40.00", INICIO.plusDays(6))).getId();
+        CountDownLatch contabilizado = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> contabilizacion = hilos.submit(() -> transactionTemplate.executeWithoutResult(estado -> {
+                asientoService.contabilizarAsiento(asientoId);
+                contabilizado.countDown();
+                esperar(confirmar);
+            }));
+            assertThat(contabilizado.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<Integer> cierre = hilos.submit(() -> saldosCierreService.generarCierre(CIERRE));
+            Thread.sleep(300);
+            assertThat(cierre.isDone()).as("el cierre espera el bloqueo de las cuentas").isFalse();
+
+            confirmar.countDown();
+            contabilizacion.get(5, TimeUnit.SECONDS);
+            cierre.get(5, TimeUnit.SECONDS);
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        assertThat(saldoDeCierre(caja, CIERRE)).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    void tareaProgramadaEnVariasInstanciasGuardaUnSoloCierre() throws Exception {
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> instancias = List.of(
+                hilos.submit(() -> { esperar(salida); saldosCierreService.cerrarPeriodoAnterior(); }),
+                hilos.submit(() -> { esperar(salida); saldosCierreService.cerrarPeriodoAnterior(); }));
+            salida.countDown();
+            for (Future<?> instancia : instancias) {
+                instancia.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        LocalDate ultimoCierre = saldosCierreService.obtenerUltimoCierre().orElseThrow();
+        Integer filas = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM saldos_cierre WHERE fecha_cierre = ?", Integer.class, ultimoCierre);
+        assertThat(filas).isEqualTo((int) cuentaRepository.count());
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void contabilizar(Cuenta debito, Cuenta credito, String monto, LocalDate fecha) {
+        AsientoContable asiento = asientoRepository.save(crearAsiento(debito, credito, monto, fecha));
+        asientoService.contabilizarAsiento(asiento.getId());
+    }
+
+    private BigDecimal saldoAl(Cuenta cuenta, LocalDate fecha) {
+        Cuenta actual = cuentaRepository.findById(cuenta.getId()).orElseThrow();
+        Map<Long, BigDecimal> saldos = saldosCierreService.obtenerSaldosAl(fecha, List.of(actual));
+        return saldos.get(cuenta.getId());
+    }
+
+    private BigDecimal saldoDeCierre(Cuenta cuenta, LocalDate fechaCierre) {
+        return jdbcTemplate.queryForObject("SELECT saldo FROM saldos_cierre WHERE cuenta_id = ? AND fecha_cierre = ?",
+            BigDecimal.class, cuenta.getId(), fechaCierre);
+    }
+
+    private static void esperar(CountDownLatch senal) {
+        try {
+            senal.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========== DATOS DE PRUEBA ==========
+
+    private Cuenta crearCuenta(String codigo, Cuenta.TipoCuenta tipo, String saldo) {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setCodigo(codigo);
+        cuenta.setNombre("Cuenta de prueba " + codigo);
+        cuenta.setTipo(tipo);
+        cuenta.setNaturaleza(tipo == Cuenta.TipoCuenta.ACTIVO
+            ? Cuenta.NaturalezaCuenta.DEUDORA : Cuenta.NaturalezaCuenta.ACREEDORA);
+        cuenta.setSaldo(new BigDecimal(saldo));
+        cuenta.setActiva(true);
+        return cuentaRepository.save(cuenta);
+    }
+
+    private AsientoContable crearAsiento(Cuenta debito, Cuenta credito, String monto, LocalDate fecha) {
+        AsientoContable asiento = new AsientoContable();
+        asiento.setNumeroAsiento(numeracionService.siguienteNumeroAsiento());
+        asiento.setFecha(fecha);
+        asiento.setDescripcion("Asiento de prueba de cierres");
+        asiento.setTipo(AsientoContable.TipoAsiento.OPERACION);
+        asiento.getMovimientos().add(crearMovimiento(asiento, debito, MovimientoContable.TipoMovimiento.DEBITO, monto, 1));
+        asiento.getMovimientos().add(crearMovimiento(asiento, credito, MovimientoContable.TipoMovimiento.CREDITO, monto, 2));
+        asiento.calcularTotales();
+        return asiento;
+    }
+
+    private MovimientoContable crearMovimiento(AsientoContable asiento, Cuenta cuenta,
+                                               MovimientoContable.TipoMovimiento tipo, String monto, int orden) {
+        MovimientoContable movimiento = new MovimientoContable();
+        movimiento.setAsientoContable(asiento);
+        movimiento.setCuenta(cuenta);
+        movimiento.setTipoMovimiento(tipo);
+        movimiento.setMonto(new BigDecimal(monto));
+        movimiento.setOrden(orden);
+        return movimiento;
+    }
+}
@@ -0,0 +1,113 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.soporte;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cuenta las sentencias SQL que pasan por el DataSource
+ *
+ * Incluye las de Hibernate y las de JdbcTemplate: cada prepareStatement/prepareCall cuenta una vez
+ * (un lote JDBC es una sola sentencia) y cada execute de un Statement simple también.
+ * El conteo es global; las pruebas que lo usan no deben ejecutar solicitudes en paralelo.
+ */
+public final class ContadorSentenciasSql {
+
+    private static final List<String> sentencias = Collections.synchronizedList(new ArrayList<>());
+
+    private ContadorSentenciasSql() {
+    }
+
+    /**
+     * Ejecutar una acción y devolver las sentencias SQL que hizo
+     */
+    public static Medicion medir(Accion accion) throws Exception {
+        sentencias.clear();
+        accion.ejecutar();
+        synchronized (sentencias) {
+            return new Medicion(List.copyOf(sentencias));
+        }
+    }
+
+    static DataSource envolver(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return envolver(Connection.class, super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return envolver(Connection.class, super.getConnection(username, password));
+            }
+        };
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private static <T> T envolver(Class<T> tipo, T objetivo) {
+        InvocationHandler manejador = (proxy, metodo, argumentos) -> {
+            registrar(tipo, metodo, argumentos);
+            Object resultado = invocar(objetivo, metodo, argumentos);
+            if (tipo == Connection.class && metodo.getName().equals("createStatement")) {
+                return envolver(Statement.class, (Statement) resultado);
+            }
+            return resultado;
+        };
+        return tipo.cast(Proxy.newProxyInstance(ContadorSentenciasSql.class.getClassLoader(), new Class<?>[]{tipo}, manejador));
+    }
+
+    private static void registrar(Class<?> tipo, Method metodo, Object[] argumentos) {
+        String nombre = metodo.getName();
+        boolean preparada = tipo == Connection.class && (nombre.equals("prepareStatement") || nombre.equals("prepareCall"));
+        boolean simple = tipo == Statement.class && nombre.startsWith("execute") && argumentos != null
+            && argumentos.length > 0 && argumentos[0] instanceof String;
+        if (preparada || simple) {
+            sentencias.add((String) argumentos[0]);
+        }
+    }
+
+    private static Object invocar(Object objetivo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(objetivo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Accion {
+        void ejecutar() throws Exception;
+    }
+
+    /**
+     * Sentencias registradas durante una acción
+     */
+    public record Medicion(List<String> sentencias) {
+
+        public int total() {
+            return sentencias.size();
+        }
+
+        /**
+         * Listado numerado de las sentencias, para el mensaje de una aserción fallida
+         */
+        public String detalle() {
+            StringBuilder detalle = new StringBuilder(total() + " sentencias SQL:");
+            for (int i = 0; i < sentencias.size(); i++) {
+                detalle.append(System.lineSeparator()).append(i + 1).append(". ").append(sentencias.get(i));
+            }
+            return detalle.toString();
+        }
+    }
+}
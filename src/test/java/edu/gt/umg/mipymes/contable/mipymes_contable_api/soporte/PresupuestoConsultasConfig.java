@@ -0,0 +1,25 @@
+package edu.gt.umg.mipymes.contable.mipymes_contable_api.soporte;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve el DataSource de la aplicación con ContadorSentenciasSql
+ * Uso: @Import(PresupuestoConsultasConfig.class) en una prueba @SpringBootTest
+ */
+@TestConfiguration
+public class PresupuestoConsultasConfig {
+
+    @Bean
+    static BeanPostProcessor contadorSentenciasSql() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? ContadorSentenciasSql.envolver(dataSource) : bean;
+            }
+        };
+    }
+}